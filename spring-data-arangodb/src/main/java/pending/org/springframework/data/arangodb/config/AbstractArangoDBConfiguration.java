@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import com.arangodb.ArangoDB;
 
 import pending.org.springframework.data.arangodb.core.ArangoDBClient;
+import pending.org.springframework.data.arangodb.core.TenantResolver;
 
 /**
  * Java による Arango DB 設定の基底となるクラスです。
@@ -65,11 +66,25 @@ public abstract class AbstractArangoDBConfiguration extends AbstractArangoDBData
 					.password(getPassword())
 					.build();
 		
-		ArangoDBClient arangoDBClient = new ArangoDBClient(arangoDB, getDBName());
+		ArangoDBClient arangoDBClient = new ArangoDBClient(arangoDB, getDBName(), tenantResolver());
 		
 		return arangoDBClient;
 	}
 	
+	/**
+	 * テナントごとにデータベースを切り替える {@link TenantResolver} を返します。
+	 * 
+	 * <p>
+	 * デフォルトでは {@code null} を返し、常に {@link #getDBName()} のデータベースを使用します。<br>
+	 * テナント ID がそのままデータベース名として使用されます。
+	 * </p>
+	 * 
+	 * @return {@link TenantResolver}
+	 */
+	protected TenantResolver tenantResolver() {
+		return null;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
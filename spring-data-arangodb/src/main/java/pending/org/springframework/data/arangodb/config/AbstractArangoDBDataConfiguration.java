@@ -1,28 +1,43 @@
 package pending.org.springframework.data.arangodb.config;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import pending.org.springframework.data.arangodb.core.ArangoDBTemplate;
 import pending.org.springframework.data.arangodb.core.convert.CustomConversions;
 import pending.org.springframework.data.arangodb.core.convert.MappingArangoDBConverter;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBMappingContext;
+import pending.org.springframework.data.arangodb.core.mapping.Edge;
 import pending.org.springframework.data.arangodb.core.mapping.Entity;
 import pending.org.springframework.data.arangodb.repository.config.RepositoryOperationsMapping;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.data.annotation.Persistent;
+import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.mapping.model.CamelCaseAbbreviatingFieldNamingStrategy;
 import org.springframework.data.mapping.model.FieldNamingStrategy;
 import org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
+import lombok.SneakyThrows;
+
 /**
  * Java による Arango DB 設定の基底となるクラスです。
  * 
@@ -32,6 +47,11 @@ import org.springframework.util.StringUtils;
 @Configuration
 public abstract class AbstractArangoDBDataConfiguration {
 
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(AbstractArangoDBDataConfiguration.class);
+
 	protected abstract ArangoDBConfigurer arangoDBConfigurer();
 
 	/**
@@ -60,10 +80,24 @@ public abstract class AbstractArangoDBDataConfiguration {
 	@Bean(name = BeanNames.ARANGO_DB_OPERATIONS_MAPPING)
 	public RepositoryOperationsMapping repositoryOperationsMapping(ArangoDBTemplate arangoDBTemplate) throws Exception {
 		RepositoryOperationsMapping baseMapping = new RepositoryOperationsMapping(arangoDBTemplate);
-		// configureRepositoryOperationsMapping(baseMapping);
+		configureRepositoryOperationsMapping(baseMapping);
 		return baseMapping;
 	}
 
+	/**
+	 * リポジトリ、エンティティごとに使用する {@link pending.org.springframework.data.arangodb.core.ArangoDBOperations}
+	 * を設定します。
+	 * 
+	 * <p>
+	 * デフォルトでは何もしません。全てのリポジトリで {@link ArangoDBTemplate} が使用されます。
+	 * </p>
+	 * 
+	 * @param mapping
+	 *            {@link RepositoryOperationsMapping}
+	 */
+	protected void configureRepositoryOperationsMapping(RepositoryOperationsMapping mapping) {
+	}
+
 	/**
 	 * {@link MappingArangoDBConverter} を生成します。
 	 * 
@@ -95,7 +129,13 @@ public abstract class AbstractArangoDBDataConfiguration {
 	}
 
 	/**
-	 * {@link Entity} アノテーションがつけられたクラスのマッピングベースパッケージを検索します。
+	 * {@link Entity} 、 {@link Edge} 、 {@link TypeAlias} アノテーションがつけられたクラスのマッピングベースパッケージを検索します。
+	 * 
+	 * <p>
+	 * {@link #useEntityIndex()} が {@code true} で、 {@link ArangoDBEntityIndexProcessor} が生成した索引がクラスパスにある場合は、
+	 * クラスパスを検索せずに索引を使用します。<br>
+	 * クラスは並列にロードされます。
+	 * </p>
 	 * 
 	 * @throws ClassNotFoundException
 	 *             初期エンティティがロードできない場合
@@ -105,18 +145,101 @@ public abstract class AbstractArangoDBDataConfiguration {
 		Set<Class<?>> initialEntitySet = new HashSet<Class<?>>();
 
 		if (StringUtils.hasText(basePackage)) {
-			ClassPathScanningCandidateComponentProvider componentProvider = new ClassPathScanningCandidateComponentProvider(
-					false);
-			componentProvider.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
-			for (BeanDefinition candidate : componentProvider.findCandidateComponents(basePackage)) {
-				initialEntitySet.add(ClassUtils.forName(candidate.getBeanClassName(),
-						AbstractArangoDBConfiguration.class.getClassLoader()));
+			Set<String> classNames = useEntityIndex() ? getIndexedEntityClassNames(basePackage) : null;
+			if (classNames == null) {
+				classNames = new HashSet<String>();
+				ClassPathScanningCandidateComponentProvider componentProvider = new ClassPathScanningCandidateComponentProvider(
+						false);
+				componentProvider.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+				componentProvider.addIncludeFilter(new AnnotationTypeFilter(Edge.class));
+				componentProvider.addIncludeFilter(new AnnotationTypeFilter(TypeAlias.class));
+				for (BeanDefinition candidate : componentProvider.findCandidateComponents(basePackage)) {
+					classNames.add(candidate.getBeanClassName());
+				}
 			}
+			initialEntitySet.addAll(classNames.parallelStream().map(this::loadEntityClass).collect(Collectors.toSet()));
 		}
 
 		return initialEntitySet;
 	}
 
+	/**
+	 * {@link ArangoDBEntityIndexProcessor} が生成した索引を使用するかどうかを返します。<br>
+	 * デフォルトは {@code false} です。
+	 * 
+	 * <p>
+	 * 索引の完全性は検証されません。差分コンパイルで古くなった索引や、別のモジュール、 jar のエンティティが含まれない索引を使用すると、
+	 * 索引にないエンティティはマッピングコンテキストに登録されず、型エイリアスで保存されたドキュメントを読み込めなくなります。<br>
+	 * ベースパッケージ配下の全てのエンティティを1回のビルドで索引に出力している場合にだけ {@code true} を返してください。
+	 * </p>
+	 * 
+	 * @return 索引を使用する場合は {@code true} 、常にクラスパスを検索する場合は {@code false}
+	 */
+	protected boolean useEntityIndex() {
+		return false;
+	}
+
+	/**
+	 * 索引から、ベースパッケージ配下のエンティティのクラス名を読み込みます。
+	 * 
+	 * @param basePackage
+	 *            ベースパッケージ
+	 * @return クラス名。クラスパスに索引がない場合、索引にベースパッケージ配下のクラスがない場合は {@code null}
+	 */
+	private Set<String> getIndexedEntityClassNames(String basePackage) {
+
+		ClassLoader classLoader = AbstractArangoDBConfiguration.class.getClassLoader();
+		Set<String> classNames = null;
+		List<URL> indexes = new ArrayList<URL>();
+
+		try {
+			Enumeration<URL> resources = classLoader
+					.getResources(ArangoDBEntityIndexProcessor.ENTITY_INDEX_LOCATION);
+			while (resources.hasMoreElements()) {
+				if (classNames == null) {
+					classNames = new HashSet<String>();
+				}
+				URL index = resources.nextElement();
+				indexes.add(index);
+				try (BufferedReader reader = new BufferedReader(
+						new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						String className = line.trim();
+						if (className.startsWith(basePackage + ".")) {
+							classNames.add(className);
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(
+					String.format("Could not read entity index %s", ArangoDBEntityIndexProcessor.ENTITY_INDEX_LOCATION),
+					e);
+		}
+
+		if (classNames == null || classNames.isEmpty()) {
+			return null;
+		}
+
+		LOG.info(String.format("Resolved %d entities in base package %s from entity index %s", classNames.size(),
+				basePackage, indexes));
+
+		return classNames;
+	}
+
+	/**
+	 * エンティティのクラスをロードします。
+	 * 
+	 * @param className
+	 *            クラス名
+	 * @return クラス
+	 */
+	@SneakyThrows(ClassNotFoundException.class)
+	private Class<?> loadEntityClass(String className) {
+		return ClassUtils.forName(className, AbstractArangoDBConfiguration.class.getClassLoader());
+	}
+
 	/**
 	 * {@link Persistent} アノテーションをつけられたクラスを検索するベースパッケージを返します。<br>
 	 * デフォルトで、このクラスを継承した具象設定クラスのパッケージを返します。
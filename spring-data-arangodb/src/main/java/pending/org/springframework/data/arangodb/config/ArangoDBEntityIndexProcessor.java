@@ -0,0 +1,174 @@
+package pending.org.springframework.data.arangodb.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.springframework.data.annotation.TypeAlias;
+
+import pending.org.springframework.data.arangodb.core.mapping.Edge;
+import pending.org.springframework.data.arangodb.core.mapping.Entity;
+
+/**
+ * {@link Entity} 、 {@link Edge} 、 {@link TypeAlias} アノテーションがつけられたクラスの索引をコンパイル時に生成するアノテーションプロセッサです。
+ * 
+ * <p>
+ * 索引は {@link #ENTITY_INDEX_LOCATION} に、1行に1つのクラス名で出力されます。<br>
+ * {@link AbstractArangoDBDataConfiguration#useEntityIndex()} が {@code true} を返す設定では、
+ * {@link AbstractArangoDBDataConfiguration#getInitialEntitySet()} はクラスパスを検索せずに索引からエンティティを読み込みます。<br>
+ * 検索と同じく、抽象クラスと static でない内部クラスは索引に含まれません。
+ * </p>
+ * 
+ * <p>
+ * このプロセッサはサービスとして登録されていません。
+ * {@code javac -processor} 、または maven-compiler-plugin の {@code annotationProcessors} で指定してください。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public class ArangoDBEntityIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * エンティティの索引のロケーションです。
+	 */
+	public static final String ENTITY_INDEX_LOCATION = "META-INF/arangodb-entities";
+
+	/**
+	 * 索引に含めるクラスにつけられるアノテーションです。
+	 */
+	private static final Set<String> ANNOTATION_TYPES = new LinkedHashSet<>(
+			Arrays.asList(Entity.class.getName(), Edge.class.getName(), TypeAlias.class.getName()));
+
+	/**
+	 * これまでのラウンドで見つかったクラス名です。
+	 */
+	private final Set<String> classNames = new TreeSet<>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return ANNOTATION_TYPES;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (isCandidate(element)) {
+					classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+				}
+			}
+		}
+
+		if (roundEnv.processingOver() && !classNames.isEmpty()) {
+			writeIndex();
+		}
+
+		return false;
+	}
+
+	/**
+	 * 索引に含めるクラスかどうかを返します。
+	 * 
+	 * @param element
+	 *            アノテーションがつけられた要素
+	 * @return 索引に含める場合は {@code true}
+	 */
+	private boolean isCandidate(Element element) {
+
+		if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+
+		NestingKind nestingKind = ((TypeElement) element).getNestingKind();
+		return nestingKind == NestingKind.TOP_LEVEL
+				|| nestingKind == NestingKind.MEMBER && element.getModifiers().contains(Modifier.STATIC);
+	}
+
+	/**
+	 * 索引を出力します。
+	 * 
+	 * <p>
+	 * 差分コンパイルに備えて、前回出力した索引のうち、まだ存在するクラスを引き継ぎます。
+	 * </p>
+	 */
+	private void writeIndex() {
+
+		readPreviousIndex();
+
+		try {
+			FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					ENTITY_INDEX_LOCATION);
+			try (Writer writer = resource.openWriter()) {
+				for (String className : classNames) {
+					writer.write(className);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					String.format("Could not write entity index %s: %s", ENTITY_INDEX_LOCATION, e.getMessage()));
+		}
+	}
+
+	/**
+	 * 前回出力した索引を読み込みます。
+	 */
+	private void readPreviousIndex() {
+
+		FileObject resource;
+		try {
+			resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+					ENTITY_INDEX_LOCATION);
+		} catch (IOException | IllegalArgumentException e) {
+			return;
+		}
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String className = line.trim();
+				if (!className.isEmpty() && !className.startsWith("#") && processingEnv.getElementUtils()
+						.getTypeElement(className.replace('$', '.')) != null) {
+					classNames.add(className);
+				}
+			}
+		} catch (IOException e) {
+			// 前回の索引がない
+		}
+	}
+}
@@ -0,0 +1,410 @@
+package pending.org.springframework.data.arangodb.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.util.Assert;
+
+import com.arangodb.ArangoDB;
+import com.arangodb.ArangoDBException;
+import com.arangodb.entity.CollectionEntity;
+import com.arangodb.model.CollectionCreateOptions;
+
+import lombok.SneakyThrows;
+import pending.org.springframework.data.arangodb.core.ArangoDBClient;
+import pending.org.springframework.data.arangodb.core.ArangoDBTemplate;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
+import pending.org.springframework.data.arangodb.repository.ArangoDBRepository;
+
+/**
+ * アプリケーションの起動時に、最初のリクエストが遅くならないよう Arango DB を準備します。
+ *
+ * <p>
+ * bean として登録すると、アプリケーションコンテキストの起動が完了した後に、次の手順を順に実行します。
+ * </p>
+ * <ol>
+ * <li>クライアントごとに {@link WarmupOptions#getConnections()} 個のリクエストを同時に送り、コネクションを開きます。</li>
+ * <li>マッピングコンテキストのエンティティのうち、コレクションが存在しないものについて、
+ * {@link pending.org.springframework.data.arangodb.core.mapping.Entity} 、
+ * {@link pending.org.springframework.data.arangodb.core.mapping.Edge} で宣言されたオプションでコレクションを作成します。</li>
+ * <li>{@link pending.org.springframework.data.arangodb.core.mapping.GeoIndexed} で宣言された地理インデックスを作成します。</li>
+ * <li>全てのクライアントでコレクションをロードし、インデックスをメモリに読み込みます。</li>
+ * <li>全ての {@link ArangoDBRepository} の {@link ArangoDBRepository#warmUpQueries()} を呼び出します。</li>
+ * </ol>
+ *
+ * <p>
+ * 失敗した手順は警告ログに出力され、残りの手順は続けて実行されます。
+ * 全ての手順が終了すると {@link #isReady()} が {@code true} になるため、レディネスチェックに使用できます。<br>
+ * コレクションの作成とロードは、テナントが決まっていない場合のデータベースに対して行われます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class ArangoDBWarmup implements ApplicationListener<ContextRefreshedEvent>, ApplicationContextAware {
+
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(ArangoDBWarmup.class);
+
+	/**
+	 * コレクションが既に存在する場合のエラー番号です。
+	 */
+	private static final int ERROR_DUPLICATE_NAME = 1207;
+
+	/**
+	 * {@link ArangoDBTemplate} インスタンスです。
+	 */
+	private final ArangoDBTemplate arangoDBTemplate;
+
+	/**
+	 * {@link WarmupOptions} インスタンスです。
+	 */
+	private final WarmupOptions options;
+
+	/**
+	 * リポジトリを検索するアプリケーションコンテキストです。
+	 */
+	private ApplicationContext applicationContext;
+
+	/**
+	 * ウォームアップを始めたかどうかです。
+	 */
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * 全ての手順が終了するとカウントダウンされるラッチです。
+	 */
+	private final CountDownLatch finished = new CountDownLatch(1);
+
+	/**
+	 * 全ての手順の数です。
+	 */
+	private volatile int totalSteps;
+
+	/**
+	 * 成功した手順の数です。
+	 */
+	private final AtomicInteger completedSteps = new AtomicInteger();
+
+	/**
+	 * 失敗した手順の数です。
+	 */
+	private final AtomicInteger failedSteps = new AtomicInteger();
+
+	/**
+	 * 実行中の手順の名称です。実行中でなければ {@code null} です。
+	 */
+	private volatile String currentStep;
+
+	/**
+	 * デフォルトのオプションでインスタンスを生成します。
+	 *
+	 * @param arangoDBTemplate
+	 *            {@link ArangoDBTemplate} インスタンス
+	 */
+	public ArangoDBWarmup(ArangoDBTemplate arangoDBTemplate) {
+		this(arangoDBTemplate, new WarmupOptions());
+	}
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param arangoDBTemplate
+	 *            {@link ArangoDBTemplate} インスタンス
+	 * @param options
+	 *            {@link WarmupOptions}
+	 */
+	public ArangoDBWarmup(ArangoDBTemplate arangoDBTemplate, WarmupOptions options) {
+
+		Assert.notNull(arangoDBTemplate, "arangoDBTemplate must not be null!");
+		Assert.notNull(options, "options must not be null!");
+		Assert.isTrue(options.getConnections() >= 0, "connections must not be negative!");
+
+		this.arangoDBTemplate = arangoDBTemplate;
+		this.options = options;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+	/**
+	 * アプリケーションコンテキストの起動が完了したときに、ウォームアップを始めます。
+	 *
+	 * @param event
+	 *            {@link ContextRefreshedEvent}
+	 */
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+
+		if (applicationContext != null && event.getApplicationContext() != applicationContext) {
+			return;
+		}
+
+		if (!options.isAsync()) {
+			run();
+			return;
+		}
+
+		if (!started.get()) {
+			Thread thread = new Thread(this::run, "arangodb-warmup");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * 呼び出し元のスレッドでウォームアップを実行します。既に始めている場合は何もしません。
+	 */
+	public void run() {
+
+		if (!started.compareAndSet(false, true)) {
+			return;
+		}
+
+		List<Step> steps = getSteps();
+		totalSteps = steps.size();
+
+		long start = System.nanoTime();
+
+		try {
+			for (Step step : steps) {
+				currentStep = step.name;
+				try {
+					step.action.run();
+					completedSteps.incrementAndGet();
+				} catch (Exception e) {
+					failedSteps.incrementAndGet();
+					LOG.warn(String.format("Warmup step '%s' failed: %s", step.name, e.getMessage()), e);
+				}
+			}
+		} finally {
+			currentStep = null;
+			finished.countDown();
+		}
+
+		if (LOG.isInfoEnabled()) {
+			LOG.info(String.format("Warmup finished in %d ms (%d steps, %d failed)",
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), totalSteps, failedSteps.get()));
+		}
+	}
+
+	/**
+	 * 全ての手順が終了したかどうかを返します。
+	 *
+	 * @return 全ての手順が終了した場合は {@code true}
+	 */
+	public boolean isReady() {
+		return finished.getCount() == 0;
+	}
+
+	/**
+	 * 全ての手順が終了するまで待機します。
+	 *
+	 * @param timeout
+	 *            最大の待機時間
+	 * @param unit
+	 *            {@code timeout} の単位
+	 * @return 全ての手順が終了した場合は {@code true} 、待機時間が経過した場合は {@code false}
+	 * @throws InterruptedException
+	 *             待機中に割り込まれた場合
+	 */
+	public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit);
+	}
+
+	/**
+	 * 進捗のスナップショットを返します。
+	 *
+	 * @return 進捗
+	 */
+	public WarmupProgress getProgress() {
+		return new WarmupProgress(totalSteps, completedSteps.get(), failedSteps.get(), currentStep, isReady());
+	}
+
+	/**
+	 * 実行する手順を返します。
+	 *
+	 * @return 手順のリスト
+	 */
+	private List<Step> getSteps() {
+
+		List<Step> steps = new ArrayList<>();
+
+		Map<ArangoDBClient, String> clients = new LinkedHashMap<>();
+		clients.put(arangoDBTemplate.getArangoDBClient(), "write client");
+		for (ArangoDBClient readClient : arangoDBTemplate.getReadClients()) {
+			clients.putIfAbsent(readClient, "read client " + clients.size());
+		}
+
+		if (options.getConnections() > 0) {
+			Set<ArangoDB> arangoDBs = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (Map.Entry<ArangoDBClient, String> client : clients.entrySet()) {
+				ArangoDB arangoDB = client.getKey().getArangoDB();
+				if (arangoDBs.add(arangoDB)) {
+					steps.add(new Step("open connections (" + client.getValue() + ")",
+							() -> openConnections(arangoDB)));
+				}
+			}
+		}
+
+		List<ArangoDBPersistentEntity<?>> entities = new ArrayList<>();
+		for (ArangoDBPersistentEntity<?> entity : arangoDBTemplate.getMappingContext().getPersistentEntities()) {
+			if (entity.getCollectionCreateOptions() != null) {
+				entities.add(entity);
+			}
+		}
+
+		if (options.isCreateCollections() && !entities.isEmpty()) {
+			steps.add(new Step("create collections", () -> createCollections(entities)));
+		}
+
+		if (options.isCreateIndexes()) {
+			for (ArangoDBPersistentEntity<?> entity : entities) {
+				ArangoDBPersistentProperty property = entity.getGeoIndexedProperty();
+				if (property != null) {
+					steps.add(new Step("geo index " + entity.getCollectionName() + "." + property.getFieldName(),
+							() -> arangoDBTemplate.ensureGeoIndex(entity.getType())));
+				}
+			}
+		}
+
+		if (options.isLoadCollections()) {
+			for (ArangoDBPersistentEntity<?> entity : entities) {
+				for (Map.Entry<ArangoDBClient, String> client : clients.entrySet()) {
+					steps.add(new Step("load " + entity.getCollectionName() + " (" + client.getValue() + ")",
+							() -> client.getKey().collection(entity.getCollectionName()).load()));
+				}
+			}
+		}
+
+		if (options.isRunRepositoryQueries() && applicationContext != null) {
+			for (String beanName : applicationContext.getBeanNamesForType(ArangoDBRepository.class)) {
+				steps.add(new Step("queries " + beanName,
+						() -> applicationContext.getBean(beanName, ArangoDBRepository.class).warmUpQueries()));
+			}
+		}
+
+		return steps;
+	}
+
+	/**
+	 * 同時にリクエストを送り、コネクションを開きます。
+	 *
+	 * @param arangoDB
+	 *            {@link ArangoDB} インスタンス
+	 */
+	@SneakyThrows
+	private void openConnections(ArangoDB arangoDB) {
+
+		int connections = options.getConnections();
+		if (connections == 1) {
+			arangoDB.getVersion();
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(connections, r -> {
+			Thread thread = new Thread(r, "arangodb-warmup-connection");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			CountDownLatch ready = new CountDownLatch(connections);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < connections; i++) {
+				futures.add(executor.submit(() -> {
+					ready.countDown();
+					ready.await();
+					return arangoDB.getVersion();
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 存在しないコレクションを作成します。
+	 *
+	 * @param entities
+	 *            エンティティ
+	 */
+	private void createCollections(List<ArangoDBPersistentEntity<?>> entities) {
+
+		ArangoDBClient client = arangoDBTemplate.getArangoDBClient();
+
+		Set<String> existing = new LinkedHashSet<>();
+		for (CollectionEntity collection : client.db().getCollections()) {
+			existing.add(collection.getName());
+		}
+
+		for (ArangoDBPersistentEntity<?> entity : entities) {
+
+			String collectionName = entity.getCollectionName();
+			if (!existing.add(collectionName)) {
+				continue;
+			}
+
+			CollectionCreateOptions createOptions = entity.getCollectionCreateOptions();
+			try {
+				client.db().createCollection(collectionName, createOptions);
+				if (LOG.isInfoEnabled()) {
+					LOG.info(String.format("Created %s collection %s", createOptions.getType(), collectionName));
+				}
+			} catch (ArangoDBException e) {
+				// 他のインスタンスが同時に作成した
+				if (e.getErrorNum() != ERROR_DUPLICATE_NAME) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * ウォームアップの手順です。
+	 */
+	private static final class Step {
+
+		private final String name;
+		private final Runnable action;
+
+		private Step(String name, Runnable action) {
+			this.name = name;
+			this.action = action;
+		}
+	}
+}
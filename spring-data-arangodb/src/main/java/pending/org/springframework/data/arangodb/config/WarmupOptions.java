@@ -0,0 +1,44 @@
+package pending.org.springframework.data.arangodb.config;
+
+import lombok.Data;
+
+/**
+ * {@link ArangoDBWarmup} のオプションです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class WarmupOptions {
+
+	/**
+	 * 存在しないコレクションを作成するかどうかです。
+	 */
+	private boolean createCollections = true;
+
+	/**
+	 * {@link pending.org.springframework.data.arangodb.core.mapping.GeoIndexed} で宣言されたインデックスを作成するかどうかです。
+	 */
+	private boolean createIndexes = true;
+
+	/**
+	 * コレクションをロードして、インデックスをメモリに読み込むかどうかです。
+	 */
+	private boolean loadCollections = true;
+
+	/**
+	 * クライアントごとに開いておくコネクションの数です。 {@code 0} の場合はコネクションを開きません。
+	 */
+	private int connections = 1;
+
+	/**
+	 * リポジトリが生成する AQL を1回ずつ実行するかどうかです。
+	 */
+	private boolean runRepositoryQueries = true;
+
+	/**
+	 * アプリケーションコンテキストの起動が完了した後、バックグラウンドで実行するかどうかです。
+	 * {@code false} の場合は、起動を完了するスレッドで実行します。
+	 */
+	private boolean async = true;
+}
@@ -0,0 +1,40 @@
+package pending.org.springframework.data.arangodb.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * {@link ArangoDBWarmup} の進捗のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class WarmupProgress {
+
+	/**
+	 * 全ての手順の数です。ウォームアップが始まっていない場合は {@code 0} です。
+	 */
+	private int totalSteps;
+
+	/**
+	 * 成功した手順の数です。
+	 */
+	private int completedSteps;
+
+	/**
+	 * 失敗した手順の数です。
+	 */
+	private int failedSteps;
+
+	/**
+	 * 実行中の手順の名称です。実行中でない場合は {@code null} です。
+	 */
+	private String currentStep;
+
+	/**
+	 * 全ての手順が終了したかどうかです。
+	 */
+	private boolean ready;
+}
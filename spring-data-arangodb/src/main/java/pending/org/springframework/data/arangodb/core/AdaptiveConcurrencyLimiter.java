@@ -0,0 +1,185 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * 観測したレイテンシにより同時実行数の上限を調整する、 AIMD (加算増加・乗算減少) のリミッターです。
+ *
+ * <p>
+ * 操作の完了ごとに、直近のレイテンシ (短期の指数移動平均) と長期のレイテンシ (長期の指数移動平均) を比較し、
+ * 比が {@link ConcurrencyLimitOptions#getLatencyTolerance()} を超えた場合は混雑とみなして上限に
+ * {@link ConcurrencyLimitOptions#getBackoffRatio()} を掛けます。<br>
+ * 混雑していない場合は、上限の半分以上が使用されているときだけ、上限を {@code 1 / 上限} ずつ増やします。<br>
+ * 上限の減少は、直近のレイテンシの間に1回までです。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	/**
+	 * 直近のレイテンシの指数移動平均の重みです。
+	 */
+	private static final double SHORT_ALPHA = 0.2;
+
+	/**
+	 * 長期のレイテンシの指数移動平均の重みです。
+	 */
+	private static final double LONG_ALPHA = 0.01;
+
+	/**
+	 * {@link ConcurrencyLimitOptions} インスタンスです。
+	 */
+	private final ConcurrencyLimitOptions options;
+
+	/**
+	 * 混雑とみなすレイテンシ (ナノ秒) です。
+	 */
+	private final long maxLatencyNanos;
+
+	/**
+	 * 同時実行数の上限です。
+	 */
+	private volatile double limit;
+
+	/**
+	 * 直近のレイテンシ (ナノ秒) です。
+	 */
+	private double shortLatency;
+
+	/**
+	 * 長期のレイテンシ (ナノ秒) です。
+	 */
+	private double longLatency;
+
+	/**
+	 * 最後に上限を減らした時刻 ({@link System#nanoTime()}) です。初期値は生成した時刻です。
+	 */
+	private long lastDecrease;
+
+	/**
+	 * 実行中の操作の数です。
+	 */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * 実行を許可した回数です。
+	 */
+	private final AtomicLong accepted = new AtomicLong();
+
+	/**
+	 * 上限に達していたため実行を拒否した回数です。
+	 */
+	private final AtomicLong rejected = new AtomicLong();
+
+	/**
+	 * リミッターを生成します。
+	 *
+	 * @param options
+	 *            {@link ConcurrencyLimitOptions}
+	 */
+	public AdaptiveConcurrencyLimiter(ConcurrencyLimitOptions options) {
+
+		Assert.notNull(options, "options must not be null!");
+		Assert.isTrue(options.getMinLimit() > 0, "minLimit must be positive!");
+		Assert.isTrue(options.getMinLimit() <= options.getInitialLimit()
+				&& options.getInitialLimit() <= options.getMaxLimit(),
+				"initialLimit must be between minLimit and maxLimit!");
+		Assert.isTrue(options.getBackoffRatio() > 0 && options.getBackoffRatio() < 1,
+				"backoffRatio must be in (0, 1)!");
+		Assert.isTrue(options.getLatencyTolerance() >= 1, "latencyTolerance must not be less than 1!");
+
+		this.options = options;
+		this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(options.getMaxLatencyMillis());
+		this.limit = options.getInitialLimit();
+		// nanoTime() の原点は任意で負の値もとりうるため、0 ではなく生成時刻を基準にする
+		this.lastDecrease = System.nanoTime();
+	}
+
+	/**
+	 * 実行中の操作の数が上限未満ならば、実行を許可します。
+	 *
+	 * <p>
+	 * 許可された場合は、操作の完了後に必ず {@link #release(long, boolean)} を呼び出してください。
+	 * </p>
+	 *
+	 * @return 許可された場合は {@code true} 。上限に達している場合は {@code false}
+	 */
+	public boolean tryAcquire() {
+
+		for (;;) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				rejected.incrementAndGet();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				accepted.incrementAndGet();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * 操作の完了を記録し、上限を調整します。
+	 *
+	 * @param latencyNanos
+	 *            操作のレイテンシ (ナノ秒)
+	 * @param failed
+	 *            操作が例外で終了した場合は {@code true}
+	 */
+	public void release(long latencyNanos, boolean failed) {
+
+		int current = inFlight.getAndDecrement();
+
+		synchronized (this) {
+
+			if (longLatency == 0) {
+				shortLatency = latencyNanos;
+				longLatency = latencyNanos;
+			} else {
+				shortLatency += SHORT_ALPHA * (latencyNanos - shortLatency);
+				longLatency += LONG_ALPHA * (latencyNanos - longLatency);
+			}
+
+			boolean congested = shortLatency > longLatency * options.getLatencyTolerance()
+					|| maxLatencyNanos > 0 && latencyNanos > maxLatencyNanos;
+
+			long now = System.nanoTime();
+
+			if (congested) {
+				if (now - lastDecrease > shortLatency) {
+					limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+					lastDecrease = now;
+				}
+			} else if (!failed && current * 2 >= limit) {
+				limit = Math.min(options.getMaxLimit(), limit + 1 / limit);
+			}
+		}
+	}
+
+	/**
+	 * 現在の同時実行数の上限を返します。
+	 *
+	 * @return 同時実行数の上限
+	 */
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * 統計情報のスナップショットを返します。
+	 *
+	 * @return 統計情報
+	 */
+	public synchronized ConcurrencyLimitStatistics getStatistics() {
+		double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+		return new ConcurrencyLimitStatistics((int) limit, inFlight.get(), accepted.get(), rejected.get(),
+				shortLatency / nanosPerMilli, longLatency / nanosPerMilli);
+	}
+}
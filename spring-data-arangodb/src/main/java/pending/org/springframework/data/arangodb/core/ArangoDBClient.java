@@ -1,18 +1,32 @@
 package pending.org.springframework.data.arangodb.core;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.arangodb.ArangoCollection;
 import com.arangodb.ArangoDB;
+import com.arangodb.ArangoDatabase;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Arango DB のクライアントです。
  * 
+ * <p>
+ * {@link TenantResolver} が設定されている場合、テナント ID ごとに異なるデータベースを使用します。<br>
+ * 全てのテナントは同じ {@link ArangoDB} インスタンス (コネクションプール) を共有し、
+ * データベースとコレクションのハンドルはテナントごとにキャッシュされます。
+ * </p>
+ * 
  * @author hs0x01
  *
  */
 @Data
-@AllArgsConstructor
+@EqualsAndHashCode(of = { "arangoDB", "dbName" })
+@ToString(of = { "arangoDB", "dbName" })
 public class ArangoDBClient {
 	
 	/**
@@ -21,7 +35,115 @@ public class ArangoDBClient {
 	private ArangoDB arangoDB;
 	
 	/**
-	 * データベース名です。
+	 * データベース名です。テナントが決まっていない場合に使用されます。
 	 */
 	private String dbName;
+	
+	/**
+	 * {@link TenantResolver} インスタンスです。
+	 */
+	private TenantResolver tenantResolver;
+	
+	/**
+	 * テナント ID からデータベース名を返す関数です。
+	 */
+	private Function<String, String> databaseNameResolver = Function.identity();
+	
+	/**
+	 * データベース名と {@link ArangoDatabase} のキャッシュです。
+	 */
+	private final Map<String, ArangoDatabase> databases = new ConcurrentHashMap<>();
+	
+	/**
+	 * データベース名ごとの、コレクション名と {@link ArangoCollection} のキャッシュです。
+	 */
+	private final Map<String, Map<String, ArangoCollection>> collections = new ConcurrentHashMap<>();
+	
+	/**
+	 * クライアントを生成します。
+	 * 
+	 * @param arangoDB {@link ArangoDB} インスタンス
+	 * @param dbName データベース名
+	 */
+	public ArangoDBClient(ArangoDB arangoDB, String dbName) {
+		this(arangoDB, dbName, null);
+	}
+	
+	/**
+	 * テナントごとにデータベースを切り替えるクライアントを生成します。
+	 * 
+	 * @param arangoDB {@link ArangoDB} インスタンス
+	 * @param dbName テナントが決まっていない場合のデータベース名
+	 * @param tenantResolver {@link TenantResolver} インスタンス
+	 */
+	public ArangoDBClient(ArangoDB arangoDB, String dbName, TenantResolver tenantResolver) {
+		this.arangoDB = arangoDB;
+		this.dbName = dbName;
+		this.tenantResolver = tenantResolver;
+	}
+	
+	/**
+	 * 現在の処理のテナント ID を返します。
+	 * 
+	 * @return テナント ID 。テナントが決まっていない場合は {@code null}
+	 */
+	public String getCurrentTenantId() {
+		return tenantResolver == null ? null : tenantResolver.resolveTenantId();
+	}
+	
+	/**
+	 * 現在の処理で使用するデータベース名を返します。
+	 * 
+	 * @return データベース名
+	 */
+	public String getCurrentDbName() {
+		String tenantId = getCurrentTenantId();
+		return tenantId == null ? dbName : databaseNameResolver.apply(tenantId);
+	}
+	
+	/**
+	 * 現在の処理で使用する {@link ArangoDatabase} を返します。
+	 * 
+	 * @return {@link ArangoDatabase}
+	 */
+	public ArangoDatabase db() {
+		return db(getCurrentDbName());
+	}
+	
+	/**
+	 * 指定したデータベースの {@link ArangoDatabase} を返します。
+	 * 
+	 * @param databaseName データベース名
+	 * @return {@link ArangoDatabase}
+	 */
+	public ArangoDatabase db(String databaseName) {
+		return databases.computeIfAbsent(databaseName, name -> arangoDB.db(name));
+	}
+	
+	/**
+	 * 現在の処理で使用するデータベースの {@link ArangoCollection} を返します。
+	 * 
+	 * @param collectionName コレクション名
+	 * @return {@link ArangoCollection}
+	 */
+	public ArangoCollection collection(String collectionName) {
+		return collection(getCurrentDbName(), collectionName);
+	}
+	
+	/**
+	 * 指定したデータベースの {@link ArangoCollection} を返します。
+	 * 
+	 * <p>
+	 * テナントを解決できない別スレッドで使用するハンドルは、
+	 * 呼び出し元のスレッドで {@link #getCurrentDbName()} を取得して、このメソッドで返してください。
+	 * </p>
+	 * 
+	 * @param databaseName データベース名
+	 * @param collectionName コレクション名
+	 * @return {@link ArangoCollection}
+	 */
+	public ArangoCollection collection(String databaseName, String collectionName) {
+		return collections.computeIfAbsent(databaseName, name -> new ConcurrentHashMap<>())
+				.computeIfAbsent(collectionName, name -> db(databaseName).collection(name));
+	}
 }
@@ -0,0 +1,101 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.springframework.data.util.CloseableIterator;
+
+import com.arangodb.ArangoCursor;
+
+import lombok.SneakyThrows;
+
+/**
+ * {@link ArangoCursor} の要素を変換しながら返す {@link CloseableIterator} です。
+ *
+ * <p>
+ * 結果はカーソルのバッチ単位でサーバから取得されるため、全件をメモリに保持しません。<br>
+ * 最後まで読まずに破棄する場合は {@link #close()} を呼び出し、サーバ側のカーソルを解放してください。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ * @param <S>
+ *            カーソルの要素の型
+ * @param <T>
+ *            返す要素の型
+ */
+class ArangoDBCursorIterator<S, T> implements CloseableIterator<T> {
+
+	/**
+	 * {@link ArangoCursor} インスタンスです。
+	 */
+	private final ArangoCursor<S> cursor;
+
+	/**
+	 * 要素を変換する関数です。
+	 */
+	private final Function<S, T> converter;
+
+	/**
+	 * カーソルを閉じたかどうかです。
+	 */
+	private boolean closed;
+
+	/**
+	 * イテレータを生成します。
+	 *
+	 * @param cursor
+	 *            {@link ArangoCursor} インスタンス
+	 * @param converter
+	 *            要素を変換する関数
+	 */
+	ArangoDBCursorIterator(ArangoCursor<S> cursor, Function<S, T> converter) {
+		this.cursor = cursor;
+		this.converter = converter;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+
+		if (closed) {
+			return false;
+		}
+
+		boolean hasNext = cursor.hasNext();
+		if (!hasNext) {
+			// 読み切ったカーソルはサーバ側で解放済みのため、削除要求は送りません
+			closed = true;
+		}
+
+		return hasNext;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T next() {
+
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return converter.apply(cursor.next());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SneakyThrows(IOException.class)
+	public void close() {
+		if (!closed) {
+			closed = true;
+			cursor.close();
+		}
+	}
+}
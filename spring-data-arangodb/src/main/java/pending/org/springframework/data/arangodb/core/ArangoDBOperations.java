@@ -1,10 +1,18 @@
 package pending.org.springframework.data.arangodb.core;
 
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.util.CloseableIterator;
+
+import com.arangodb.entity.AqlExecutionExplainEntity;
+import com.arangodb.entity.BaseDocument;
 
 import pending.org.springframework.data.arangodb.core.convert.ArangoDBConverter;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
@@ -27,6 +35,37 @@ public interface ArangoDBOperations {
 	 */
 	<R> R read(String key, Class<R> entityClass);
 	
+	/**
+	 * 複数の {@code key} によりドキュメントを1回のリクエストで取得し、エンティティで返します。
+	 * 
+	 * @param keys ドキュメントを特定するキーのコレクション
+	 * @param entityClass エンティティクラス
+	 * @return キーとエンティティのマッピング。存在しないキーは含まれません。
+	 */
+	<R> Map<String, R> readByKeys(Collection<String> keys, Class<R> entityClass);
+	
+	/**
+	 * 複数の {@code key} によりドキュメントを1回のリクエストで取得し、エンティティに変換せずに返します。
+	 * 
+	 * <p>取得したドキュメントは {@link #toEntity(BaseDocument, Class)} でエンティティに変換できます。</p>
+	 * 
+	 * @param keys ドキュメントを特定するキーのコレクション
+	 * @param entityClass コレクションを決めるエンティティクラス
+	 * @return キーとドキュメントのマッピング。存在しないキーは含まれません。
+	 */
+	Map<String, BaseDocument> readDocumentsByKeys(Collection<String> keys, Class<?> entityClass);
+	
+	/**
+	 * 取得したドキュメントをエンティティに変換し、 {@code @Id} 、 {@code @Version} の値を設定します。
+	 * 
+	 * <p>サーバーへのリクエストは行いません。同じドキュメントから呼び出すたびに新しいインスタンスを返します。</p>
+	 * 
+	 * @param document {@link BaseDocument}
+	 * @param entityClass エンティティクラス
+	 * @return エンティティ。 {@code document} が {@code null} の場合は {@code null}
+	 */
+	<R> R toEntity(BaseDocument document, Class<R> entityClass);
+	
 	/**
 	 * AQL によりエンティティを返します。
 	 * 
@@ -37,6 +76,47 @@ public interface ArangoDBOperations {
 	 */
 	<R> List<R> readByAql(String aql, Map<String, Object> bindVars, Class<R> entityClass);
 	
+	/**
+	 * AQL によりエンティティと、最後の {@code LIMIT} を適用しない場合の件数を返します。
+	 * 
+	 * <p>
+	 * 件数はサーバーの {@code fullCount} オプションで数えるため、件数を数えるクエリを別に実行する必要はありません。
+	 * </p>
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 * @param entityClass エンティティクラス
+	 * @return エンティティのリストと件数
+	 */
+	<R> FullCountResult<R> readByAqlWithFullCount(String aql, Map<String, Object> bindVars, Class<R> entityClass);
+	
+	/**
+	 * AQL の結果を、エンティティに変換せずに {@code channel} に書き込みます。
+	 * 
+	 * <p>結果はカーソルのバッチ単位で取得され、 {@link ExportOptions#getFormat()} の形式で順に書き込まれます。
+	 * {@link java.io.OutputStream} には {@link java.nio.channels.Channels#newChannel(java.io.OutputStream)} を使用してください。
+	 * {@code channel} は閉じられません。</p>
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 * @param channel 出力先
+	 * @param options {@link ExportOptions}
+	 * @return 書き込みの結果
+	 */
+	ExportProgress exportByAql(String aql, Map<String, Object> bindVars, WritableByteChannel channel,
+			ExportOptions options);
+	
+	/**
+	 * コレクションの全てのドキュメントを、エンティティに変換せずに {@code channel} に書き込みます。
+	 * 
+	 * @param collectionName コレクション名
+	 * @param channel 出力先
+	 * @param options {@link ExportOptions}
+	 * @return 書き込みの結果
+	 * @see #exportByAql(String, Map, WritableByteChannel, ExportOptions)
+	 */
+	ExportProgress exportCollection(String collectionName, WritableByteChannel channel, ExportOptions options);
+	
 	/**
 	 * AQL によりエンティティをカウントします。
 	 * 
@@ -46,13 +126,72 @@ public interface ArangoDBOperations {
 	 */
 	long countByAql(String aql, Map<String, Object> bindVars);
 	
+	/**
+	 * AQL によりエンティティを1件ずつ返します。
+	 * 
+	 * <p>結果はカーソルのバッチ単位で取得されるため、全件をメモリに保持しません。
+	 * 最後まで読まない場合は {@link CloseableIterator#close()} を呼び出してください。</p>
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 * @param entityClass エンティティクラス
+	 * @return エンティティの {@link CloseableIterator}
+	 */
+	<R> CloseableIterator<R> streamByAql(String aql, Map<String, Object> bindVars, Class<R> entityClass);
+	
+	/**
+	 * グラフトラバーサルでたどった頂点を1件ずつ返します。
+	 * 
+	 * @param startVertexId 始点の頂点のドキュメントハンドル ({@code collection/key})
+	 * @param spec トラバーサルの条件
+	 * @param vertexClass 頂点のエンティティクラス
+	 * @return 頂点のエンティティの {@link CloseableIterator}
+	 */
+	<V> CloseableIterator<V> traverseVertices(String startVertexId, TraversalSpec spec, Class<V> vertexClass);
+	
+	/**
+	 * グラフトラバーサルでたどったエッジを1件ずつ返します。
+	 * 
+	 * @param startVertexId 始点の頂点のドキュメントハンドル ({@code collection/key})
+	 * @param spec トラバーサルの条件
+	 * @param edgeClass エッジのエンティティクラス
+	 * @return エッジのエンティティの {@link CloseableIterator}
+	 */
+	<E> CloseableIterator<E> traverseEdges(String startVertexId, TraversalSpec spec, Class<E> edgeClass);
+	
+	/**
+	 * グラフトラバーサルでたどったパスを1件ずつ返します。
+	 * 
+	 * @param startVertexId 始点の頂点のドキュメントハンドル ({@code collection/key})
+	 * @param spec トラバーサルの条件
+	 * @param vertexClass 頂点のエンティティクラス
+	 * @param edgeClass エッジのエンティティクラス
+	 * @return {@link TraversalPath} の {@link CloseableIterator}
+	 */
+	<V, E> CloseableIterator<TraversalPath<V, E>> traversePaths(String startVertexId, TraversalSpec spec,
+			Class<V> vertexClass, Class<E> edgeClass);
+	
 	/**
 	 * AQL によりエンティティを更新します。
 	 * 
+	 * <p>{@code UPDATE} 、 {@code REPLACE} 、 {@code REMOVE} などの書き込みはサーバーで実行され、
+	 * ドキュメントはクライアントに転送されません。</p>
+	 * 
 	 * @param aql AQL
 	 * @param bindVars バインド変数
+	 * @return 書き込まれたドキュメントの件数 (クエリの統計情報の {@code writesExecuted}) 。
+	 *         トランザクション内ではコミットまで実行されないため {@code -1}
 	 */
-	void updateByAql(String aql, Map<String, Object> bindVars);
+	long updateByAql(String aql, Map<String, Object> bindVars);
+	
+	/**
+	 * AQL を実行せずに、サーバが選択する実行計画を返します。
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 * @return 実行計画
+	 */
+	AqlExecutionExplainEntity explainByAql(String aql, Map<String, Object> bindVars);
 	
 	/**
 	 * エンティティからドキュメントを作成します。
@@ -68,6 +207,61 @@ public interface ArangoDBOperations {
 	 */
 	void update(Object entity);
 	
+	/**
+	 * 複数のエンティティから、コレクションごとに1回のリクエストでドキュメントを作成します。
+	 * 
+	 * @param entities エンティティのコレクション
+	 */
+	void insertEntities(Collection<?> entities);
+	
+	/**
+	 * 複数のエンティティから、コレクションごとに1回のリクエストでドキュメントを更新します。
+	 * 
+	 * @param entities エンティティのコレクション
+	 */
+	void updateEntities(Collection<?> entities);
+	
+	/**
+	 * 変換済みのドキュメントから、1回のリクエストでドキュメントを作成します。
+	 * 
+	 * <p>サーバが採番したキーとリビジョンは {@code documents} に設定されません。</p>
+	 * 
+	 * @param collectionName コレクション名
+	 * @param documents ドキュメントのリスト
+	 */
+	void insertDocuments(String collectionName, List<BaseDocument> documents);
+	
+	/**
+	 * 変換済みのドキュメントから、1回のリクエストでドキュメントを更新します。
+	 * 
+	 * @param collectionName コレクション名
+	 * @param documents ドキュメントのリスト。全てのドキュメントにキーが必要です
+	 */
+	void updateDocuments(String collectionName, List<BaseDocument> documents);
+	
+	/**
+	 * エンティティをバルクインポートで書き込みます。
+	 * 
+	 * <p>エンティティはチャンクに分けられ、ワーカースレッドで変換されて、複数のインポート要求が並列に実行されます。
+	 * メモリに保持されるのは実行中のチャンクだけです。<br>
+	 * インポートはトランザクションに参加せず、サーバが採番したキーはエンティティに設定されません。</p>
+	 * 
+	 * @param entities エンティティの {@link Iterator}
+	 * @param options {@link ImportOptions}
+	 * @return インポート全体の結果
+	 */
+	ImportResult importEntities(Iterator<?> entities, ImportOptions options);
+	
+	/**
+	 * エンティティをバルクインポートで書き込みます。
+	 * 
+	 * @param entities エンティティの {@link Stream}
+	 * @param options {@link ImportOptions}
+	 * @return インポート全体の結果
+	 * @see #importEntities(Iterator, ImportOptions)
+	 */
+	ImportResult importEntities(Stream<?> entities, ImportOptions options);
+	
 	/**
 	 * エンティティからドキュメントを削除します。
 	 * 
@@ -82,6 +276,26 @@ public interface ArangoDBOperations {
 	 */
 	void truncate(String collectionName);
 	
+	/**
+	 * エンティティクラスの {@link pending.org.springframework.data.arangodb.core.mapping.GeoIndexed}
+	 * のプロパティに、現在のデータベースで地理インデックスを作成します。
+	 * 
+	 * <p>インデックスが既にある場合は何もしません。作成済みのデータベースとコレクションは記録され、
+	 * 2回目以降の呼び出しではサーバーにアクセスしません。</p>
+	 * 
+	 * @param entityClass エンティティクラス
+	 * @throws IllegalArgumentException エンティティに {@code GeoIndexed} のプロパティがない場合
+	 */
+	void ensureGeoIndex(Class<?> entityClass);
+	
+	/**
+	 * エンティティクラスのコレクション名を返します。
+	 * 
+	 * @param entityClass エンティティクラス
+	 * @return コレクション名
+	 */
+	String getCollectionName(Class<?> entityClass);
+	
 	/**
 	 * {@link ArangoDBConverter} を返します。
 	 * 
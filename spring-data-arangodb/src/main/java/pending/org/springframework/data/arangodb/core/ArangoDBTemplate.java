@@ -1,33 +1,59 @@
 package pending.org.springframework.data.arangodb.core;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import com.arangodb.ArangoCollection;
 import com.arangodb.ArangoCursor;
-import com.arangodb.ArangoDB;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.entity.AqlExecutionExplainEntity;
 import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.CursorEntity.Stats;
+import com.arangodb.entity.DocumentEntity;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.model.AqlQueryExplainOptions;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.GeoIndexOptions;
+import com.arangodb.velocypack.VPackSlice;
 
 import lombok.SneakyThrows;
+import pending.org.springframework.data.arangodb.core.ArangoDBTransactionHolder.Write;
+import pending.org.springframework.data.arangodb.core.ArangoDBTransactionHolder.WriteType;
 import pending.org.springframework.data.arangodb.core.convert.ArangoDBConverter;
 import pending.org.springframework.data.arangodb.core.convert.MappingArangoDBConverter;
+import pending.org.springframework.data.arangodb.core.convert.ReferenceResolver;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBMappingContext;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
-import pending.org.springframework.data.arangodb.core.mapping.Entity;
 
 /**
  * {@link ArangoDBOperations} の実装です。
@@ -43,10 +69,50 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	private static final Collection<String> ITERABLE_CLASSES;
 
 	/**
-	 * {@link ArangoDBClient} のインスタンスです。
+	 * {@link ArangoDBClient} のインスタンスです。書き込み操作とトランザクションはこのクライアントで実行されます。
 	 */
 	private final ArangoDBClient arangoDBClient;
 
+	/**
+	 * 読み込み用の {@link ArangoDBClient} のインスタンスです。
+	 */
+	private final List<ArangoDBClient> readClients;
+
+	/**
+	 * 読み込み用クライアントを選択する {@link ReadLoadBalancingPolicy} です。
+	 */
+	private ReadLoadBalancingPolicy readLoadBalancingPolicy = new RoundRobinReadLoadBalancingPolicy();
+
+	/**
+	 * 書き込み後に読み込みを書き込み用クライアントで実行する時間 (ミリ秒) です。
+	 */
+	private long readYourWritesWindowMillis;
+
+	/**
+	 * スレッドが最後に書き込みを行った時刻 ({@link System#nanoTime()}) です。
+	 */
+	private final ThreadLocal<Long> lastWriteNanos = new ThreadLocal<>();
+
+	/**
+	 * ヘッジ読み込みを行う {@link HedgedReader} です。無効な場合は {@code null} です。
+	 */
+	private HedgedReader hedgedReader;
+
+	/**
+	 * クエリ結果をキャッシュする {@link QueryResultCache} です。無効な場合は {@code null} です。
+	 */
+	private QueryResultCache queryCache;
+
+	/**
+	 * サーバー側のクエリ結果キャッシュを使用する場合の {@link AqlQueryOptions} です。使用しない場合は {@code null} です。
+	 */
+	private AqlQueryOptions readQueryOptions;
+
+	/**
+	 * 地理インデックスを作成済みの、データベース名とコレクション名です。
+	 */
+	private final Set<String> geoIndexes = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * {@link MappingArangoDBConverter} のインスタンスです。
 	 */
@@ -77,11 +143,136 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	 * @param converter {@link ArangoDBConverter}
 	 */
 	public ArangoDBTemplate(final ArangoDBClient arangoDBClient, ArangoDBConverter converter) {
-		this.arangoDBClient = arangoDBClient;
+		this(arangoDBClient, Collections.<ArangoDBClient> emptyList(), converter);
+	}
+
+	/**
+	 * 書き込み用と読み込み用のクライアントを分けた {@link ArangoDBTemplate} を生成します。
+	 * 
+	 * <p>{@code read} 、 {@code readByKeys} 、 {@code readByAql} 、 {@code countByAql} などの読み込み操作は、
+	 * {@link ReadLoadBalancingPolicy} により選択された読み込み用クライアントで実行されます。<br>
+	 * 書き込み操作、トランザクション内の読み込み、書き込み直後の読み込み
+	 * ({@link #setReadYourWritesWindowMillis(long)}) は、書き込み用クライアントで実行されます。</p>
+	 * 
+	 * @param writeClient 書き込み用の {@link ArangoDBClient} インスタンス
+	 * @param readClients 読み込み用の {@link ArangoDBClient} インスタンス。空の場合は全て書き込み用クライアントで実行されます
+	 * @param converter {@link ArangoDBConverter}
+	 */
+	public ArangoDBTemplate(final ArangoDBClient writeClient, List<ArangoDBClient> readClients,
+			ArangoDBConverter converter) {
+		Assert.notNull(writeClient, "writeClient must not be null!");
+		Assert.notNull(readClients, "readClients must not be null!");
+		this.arangoDBClient = writeClient;
+		this.readClients = new ArrayList<>(readClients);
 		this.converter = converter == null ? getDefaultConverter() : converter;
 		this.mappingContext = this.converter.getMappingContext();
+		
+		// コンバータは複数のテンプレートで共有されうるため、参照先はこのテンプレート専用のコピーで読み込む
+		if (this.converter instanceof MappingArangoDBConverter) {
+			MappingArangoDBConverter mappingConverter = (MappingArangoDBConverter) this.converter;
+			if (mappingConverter.getReferenceResolver() == null) {
+				this.converter = mappingConverter.withReferenceResolver(new DocumentReferenceResolver(null));
+			}
+		}
+	}
+
+	/**
+	 * 書き込み用の {@link ArangoDBClient} を返します。
+	 * 
+	 * @return 書き込み用の {@link ArangoDBClient}
+	 */
+	public ArangoDBClient getArangoDBClient() {
+		return arangoDBClient;
 	}
 
+	/**
+	 * 読み込み用の {@link ArangoDBClient} を返します。
+	 * 
+	 * @return 読み込み用の {@link ArangoDBClient} 。読み込み用クライアントを分けていない場合は空のリスト
+	 */
+	public List<ArangoDBClient> getReadClients() {
+		return Collections.unmodifiableList(readClients);
+	}
+
+	/**
+	 * 読み込み用クライアントを選択する {@link ReadLoadBalancingPolicy} を設定します。
+	 * 
+	 * @param readLoadBalancingPolicy {@link ReadLoadBalancingPolicy}
+	 */
+	public void setReadLoadBalancingPolicy(ReadLoadBalancingPolicy readLoadBalancingPolicy) {
+		Assert.notNull(readLoadBalancingPolicy, "readLoadBalancingPolicy must not be null!");
+		this.readLoadBalancingPolicy = readLoadBalancingPolicy;
+	}
+	
+	/**
+	 * 書き込み後に、同じスレッドの読み込みを書き込み用クライアントで実行する時間を設定します。
+	 * 
+	 * <p>読み込み用クライアントへの反映を待たずに、自分の書き込みを読み込めるようにします。
+	 * {@code 0} の場合 (デフォルト) は無効です。</p>
+	 * 
+	 * @param readYourWritesWindowMillis 時間 (ミリ秒)
+	 */
+	public void setReadYourWritesWindowMillis(long readYourWritesWindowMillis) {
+		this.readYourWritesWindowMillis = readYourWritesWindowMillis;
+	}
+	
+	/**
+	 * ヘッジ読み込みを設定します。
+	 * 
+	 * <p>{@code read} 、 {@code readByKeys} 、 {@code readByAql} 、 {@code countByAql} が
+	 * 直近のレイテンシの分位点を超えても終わらない場合に、別の読み込み用クライアントに同じ読み込みを送り、
+	 * 先に返った結果を使用します。読み込み用クライアントが2つ以上ある場合だけ有効です。<br>
+	 * 通信とドキュメントの取得だけがワーカースレッドで実行され、エンティティへの変換は呼び出し元のスレッドで行われます。
+	 * {@code null} の場合 (デフォルト) は無効です。</p>
+	 * 
+	 * @param hedgedReadOptions {@link HedgedReadOptions}
+	 */
+	public void setHedgedReadOptions(HedgedReadOptions hedgedReadOptions) {
+		this.hedgedReader = hedgedReadOptions == null ? null : new HedgedReader(hedgedReadOptions);
+	}
+	
+	/**
+	 * ヘッジ読み込みの統計情報のスナップショットを返します。
+	 * 
+	 * @return 統計情報。ヘッジ読み込みが無効な場合は {@code null}
+	 */
+	public HedgedReadStatistics getHedgedReadStatistics() {
+		HedgedReader reader = hedgedReader;
+		return reader == null ? null : reader.getStatistics();
+	}
+	
+	/**
+	 * クエリ結果キャッシュを設定します。
+	 * 
+	 * <p>{@code readByAql} と {@code countByAql} の結果を、 AQL とバインド変数をキーにキャッシュします。<br>
+	 * このテンプレートによる書き込みは、書き込まれたコレクションを読み込む結果を無効にします。
+	 * トランザクション内の書き込みは、コミットされたときに無効にします。
+	 * トランザクション内の読み込みはキャッシュを使用しません。<br>
+	 * {@code null} の場合 (デフォルト) は無効です。</p>
+	 * 
+	 * @param queryCacheOptions {@link QueryCacheOptions}
+	 */
+	public void setQueryCacheOptions(QueryCacheOptions queryCacheOptions) {
+		if (queryCacheOptions == null) {
+			this.queryCache = null;
+			this.readQueryOptions = null;
+			return;
+		}
+		this.queryCache = new QueryResultCache(queryCacheOptions,
+				aql -> arangoDBClient.db().parseQuery(aql).getCollections());
+		this.readQueryOptions = queryCacheOptions.isServerCache() ? new AqlQueryOptions().cache(true) : null;
+	}
+	
+	/**
+	 * クエリ結果キャッシュの統計情報のスナップショットを返します。
+	 * 
+	 * @return 統計情報。クエリ結果キャッシュが無効な場合は {@code null}
+	 */
+	public QueryCacheStatistics getQueryCacheStatistics() {
+		QueryResultCache cache = queryCache;
+		return cache == null ? null : cache.getStatistics();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -95,9 +286,10 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	@Override
 	public <R> R read(String key, Class<R> entityClass) {
 
-		ArangoCollection arangoCollection = getArangoCollection(entityClass);
+		String collectionName = getCollectionName(entityClass);
 		
-		BaseDocument baseDocument = arangoCollection.getDocument(key, BaseDocument.class);
+		BaseDocument baseDocument = executeRead(client -> client.collection(collectionName),
+				arangoCollection -> arangoCollection.getDocument(key, BaseDocument.class));
 		
 		if (baseDocument == null) {
 			return null;
@@ -110,6 +302,53 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 		return entity;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Map<String, R> readByKeys(Collection<String> keys, Class<R> entityClass) {
+		
+		Map<String, BaseDocument> documents = readDocumentsByKeys(keys, entityClass);
+		
+		List<R> converted = toEntities(new ArrayList<>(documents.values()), entityClass);
+		
+		Map<String, R> entities = new LinkedHashMap<>();
+		
+		int i = 0;
+		for (String key : documents.keySet()) {
+			entities.put(key, converted.get(i++));
+		}
+		
+		return entities;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, BaseDocument> readDocumentsByKeys(Collection<String> keys, Class<?> entityClass) {
+		
+		Map<String, BaseDocument> documents = new LinkedHashMap<>();
+		
+		if (keys.isEmpty()) {
+			return documents;
+		}
+		
+		Map<String, Object> bindVars = new HashMap<>();
+		bindVars.put("col", getCollectionName(entityClass));
+		bindVars.put("keys", keys);
+		
+		List<BaseDocument> fetched = executeRead(ArangoDBClient::db, db -> db
+				.query("FOR d IN DOCUMENT(@col, @keys) RETURN d", bindVars, null, BaseDocument.class)
+				.asListRemaining());
+		
+		for (BaseDocument document : fetched) {
+			documents.put(document.getKey(), document);
+		}
+		
+		return documents;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -117,25 +356,57 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	@SneakyThrows
 	public <R> List<R> readByAql(String aql, Map<String, Object> bindVars, Class<R> entityClass) {
 		
-		ArangoDB arangoDB = arangoDBClient.getArangoDB();
-		String dbName = arangoDBClient.getDbName();
+		List<BaseDocument> documents = cachedQuery(aql, bindVars, BaseDocument.class,
+				() -> executeRead(ArangoDBClient::db,
+						db -> db.query(aql, bindVars, readQueryOptions, BaseDocument.class).asListRemaining()));
 		
-		List<R> list = new ArrayList<>();
+		return toEntities(documents, entityClass);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> FullCountResult<R> readByAqlWithFullCount(String aql, Map<String, Object> bindVars,
+			Class<R> entityClass) {
 		
-		ArangoCursor<BaseDocument> cursor = arangoDB.db(dbName).query(aql, bindVars, null, BaseDocument.class);
-			
-		while (cursor.hasNext()) {
-			
-			BaseDocument document = cursor.next();
-			
-			R entity = converter.read(entityClass, document);
-			
-			setSpecialProperties(entity, document);
-			
-			list.add(entity);
+		AqlQueryOptions options = new AqlQueryOptions().fullCount(true);
+		if (readQueryOptions != null) {
+			options.cache(readQueryOptions.getCache());
 		}
 		
-		return list;
+		FullCountResult<BaseDocument> documents = cachedQuery(aql, bindVars, FullCountResult.class,
+				() -> executeRead(ArangoDBClient::db, db -> {
+					ArangoCursor<BaseDocument> cursor = db.query(aql, bindVars, options, BaseDocument.class);
+					List<BaseDocument> list = cursor.asListRemaining();
+					Long fullCount = cursor.getStats() == null ? null : cursor.getStats().getFullCount();
+					return new FullCountResult<>(list, fullCount == null ? list.size() : fullCount);
+				}));
+		
+		return new FullCountResult<>(toEntities(documents.getContent(), entityClass), documents.getFullCount());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ExportProgress exportByAql(String aql, Map<String, Object> bindVars, WritableByteChannel channel,
+			ExportOptions options) {
+		
+		return new CursorExporter(readClient().db()).export(aql, bindVars, channel, options);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ExportProgress exportCollection(String collectionName, WritableByteChannel channel,
+			ExportOptions options) {
+		
+		Map<String, Object> bindVars = new HashMap<>();
+		bindVars.put("@col", collectionName);
+		
+		return exportByAql("FOR d IN @@col RETURN d", bindVars, channel, options);
 	}
 	
 	/**
@@ -145,13 +416,60 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	@SneakyThrows
 	public long countByAql(String aql, Map<String, Object> bindVars) {
 		
-		ArangoDB arangoDB = arangoDBClient.getArangoDB();
-		String dbName = arangoDBClient.getDbName();
+		return cachedQuery(aql, bindVars, Long.class, () -> executeRead(ArangoDBClient::db,
+				db -> db.query(aql, bindVars, readQueryOptions, Long.class).next()));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> CloseableIterator<R> streamByAql(String aql, Map<String, Object> bindVars, Class<R> entityClass) {
 		
-		ArangoCursor<Long> cursor = arangoDB.db(dbName).query(aql, bindVars, null, Long.class);
-		long count = cursor.next();
+		ArangoCursor<BaseDocument> cursor = readClient().db().query(aql, bindVars, null, BaseDocument.class);
 		
-		return count;
+		return new ArangoDBCursorIterator<>(cursor, document -> toEntity(document, entityClass));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <V> CloseableIterator<V> traverseVertices(String startVertexId, TraversalSpec spec, Class<V> vertexClass) {
+		
+		Map<String, Object> bindVars = new HashMap<>();
+		String aql = spec.toAql(startVertexId, "v", bindVars);
+		
+		return streamByAql(aql, bindVars, vertexClass);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <E> CloseableIterator<E> traverseEdges(String startVertexId, TraversalSpec spec, Class<E> edgeClass) {
+		
+		Map<String, Object> bindVars = new HashMap<>();
+		String aql = spec.toAql(startVertexId, "e", bindVars);
+		
+		return streamByAql(aql, bindVars, edgeClass);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <V, E> CloseableIterator<TraversalPath<V, E>> traversePaths(String startVertexId, TraversalSpec spec,
+			Class<V> vertexClass, Class<E> edgeClass) {
+		
+		Map<String, Object> bindVars = new HashMap<>();
+		String aql = spec.toAql(startVertexId, "p", bindVars);
+		
+		ArangoCursor<VPackSlice> cursor = readClient().db().query(aql, bindVars, null, VPackSlice.class);
+		
+		return new ArangoDBCursorIterator<>(cursor, path -> new TraversalPath<>(
+				toEntities(path.get("vertices"), vertexClass),
+				toEntities(path.get("edges"), edgeClass)));
 	}
 	
 	/**
@@ -159,12 +477,33 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	 */
 	@Override
 	@SneakyThrows
-	public void updateByAql(String aql, Map<String, Object> bindVars) {
+	public long updateByAql(String aql, Map<String, Object> bindVars) {
+		
+		markWrite();
+		
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			holder.addQueryWriteCollections(getQueryWriteCollections(aql, bindVars));
+			addWrite(holder, new Write(WriteType.QUERY, null, null, null, aql, bindVars, null));
+			return -1;
+		}
+		
+		ArangoCursor<Void> cursor = arangoDBClient.db().query(aql, bindVars, null, Void.class);
+		
+		invalidateQueryCache(aql, bindVars);
 		
-		ArangoDB arangoDB = arangoDBClient.getArangoDB();
-		String dbName = arangoDBClient.getDbName();
+		Stats stats = cursor.getStats();
 		
-		arangoDB.db(dbName).query(aql, bindVars, null, Void.class);
+		return stats == null || stats.getWritesExecuted() == null ? 0 : stats.getWritesExecuted();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public AqlExecutionExplainEntity explainByAql(String aql, Map<String, Object> bindVars) {
+		
+		return readClient().db().explainQuery(aql, bindVars, new AqlQueryExplainOptions());
 	}
 	
 	/**
@@ -173,10 +512,44 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	@Override
 	public void truncate(String collectionName) {
 		
-		ArangoDB arangoDB = arangoDBClient.getArangoDB();
-		String dbName = arangoDBClient.getDbName();
+		markWrite();
+		
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			addWrite(holder, new Write(WriteType.TRUNCATE, collectionName, null, null, null, null, null));
+			return;
+		}
+		
+		arangoDBClient.collection(collectionName).truncate();
+		
+		invalidateQueryCache(collectionName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void ensureGeoIndex(Class<?> entityClass) {
+		
+		ArangoDBPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entityClass);
+		ArangoDBPersistentProperty property = persistentEntity.getGeoIndexedProperty();
+		
+		if (property == null) {
+			throw new IllegalArgumentException(
+					String.format("%s has no @GeoIndexed property!", entityClass.getName()));
+		}
+		
+		String databaseName = arangoDBClient.getCurrentDbName();
+		String collectionName = persistentEntity.getCollectionName();
+		
+		if (geoIndexes.contains(databaseName + "/" + collectionName)) {
+			return;
+		}
+		
+		arangoDBClient.collection(databaseName, collectionName).createGeoIndex(
+				Collections.singletonList(property.getFieldName()), new GeoIndexOptions().geoJson(false));
 		
-		arangoDB.db(dbName).collection(collectionName).truncate();
+		geoIndexes.add(databaseName + "/" + collectionName);
 	}
 
 	/**
@@ -185,15 +558,26 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	@Override
 	public void insert(Object entity) {
 		
+		markWrite();
+		
 		ensureNotIterable(entity);
 
 		BaseDocument document = new BaseDocument();
 		converter.write(entity, document);
 
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			addWrite(holder, new Write(WriteType.INSERT, getCollectionName(entity.getClass()), document.getKey(),
+					document, null, null, d -> setSpecialProperties(entity, d)));
+			return;
+		}
+
 		ArangoCollection arangoCollection = getArangoCollection(entity.getClass());
 		
 		arangoCollection.insertDocument(document);
 		
+		invalidateQueryCache(getCollectionName(entity.getClass()));
+		
 		setSpecialProperties(entity, document);
 	}
 	
@@ -203,27 +587,218 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	@Override
 	public void update(Object entity) {
 		
+		markWrite();
+		
 		ensureNotIterable(entity);
 
 		BaseDocument document = new BaseDocument();
 		converter.write(entity, document);
 
-		ArangoCollection arangoCollection = getArangoCollection(entity.getClass());
-		
 		if (StringUtils.isEmpty(document.getKey())) {
 			throw new IllegalArgumentException("The key is null or empty.");
 		}
+
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			addWrite(holder, new Write(WriteType.UPDATE, getCollectionName(entity.getClass()), document.getKey(),
+					document, null, null, d -> setSpecialProperties(entity, d)));
+			return;
+		}
+
+		ArangoCollection arangoCollection = getArangoCollection(entity.getClass());
+		
 		arangoCollection.updateDocument(document.getKey(), document);
 		
+		invalidateQueryCache(getCollectionName(entity.getClass()));
+		
 		setSpecialProperties(entity, document);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void insertEntities(Collection<?> entities) {
+		
+		markWrite();
+		
+		for (Map.Entry<String, List<Object>> entry : groupByCollection(entities).entrySet()) {
+			
+			List<Object> collectionEntities = entry.getValue();
+			List<BaseDocument> documents = toDocuments(collectionEntities);
+			
+			ArangoDBTransactionHolder holder = getTransactionHolder();
+			if (holder != null) {
+				for (int i = 0; i < documents.size(); i++) {
+					Object entity = collectionEntities.get(i);
+					BaseDocument document = documents.get(i);
+					addWrite(holder, new Write(WriteType.INSERT, entry.getKey(), document.getKey(), document, null,
+							null, d -> setSpecialProperties(entity, d)));
+				}
+				continue;
+			}
+			
+			ArangoCollection arangoCollection = getArangoCollection(entry.getKey());
+			
+			MultiDocumentEntity<? extends DocumentEntity> result = arangoCollection.insertDocuments(documents);
+			
+			invalidateQueryCache(entry.getKey());
+			
+			setSpecialProperties(collectionEntities, result);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void updateEntities(Collection<?> entities) {
+		
+		markWrite();
+		
+		for (Map.Entry<String, List<Object>> entry : groupByCollection(entities).entrySet()) {
+			
+			List<Object> collectionEntities = entry.getValue();
+			List<BaseDocument> documents = toDocuments(collectionEntities);
+			
+			for (BaseDocument document : documents) {
+				if (StringUtils.isEmpty(document.getKey())) {
+					throw new IllegalArgumentException("The key is null or empty.");
+				}
+			}
+			
+			ArangoDBTransactionHolder holder = getTransactionHolder();
+			if (holder != null) {
+				for (int i = 0; i < documents.size(); i++) {
+					Object entity = collectionEntities.get(i);
+					BaseDocument document = documents.get(i);
+					addWrite(holder, new Write(WriteType.UPDATE, entry.getKey(), document.getKey(), document, null,
+							null, d -> setSpecialProperties(entity, d)));
+				}
+				continue;
+			}
+			
+			ArangoCollection arangoCollection = getArangoCollection(entry.getKey());
+			
+			MultiDocumentEntity<? extends DocumentEntity> result = arangoCollection.updateDocuments(documents);
+			
+			invalidateQueryCache(entry.getKey());
+			
+			setSpecialProperties(collectionEntities, result);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void insertDocuments(String collectionName, List<BaseDocument> documents) {
+		
+		markWrite();
+		
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			for (BaseDocument document : documents) {
+				addWrite(holder, new Write(WriteType.INSERT, collectionName, document.getKey(), document, null, null,
+						null));
+			}
+			return;
+		}
+		
+		MultiDocumentEntity<? extends DocumentEntity> result = getArangoCollection(collectionName)
+				.insertDocuments(documents);
+		
+		invalidateQueryCache(collectionName);
+		
+		checkErrors(result, documents.size());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void updateDocuments(String collectionName, List<BaseDocument> documents) {
+		
+		markWrite();
+		
+		for (BaseDocument document : documents) {
+			if (StringUtils.isEmpty(document.getKey())) {
+				throw new IllegalArgumentException("The key is null or empty.");
+			}
+		}
+		
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			for (BaseDocument document : documents) {
+				addWrite(holder, new Write(WriteType.UPDATE, collectionName, document.getKey(), document, null, null,
+						null));
+			}
+			return;
+		}
+		
+		MultiDocumentEntity<? extends DocumentEntity> result = getArangoCollection(collectionName)
+				.updateDocuments(documents);
+		
+		invalidateQueryCache(collectionName);
+		
+		checkErrors(result, documents.size());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ImportResult importEntities(Iterator<?> entities, ImportOptions options) {
+		
+		markWrite();
+		
+		if (getTransactionHolder() != null) {
+			throw new IllegalStateException("Bulk import cannot take part in a transaction.");
+		}
+		
+		Set<String> importedCollections = ConcurrentHashMap.newKeySet();
+		
+		// ワーカースレッドではテナントを解決できないため、呼び出し元のスレッドでデータベースを決める
+		String databaseName = arangoDBClient.getCurrentDbName();
+		
+		BulkImporter importer = new BulkImporter(collectionName -> {
+			importedCollections.add(collectionName);
+			return arangoDBClient.collection(databaseName, collectionName);
+		}, entity -> getCollectionName(entity.getClass()), entity -> {
+					ensureNotIterable(entity);
+					BaseDocument document = new BaseDocument();
+					converter.write(entity, document);
+					return document;
+				});
+		
+		ImportResult result;
+		try {
+			result = importer.importEntities(entities, options);
+		} finally {
+			importedCollections.forEach(this::invalidateQueryCache);
+		}
+		
+		markWrite();
+		
+		return result;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ImportResult importEntities(Stream<?> entities, ImportOptions options) {
+		return importEntities(entities.iterator(), options);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void delete(Object entity) {
 		
+		markWrite();
+		
 		ensureNotIterable(entity);
 		
 		ConvertingPropertyAccessor accessor = getPropertyAccessor(entity);
@@ -241,9 +816,18 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 			throw new IllegalArgumentException("The key is null or empty.");
 		}
 		
+		ArangoDBTransactionHolder holder = getTransactionHolder();
+		if (holder != null) {
+			addWrite(holder, new Write(WriteType.REMOVE, getCollectionName(entity.getClass()), key.toString(), null,
+					null, null, null));
+			return;
+		}
+		
 		ArangoCollection arangoCollection = getArangoCollection(entity.getClass());
 		
 		arangoCollection.deleteDocument(key.toString());
+		
+		invalidateQueryCache(getCollectionName(entity.getClass()));
 	}
 
 	/**
@@ -305,19 +889,323 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 	 * @return {@link ArangoCollection}
 	 */
 	private ArangoCollection getArangoCollection(Class<?> entityClass) {
+		return getArangoCollection(getCollectionName(entityClass));
+	}
+	
+	/**
+	 * {@link ArangoCollection} を返します。
+	 * 
+	 * @param collectionName コレクション名
+	 * @return {@link ArangoCollection}
+	 */
+	private ArangoCollection getArangoCollection(String collectionName) {
+		return arangoDBClient.collection(collectionName);
+	}
+	
+	/**
+	 * エンティティをコレクション名ごとにグループ化します。
+	 * 
+	 * @param entities エンティティのコレクション
+	 * @return コレクション名とエンティティのリストのマッピング
+	 */
+	private Map<String, List<Object>> groupByCollection(Collection<?> entities) {
 		
-		ArangoDB arangoDB = arangoDBClient.getArangoDB();
-		String dbName = arangoDBClient.getDbName();
-
-		String collectionName = entityClass.getSimpleName();
-		Entity entity = entityClass.getAnnotation(Entity.class);
-		if (entity != null && !StringUtils.isEmpty(entity.collectionName())) {
-			collectionName = entity.collectionName();
+		Map<String, List<Object>> grouped = new LinkedHashMap<>();
+		
+		for (Object entity : entities) {
+			ensureNotIterable(entity);
+			String collectionName = getCollectionName(entity.getClass());
+			List<Object> list = grouped.get(collectionName);
+			if (list == null) {
+				list = new ArrayList<>();
+				grouped.put(collectionName, list);
+			}
+			list.add(entity);
+		}
+		
+		return grouped;
+	}
+	
+	/**
+	 * エンティティを {@link BaseDocument} に変換します。
+	 * 
+	 * @param entities エンティティのリスト
+	 * @return {@link BaseDocument} のリスト
+	 */
+	private List<BaseDocument> toDocuments(List<Object> entities) {
+		
+		return converter.writeAll(entities);
+	}
+	
+	/**
+	 * 複数ドキュメント操作の結果にエラーがないことを確認します。
+	 * 
+	 * @param result 複数ドキュメント操作の結果
+	 * @param size 操作したドキュメントの数
+	 * @throws ArangoDBException 一部のドキュメントの操作に失敗した場合
+	 */
+	private void checkErrors(MultiDocumentEntity<? extends DocumentEntity> result, int size) {
+		
+		if (result.getErrors() != null && !result.getErrors().isEmpty()) {
+			ErrorEntity error = result.getErrors().iterator().next();
+			throw new ArangoDBException(String.format("%d of %d documents failed. First error: %d - %s",
+					result.getErrors().size(), size, error.getErrorNum(), error.getErrorMessage()));
+		}
+	}
+	
+	/**
+	 * 複数ドキュメント操作の結果から、エンティティに {@link @Id} 、 {@link @Version} の値を設定します。
+	 * 
+	 * @param entities エンティティのリスト
+	 * @param result 複数ドキュメント操作の結果
+	 * @throws ArangoDBException 一部のドキュメントの操作に失敗した場合
+	 */
+	private void setSpecialProperties(List<Object> entities, MultiDocumentEntity<? extends DocumentEntity> result) {
+		
+		checkErrors(result, entities.size());
+		
+		Iterator<? extends DocumentEntity> documentItr = result.getDocuments().iterator();
+		for (Object entity : entities) {
+			if (!documentItr.hasNext()) {
+				break;
+			}
+			DocumentEntity documentEntity = documentItr.next();
+			BaseDocument document = new BaseDocument(documentEntity.getKey());
+			document.setRevision(documentEntity.getRev());
+			setSpecialProperties(entity, document);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCollectionName(Class<?> entityClass) {
+		return mappingContext.getPersistentEntity(entityClass).getCollectionName();
+	}
+	
+	/**
+	 * 読み込み操作に使用する {@link ArangoDBClient} を返します。
+	 * 
+	 * @return 読み込み用クライアント。トランザクション内、または書き込み直後の場合は書き込み用クライアント
+	 */
+	private ArangoDBClient readClient() {
+		
+		if (readClients.isEmpty() || getTransactionHolder() != null) {
+			return arangoDBClient;
+		}
+		
+		Long lastWrite = lastWriteNanos.get();
+		if (lastWrite != null) {
+			if (System.nanoTime() - lastWrite < TimeUnit.MILLISECONDS.toNanos(readYourWritesWindowMillis)) {
+				return arangoDBClient;
+			}
+			lastWriteNanos.remove();
+		}
+		
+		return readLoadBalancingPolicy.select(readClients);
+	}
+	
+	/**
+	 * 読み込み用クライアントで読み込みを実行します。
+	 * 
+	 * <p>ヘッジ読み込みが有効な場合は、追加の読み込みに選択したクライアントの次の読み込み用クライアントを使用します。<br>
+	 * テナントとトランザクションはスレッドに結び付いているため、読み込み先は呼び出し元のスレッドで解決します。</p>
+	 * 
+	 * @param target 読み込み用クライアントから読み込み先 ({@link com.arangodb.ArangoDatabase} など) を返す関数
+	 * @param fetch 読み込み先からドキュメントを取得する関数
+	 * @return 取得した結果
+	 */
+	private <C, T> T executeRead(Function<ArangoDBClient, C> target, Function<C, T> fetch) {
+		
+		ArangoDBClient client = readClient();
+		C primary = target.apply(client);
+		
+		HedgedReader reader = hedgedReader;
+		if (reader == null || readClients.size() < 2 || client == arangoDBClient) {
+			return fetch.apply(primary);
+		}
+		
+		ArangoDBClient hedgeClient = readClients.get((readClients.indexOf(client) + 1) % readClients.size());
+		C hedge = target.apply(hedgeClient);
+		
+		return reader.read(() -> fetch.apply(primary), () -> fetch.apply(hedge));
+	}
+	
+	/**
+	 * クエリ結果キャッシュを使用してクエリを実行します。
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 * @param resultType 結果の型
+	 * @param loader クエリを実行する関数
+	 * @return クエリの結果
+	 */
+	private <T> T cachedQuery(String aql, Map<String, Object> bindVars, Class<?> resultType, Supplier<T> loader) {
+		
+		QueryResultCache cache = queryCache;
+		if (cache == null || getTransactionHolder() != null) {
+			return loader.get();
+		}
+		
+		return cache.get(arangoDBClient.getCurrentDbName(), aql, bindVars, resultType, loader);
+	}
+	
+	/**
+	 * コレクションへの書き込みを、クエリ結果キャッシュに記録します。
+	 * 
+	 * @param collectionName コレクション名
+	 */
+	private void invalidateQueryCache(String collectionName) {
+		QueryResultCache cache = queryCache;
+		if (cache != null) {
+			cache.invalidate(collectionName);
+		}
+	}
+	
+	/**
+	 * AQL による書き込みを、クエリ結果キャッシュに記録します。
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 */
+	private void invalidateQueryCache(String aql, Map<String, Object> bindVars) {
+		QueryResultCache cache = queryCache;
+		if (cache != null) {
+			cache.invalidate(aql, bindVars);
+		}
+	}
+	
+	/**
+	 * トランザクション内の AQL による書き込みで、トランザクションに宣言するコレクション名を返します。
+	 * 
+	 * <p>コレクションのバインド変数 (名前が {@code @} で始まるもの) の値をコレクション名とします。
+	 * コレクションのバインド変数を使わない AQL だけは、バッファする時にサーバーで解析します。</p>
+	 * 
+	 * @param aql AQL
+	 * @param bindVars バインド変数
+	 * @return コレクション名
+	 */
+	private Set<String> getQueryWriteCollections(String aql, Map<String, Object> bindVars) {
+		
+		Set<String> collections = new LinkedHashSet<>();
+		
+		if (bindVars != null) {
+			for (Map.Entry<String, Object> bindVar : bindVars.entrySet()) {
+				if (bindVar.getKey().startsWith("@") && bindVar.getValue() != null) {
+					collections.add(bindVar.getValue().toString());
+				}
+			}
+		}
+		
+		if (collections.isEmpty()) {
+			collections.addAll(arangoDBClient.db().parseQuery(aql).getCollections());
+		}
+		
+		return collections;
+	}
+	
+	/**
+	 * 書き込み操作をトランザクションのバッファに追加します。
+	 * 
+	 * <p>クエリ結果キャッシュが有効な場合は、コミット後にバッファされた書き込みをキャッシュに記録します。</p>
+	 * 
+	 * @param holder {@link ArangoDBTransactionHolder}
+	 * @param write 書き込み操作
+	 */
+	private void addWrite(ArangoDBTransactionHolder holder, Write write) {
+		
+		holder.addWrite(write);
+		
+		if (queryCache == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		
+		QueryCacheSynchronization synchronization = new QueryCacheSynchronization(holder);
+		if (!TransactionSynchronizationManager.getSynchronizations().contains(synchronization)) {
+			TransactionSynchronizationManager.registerSynchronization(synchronization);
+		}
+	}
+	
+	/**
+	 * 書き込みを行ったことを記録します。
+	 */
+	private void markWrite() {
+		if (readYourWritesWindowMillis > 0 && !readClients.isEmpty()) {
+			lastWriteNanos.set(System.nanoTime());
+		}
+	}
+	
+	/**
+	 * {@link ArangoDBTransactionManager} により開始されたアクティブなトランザクションの
+	 * {@link ArangoDBTransactionHolder} を返します。
+	 * 
+	 * @return {@link ArangoDBTransactionHolder} 。トランザクション外ならば {@code null}
+	 */
+	private ArangoDBTransactionHolder getTransactionHolder() {
+		
+		Object resource = TransactionSynchronizationManager.getResource(arangoDBClient);
+		
+		if (resource instanceof ArangoDBTransactionHolder
+				&& ((ArangoDBTransactionHolder) resource).isTransactionActive()) {
+			return (ArangoDBTransactionHolder) resource;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R toEntity(BaseDocument document, Class<R> entityClass) {
+		
+		if (document == null) {
+			return null;
 		}
 		
-		ArangoCollection arangoCollection = arangoDB.db(dbName).collection(collectionName);
+		R entity = converter.read(entityClass, document);
+		
+		setSpecialProperties(entity, document);
+		
+		return entity;
+	}
+	
+	/**
+	 * {@link BaseDocument} のリストをエンティティのリストに変換します。
+	 * 
+	 * @param documents {@link BaseDocument} のリスト
+	 * @param entityClass エンティティクラス
+	 * @return エンティティのリスト
+	 */
+	private <R> List<R> toEntities(List<BaseDocument> documents, Class<R> entityClass) {
+		
+		List<R> entities = converter.readAll(entityClass, documents);
+		
+		for (int i = 0; i < documents.size(); i++) {
+			setSpecialProperties(entities.get(i), documents.get(i));
+		}
 		
-		return arangoCollection;
+		return entities;
+	}
+	
+	/**
+	 * ドキュメントの配列をエンティティのリストに変換します。
+	 * 
+	 * @param documents ドキュメントの配列
+	 * @param entityClass エンティティクラス
+	 * @return エンティティのリスト
+	 */
+	private <R> List<R> toEntities(VPackSlice documents, Class<R> entityClass) {
+		
+		List<R> entities = new ArrayList<>(documents.getLength());
+		
+		for (Iterator<VPackSlice> itr = documents.arrayIterator(); itr.hasNext();) {
+			BaseDocument document = arangoDBClient.getArangoDB().util().deserialize(itr.next(), BaseDocument.class);
+			entities.add(toEntity(document, entityClass));
+		}
+		
+		return entities;
 	}
 	
 	/**
@@ -342,4 +1230,118 @@ public class ArangoDBTemplate implements ArangoDBOperations, ApplicationEventPub
 			accessor.setProperty(versionProperty, document.getRevision());
 		}
 	}
+	
+	/**
+	 * コミットされたトランザクションの書き込みを、クエリ結果キャッシュに記録する {@link TransactionSynchronization} です。
+	 * 
+	 * <p>同じ {@link ArangoDBTransactionHolder} に対して1つだけ登録されるよう、等価性は
+	 * {@link ArangoDBTransactionHolder} により判定します。</p>
+	 */
+	private class QueryCacheSynchronization extends TransactionSynchronizationAdapter {
+		
+		/**
+		 * {@link ArangoDBTransactionHolder} インスタンスです。
+		 */
+		private final ArangoDBTransactionHolder holder;
+		
+		/**
+		 * インスタンスを生成します。
+		 * 
+		 * @param holder {@link ArangoDBTransactionHolder}
+		 */
+		private QueryCacheSynchronization(ArangoDBTransactionHolder holder) {
+			this.holder = holder;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void afterCompletion(int status) {
+			
+			if (status != STATUS_COMMITTED) {
+				return;
+			}
+			
+			for (Write write : holder.getWrites()) {
+				if (write.getCollection() != null) {
+					invalidateQueryCache(write.getCollection());
+				} else if (write.getAql() != null) {
+					invalidateQueryCache(write.getAql(), write.getBindVars());
+				}
+			}
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof QueryCacheSynchronization && ((QueryCacheSynchronization) obj).holder == holder;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(holder);
+		}
+	}
+	
+	/**
+	 * {@code DOCUMENT()} により、参照先のドキュメントを1回のリクエストで読み込む {@link ReferenceResolver} です。
+	 */
+	private class DocumentReferenceResolver implements ReferenceResolver {
+		
+		/**
+		 * 読み込むデータベース名です。 {@code null} の場合は読み込み時のテナントのデータベースです。
+		 */
+		private final String databaseName;
+		
+		/**
+		 * {@link DocumentReferenceResolver} を生成します。
+		 * 
+		 * @param databaseName 読み込むデータベース名。読み込み時のテナントのデータベースを使う場合は {@code null}
+		 */
+		private DocumentReferenceResolver(String databaseName) {
+			this.databaseName = databaseName;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * <p>遅延読み込みのプロキシが、触れられた時点ではなく生成された時点のテナントのデータベースを読み込むよう、
+		 * データベース名を固定します。</p>
+		 */
+		@Override
+		public ReferenceResolver bind() {
+			return new DocumentReferenceResolver(arangoDBClient.getCurrentDbName());
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public <R> Map<String, R> resolve(Collection<String> documentHandles, Class<R> entityClass) {
+			
+			Map<String, R> entities = new HashMap<>();
+			
+			Map<String, Object> bindVars = new HashMap<>();
+			bindVars.put("handles", documentHandles);
+			
+			ArangoDBClient client = readClient();
+			ArangoDatabase db = databaseName == null ? client.db() : client.db(databaseName);
+			
+			ArangoCursor<BaseDocument> cursor = db.query("FOR d IN DOCUMENT(@handles) RETURN d", bindVars, null,
+					BaseDocument.class);
+			
+			while (cursor.hasNext()) {
+				BaseDocument document = cursor.next();
+				entities.put(document.getId(), toEntity(document, entityClass));
+			}
+			
+			return entities;
+		}
+	}
 }
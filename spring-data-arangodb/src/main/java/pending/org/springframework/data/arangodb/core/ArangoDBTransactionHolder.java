@@ -0,0 +1,181 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.transaction.support.ResourceHolderSupport;
+
+import com.arangodb.entity.BaseDocument;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * トランザクション内で行われた書き込み操作をバッファするリソースホルダーです。
+ *
+ * <p>
+ * バッファされた書き込み操作は、コミット時に {@link ArangoDBTransactionManager} により、
+ * 1つのサーバサイドトランザクションとして実行されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class ArangoDBTransactionHolder extends ResourceHolderSupport {
+
+	/**
+	 * トランザクションがアクティブかどうかです。
+	 */
+	private boolean transactionActive;
+
+	/**
+	 * バッファされた書き込み操作です。
+	 */
+	private final List<Write> writes = new ArrayList<>();
+
+	/**
+	 * AQL による書き込み操作の対象となるコレクション名です。
+	 */
+	private final Set<String> queryWriteCollections = new LinkedHashSet<>();
+
+	/**
+	 * トランザクションがアクティブかどうかを返します。
+	 *
+	 * @return アクティブならば {@code true} 、そうでなければ {@code false}
+	 */
+	public boolean isTransactionActive() {
+		return transactionActive;
+	}
+
+	/**
+	 * トランザクションがアクティブかどうかを設定します。
+	 *
+	 * @param transactionActive
+	 *            アクティブならば {@code true} 、そうでなければ {@code false}
+	 */
+	public void setTransactionActive(boolean transactionActive) {
+		this.transactionActive = transactionActive;
+	}
+
+	/**
+	 * 書き込み操作をバッファに追加します。
+	 *
+	 * @param write
+	 *            書き込み操作
+	 */
+	public void addWrite(Write write) {
+		writes.add(write);
+	}
+
+	/**
+	 * AQL による書き込み操作の対象となるコレクション名を追加します。
+	 *
+	 * <p>
+	 * コミット時に AQL を解析しなくて済むよう、書き込み操作をバッファする時に追加します。
+	 * </p>
+	 *
+	 * @param collections
+	 *            コレクション名
+	 */
+	public void addQueryWriteCollections(Collection<String> collections) {
+		queryWriteCollections.addAll(collections);
+	}
+
+	/**
+	 * バッファされた書き込み操作を返します。
+	 *
+	 * @return バッファされた書き込み操作
+	 */
+	public List<Write> getWrites() {
+		return Collections.unmodifiableList(writes);
+	}
+
+	/**
+	 * 書き込み操作の対象となるコレクション名を返します。
+	 *
+	 * @return コレクション名。 {@link #addQueryWriteCollections(Collection)} で追加されたものを含みます
+	 */
+	public Set<String> getWriteCollections() {
+		Set<String> collections = new LinkedHashSet<>();
+		for (Write write : writes) {
+			if (write.getCollection() != null) {
+				collections.add(write.getCollection());
+			}
+		}
+		collections.addAll(queryWriteCollections);
+		return collections;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		writes.clear();
+		queryWriteCollections.clear();
+		transactionActive = false;
+	}
+
+	/**
+	 * 書き込み操作の種類です。
+	 *
+	 * @author hs0x01
+	 *
+	 */
+	public enum WriteType {
+		INSERT, UPDATE, REMOVE, TRUNCATE, QUERY
+	}
+
+	/**
+	 * バッファされた書き込み操作です。
+	 *
+	 * @author hs0x01
+	 *
+	 */
+	@Data
+	@AllArgsConstructor
+	public static class Write {
+
+		/**
+		 * 書き込み操作の種類です。
+		 */
+		private WriteType type;
+
+		/**
+		 * コレクション名です。 {@link WriteType#QUERY} の場合は {@code null} です。
+		 */
+		private String collection;
+
+		/**
+		 * ドキュメントのキーです。
+		 */
+		private String key;
+
+		/**
+		 * 書き込まれるドキュメントです。
+		 */
+		private BaseDocument document;
+
+		/**
+		 * AQL です。 {@link WriteType#QUERY} の場合のみ使用されます。
+		 */
+		private String aql;
+
+		/**
+		 * バインド変数です。 {@link WriteType#QUERY} の場合のみ使用されます。
+		 */
+		private Map<String, Object> bindVars;
+
+		/**
+		 * コミット後に、サーバが返したキー、リビジョンを受け取るコールバックです。不要ならば {@code null} です。
+		 */
+		private Consumer<BaseDocument> afterCommit;
+	}
+}
@@ -0,0 +1,337 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.ResourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.model.TransactionOptions;
+
+import pending.org.springframework.data.arangodb.core.ArangoDBTransactionHolder.Write;
+
+/**
+ * Arango DB のサーバサイドトランザクションを使用する {@link org.springframework.transaction.PlatformTransactionManager} です。
+ *
+ * <p>
+ * トランザクション内で {@link ArangoDBTemplate} に対して行われた書き込み操作 ({@code insert} 、 {@code update} 、
+ * {@code delete} 、 {@code updateByAql} 、 {@code truncate}) はバッファされ、コミット時に書き込み対象のコレクションを宣言した
+ * 1つの JavaScript トランザクションとして、1回のリクエストで実行されます。<br>
+ * 読み込み操作はバッファされず、トランザクション外で即時に実行されるため、同じトランザクション内で書き込んだ内容は読み込めません。<br>
+ * 挿入されたエンティティの ID 、バージョンはコミット後に設定されます。
+ * </p>
+ *
+ * <p>
+ * トランザクション定義のタイムアウトは、トランザクション全体の期限として扱われます。
+ * コミット時に期限を過ぎている場合は {@link org.springframework.transaction.TransactionTimedOutException} がスローされ、
+ * ロック取得の待機時間は期限までの残り時間に制限されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class ArangoDBTransactionManager extends AbstractPlatformTransactionManager
+		implements ResourceTransactionManager, InitializingBean {
+
+	/**
+	 * バッファされた書き込み操作を実行する JavaScript トランザクションです。
+	 */
+	private static final String TRANSACTION_ACTION = "function (params) {"
+			+ " var db = require('@arangodb').db;"
+			+ " var results = [];"
+			+ " params.writes.forEach(function (w) {"
+			+ "  var col = w.collection ? db._collection(w.collection) : null;"
+			+ "  var result = null;"
+			+ "  if (w.type === 'INSERT') { result = col.insert(w.document); }"
+			+ "  else if (w.type === 'UPDATE') { result = col.update(w.key, w.document); }"
+			+ "  else if (w.type === 'REMOVE') { result = col.remove(w.key); }"
+			+ "  else if (w.type === 'TRUNCATE') { col.truncate(); }"
+			+ "  else if (w.type === 'QUERY') { db._query(w.aql, w.bindVars || {}); }"
+			+ "  results.push(result);"
+			+ " });"
+			+ " return results;"
+			+ "}";
+
+	/**
+	 * {@link ArangoDBClient} インスタンスです。
+	 */
+	private ArangoDBClient arangoDBClient;
+
+	/**
+	 * ロック取得のタイムアウト秒数です。 {@code null} の場合はサーバーのデフォルト、 {@code 0} の場合は無期限です。
+	 */
+	private Integer lockTimeout;
+
+	/**
+	 * ディスクへの同期を待つかどうかです。
+	 */
+	private Boolean waitForSync;
+
+	/**
+	 * トランザクションマネージャを生成します。
+	 *
+	 * <p>
+	 * {@link #setArangoDBClient(ArangoDBClient)} を設定する必要があります。
+	 * </p>
+	 */
+	public ArangoDBTransactionManager() {
+	}
+
+	/**
+	 * トランザクションマネージャを生成します。
+	 *
+	 * @param arangoDBClient
+	 *            {@link ArangoDBTemplate} と共有する {@link ArangoDBClient} インスタンス
+	 */
+	public ArangoDBTransactionManager(ArangoDBClient arangoDBClient) {
+		this.arangoDBClient = arangoDBClient;
+		afterPropertiesSet();
+	}
+
+	/**
+	 * {@link ArangoDBClient} を設定します。
+	 *
+	 * @param arangoDBClient
+	 *            {@link ArangoDBTemplate} と共有する {@link ArangoDBClient} インスタンス
+	 */
+	public void setArangoDBClient(ArangoDBClient arangoDBClient) {
+		this.arangoDBClient = arangoDBClient;
+	}
+
+	/**
+	 * ロック取得のタイムアウト秒数を設定します。
+	 *
+	 * <p>
+	 * トランザクションのタイムアウトとは独立した設定です。
+	 * トランザクションにタイムアウトがある場合は、期限までの残り時間を超えない値が使用されます。
+	 * </p>
+	 *
+	 * @param lockTimeout
+	 *            ロック取得のタイムアウト秒数。 {@code 0} の場合は無期限
+	 */
+	public void setLockTimeout(Integer lockTimeout) {
+		this.lockTimeout = lockTimeout;
+	}
+
+	/**
+	 * ディスクへの同期を待つかどうかを設定します。
+	 *
+	 * @param waitForSync
+	 *            同期を待つならば {@code true}
+	 */
+	public void setWaitForSync(Boolean waitForSync) {
+		this.waitForSync = waitForSync;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		Assert.notNull(arangoDBClient, "arangoDBClient must not be null!");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getResourceFactory() {
+		return arangoDBClient;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Object doGetTransaction() {
+		ArangoDBTransactionObject txObject = new ArangoDBTransactionObject();
+		txObject.holder = (ArangoDBTransactionHolder) TransactionSynchronizationManager.getResource(arangoDBClient);
+		return txObject;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isExistingTransaction(Object transaction) {
+		ArangoDBTransactionObject txObject = (ArangoDBTransactionObject) transaction;
+		return txObject.holder != null && txObject.holder.isTransactionActive();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+
+		ArangoDBTransactionObject txObject = (ArangoDBTransactionObject) transaction;
+
+		ArangoDBTransactionHolder holder = new ArangoDBTransactionHolder();
+		holder.setSynchronizedWithTransaction(true);
+		holder.setTransactionActive(true);
+
+		int timeout = determineTimeout(definition);
+		if (timeout != TransactionDefinition.TIMEOUT_DEFAULT) {
+			holder.setTimeoutInSeconds(timeout);
+		}
+
+		txObject.holder = holder;
+		TransactionSynchronizationManager.bindResource(arangoDBClient, holder);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Object doSuspend(Object transaction) {
+		ArangoDBTransactionObject txObject = (ArangoDBTransactionObject) transaction;
+		txObject.holder = null;
+		return TransactionSynchronizationManager.unbindResource(arangoDBClient);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doResume(Object transaction, Object suspendedResources) {
+		TransactionSynchronizationManager.bindResource(arangoDBClient, suspendedResources);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) throws TransactionException {
+
+		ArangoDBTransactionHolder holder = ((ArangoDBTransactionObject) status.getTransaction()).holder;
+
+		List<Write> writes = holder.getWrites();
+
+		if (writes.isEmpty()) {
+			return;
+		}
+
+		Integer transactionLockTimeout = getLockTimeout(holder);
+
+		ArangoDatabase database = arangoDBClient.db();
+
+		Set<String> writeCollections = new LinkedHashSet<>(holder.getWriteCollections());
+		List<Map<String, Object>> params = new ArrayList<>();
+
+		for (Write write : writes) {
+			Map<String, Object> param = new HashMap<>();
+			param.put("type", write.getType().name());
+			param.put("collection", write.getCollection());
+			param.put("key", write.getKey());
+			param.put("document", write.getDocument());
+			param.put("aql", write.getAql());
+			param.put("bindVars", write.getBindVars());
+			params.add(param);
+		}
+
+		Map<String, Object> transactionParams = new HashMap<>();
+		transactionParams.put("writes", params);
+
+		TransactionOptions options = new TransactionOptions()
+				.writeCollections(writeCollections.toArray(new String[writeCollections.size()]))
+				.params(transactionParams)
+				.lockTimeout(transactionLockTimeout)
+				.waitForSync(waitForSync);
+
+		List<?> results;
+		try {
+			results = database.transaction(TRANSACTION_ACTION, List.class, options);
+		} catch (ArangoDBException e) {
+			throw new TransactionSystemException("Could not commit ArangoDB transaction", e);
+		}
+
+		for (int i = 0; i < writes.size(); i++) {
+
+			Write write = writes.get(i);
+			Object result = results != null && i < results.size() ? results.get(i) : null;
+
+			if (write.getAfterCommit() != null && result instanceof Map) {
+				Map<?, ?> resultMap = (Map<?, ?>) result;
+				BaseDocument document = write.getDocument();
+				document.setKey((String) resultMap.get("_key"));
+				document.setRevision((String) resultMap.get("_rev"));
+				write.getAfterCommit().accept(document);
+			}
+		}
+	}
+
+	/**
+	 * コミットに使用するロック取得のタイムアウト秒数を返します。
+	 *
+	 * @param holder
+	 *            {@link ArangoDBTransactionHolder}
+	 * @return ロック取得のタイムアウト秒数。トランザクションにタイムアウトがある場合は、期限までの残り時間以下
+	 * @throws org.springframework.transaction.TransactionTimedOutException
+	 *             トランザクションの期限を過ぎている場合
+	 */
+	private Integer getLockTimeout(ArangoDBTransactionHolder holder) {
+
+		if (!holder.hasTimeout()) {
+			return lockTimeout;
+		}
+
+		int remaining = holder.getTimeToLiveInSeconds();
+
+		return lockTimeout == null || lockTimeout == 0 ? remaining : Math.min(lockTimeout, remaining);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doRollback(DefaultTransactionStatus status) throws TransactionException {
+		// 書き込み操作はコミットまでサーバに送られないため、バッファを破棄するのみです。
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doSetRollbackOnly(DefaultTransactionStatus status) throws TransactionException {
+		((ArangoDBTransactionObject) status.getTransaction()).holder.setRollbackOnly();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doCleanupAfterCompletion(Object transaction) {
+		ArangoDBTransactionObject txObject = (ArangoDBTransactionObject) transaction;
+		TransactionSynchronizationManager.unbindResourceIfPossible(arangoDBClient);
+		txObject.holder.clear();
+		txObject.holder = null;
+	}
+
+	/**
+	 * トランザクションオブジェクトです。
+	 *
+	 * @author hs0x01
+	 *
+	 */
+	private static class ArangoDBTransactionObject {
+
+		/**
+		 * {@link ArangoDBTransactionHolder} インスタンスです。
+		 */
+		private ArangoDBTransactionHolder holder;
+	}
+}
@@ -0,0 +1,40 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * {@link BatchingEntityLoader} の統計情報のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class BatchLoaderStatistics {
+
+	/**
+	 * 要求されたキーの数です。
+	 */
+	private long requestedKeys;
+
+	/**
+	 * 同じバッチ内の重複として除外されたキーの数です。
+	 */
+	private long deduplicatedKeys;
+
+	/**
+	 * 実行されたバッチの数です。
+	 */
+	private long batches;
+
+	/**
+	 * バッチの平均キー数です。
+	 */
+	private double averageBatchSize;
+
+	/**
+	 * バッチの最大キー数です。
+	 */
+	private long maxBatchSize;
+}
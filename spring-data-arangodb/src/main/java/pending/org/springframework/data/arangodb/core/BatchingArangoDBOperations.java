@@ -0,0 +1,124 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * 同時に実行された {@link #read(String, Class)} を、エンティティクラスごとに1回の複数ドキュメント取得にまとめる
+ * {@link ArangoDBOperations} のデコレータです。
+ *
+ * <p>
+ * リポジトリの {@code findOne} は {@link #read(String, Class)} を使用するため、このデコレータをリポジトリに設定すると、
+ * 高い並行度で呼び出される {@code findOne} がまとめられます。<br>
+ * 読み込みは {@link BatchingEntityLoader} で行われます。その他の操作はそのまま委譲されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class BatchingArangoDBOperations extends DelegatingArangoDBOperations {
+
+	/**
+	 * キーを集める時間 (マイクロ秒) です。
+	 */
+	private final long windowMicros;
+
+	/**
+	 * バッチの最大キー数です。
+	 */
+	private final int maxBatchSize;
+
+	/**
+	 * エンティティクラスと {@link BatchingEntityLoader} のマッピングです。
+	 */
+	private final Map<Class<?>, BatchingEntityLoader<?>> loaders = new ConcurrentHashMap<>();
+
+	/**
+	 * テナント ID ごとの、エンティティクラスと {@link BatchingEntityLoader} のマッピングです。
+	 */
+	private final Map<String, Map<Class<?>, BatchingEntityLoader<?>>> tenantLoaders = new ConcurrentHashMap<>();
+
+	/**
+	 * {@link TenantResolver} インスタンスです。設定されていない場合は {@code null} です。
+	 */
+	private TenantResolver tenantResolver;
+
+	/**
+	 * デコレータを生成します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 * @param windowMicros
+	 *            キーを集める時間 (マイクロ秒)
+	 * @param maxBatchSize
+	 *            バッチの最大キー数
+	 */
+	public BatchingArangoDBOperations(ArangoDBOperations delegate, long windowMicros, int maxBatchSize) {
+
+		super(delegate);
+
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive!");
+
+		this.windowMicros = windowMicros;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R read(String key, Class<R> entityClass) {
+		return getLoader(entityClass).load(key);
+	}
+
+	/**
+	 * {@link TenantResolver} を設定します。
+	 *
+	 * <p>
+	 * テナントごとにデータベースを切り替える場合に設定します。キーはテナントごとに別のバッチにまとめられます。
+	 * </p>
+	 *
+	 * @param tenantResolver
+	 *            {@link TenantResolver} インスタンス
+	 */
+	public void setTenantResolver(TenantResolver tenantResolver) {
+		this.tenantResolver = tenantResolver;
+	}
+
+	/**
+	 * エンティティクラスごとの統計情報のスナップショットを返します。
+	 *
+	 * <p>
+	 * {@link TenantResolver} が設定されている場合、テナントが決まっていない操作の統計情報だけを返します。
+	 * </p>
+	 *
+	 * @return エンティティクラスと統計情報のマッピング
+	 */
+	public Map<Class<?>, BatchLoaderStatistics> getStatistics() {
+		Map<Class<?>, BatchLoaderStatistics> statistics = new ConcurrentHashMap<>();
+		for (Map.Entry<Class<?>, BatchingEntityLoader<?>> entry : loaders.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * エンティティクラスの {@link BatchingEntityLoader} を返します。
+	 *
+	 * @param entityClass
+	 *            エンティティクラス
+	 * @return {@link BatchingEntityLoader}
+	 */
+	@SuppressWarnings("unchecked")
+	private <R> BatchingEntityLoader<R> getLoader(Class<R> entityClass) {
+
+		String tenantId = tenantResolver == null ? null : tenantResolver.resolveTenantId();
+		Map<Class<?>, BatchingEntityLoader<?>> classLoaders = tenantId == null ? loaders
+				: tenantLoaders.computeIfAbsent(tenantId, t -> new ConcurrentHashMap<>());
+
+		return (BatchingEntityLoader<R>) classLoaders.computeIfAbsent(entityClass,
+				c -> new BatchingEntityLoader<>(delegate, entityClass, windowMicros, maxBatchSize));
+	}
+}
@@ -0,0 +1,223 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.util.Assert;
+
+import com.arangodb.entity.BaseDocument;
+
+import lombok.SneakyThrows;
+
+/**
+ * 同時に要求されたキーによる読み込みを、1回の複数ドキュメント取得にまとめるローダーです。
+ *
+ * <p>
+ * バッチの最初のキーを要求したスレッドは、 {@code windowMicros} の間に他のスレッドから要求されたキーを集めてから、
+ * {@link ArangoDBOperations#readDocumentsByKeys(java.util.Collection, Class)} を実行し、各呼び出し元に結果を渡します。<br>
+ * バッチのキー数が {@code maxBatchSize} に達した場合は、待機せずにすぐに実行されます。<br>
+ * 同じバッチ内の重複したキーは1つにまとめられます。
+ * 呼び出し元どうしが同じインスタンスを共有しないよう、取得したドキュメントは各呼び出し元のスレッドで
+ * {@link ArangoDBOperations#toEntity(BaseDocument, Class)} によりエンティティに変換されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ * @param <R>
+ *            エンティティ
+ */
+public class BatchingEntityLoader<R> {
+
+	/**
+	 * {@link ArangoDBOperations} インスタンスです。
+	 */
+	private final ArangoDBOperations arangoDBOperations;
+
+	/**
+	 * エンティティクラスです。
+	 */
+	private final Class<R> entityClass;
+
+	/**
+	 * キーを集める時間 (ナノ秒) です。
+	 */
+	private final long windowNanos;
+
+	/**
+	 * バッチの最大キー数です。
+	 */
+	private final int maxBatchSize;
+
+	/**
+	 * キーを集めている最中のバッチです。
+	 */
+	private Batch current;
+
+	/**
+	 * 要求されたキーの数です。
+	 */
+	private final AtomicLong requestedKeys = new AtomicLong();
+
+	/**
+	 * 重複としてまとめられたキーの数です。
+	 */
+	private final AtomicLong deduplicatedKeys = new AtomicLong();
+
+	/**
+	 * 実行したバッチの数です。
+	 */
+	private final AtomicLong batches = new AtomicLong();
+
+	/**
+	 * 実行したバッチに含まれるキーの合計数です。
+	 */
+	private final AtomicLong batchedKeys = new AtomicLong();
+
+	/**
+	 * 実行したバッチの最大キー数です。
+	 */
+	private final AtomicLong maxObservedBatchSize = new AtomicLong();
+
+	/**
+	 * ローダーを生成します。
+	 *
+	 * @param arangoDBOperations
+	 *            {@link ArangoDBOperations} インスタンス
+	 * @param entityClass
+	 *            エンティティクラス
+	 * @param windowMicros
+	 *            キーを集める時間 (マイクロ秒)
+	 * @param maxBatchSize
+	 *            バッチの最大キー数
+	 */
+	public BatchingEntityLoader(ArangoDBOperations arangoDBOperations, Class<R> entityClass, long windowMicros,
+			int maxBatchSize) {
+
+		Assert.notNull(arangoDBOperations);
+		Assert.notNull(entityClass);
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive!");
+
+		this.arangoDBOperations = arangoDBOperations;
+		this.entityClass = entityClass;
+		this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * {@code key} によりドキュメントを取得し、エンティティで返します。
+	 *
+	 * @param key
+	 *            ドキュメントを特定するキー
+	 * @return エンティティ。存在しなければ {@code null}
+	 */
+	@SneakyThrows
+	public R load(String key) {
+
+		Assert.notNull(key, "key must not be null!");
+
+		Batch batch;
+		CompletableFuture<BaseDocument> future;
+		boolean leader = false;
+		boolean full = false;
+
+		synchronized (this) {
+
+			if (current == null) {
+				current = new Batch();
+				leader = true;
+			}
+
+			batch = current;
+
+			future = batch.futures.get(key);
+			if (future == null) {
+				future = new CompletableFuture<>();
+				batch.futures.put(key, future);
+				if (batch.futures.size() >= maxBatchSize) {
+					current = null;
+					full = true;
+				}
+			} else {
+				deduplicatedKeys.incrementAndGet();
+			}
+		}
+
+		requestedKeys.incrementAndGet();
+
+		if (full) {
+			dispatch(batch);
+		} else if (leader) {
+			LockSupport.parkNanos(windowNanos);
+			boolean mine;
+			synchronized (this) {
+				mine = current == batch;
+				if (mine) {
+					current = null;
+				}
+			}
+			if (mine) {
+				dispatch(batch);
+			}
+		}
+
+		BaseDocument document;
+		try {
+			document = future.get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+
+		return arangoDBOperations.toEntity(document, entityClass);
+	}
+
+	/**
+	 * 統計情報のスナップショットを返します。
+	 *
+	 * @return 統計情報
+	 */
+	public BatchLoaderStatistics getStatistics() {
+		long batchCount = batches.get();
+		double average = batchCount == 0 ? 0 : batchedKeys.get() / (double) batchCount;
+		return new BatchLoaderStatistics(requestedKeys.get(), deduplicatedKeys.get(), batchCount, average,
+				maxObservedBatchSize.get());
+	}
+
+	/**
+	 * バッチを実行し、各呼び出し元に結果を渡します。
+	 *
+	 * @param batch
+	 *            バッチ
+	 */
+	private void dispatch(Batch batch) {
+
+		int size = batch.futures.size();
+		batches.incrementAndGet();
+		batchedKeys.addAndGet(size);
+		maxObservedBatchSize.accumulateAndGet(size, Math::max);
+
+		try {
+			Map<String, BaseDocument> documents = arangoDBOperations.readDocumentsByKeys(batch.futures.keySet(),
+					entityClass);
+			for (Map.Entry<String, CompletableFuture<BaseDocument>> entry : batch.futures.entrySet()) {
+				entry.getValue().complete(documents.get(entry.getKey()));
+			}
+		} catch (Throwable t) {
+			for (CompletableFuture<BaseDocument> future : batch.futures.values()) {
+				future.completeExceptionally(t);
+			}
+		}
+	}
+
+	/**
+	 * キーと結果を受け取る {@link CompletableFuture} をまとめたバッチです。
+	 */
+	private static class Batch {
+
+		private final Map<String, CompletableFuture<BaseDocument>> futures = new LinkedHashMap<>();
+	}
+}
@@ -0,0 +1,237 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+import com.arangodb.ArangoCollection;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.DocumentImportEntity;
+import com.arangodb.model.DocumentImportOptions;
+
+import lombok.SneakyThrows;
+
+/**
+ * エンティティをチャンクに分けて、バルクインポート ({@code /_api/import}) で並列に書き込みます。
+ *
+ * <p>
+ * 呼び出し元のスレッドはエンティティを {@link ImportOptions#getChunkSize()} 件ずつ読み込み、ワーカースレッドに渡します。<br>
+ * ワーカースレッドはエンティティをドキュメントに変換し、コレクションごとにインポート要求を実行します。<br>
+ * 実行中のチャンクが {@link ImportOptions#getParallelism()} に達すると、呼び出し元は空きができるまで待機するため、
+ * メモリ使用量はエンティティの総数に依存しません。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+class BulkImporter {
+
+	/**
+	 * コレクション名から {@link ArangoCollection} を返す関数です。
+	 * ワーカースレッドから呼び出されるため、スレッドに紐付く状態に依存してはいけません。
+	 */
+	private final Function<String, ArangoCollection> collectionResolver;
+
+	/**
+	 * エンティティのコレクション名を返す関数です。
+	 */
+	private final Function<Object, String> collectionNameResolver;
+
+	/**
+	 * エンティティをドキュメントに変換する関数です。
+	 */
+	private final Function<Object, BaseDocument> documentConverter;
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param collectionResolver
+	 *            コレクション名から {@link ArangoCollection} を返す関数
+	 * @param collectionNameResolver
+	 *            エンティティのコレクション名を返す関数
+	 * @param documentConverter
+	 *            エンティティをドキュメントに変換する関数
+	 */
+	BulkImporter(Function<String, ArangoCollection> collectionResolver,
+			Function<Object, String> collectionNameResolver, Function<Object, BaseDocument> documentConverter) {
+		this.collectionResolver = collectionResolver;
+		this.collectionNameResolver = collectionNameResolver;
+		this.documentConverter = documentConverter;
+	}
+
+	/**
+	 * エンティティをインポートします。
+	 *
+	 * @param entities
+	 *            エンティティの {@link Iterator}
+	 * @param options
+	 *            {@link ImportOptions}
+	 * @return インポート全体の結果
+	 */
+	@SneakyThrows
+	ImportResult importEntities(Iterator<?> entities, ImportOptions options) {
+
+		Assert.notNull(entities, "entities must not be null!");
+		Assert.notNull(options, "options must not be null!");
+		Assert.isTrue(options.getChunkSize() > 0, "chunkSize must be positive!");
+		Assert.isTrue(options.getParallelism() > 0, "parallelism must be positive!");
+
+		int parallelism = options.getParallelism();
+		Semaphore inFlight = new Semaphore(parallelism);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Totals totals = new Totals();
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+			Thread thread = new Thread(r, "arangodb-import-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+
+			long chunkNumber = 0;
+
+			while (failure.get() == null && entities.hasNext()) {
+
+				List<Object> chunk = new ArrayList<>(options.getChunkSize());
+				while (entities.hasNext() && chunk.size() < options.getChunkSize()) {
+					chunk.add(entities.next());
+				}
+
+				inFlight.acquire();
+
+				long currentChunk = chunkNumber++;
+				executor.execute(() -> {
+					try {
+						importChunk(currentChunk, chunk, options, totals);
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+
+			inFlight.acquire(parallelism);
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+
+		return totals.toResult();
+	}
+
+	/**
+	 * 1チャンクのエンティティを変換し、コレクションごとにインポートします。
+	 *
+	 * @param chunkNumber
+	 *            チャンクの番号
+	 * @param chunk
+	 *            エンティティのリスト
+	 * @param options
+	 *            {@link ImportOptions}
+	 * @param totals
+	 *            結果を集計する {@link Totals}
+	 */
+	private void importChunk(long chunkNumber, List<Object> chunk, ImportOptions options, Totals totals) {
+
+		Map<String, List<BaseDocument>> documentsByCollection = new LinkedHashMap<>();
+		for (Object entity : chunk) {
+			String collectionName = collectionNameResolver.apply(entity);
+			List<BaseDocument> documents = documentsByCollection.get(collectionName);
+			if (documents == null) {
+				documents = new ArrayList<>();
+				documentsByCollection.put(collectionName, documents);
+			}
+			documents.add(documentConverter.apply(entity));
+		}
+
+		DocumentImportOptions importOptions = new DocumentImportOptions().onDuplicate(options.getOnDuplicate())
+				.waitForSync(options.isWaitForSync()).details(options.isDetails());
+
+		for (Map.Entry<String, List<BaseDocument>> entry : documentsByCollection.entrySet()) {
+
+			List<BaseDocument> documents = entry.getValue();
+
+			DocumentImportEntity imported = collectionResolver.apply(entry.getKey()).importDocuments(documents,
+					importOptions);
+
+			ImportChunkResult result = new ImportChunkResult(chunkNumber, entry.getKey(), documents.size(),
+					intValue(imported.getCreated()), intValue(imported.getUpdated()),
+					intValue(imported.getIgnored()), intValue(imported.getErrors()),
+					imported.getDetails() == null ? Collections.<String> emptyList() : imported.getDetails());
+
+			totals.add(result);
+
+			Consumer<ImportChunkResult> listener = options.getChunkListener();
+			if (listener != null) {
+				listener.accept(result);
+			}
+		}
+	}
+
+	/**
+	 * {@code null} を {@code 0} として値を返します。
+	 *
+	 * @param value
+	 *            値
+	 * @return 値
+	 */
+	private static int intValue(Integer value) {
+		return value == null ? 0 : value;
+	}
+
+	/**
+	 * チャンクの結果を集計します。
+	 */
+	private static class Totals {
+
+		private long requests;
+		private long documents;
+		private long created;
+		private long updated;
+		private long ignored;
+		private long errors;
+
+		/**
+		 * チャンクの結果を加算します。
+		 *
+		 * @param result
+		 *            チャンクの結果
+		 */
+		synchronized void add(ImportChunkResult result) {
+			requests++;
+			documents += result.getDocuments();
+			created += result.getCreated();
+			updated += result.getUpdated();
+			ignored += result.getIgnored();
+			errors += result.getErrors();
+		}
+
+		/**
+		 * 集計した結果を返します。
+		 *
+		 * @return インポート全体の結果
+		 */
+		synchronized ImportResult toResult() {
+			return new ImportResult(requests, documents, created, updated, ignored, errors);
+		}
+	}
+}
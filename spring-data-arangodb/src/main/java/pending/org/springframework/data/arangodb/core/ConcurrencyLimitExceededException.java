@@ -0,0 +1,54 @@
+package pending.org.springframework.data.arangodb.core;
+
+/**
+ * 同時実行数の上限に達したため、操作を実行せずに拒否したことを示す例外です。
+ *
+ * @author hs0x01
+ *
+ */
+public class ConcurrencyLimitExceededException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 上限に達した区分です。
+	 */
+	private final String partition;
+
+	/**
+	 * 拒否したときの同時実行数の上限です。
+	 */
+	private final int limit;
+
+	/**
+	 * 例外を生成します。
+	 *
+	 * @param partition
+	 *            上限に達した区分 (操作の分類またはコレクション名)
+	 * @param limit
+	 *            拒否したときの同時実行数の上限
+	 */
+	public ConcurrencyLimitExceededException(String partition, int limit) {
+		super("Concurrency limit exceeded for " + partition + " (limit: " + limit + ")");
+		this.partition = partition;
+		this.limit = limit;
+	}
+
+	/**
+	 * 上限に達した区分を返します。
+	 *
+	 * @return 操作の分類またはコレクション名
+	 */
+	public String getPartition() {
+		return partition;
+	}
+
+	/**
+	 * 拒否したときの同時実行数の上限を返します。
+	 *
+	 * @return 同時実行数の上限
+	 */
+	public int getLimit() {
+		return limit;
+	}
+}
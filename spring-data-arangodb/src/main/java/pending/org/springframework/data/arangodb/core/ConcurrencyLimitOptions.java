@@ -0,0 +1,43 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.Data;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} のオプションです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class ConcurrencyLimitOptions {
+
+	/**
+	 * 同時実行数の上限の初期値です。
+	 */
+	private int initialLimit = 20;
+
+	/**
+	 * 同時実行数の上限の最小値です。
+	 */
+	private int minLimit = 1;
+
+	/**
+	 * 同時実行数の上限の最大値です。
+	 */
+	private int maxLimit = 500;
+
+	/**
+	 * 混雑を検出したときに上限に掛ける倍率です。
+	 */
+	private double backoffRatio = 0.9;
+
+	/**
+	 * 混雑とみなす、直近のレイテンシと長期のレイテンシの比です。
+	 */
+	private double latencyTolerance = 1.5;
+
+	/**
+	 * 混雑とみなすレイテンシ (ミリ秒) です。 {@code 0} の場合 (デフォルト) は比だけで判定します。
+	 */
+	private long maxLatencyMillis;
+}
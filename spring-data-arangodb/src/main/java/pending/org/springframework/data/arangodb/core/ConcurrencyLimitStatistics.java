@@ -0,0 +1,45 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} の統計情報のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class ConcurrencyLimitStatistics {
+
+	/**
+	 * 現在の同時実行数の上限です。
+	 */
+	private int limit;
+
+	/**
+	 * 実行中の操作の数です。
+	 */
+	private int inFlight;
+
+	/**
+	 * 実行を許可した操作の数です。
+	 */
+	private long accepted;
+
+	/**
+	 * 上限に達したため拒否した操作の数です。
+	 */
+	private long rejected;
+
+	/**
+	 * 直近のレイテンシ (ミリ秒) です。
+	 */
+	private double shortLatencyMillis;
+
+	/**
+	 * 長期のレイテンシ (ミリ秒) です。
+	 */
+	private double longLatencyMillis;
+}
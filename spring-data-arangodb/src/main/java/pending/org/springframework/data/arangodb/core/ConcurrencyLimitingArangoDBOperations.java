@@ -0,0 +1,271 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.arangodb.entity.BaseDocument;
+
+/**
+ * 同時に実行する操作の数を {@link AdaptiveConcurrencyLimiter} で制限する {@link ArangoDBOperations} のデコレータです。
+ *
+ * <p>
+ * 操作は {@link OperationClass} ごとのリミッターで制限されます。
+ * {@link #setCollectionLimit(String, ConcurrencyLimitOptions)} でコレクションのリミッターを設定した場合、
+ * そのコレクションを対象とする {@code read} 、 {@code readByKeys} 、 {@code readDocumentsByKeys} 、 {@code insert} 、 {@code update} 、
+ * {@code delete} 、 {@code truncate} 、 {@code exportCollection} はコレクションのリミッターで制限されます。<br>
+ * 上限に達している場合は、待機せずに {@link ConcurrencyLimitExceededException} を送出します。
+ * </p>
+ *
+ * <p>
+ * {@code streamByAql} やトラバーサルは、カーソルの生成だけが制限の対象です。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class ConcurrencyLimitingArangoDBOperations extends DelegatingArangoDBOperations {
+
+	/**
+	 * 操作の分類と {@link AdaptiveConcurrencyLimiter} のマッピングです。
+	 */
+	private final Map<OperationClass, AdaptiveConcurrencyLimiter> operationClassLimiters = new EnumMap<>(
+			OperationClass.class);
+
+	/**
+	 * コレクション名と {@link AdaptiveConcurrencyLimiter} のマッピングです。
+	 */
+	private final Map<String, AdaptiveConcurrencyLimiter> collectionLimiters = new ConcurrentHashMap<>();
+
+	/**
+	 * デフォルトのオプションでデコレータを生成します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 */
+	public ConcurrencyLimitingArangoDBOperations(ArangoDBOperations delegate) {
+		this(delegate, new ConcurrencyLimitOptions());
+	}
+
+	/**
+	 * デコレータを生成します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 * @param options
+	 *            全ての操作の分類に使用する {@link ConcurrencyLimitOptions}
+	 */
+	public ConcurrencyLimitingArangoDBOperations(ArangoDBOperations delegate, ConcurrencyLimitOptions options) {
+
+		super(delegate);
+
+		for (OperationClass operationClass : OperationClass.values()) {
+			operationClassLimiters.put(operationClass, new AdaptiveConcurrencyLimiter(options));
+		}
+	}
+
+	/**
+	 * 操作の分類のリミッターを設定します。
+	 *
+	 * <p>
+	 * アプリケーションの起動時に設定してください。
+	 * </p>
+	 *
+	 * @param operationClass
+	 *            操作の分類
+	 * @param options
+	 *            {@link ConcurrencyLimitOptions}
+	 */
+	public void setOperationClassLimit(OperationClass operationClass, ConcurrencyLimitOptions options) {
+		Assert.notNull(operationClass, "operationClass must not be null!");
+		operationClassLimiters.put(operationClass, new AdaptiveConcurrencyLimiter(options));
+	}
+
+	/**
+	 * コレクションのリミッターを設定します。
+	 *
+	 * @param collectionName
+	 *            コレクション名
+	 * @param options
+	 *            {@link ConcurrencyLimitOptions}
+	 */
+	public void setCollectionLimit(String collectionName, ConcurrencyLimitOptions options) {
+		Assert.hasText(collectionName, "collectionName must not be empty!");
+		collectionLimiters.put(collectionName, new AdaptiveConcurrencyLimiter(options));
+	}
+
+	/**
+	 * 操作の分類ごとの統計情報のスナップショットを返します。
+	 *
+	 * @return 操作の分類と統計情報のマッピング
+	 */
+	public Map<OperationClass, ConcurrencyLimitStatistics> getOperationClassStatistics() {
+		Map<OperationClass, ConcurrencyLimitStatistics> statistics = new EnumMap<>(OperationClass.class);
+		for (Map.Entry<OperationClass, AdaptiveConcurrencyLimiter> entry : operationClassLimiters.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * コレクションごとの統計情報のスナップショットを返します。
+	 *
+	 * @return コレクション名と統計情報のマッピング
+	 */
+	public Map<String, ConcurrencyLimitStatistics> getCollectionStatistics() {
+		Map<String, ConcurrencyLimitStatistics> statistics = new LinkedHashMap<>();
+		for (Map.Entry<String, AdaptiveConcurrencyLimiter> entry : collectionLimiters.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected <T> T execute(String operation, Supplier<T> action) {
+		return limit(operation, null, action);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R read(String key, Class<R> entityClass) {
+		return limit("read", () -> getCollectionName(entityClass), () -> delegate.read(key, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Map<String, R> readByKeys(Collection<String> keys, Class<R> entityClass) {
+		return limit("readByKeys", () -> getCollectionName(entityClass),
+				() -> delegate.readByKeys(keys, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, BaseDocument> readDocumentsByKeys(Collection<String> keys, Class<?> entityClass) {
+		return limit("readDocumentsByKeys", () -> getCollectionName(entityClass),
+				() -> delegate.readDocumentsByKeys(keys, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ExportProgress exportCollection(String collectionName, WritableByteChannel channel,
+			ExportOptions options) {
+		return limit("exportCollection", () -> collectionName,
+				() -> delegate.exportCollection(collectionName, channel, options));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void insert(Object entity) {
+		limit("insert", () -> getEntityCollectionName(entity), () -> {
+			delegate.insert(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(Object entity) {
+		limit("update", () -> getEntityCollectionName(entity), () -> {
+			delegate.update(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void delete(Object entity) {
+		limit("delete", () -> getEntityCollectionName(entity), () -> {
+			delegate.delete(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void truncate(String collectionName) {
+		limit("truncate", () -> collectionName, () -> {
+			delegate.truncate(collectionName);
+			return null;
+		});
+	}
+
+	/**
+	 * 同時実行数を制限して操作を実行します。
+	 *
+	 * @param operation
+	 *            操作名
+	 * @param collectionName
+	 *            操作の対象のコレクション名を返す関数。対象が決まらない場合は {@code null}
+	 * @param action
+	 *            委譲先の操作
+	 * @return 操作の結果
+	 */
+	private <T> T limit(String operation, Supplier<String> collectionName, Supplier<T> action) {
+
+		AdaptiveConcurrencyLimiter limiter = null;
+		String partition = null;
+
+		if (collectionName != null && !collectionLimiters.isEmpty()) {
+			partition = collectionName.get();
+			limiter = collectionLimiters.get(partition);
+		}
+
+		if (limiter == null) {
+			OperationClass operationClass = OperationClass.of(operation);
+			partition = operationClass.name();
+			limiter = operationClassLimiters.get(operationClass);
+		}
+
+		if (!limiter.tryAcquire()) {
+			throw new ConcurrencyLimitExceededException(partition, limiter.getLimit());
+		}
+
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T result = action.get();
+			failed = false;
+			return result;
+		} finally {
+			limiter.release(System.nanoTime() - start, failed);
+		}
+	}
+
+	/**
+	 * エンティティのコレクション名を返します。
+	 *
+	 * @param entity
+	 *            エンティティ
+	 * @return コレクション名
+	 */
+	private String getEntityCollectionName(Object entity) {
+		Assert.notNull(entity, "entity must not be null!");
+		return getCollectionName(ClassUtils.getUserClass(entity));
+	}
+}
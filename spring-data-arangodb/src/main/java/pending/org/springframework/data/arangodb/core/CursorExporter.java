@@ -0,0 +1,220 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.velocypack.VPackSlice;
+
+import lombok.SneakyThrows;
+
+/**
+ * AQL の結果を、エンティティに変換せずに {@link WritableByteChannel} に書き込みます。
+ *
+ * <p>
+ * {@link ExportFormat#JSON_LINES} の場合は、ドライバが VelocyPack から直接生成した JSON を書き込みます。<br>
+ * {@link ExportFormat#VPACK} の場合は、 {@link VPackSlice} のバイト列をそのまま書き込みます。<br>
+ * カーソルのバッチと出力バッファだけを保持するため、メモリ使用量は結果の件数に依存しません。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+class CursorExporter {
+
+	/**
+	 * JSON Lines の行の区切りです。
+	 */
+	private static final byte[] NEW_LINE = { '\n' };
+
+	/**
+	 * {@link ArangoDatabase} インスタンスです。
+	 */
+	private final ArangoDatabase database;
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param database
+	 *            {@link ArangoDatabase} インスタンス
+	 */
+	CursorExporter(ArangoDatabase database) {
+		this.database = database;
+	}
+
+	/**
+	 * AQL の結果を書き込みます。
+	 *
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 * @param channel
+	 *            出力先
+	 * @param options
+	 *            {@link ExportOptions}
+	 * @return 書き込みの結果
+	 */
+	@SneakyThrows(IOException.class)
+	ExportProgress export(String aql, Map<String, Object> bindVars, WritableByteChannel channel,
+			ExportOptions options) {
+
+		Assert.notNull(channel, "channel must not be null!");
+		Assert.notNull(options, "options must not be null!");
+		Assert.isTrue(options.getBatchSize() > 0, "batchSize must be positive!");
+		Assert.isTrue(options.getBufferSize() > 0, "bufferSize must be positive!");
+
+		AqlQueryOptions queryOptions = new AqlQueryOptions().batchSize(options.getBatchSize()).ttl(options.getTtl());
+
+		Output output = new Output(channel, options);
+
+		if (options.getFormat() == ExportFormat.VPACK) {
+			ArangoCursor<VPackSlice> cursor = database.query(aql, bindVars, queryOptions, VPackSlice.class);
+			try (ArangoDBCursorIterator<VPackSlice, VPackSlice> slices = new ArangoDBCursorIterator<>(cursor,
+					slice -> slice)) {
+				while (slices.hasNext()) {
+					VPackSlice slice = slices.next();
+					output.write(slice.getBuffer(), slice.getStart(), slice.getByteSize());
+					output.endDocument();
+				}
+			}
+		} else {
+			ArangoCursor<String> cursor = database.query(aql, bindVars, queryOptions, String.class);
+			try (ArangoDBCursorIterator<String, String> jsons = new ArangoDBCursorIterator<>(cursor, json -> json)) {
+				while (jsons.hasNext()) {
+					byte[] json = jsons.next().getBytes(StandardCharsets.UTF_8);
+					output.write(json, 0, json.length);
+					output.write(NEW_LINE, 0, NEW_LINE.length);
+					output.endDocument();
+				}
+			}
+		}
+
+		return output.finish();
+	}
+
+	/**
+	 * バッファを介して {@link WritableByteChannel} に書き込み、進捗を集計します。
+	 */
+	private static class Output {
+
+		private final WritableByteChannel channel;
+		private final ExportOptions options;
+		private final ByteBuffer buffer;
+		private final long startNanos = System.nanoTime();
+		private long documents;
+		private long bytes;
+
+		/**
+		 * インスタンスを生成します。
+		 *
+		 * @param channel
+		 *            出力先
+		 * @param options
+		 *            {@link ExportOptions}
+		 */
+		Output(WritableByteChannel channel, ExportOptions options) {
+			this.channel = channel;
+			this.options = options;
+			this.buffer = ByteBuffer.allocate(options.getBufferSize());
+		}
+
+		/**
+		 * バイト列を書き込みます。
+		 *
+		 * @param source
+		 *            バイト列
+		 * @param offset
+		 *            開始位置
+		 * @param length
+		 *            長さ
+		 * @throws IOException
+		 *             書き込みに失敗した場合
+		 */
+		void write(byte[] source, int offset, int length) throws IOException {
+
+			if (length > buffer.remaining()) {
+				flush();
+			}
+
+			if (length > buffer.capacity()) {
+				writeFully(ByteBuffer.wrap(source, offset, length));
+			} else {
+				buffer.put(source, offset, length);
+			}
+
+			bytes += length;
+		}
+
+		/**
+		 * 1ドキュメントの書き込みを終え、必要ならば進捗を通知します。
+		 */
+		void endDocument() {
+			documents++;
+			if (options.getProgressListener() != null && options.getProgressInterval() > 0
+					&& documents % options.getProgressInterval() == 0) {
+				options.getProgressListener().accept(snapshot());
+			}
+		}
+
+		/**
+		 * バッファを書き出し、最終的な進捗を返します。
+		 *
+		 * @return 書き込みの結果
+		 * @throws IOException
+		 *             書き込みに失敗した場合
+		 */
+		ExportProgress finish() throws IOException {
+			flush();
+			ExportProgress progress = snapshot();
+			if (options.getProgressListener() != null) {
+				options.getProgressListener().accept(progress);
+			}
+			return progress;
+		}
+
+		/**
+		 * バッファの内容を書き出します。
+		 *
+		 * @throws IOException
+		 *             書き込みに失敗した場合
+		 */
+		private void flush() throws IOException {
+			buffer.flip();
+			writeFully(buffer);
+			buffer.clear();
+		}
+
+		/**
+		 * {@link ByteBuffer} の残り全てを書き出します。
+		 *
+		 * @param source
+		 *            {@link ByteBuffer}
+		 * @throws IOException
+		 *             書き込みに失敗した場合
+		 */
+		private void writeFully(ByteBuffer source) throws IOException {
+			while (source.hasRemaining()) {
+				channel.write(source);
+			}
+		}
+
+		/**
+		 * 現在の進捗を返します。
+		 *
+		 * @return 進捗
+		 */
+		private ExportProgress snapshot() {
+			return new ExportProgress(documents, bytes,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+		}
+	}
+}
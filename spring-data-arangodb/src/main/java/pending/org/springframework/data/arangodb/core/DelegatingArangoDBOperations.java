@@ -0,0 +1,348 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.Assert;
+
+import com.arangodb.entity.AqlExecutionExplainEntity;
+import com.arangodb.entity.BaseDocument;
+
+import pending.org.springframework.data.arangodb.core.convert.ArangoDBConverter;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
+
+/**
+ * 全ての操作を委譲先に委譲する {@link ArangoDBOperations} です。
+ *
+ * <p>
+ * {@link ArangoDBOperations} のデコレータの基底クラスとして使用します。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class DelegatingArangoDBOperations implements ArangoDBOperations {
+
+	/**
+	 * 委譲先の {@link ArangoDBOperations} インスタンスです。
+	 */
+	protected final ArangoDBOperations delegate;
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 */
+	public DelegatingArangoDBOperations(ArangoDBOperations delegate) {
+		Assert.notNull(delegate);
+		this.delegate = delegate;
+	}
+
+	/**
+	 * 委譲先の {@link ArangoDBOperations} インスタンスを返します。
+	 *
+	 * @return 委譲先の {@link ArangoDBOperations} インスタンス
+	 */
+	public ArangoDBOperations getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * 委譲先の操作を実行します。
+	 *
+	 * <p>
+	 * データベースにアクセスする全ての操作はこのメソッドを通して委譲されます。
+	 * 操作の前後に処理を加えるデコレータは、このメソッドをオーバーライドします。
+	 * </p>
+	 *
+	 * @param operation
+	 *            操作名 ({@link ArangoDBOperations} のメソッド名)
+	 * @param action
+	 *            委譲先の操作
+	 * @return 操作の結果
+	 */
+	protected <T> T execute(String operation, Supplier<T> action) {
+		return action.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R read(String key, Class<R> entityClass) {
+		return execute("read", () -> delegate.read(key, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Map<String, R> readByKeys(Collection<String> keys, Class<R> entityClass) {
+		return execute("readByKeys", () -> delegate.readByKeys(keys, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, BaseDocument> readDocumentsByKeys(Collection<String> keys, Class<?> entityClass) {
+		return execute("readDocumentsByKeys", () -> delegate.readDocumentsByKeys(keys, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> List<R> readByAql(String aql, Map<String, Object> bindVars, Class<R> entityClass) {
+		return execute("readByAql", () -> delegate.readByAql(aql, bindVars, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> FullCountResult<R> readByAqlWithFullCount(String aql, Map<String, Object> bindVars,
+			Class<R> entityClass) {
+		return execute("readByAqlWithFullCount", () -> delegate.readByAqlWithFullCount(aql, bindVars, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ExportProgress exportByAql(String aql, Map<String, Object> bindVars, WritableByteChannel channel,
+			ExportOptions options) {
+		return execute("exportByAql", () -> delegate.exportByAql(aql, bindVars, channel, options));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ExportProgress exportCollection(String collectionName, WritableByteChannel channel,
+			ExportOptions options) {
+		return execute("exportCollection", () -> delegate.exportCollection(collectionName, channel, options));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long countByAql(String aql, Map<String, Object> bindVars) {
+		return execute("countByAql", () -> delegate.countByAql(aql, bindVars));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> CloseableIterator<R> streamByAql(String aql, Map<String, Object> bindVars, Class<R> entityClass) {
+		return execute("streamByAql", () -> delegate.streamByAql(aql, bindVars, entityClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <V> CloseableIterator<V> traverseVertices(String startVertexId, TraversalSpec spec, Class<V> vertexClass) {
+		return execute("traverseVertices", () -> delegate.traverseVertices(startVertexId, spec, vertexClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <E> CloseableIterator<E> traverseEdges(String startVertexId, TraversalSpec spec, Class<E> edgeClass) {
+		return execute("traverseEdges", () -> delegate.traverseEdges(startVertexId, spec, edgeClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <V, E> CloseableIterator<TraversalPath<V, E>> traversePaths(String startVertexId, TraversalSpec spec,
+			Class<V> vertexClass, Class<E> edgeClass) {
+		return execute("traversePaths", () -> delegate.traversePaths(startVertexId, spec, vertexClass, edgeClass));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long updateByAql(String aql, Map<String, Object> bindVars) {
+		return execute("updateByAql", () -> delegate.updateByAql(aql, bindVars));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public AqlExecutionExplainEntity explainByAql(String aql, Map<String, Object> bindVars) {
+		return execute("explainByAql", () -> delegate.explainByAql(aql, bindVars));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void insert(Object entity) {
+		execute("insert", () -> {
+			delegate.insert(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(Object entity) {
+		execute("update", () -> {
+			delegate.update(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void insertEntities(Collection<?> entities) {
+		execute("insertEntities", () -> {
+			delegate.insertEntities(entities);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void updateEntities(Collection<?> entities) {
+		execute("updateEntities", () -> {
+			delegate.updateEntities(entities);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void insertDocuments(String collectionName, List<BaseDocument> documents) {
+		execute("insertDocuments", () -> {
+			delegate.insertDocuments(collectionName, documents);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void updateDocuments(String collectionName, List<BaseDocument> documents) {
+		execute("updateDocuments", () -> {
+			delegate.updateDocuments(collectionName, documents);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ImportResult importEntities(Iterator<?> entities, ImportOptions options) {
+		return execute("importEntities", () -> delegate.importEntities(entities, options));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ImportResult importEntities(Stream<?> entities, ImportOptions options) {
+		return execute("importEntities", () -> delegate.importEntities(entities, options));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void delete(Object entity) {
+		execute("delete", () -> {
+			delegate.delete(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void truncate(String collectionName) {
+		execute("truncate", () -> {
+			delegate.truncate(collectionName);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void ensureGeoIndex(Class<?> entityClass) {
+		execute("ensureGeoIndex", () -> {
+			delegate.ensureGeoIndex(entityClass);
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCollectionName(Class<?> entityClass) {
+		return delegate.getCollectionName(entityClass);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBConverter getConverter() {
+		return delegate.getConverter();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R toEntity(BaseDocument document, Class<R> entityClass) {
+		return delegate.toEntity(document, entityClass);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ConvertingPropertyAccessor getPropertyAccessor(Object entity) {
+		return delegate.getPropertyAccessor(entity);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> getMappingContext() {
+		return delegate.getMappingContext();
+	}
+}
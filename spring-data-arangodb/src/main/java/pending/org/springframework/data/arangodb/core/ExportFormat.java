@@ -0,0 +1,20 @@
+package pending.org.springframework.data.arangodb.core;
+
+/**
+ * エクスポートの出力形式です。
+ *
+ * @author hs0x01
+ *
+ */
+public enum ExportFormat {
+
+	/**
+	 * 1行に1ドキュメントの JSON を出力します (JSON Lines) 。
+	 */
+	JSON_LINES,
+
+	/**
+	 * サーバから受け取った VelocyPack のバイト列をそのまま連続して出力します。
+	 */
+	VPACK
+}
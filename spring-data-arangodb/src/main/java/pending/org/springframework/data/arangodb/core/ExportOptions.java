@@ -0,0 +1,46 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.function.Consumer;
+
+import lombok.Data;
+
+/**
+ * {@link ArangoDBOperations#exportByAql(String, java.util.Map, java.nio.channels.WritableByteChannel, ExportOptions)}
+ * のオプションです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class ExportOptions {
+
+	/**
+	 * 出力形式です。
+	 */
+	private ExportFormat format = ExportFormat.JSON_LINES;
+
+	/**
+	 * カーソルが1回の要求で取得するドキュメント数です。
+	 */
+	private int batchSize = 10000;
+
+	/**
+	 * カーソルの有効期間 (秒) です。 {@code null} の場合はサーバのデフォルトです。
+	 */
+	private Integer ttl;
+
+	/**
+	 * 出力バッファのバイト数です。
+	 */
+	private int bufferSize = 64 * 1024;
+
+	/**
+	 * 進捗を通知するドキュメント数の間隔です。
+	 */
+	private long progressInterval = 10000;
+
+	/**
+	 * 進捗を受け取るリスナーです。
+	 */
+	private Consumer<ExportProgress> progressListener;
+}
@@ -0,0 +1,30 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * エクスポートの進捗です。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class ExportProgress {
+
+	/**
+	 * 出力したドキュメント数です。
+	 */
+	private long documents;
+
+	/**
+	 * 出力したバイト数です。
+	 */
+	private long bytes;
+
+	/**
+	 * 開始からの経過時間 (ミリ秒) です。
+	 */
+	private long elapsedMillis;
+}
@@ -0,0 +1,29 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * {@link ArangoDBOperations#readByAqlWithFullCount(String, java.util.Map, Class)} の結果です。
+ *
+ * @author hs0x01
+ *
+ * @param <R>
+ *            エンティティ
+ */
+@Data
+@AllArgsConstructor
+public class FullCountResult<R> {
+
+	/**
+	 * エンティティのリストです。
+	 */
+	private List<R> content;
+
+	/**
+	 * 最後の {@code LIMIT} を適用しない場合の件数です。
+	 */
+	private long fullCount;
+}
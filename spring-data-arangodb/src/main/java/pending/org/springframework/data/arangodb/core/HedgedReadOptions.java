@@ -0,0 +1,59 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.concurrent.Executor;
+
+import lombok.Data;
+
+/**
+ * {@link ArangoDBTemplate#setHedgedReadOptions(HedgedReadOptions)} のオプションです。
+ *
+ * <p>
+ * 読み込みが最近のレイテンシの {@code percentile} を超えても終わらない場合に、
+ * 別の読み込み用クライアントに同じ読み込みを送り、先に返った結果を使用します。<br>
+ * 待機時間は {@code minDelayMillis} から {@code maxDelayMillis} の範囲に制限されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class HedgedReadOptions {
+
+	/**
+	 * 追加の読み込みを送るまでの待機時間に使用するレイテンシの分位点です。
+	 */
+	private double percentile = 0.95;
+
+	/**
+	 * 待機時間の下限 (ミリ秒) です。
+	 */
+	private long minDelayMillis = 2;
+
+	/**
+	 * 待機時間の上限 (ミリ秒) です。
+	 */
+	private long maxDelayMillis = 1000;
+
+	/**
+	 * 分位点の計算に使用する直近のレイテンシの数です。
+	 */
+	private int sampleSize = 1024;
+
+	/**
+	 * 追加の読み込みを始めるまでに必要なレイテンシの数です。
+	 *
+	 * <p>
+	 * レイテンシが集まるまでは、呼び出し元のスレッドで通常どおり読み込みます。
+	 * </p>
+	 */
+	private int minSamples = 100;
+
+	/**
+	 * 読み込みを実行する {@link Executor} です。
+	 *
+	 * <p>
+	 * {@code null} の場合は、デーモンスレッドのスレッドプールを生成します。
+	 * </p>
+	 */
+	private Executor executor;
+}
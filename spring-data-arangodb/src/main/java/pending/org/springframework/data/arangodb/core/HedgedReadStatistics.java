@@ -0,0 +1,35 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ヘッジ読み込みの統計情報のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class HedgedReadStatistics {
+
+	/**
+	 * 実行された読み込みの数です。
+	 */
+	private long reads;
+
+	/**
+	 * 追加の読み込みを送った数です。
+	 */
+	private long hedgedReads;
+
+	/**
+	 * 追加の読み込みの結果が先に返った数です。
+	 */
+	private long hedgeWins;
+
+	/**
+	 * 現在の待機時間 (ミリ秒) です。レイテンシが集まっていない場合は {@code -1} です。
+	 */
+	private double delayMillis;
+}
@@ -0,0 +1,211 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+import lombok.SneakyThrows;
+
+/**
+ * 遅い読み込みに対して、別のクライアントに同じ読み込みを送るヘッジ読み込みを行います。
+ *
+ * <p>
+ * 最初の読み込みをワーカースレッドで実行し、直近のレイテンシの分位点だけ待っても終わらない場合は、
+ * 追加の読み込みを実行して、先に成功した結果を返します。<br>
+ * 両方の読み込みが失敗した場合は、後に失敗した例外を送出します。
+ * 遅れた方の読み込みは中断されず、結果は破棄されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+class HedgedReader {
+
+	/**
+	 * 分位点を再計算する間隔 (記録したレイテンシの数) です。
+	 */
+	private static final int RECOMPUTE_INTERVAL = 64;
+
+	/**
+	 * {@link HedgedReadOptions} インスタンスです。
+	 */
+	private final HedgedReadOptions options;
+
+	/**
+	 * 読み込みを実行する {@link Executor} です。
+	 */
+	private final Executor executor;
+
+	/**
+	 * 直近のレイテンシ (ナノ秒) のリングバッファです。
+	 */
+	private final long[] samples;
+
+	/**
+	 * 記録したレイテンシの数です。
+	 */
+	private long recorded;
+
+	/**
+	 * 追加の読み込みを送るまでの待機時間 (ナノ秒) です。レイテンシが集まっていない場合は {@code -1} です。
+	 */
+	private volatile long delayNanos = -1;
+
+	private final AtomicLong reads = new AtomicLong();
+	private final AtomicLong hedgedReads = new AtomicLong();
+	private final AtomicLong hedgeWins = new AtomicLong();
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param options
+	 *            {@link HedgedReadOptions}
+	 */
+	HedgedReader(HedgedReadOptions options) {
+
+		Assert.notNull(options, "options must not be null!");
+		Assert.isTrue(options.getPercentile() > 0 && options.getPercentile() <= 1,
+				"percentile must be in (0, 1]!");
+		Assert.isTrue(options.getSampleSize() > 0, "sampleSize must be positive!");
+		Assert.isTrue(options.getMinDelayMillis() <= options.getMaxDelayMillis(),
+				"minDelayMillis must not be greater than maxDelayMillis!");
+
+		this.options = options;
+		this.samples = new long[options.getSampleSize()];
+
+		if (options.getExecutor() != null) {
+			this.executor = options.getExecutor();
+		} else {
+			AtomicInteger threadNumber = new AtomicInteger();
+			this.executor = Executors.newCachedThreadPool(r -> {
+				Thread thread = new Thread(r, "arangodb-hedge-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * 読み込みを実行します。
+	 *
+	 * @param primary
+	 *            最初の読み込み
+	 * @param hedge
+	 *            別のクライアントで同じ読み込みを行う、追加の読み込み
+	 * @return 先に成功した読み込みの結果
+	 */
+	@SneakyThrows
+	<T> T read(Supplier<T> primary, Supplier<T> hedge) {
+
+		reads.incrementAndGet();
+
+		long delay = delayNanos;
+		long start = System.nanoTime();
+
+		if (delay < 0) {
+			T result = primary.get();
+			record(System.nanoTime() - start);
+			return result;
+		}
+
+		CompletableFuture<T> first = CompletableFuture.supplyAsync(primary, executor);
+		first.thenRun(() -> record(System.nanoTime() - start));
+
+		try {
+			return first.get(delay, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// 追加の読み込みを送る
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+
+		hedgedReads.incrementAndGet();
+
+		CompletableFuture<T> second = CompletableFuture.supplyAsync(hedge, executor);
+		CompletableFuture<T> winner = new CompletableFuture<>();
+		AtomicInteger failures = new AtomicInteger();
+
+		first.whenComplete((result, failure) -> complete(winner, result, failure, failures, false));
+		second.whenComplete((result, failure) -> complete(winner, result, failure, failures, true));
+
+		try {
+			return winner.get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * 統計情報のスナップショットを返します。
+	 *
+	 * @return 統計情報
+	 */
+	HedgedReadStatistics getStatistics() {
+		long delay = delayNanos;
+		return new HedgedReadStatistics(reads.get(), hedgedReads.get(), hedgeWins.get(),
+				delay < 0 ? -1 : delay / (double) TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	/**
+	 * 終了した読み込みの結果を、先に成功した結果として設定します。
+	 *
+	 * @param winner
+	 *            先に成功した結果を受け取る {@link CompletableFuture}
+	 * @param result
+	 *            読み込みの結果
+	 * @param failure
+	 *            読み込みで発生した例外。成功した場合は {@code null}
+	 * @param failures
+	 *            失敗した読み込みの数
+	 * @param hedge
+	 *            追加の読み込みの場合は {@code true}
+	 */
+	private <T> void complete(CompletableFuture<T> winner, T result, Throwable failure, AtomicInteger failures,
+			boolean hedge) {
+
+		if (failure == null) {
+			if (winner.complete(result) && hedge) {
+				hedgeWins.incrementAndGet();
+			}
+		} else if (failures.incrementAndGet() == 2) {
+			winner.completeExceptionally(
+					failure instanceof CompletionException && failure.getCause() != null ? failure.getCause()
+							: failure);
+		}
+	}
+
+	/**
+	 * 最初の読み込みのレイテンシを記録し、一定の間隔で待機時間を再計算します。
+	 *
+	 * @param nanos
+	 *            レイテンシ (ナノ秒)
+	 */
+	private synchronized void record(long nanos) {
+
+		samples[(int) (recorded % samples.length)] = nanos;
+		recorded++;
+
+		if (recorded < options.getMinSamples() || recorded % RECOMPUTE_INTERVAL != 0 && delayNanos >= 0) {
+			return;
+		}
+
+		int size = (int) Math.min(recorded, samples.length);
+		long[] sorted = Arrays.copyOf(samples, size);
+		Arrays.sort(sorted);
+
+		int index = Math.max(0, (int) Math.ceil(options.getPercentile() * size) - 1);
+
+		delayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(options.getMinDelayMillis()),
+				Math.min(TimeUnit.MILLISECONDS.toNanos(options.getMaxDelayMillis()), sorted[index]));
+	}
+}
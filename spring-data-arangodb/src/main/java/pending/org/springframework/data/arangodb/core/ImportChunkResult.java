@@ -0,0 +1,57 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * インポートの1チャンクの結果です。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class ImportChunkResult {
+
+	/**
+	 * 0から始まるチャンクの番号です。
+	 */
+	private long chunk;
+
+	/**
+	 * コレクション名です。
+	 */
+	private String collectionName;
+
+	/**
+	 * インポートを要求したドキュメント数です。
+	 */
+	private int documents;
+
+	/**
+	 * 作成されたドキュメント数です。
+	 */
+	private int created;
+
+	/**
+	 * 更新または置換されたドキュメント数です。
+	 */
+	private int updated;
+
+	/**
+	 * 無視されたドキュメント数です。
+	 */
+	private int ignored;
+
+	/**
+	 * エラーになったドキュメント数です。
+	 */
+	private int errors;
+
+	/**
+	 * エラーの詳細です。 {@link ImportOptions#isDetails()} が {@code false} の場合は空です。
+	 */
+	private Collection<String> details;
+}
@@ -0,0 +1,56 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.function.Consumer;
+
+import com.arangodb.model.DocumentImportOptions.OnDuplicate;
+
+import lombok.Data;
+
+/**
+ * {@link ArangoDBOperations#importEntities(java.util.Iterator, ImportOptions)} のオプションです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class ImportOptions {
+
+	/**
+	 * 1回のインポート要求に含めるエンティティ数です。
+	 */
+	private int chunkSize = 1000;
+
+	/**
+	 * 同時に実行するインポート要求の最大数です。
+	 *
+	 * <p>
+	 * エンティティの変換も同じ数のワーカースレッドで行われます。
+	 * メモリに保持されるエンティティは最大で {@code chunkSize * (parallelism + 1)} 件です。
+	 * </p>
+	 */
+	private int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * キーが重複した場合の動作です。
+	 */
+	private OnDuplicate onDuplicate = OnDuplicate.error;
+
+	/**
+	 * ディスクへの同期を待つかどうかです。
+	 */
+	private boolean waitForSync;
+
+	/**
+	 * エラーの詳細をチャンクの結果に含めるかどうかです。
+	 */
+	private boolean details;
+
+	/**
+	 * チャンクごとの結果を受け取るリスナーです。
+	 *
+	 * <p>
+	 * ワーカースレッドから呼び出されるため、スレッドセーフである必要があります。
+	 * </p>
+	 */
+	private Consumer<ImportChunkResult> chunkListener;
+}
@@ -0,0 +1,45 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * インポート全体の結果です。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class ImportResult {
+
+	/**
+	 * 実行されたインポート要求の数です。
+	 */
+	private long requests;
+
+	/**
+	 * インポートを要求したドキュメント数です。
+	 */
+	private long documents;
+
+	/**
+	 * 作成されたドキュメント数です。
+	 */
+	private long created;
+
+	/**
+	 * 更新または置換されたドキュメント数です。
+	 */
+	private long updated;
+
+	/**
+	 * 無視されたドキュメント数です。
+	 */
+	private long ignored;
+
+	/**
+	 * エラーになったドキュメント数です。
+	 */
+	private long errors;
+}
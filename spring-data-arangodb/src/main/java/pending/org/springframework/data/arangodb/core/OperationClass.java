@@ -0,0 +1,53 @@
+package pending.org.springframework.data.arangodb.core;
+
+/**
+ * {@link ArangoDBOperations} の操作の分類です。
+ *
+ * @author hs0x01
+ *
+ */
+public enum OperationClass {
+
+	/**
+	 * ドキュメントやクエリ結果の読み込みです。
+	 */
+	READ,
+
+	/**
+	 * ドキュメントの書き込み、更新、削除です。
+	 */
+	WRITE,
+
+	/**
+	 * インポートやエクスポートなど、大量のドキュメントを扱う操作です。
+	 */
+	BULK;
+
+	/**
+	 * 操作名の分類を返します。
+	 *
+	 * @param operation
+	 *            操作名 ({@link ArangoDBOperations} のメソッド名)
+	 * @return 操作の分類
+	 */
+	public static OperationClass of(String operation) {
+		switch (operation) {
+		case "insert":
+		case "update":
+		case "delete":
+		case "truncate":
+		case "insertEntities":
+		case "updateEntities":
+		case "insertDocuments":
+		case "updateDocuments":
+		case "updateByAql":
+			return WRITE;
+		case "importEntities":
+		case "exportByAql":
+		case "exportCollection":
+			return BULK;
+		default:
+			return READ;
+		}
+	}
+}
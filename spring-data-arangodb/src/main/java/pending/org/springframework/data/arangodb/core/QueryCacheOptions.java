@@ -0,0 +1,42 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.Data;
+
+/**
+ * {@link ArangoDBTemplate#setQueryCacheOptions(QueryCacheOptions)} のオプションです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class QueryCacheOptions {
+
+	/**
+	 * キャッシュするクエリ結果の最大数です。超えた場合は最も長く使用されていない結果から破棄されます。<br>
+	 * AQL ごとのコレクションの解析結果も、この数まで保持されます。
+	 */
+	private int maxEntries = 1000;
+
+	/**
+	 * キャッシュする結果の最大件数です。これより多い結果はキャッシュされません。
+	 */
+	private int maxResultSize = 10000;
+
+	/**
+	 * 結果の有効期間 (ミリ秒) です。 {@code 0} の場合 (デフォルト) は書き込みにより無効化されるまで有効です。
+	 *
+	 * <p>
+	 * このテンプレートを経由しない書き込みや、読み込み用クライアントへの反映の遅れがある場合に設定します。
+	 * </p>
+	 */
+	private long ttlMillis;
+
+	/**
+	 * サーバー側のクエリ結果キャッシュ (クエリオプションの {@code cache}) を使用するかどうかです。
+	 *
+	 * <p>
+	 * サーバーのクエリ結果キャッシュが {@code demand} モードの場合に有効です。
+	 * </p>
+	 */
+	private boolean serverCache;
+}
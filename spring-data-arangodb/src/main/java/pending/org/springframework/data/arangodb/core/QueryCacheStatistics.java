@@ -0,0 +1,45 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * クエリ結果キャッシュの統計情報のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class QueryCacheStatistics {
+
+	/**
+	 * キャッシュから結果を返した数です。
+	 */
+	private long hits;
+
+	/**
+	 * キャッシュに結果がなく、クエリを実行した数です。
+	 */
+	private long misses;
+
+	/**
+	 * 書き込みまたは有効期間により無効になっていた結果の数です。
+	 */
+	private long invalidated;
+
+	/**
+	 * キャッシュの対象外としてクエリを実行した数です。
+	 */
+	private long uncacheable;
+
+	/**
+	 * キャッシュされている結果の数です。
+	 */
+	private int entries;
+
+	/**
+	 * キャッシュの対象となった読み込みのうち、キャッシュから結果を返した割合です。
+	 */
+	private double hitRate;
+}
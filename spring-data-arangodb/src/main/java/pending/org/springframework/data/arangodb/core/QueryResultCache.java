@@ -0,0 +1,383 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+
+import com.arangodb.ArangoDBException;
+
+/**
+ * AQL の読み込み結果を、 AQL とバインド変数をキーにキャッシュします。
+ *
+ * <p>
+ * 結果には、クエリが読み込むコレクションの書き込みエポックが記録されます。
+ * {@link #invalidate(String)} によりエポックが進むと、そのコレクションを読み込む結果は無効になります。<br>
+ * クエリが読み込むコレクションは、 AQL ごとに1回だけサーバーで解析し、
+ * {@code @@} で始まるバインド変数のコレクション名と合わせて判定します。<br>
+ * {@code DOCUMENT()} や名前付きグラフのように解析結果に現れないコレクションを読み込むクエリ、
+ * {@code RAND()} のように結果が変わる関数を使用するクエリはキャッシュしません。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+class QueryResultCache {
+
+	/**
+	 * キャッシュの対象外とするクエリのパターンです。
+	 */
+	private static final Pattern UNCACHEABLE = Pattern.compile(
+			"\\b(DOCUMENT|RAND|DATE_NOW|UUID|NEAR|WITHIN|WITHIN_RECTANGLE|FULLTEXT|COLLECTIONS|CURRENT_USER"
+					+ "|CURRENT_DATABASE)\\s*\\(|\\bGRAPH\\b",
+			Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * 解析できなかった AQL を示す値です。
+	 */
+	private static final Set<String> UNPARSEABLE = Collections.unmodifiableSet(new LinkedHashSet<>());
+
+	/**
+	 * {@link QueryCacheOptions} インスタンスです。
+	 */
+	private final QueryCacheOptions options;
+
+	/**
+	 * AQL が読み書きするコレクション名を返す関数です。
+	 */
+	private final Function<String, Collection<String>> parser;
+
+	/**
+	 * AQL と、バインド変数を除いたコレクション名のマッピングです。最近使用された {@code maxEntries} 件まで保持します。
+	 */
+	private final Map<String, Set<String>> parsedCollections;
+
+	/**
+	 * コレクション名と書き込みエポックのマッピングです。
+	 */
+	private final Map<String, AtomicLong> epochs = new ConcurrentHashMap<>();
+
+	/**
+	 * 全てのコレクションの書き込みエポックです。
+	 */
+	private final AtomicLong globalEpoch = new AtomicLong();
+
+	/**
+	 * キャッシュされた結果です。
+	 */
+	private final Map<Key, Entry> entries;
+
+	/**
+	 * キャッシュされた結果を返した回数です。
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * キャッシュされた結果がなく、クエリを実行した回数です。
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * 書き込みにより無効になった結果を破棄した回数です。
+	 */
+	private final AtomicLong invalidated = new AtomicLong();
+
+	/**
+	 * キャッシュの対象外としてクエリを実行した回数です。
+	 */
+	private final AtomicLong uncacheable = new AtomicLong();
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param options
+	 *            {@link QueryCacheOptions}
+	 * @param parser
+	 *            AQL が読み書きするコレクション名を返す関数
+	 */
+	QueryResultCache(QueryCacheOptions options, Function<String, Collection<String>> parser) {
+
+		Assert.notNull(options, "options must not be null!");
+		Assert.isTrue(options.getMaxEntries() > 0, "maxEntries must be positive!");
+
+		this.options = options;
+		this.parser = parser;
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > options.getMaxEntries();
+			}
+		};
+		this.parsedCollections = new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+				return size() > options.getMaxEntries();
+			}
+		};
+	}
+
+	/**
+	 * キャッシュされた結果を返します。キャッシュされていない場合は、クエリを実行して結果をキャッシュします。
+	 *
+	 * @param database
+	 *            クエリを実行するデータベース名
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 * @param resultType
+	 *            結果の型
+	 * @param loader
+	 *            クエリを実行する関数
+	 * @return クエリの結果
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T get(String database, String aql, Map<String, Object> bindVars, Class<?> resultType, Supplier<T> loader) {
+
+		Set<String> collections = UNCACHEABLE.matcher(aql).find() ? null : getCollections(aql, bindVars);
+		if (collections == null) {
+			uncacheable.incrementAndGet();
+			return loader.get();
+		}
+
+		Key key = new Key(database, aql, bindVars, resultType);
+
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+
+		if (entry != null) {
+			if (entry.isValid()) {
+				hits.incrementAndGet();
+				return (T) entry.value;
+			}
+			invalidated.incrementAndGet();
+			synchronized (entries) {
+				entries.remove(key, entry);
+			}
+		}
+
+		misses.incrementAndGet();
+
+		Entry loading = new Entry(collections);
+
+		T value = loader.get();
+
+		if (!(value instanceof Collection) || ((Collection<?>) value).size() <= options.getMaxResultSize()) {
+			loading.value = value;
+			synchronized (entries) {
+				entries.put(key, loading);
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * コレクションへの書き込みを記録し、そのコレクションを読み込む結果を無効にします。
+	 *
+	 * @param collectionName
+	 *            コレクション名。 {@code null} の場合は全ての結果を無効にします
+	 */
+	void invalidate(String collectionName) {
+		if (collectionName == null) {
+			globalEpoch.incrementAndGet();
+		} else {
+			epoch(collectionName).incrementAndGet();
+		}
+	}
+
+	/**
+	 * AQL による書き込みを記録し、書き込まれたコレクションを読み込む結果を無効にします。
+	 *
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 */
+	void invalidate(String aql, Map<String, Object> bindVars) {
+
+		Set<String> collections = getCollections(aql, bindVars);
+		if (collections == null) {
+			invalidate((String) null);
+			return;
+		}
+
+		for (String collectionName : collections) {
+			invalidate(collectionName);
+		}
+	}
+
+	/**
+	 * 統計情報のスナップショットを返します。
+	 *
+	 * @return 統計情報
+	 */
+	QueryCacheStatistics getStatistics() {
+
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+
+		long hitCount = hits.get();
+		long lookups = hitCount + misses.get();
+
+		return new QueryCacheStatistics(hitCount, misses.get(), invalidated.get(), uncacheable.get(), size,
+				lookups == 0 ? 0 : hitCount / (double) lookups);
+	}
+
+	/**
+	 * AQL が読み書きするコレクション名を返します。
+	 *
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 * @return コレクション名。解析できない場合は {@code null}
+	 */
+	private Set<String> getCollections(String aql, Map<String, Object> bindVars) {
+
+		Set<String> parsed;
+		synchronized (parsedCollections) {
+			parsed = parsedCollections.get(aql);
+		}
+
+		// 解析はサーバーへのリクエストになるため、ロックの外で行う
+		if (parsed == null) {
+			try {
+				parsed = new LinkedHashSet<>(parser.apply(aql));
+			} catch (ArangoDBException e) {
+				parsed = UNPARSEABLE;
+			}
+			synchronized (parsedCollections) {
+				parsedCollections.put(aql, parsed);
+			}
+		}
+
+		if (parsed == UNPARSEABLE) {
+			return null;
+		}
+
+		if (bindVars == null || bindVars.isEmpty()) {
+			return parsed;
+		}
+
+		Set<String> collections = new LinkedHashSet<>(parsed);
+		for (Map.Entry<String, Object> bindVar : bindVars.entrySet()) {
+			if (bindVar.getKey().startsWith("@") && bindVar.getValue() != null) {
+				collections.add(bindVar.getValue().toString());
+			}
+		}
+
+		return collections;
+	}
+
+	/**
+	 * コレクションの書き込みエポックを返します。
+	 *
+	 * @param collectionName
+	 *            コレクション名
+	 * @return 書き込みエポック
+	 */
+	private AtomicLong epoch(String collectionName) {
+		return epochs.computeIfAbsent(collectionName, c -> new AtomicLong());
+	}
+
+	/**
+	 * キャッシュのキーです。
+	 */
+	private static final class Key {
+
+		private final String database;
+		private final String aql;
+		private final Map<String, Object> bindVars;
+		private final Class<?> resultType;
+		private final int hash;
+
+		private Key(String database, String aql, Map<String, Object> bindVars, Class<?> resultType) {
+			this.database = database;
+			this.aql = aql;
+			this.bindVars = bindVars == null ? Collections.<String, Object> emptyMap() : new HashMap<>(bindVars);
+			this.resultType = resultType;
+			this.hash = ((database.hashCode() * 31 + aql.hashCode()) * 31 + this.bindVars.hashCode()) * 31
+					+ resultType.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hash == other.hash && database.equals(other.database) && aql.equals(other.aql)
+					&& resultType.equals(other.resultType) && bindVars.equals(other.bindVars);
+		}
+	}
+
+	/**
+	 * キャッシュされた結果と、クエリの実行前に記録した書き込みエポックです。
+	 */
+	private final class Entry {
+
+		private final AtomicLong[] counters;
+		private final long[] snapshot;
+		private final long global;
+		private final long created = System.nanoTime();
+		private volatile Object value;
+
+		private Entry(Set<String> collections) {
+			this.counters = new AtomicLong[collections.size()];
+			this.snapshot = new long[collections.size()];
+			int i = 0;
+			for (String collectionName : collections) {
+				counters[i] = epoch(collectionName);
+				snapshot[i] = counters[i].get();
+				i++;
+			}
+			this.global = globalEpoch.get();
+		}
+
+		private boolean isValid() {
+			if (globalEpoch.get() != global) {
+				return false;
+			}
+			if (options.getTtlMillis() > 0
+					&& System.nanoTime() - created > TimeUnit.MILLISECONDS.toNanos(options.getTtlMillis())) {
+				return false;
+			}
+			for (int i = 0; i < counters.length; i++) {
+				if (counters[i].get() != snapshot[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 読み込み用クライアントを無作為に選択する {@link ReadLoadBalancingPolicy} です。
+ *
+ * @author hs0x01
+ *
+ */
+public class RandomReadLoadBalancingPolicy implements ReadLoadBalancingPolicy {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBClient select(List<ArangoDBClient> readClients) {
+		return readClients.get(ThreadLocalRandom.current().nextInt(readClients.size()));
+	}
+}
@@ -0,0 +1,21 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.List;
+
+/**
+ * 読み込み操作に使用する {@link ArangoDBClient} を読み込み用クライアントから選択します。
+ *
+ * @author hs0x01
+ *
+ */
+public interface ReadLoadBalancingPolicy {
+
+	/**
+	 * 読み込み操作に使用する {@link ArangoDBClient} を選択します。
+	 *
+	 * @param readClients
+	 *            読み込み用クライアント。空ではありません
+	 * @return 選択された {@link ArangoDBClient}
+	 */
+	ArangoDBClient select(List<ArangoDBClient> readClients);
+}
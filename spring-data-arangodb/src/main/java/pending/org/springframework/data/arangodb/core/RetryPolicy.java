@@ -0,0 +1,293 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import com.arangodb.ArangoDBException;
+
+import lombok.Data;
+
+/**
+ * {@link RetryingArangoDBOperations} の再試行の条件と待機時間です。
+ *
+ * <p>
+ * 再試行するかどうかは、例外 (原因を含む) の {@link ArangoDBException#getErrorNum()} 、
+ * {@link ArangoDBException#getResponseCode()} 、 {@link IOException} の順に判定されます。<br>
+ * エラー番号とレスポンスコードには、それぞれ最大試行回数を設定できます。
+ * </p>
+ *
+ * <p>
+ * 待機時間は {@code initialBackoffMillis * multiplier ^ (試行回数 - 1)} を {@code maxBackoffMillis} で制限した値から、
+ * 最大で {@code jitter} の割合をランダムに差し引いた値です。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class RetryPolicy {
+
+	/**
+	 * 再試行する操作名 ({@link ArangoDBOperations} のメソッド名) のデフォルト値です。
+	 */
+	public static final Set<String> DEFAULT_IDEMPOTENT_OPERATIONS = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList("read", "readByKeys", "readDocumentsByKeys", "readByAql",
+					"readByAqlWithFullCount", "countByAql", "streamByAql", "traverseVertices", "traverseEdges", "traversePaths", "explainByAql")));
+
+	/**
+	 * エラー番号、レスポンスコードの条件で {@link #maxAttempts} を使用することを示す最大試行回数です。
+	 */
+	public static final int USE_POLICY_MAX_ATTEMPTS = 0;
+
+	/**
+	 * {@link ArangoDBException} が保持する、サーバーのエラー情報のフィールドです。ドライバーに存在しない場合は {@code null} です。
+	 */
+	private static final Field ERROR_ENTITY_FIELD = findErrorEntityField();
+
+	/**
+	 * 最大試行回数 (最初の呼び出しを含む) です。
+	 *
+	 * <p>
+	 * 通信エラーと、最大試行回数を指定していないエラー番号、レスポンスコードの条件に使用されます。
+	 * </p>
+	 */
+	private int maxAttempts = 3;
+
+	/**
+	 * 最初の再試行までの待機時間 (ミリ秒) です。
+	 */
+	private long initialBackoffMillis = 20;
+
+	/**
+	 * 待機時間の上限 (ミリ秒) です。
+	 */
+	private long maxBackoffMillis = 1000;
+
+	/**
+	 * 再試行ごとに待機時間に掛ける倍率です。
+	 */
+	private double multiplier = 2.0;
+
+	/**
+	 * 待機時間からランダムに差し引く最大の割合 ({@code 0} から {@code 1}) です。
+	 */
+	private double jitter = 0.5;
+
+	/**
+	 * 通信エラー ({@link IOException}) を再試行するかどうかです。
+	 */
+	private boolean retryOnIOException = true;
+
+	/**
+	 * 再試行する操作名です。
+	 *
+	 * <p>
+	 * 何度実行しても結果が変わらない操作だけを指定します。
+	 * </p>
+	 */
+	private Set<String> idempotentOperations = new HashSet<>(DEFAULT_IDEMPOTENT_OPERATIONS);
+
+	/**
+	 * 再試行するエラー番号と最大試行回数のマッピングです。
+	 *
+	 * <p>
+	 * デフォルトはクラスタのタイムアウト ({@code 1457}) 、バックエンドの停止 ({@code 1477}) 、
+	 * リーダーの切り替え ({@code 1495} 、 {@code 1496}) で、最大試行回数は {@link #maxAttempts} です。<br>
+	 * 最大試行回数が {@link #USE_POLICY_MAX_ATTEMPTS} の場合は、判定時の {@link #maxAttempts} を使用します。
+	 * </p>
+	 */
+	private Map<Integer, Integer> errorNumRules = new HashMap<>();
+
+	/**
+	 * 再試行するレスポンスコードと最大試行回数のマッピングです。
+	 *
+	 * <p>
+	 * デフォルトは {@code 503} で、最大試行回数は {@link #maxAttempts} です。<br>
+	 * 最大試行回数が {@link #USE_POLICY_MAX_ATTEMPTS} の場合は、判定時の {@link #maxAttempts} を使用します。
+	 * </p>
+	 */
+	private Map<Integer, Integer> responseCodeRules = new HashMap<>();
+
+	/**
+	 * デフォルトの条件でインスタンスを生成します。
+	 */
+	public RetryPolicy() {
+		for (int errorNum : new int[] { 1457, 1477, 1495, 1496 }) {
+			errorNumRules.put(errorNum, USE_POLICY_MAX_ATTEMPTS);
+		}
+		responseCodeRules.put(503, USE_POLICY_MAX_ATTEMPTS);
+	}
+
+	/**
+	 * エラー番号を {@link #maxAttempts} まで再試行する条件を追加します。
+	 *
+	 * @param errorNum
+	 *            エラー番号
+	 * @return {@link RetryPolicy}
+	 */
+	public RetryPolicy retryOnErrorNum(int errorNum) {
+		errorNumRules.put(errorNum, USE_POLICY_MAX_ATTEMPTS);
+		return this;
+	}
+
+	/**
+	 * エラー番号を再試行する条件を追加します。
+	 *
+	 * @param errorNum
+	 *            エラー番号
+	 * @param maxAttempts
+	 *            最大試行回数 (最初の呼び出しを含む)
+	 * @return {@link RetryPolicy}
+	 */
+	public RetryPolicy retryOnErrorNum(int errorNum, int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be positive!");
+		errorNumRules.put(errorNum, maxAttempts);
+		return this;
+	}
+
+	/**
+	 * レスポンスコードを {@link #maxAttempts} まで再試行する条件を追加します。
+	 *
+	 * @param responseCode
+	 *            レスポンスコード
+	 * @return {@link RetryPolicy}
+	 */
+	public RetryPolicy retryOnResponseCode(int responseCode) {
+		responseCodeRules.put(responseCode, USE_POLICY_MAX_ATTEMPTS);
+		return this;
+	}
+
+	/**
+	 * レスポンスコードを再試行する条件を追加します。
+	 *
+	 * @param responseCode
+	 *            レスポンスコード
+	 * @param maxAttempts
+	 *            最大試行回数 (最初の呼び出しを含む)
+	 * @return {@link RetryPolicy}
+	 */
+	public RetryPolicy retryOnResponseCode(int responseCode, int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be positive!");
+		responseCodeRules.put(responseCode, maxAttempts);
+		return this;
+	}
+
+	/**
+	 * 操作を再試行できるかどうかを返します。
+	 *
+	 * @param operation
+	 *            操作名
+	 * @return 再試行できる場合は {@code true}
+	 */
+	public boolean isIdempotent(String operation) {
+		return idempotentOperations.contains(operation);
+	}
+
+	/**
+	 * 例外に対する最大試行回数を返します。
+	 *
+	 * @param failure
+	 *            操作で発生した例外
+	 * @return 最大試行回数 (最初の呼び出しを含む) 。再試行しない場合は {@code 1}
+	 */
+	public int getMaxAttempts(Throwable failure) {
+
+		boolean ioException = false;
+
+		for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+
+			if (t instanceof ArangoDBException) {
+				Integer attempts = getMaxAttempts((ArangoDBException) t);
+				if (attempts != null) {
+					return attempts;
+				}
+			}
+
+			ioException |= t instanceof IOException;
+		}
+
+		return ioException && retryOnIOException ? maxAttempts : 1;
+	}
+
+	/**
+	 * サーバーから返された例外に対する最大試行回数を返します。
+	 *
+	 * @param e
+	 *            {@link ArangoDBException}
+	 * @return 最大試行回数。条件に一致しない場合は {@code null}
+	 */
+	private Integer getMaxAttempts(ArangoDBException e) {
+
+		// サーバーのエラー情報を持たない例外 (通信エラーなど) では、エラー番号とレスポンスコードを取得できない
+		if (!hasErrorEntity(e)) {
+			return null;
+		}
+
+		Integer attempts = errorNumRules.get(e.getErrorNum());
+		if (attempts == null) {
+			attempts = responseCodeRules.get(e.getResponseCode());
+		}
+
+		if (attempts != null && attempts == USE_POLICY_MAX_ATTEMPTS) {
+			return maxAttempts;
+		}
+
+		return attempts;
+	}
+
+	/**
+	 * 例外がサーバーのエラー情報を持つかどうかを返します。
+	 *
+	 * @param e
+	 *            {@link ArangoDBException}
+	 * @return サーバーのエラー情報を持つ場合は {@code true}
+	 */
+	private static boolean hasErrorEntity(ArangoDBException e) {
+
+		if (ERROR_ENTITY_FIELD == null) {
+			// エラー情報がない場合も null を返すメソッドで判定する
+			return e.getErrorMessage() != null;
+		}
+
+		return ReflectionUtils.getField(ERROR_ENTITY_FIELD, e) != null;
+	}
+
+	/**
+	 * {@link ArangoDBException} が保持する、サーバーのエラー情報のフィールドを返します。
+	 *
+	 * @return フィールド。ドライバーに存在しない場合は {@code null}
+	 */
+	private static Field findErrorEntityField() {
+
+		Field field = ReflectionUtils.findField(ArangoDBException.class, "entity");
+		if (field != null) {
+			ReflectionUtils.makeAccessible(field);
+		}
+
+		return field;
+	}
+
+	/**
+	 * 再試行までの待機時間を返します。
+	 *
+	 * @param attempt
+	 *            失敗した試行の回数 ({@code 1} から)
+	 * @return 待機時間 (ミリ秒)
+	 */
+	public long getBackoffMillis(int attempt) {
+
+		double backoff = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, attempt - 1));
+
+		return (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+	}
+}
@@ -0,0 +1,120 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+/**
+ * 一時的なエラーで失敗した操作を {@link RetryPolicy} に従って再試行する {@link ArangoDBOperations} のデコレータです。
+ *
+ * <p>
+ * 再試行するのは {@link RetryPolicy#getIdempotentOperations()} に含まれる操作だけです。
+ * 書き込み操作や、出力先に書き込みを始めているエクスポートは再試行されません。<br>
+ * {@code streamByAql} やトラバーサルは、カーソルの生成だけが再試行の対象で、読み込み中のエラーは再試行されません。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class RetryingArangoDBOperations extends DelegatingArangoDBOperations {
+
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(RetryingArangoDBOperations.class);
+
+	/**
+	 * {@link RetryPolicy} インスタンスです。
+	 */
+	private final RetryPolicy retryPolicy;
+
+	/**
+	 * 再試行した回数です。
+	 */
+	private final AtomicLong retries = new AtomicLong();
+
+	/**
+	 * 再試行しても失敗した操作の数です。
+	 */
+	private final AtomicLong exhausted = new AtomicLong();
+
+	/**
+	 * デコレータを生成します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 * @param retryPolicy
+	 *            {@link RetryPolicy} インスタンス
+	 */
+	public RetryingArangoDBOperations(ArangoDBOperations delegate, RetryPolicy retryPolicy) {
+
+		super(delegate);
+
+		Assert.notNull(retryPolicy);
+
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected <T> T execute(String operation, Supplier<T> action) {
+
+		if (!retryPolicy.isIdempotent(operation)) {
+			return action.get();
+		}
+
+		for (int attempt = 1;; attempt++) {
+
+			try {
+				return action.get();
+			} catch (RuntimeException e) {
+
+				if (attempt >= retryPolicy.getMaxAttempts(e)) {
+					if (attempt > 1) {
+						exhausted.incrementAndGet();
+					}
+					throw e;
+				}
+
+				long backoff = retryPolicy.getBackoffMillis(attempt);
+
+				if (LOG.isDebugEnabled()) {
+					LOG.debug(String.format("Retrying %s in %d ms (attempt %d): %s", operation, backoff, attempt,
+							e.getMessage()));
+				}
+
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+
+				retries.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * 再試行した回数を返します。
+	 *
+	 * @return 再試行した回数
+	 */
+	public long getRetries() {
+		return retries.get();
+	}
+
+	/**
+	 * 再試行しても失敗した操作の数を返します。
+	 *
+	 * @return 再試行しても失敗した操作の数
+	 */
+	public long getExhaustedRetries() {
+		return exhausted.get();
+	}
+}
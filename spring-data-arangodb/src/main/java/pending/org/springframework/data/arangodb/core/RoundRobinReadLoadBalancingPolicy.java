@@ -0,0 +1,26 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 読み込み用クライアントを順番に選択する {@link ReadLoadBalancingPolicy} です。
+ *
+ * @author hs0x01
+ *
+ */
+public class RoundRobinReadLoadBalancingPolicy implements ReadLoadBalancingPolicy {
+
+	/**
+	 * 次に選択する位置です。
+	 */
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBClient select(List<ArangoDBClient> readClients) {
+		return readClients.get(Math.floorMod(next.getAndIncrement(), readClients.size()));
+	}
+}
@@ -0,0 +1,128 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * 操作の件数、エラー数、レイテンシをテナントごとに集計する {@link ArangoDBOperations} のデコレータです。
+ *
+ * <p>
+ * テナントは {@link TenantResolver} により操作ごとに解決されます。テナントが決まっていない操作は
+ * {@link #DEFAULT_TENANT} として集計されます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class TenantMetricsArangoDBOperations extends DelegatingArangoDBOperations {
+
+	/**
+	 * テナントが決まっていない操作を集計するキーです。
+	 */
+	public static final String DEFAULT_TENANT = "";
+
+	/**
+	 * {@link TenantResolver} インスタンスです。
+	 */
+	private final TenantResolver tenantResolver;
+
+	/**
+	 * テナント ID と集計値のマッピングです。
+	 */
+	private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * デコレータを生成します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 * @param tenantResolver
+	 *            {@link TenantResolver} インスタンス
+	 */
+	public TenantMetricsArangoDBOperations(ArangoDBOperations delegate, TenantResolver tenantResolver) {
+
+		super(delegate);
+
+		Assert.notNull(tenantResolver);
+
+		this.tenantResolver = tenantResolver;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected <T> T execute(String operation, Supplier<T> action) {
+
+		String tenantId = tenantResolver.resolveTenantId();
+		Counters tenantCounters = counters.computeIfAbsent(tenantId == null ? DEFAULT_TENANT : tenantId,
+				t -> new Counters());
+
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T result = action.get();
+			failed = false;
+			return result;
+		} finally {
+			tenantCounters.record(System.nanoTime() - start, failed);
+		}
+	}
+
+	/**
+	 * テナントごとの統計情報のスナップショットを返します。
+	 *
+	 * @return テナント ID と統計情報のマッピング
+	 */
+	public Map<String, TenantStatistics> getStatistics() {
+		Map<String, TenantStatistics> statistics = new HashMap<>();
+		for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().snapshot());
+		}
+		return statistics;
+	}
+
+	/**
+	 * テナントの集計値です。
+	 */
+	private static class Counters {
+
+		private final AtomicLong operations = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong totalLatencyNanos = new AtomicLong();
+		private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+		/**
+		 * 操作の結果を記録します。
+		 *
+		 * @param latencyNanos
+		 *            レイテンシ (ナノ秒)
+		 * @param failed
+		 *            例外で終了した場合は {@code true}
+		 */
+		void record(long latencyNanos, boolean failed) {
+			operations.incrementAndGet();
+			if (failed) {
+				errors.incrementAndGet();
+			}
+			totalLatencyNanos.addAndGet(latencyNanos);
+			maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+		}
+
+		/**
+		 * 統計情報のスナップショットを返します。
+		 *
+		 * @return 統計情報
+		 */
+		TenantStatistics snapshot() {
+			long count = operations.get();
+			double average = count == 0 ? 0 : totalLatencyNanos.get() / (double) count / 1_000_000;
+			return new TenantStatistics(count, errors.get(), average, maxLatencyNanos.get() / 1_000_000.0);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package pending.org.springframework.data.arangodb.core;
+
+/**
+ * 現在の処理のテナント ID を解決します。
+ * 
+ * <p>
+ * {@link ArangoDBClient} はテナント ID ごとに異なるデータベースを使用します。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public interface TenantResolver {
+
+	/**
+	 * 現在の処理のテナント ID を返します。
+	 * 
+	 * @return テナント ID 。テナントが決まっていない場合は {@code null}
+	 */
+	String resolveTenantId();
+}
@@ -0,0 +1,35 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * テナントごとの操作の統計情報のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class TenantStatistics {
+
+	/**
+	 * 実行された操作の数です。
+	 */
+	private long operations;
+
+	/**
+	 * 例外で終了した操作の数です。
+	 */
+	private long errors;
+
+	/**
+	 * 操作の平均レイテンシ (ミリ秒) です。
+	 */
+	private double averageLatencyMillis;
+
+	/**
+	 * 操作の最大レイテンシ (ミリ秒) です。
+	 */
+	private double maxLatencyMillis;
+}
@@ -0,0 +1,44 @@
+package pending.org.springframework.data.arangodb.core;
+
+/**
+ * スレッドに設定されたテナント ID を返す {@link TenantResolver} です。
+ * 
+ * <p>
+ * リクエストの開始時に {@link #setTenantId(String)} を呼び出し、終了時に {@link #clear()} を呼び出してください。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public class ThreadLocalTenantResolver implements TenantResolver {
+
+	/**
+	 * スレッドのテナント ID です。
+	 */
+	private final ThreadLocal<String> tenantId = new ThreadLocal<>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String resolveTenantId() {
+		return tenantId.get();
+	}
+
+	/**
+	 * 現在のスレッドのテナント ID を設定します。
+	 * 
+	 * @param tenantId
+	 *            テナント ID
+	 */
+	public void setTenantId(String tenantId) {
+		this.tenantId.set(tenantId);
+	}
+
+	/**
+	 * 現在のスレッドのテナント ID を削除します。
+	 */
+	public void clear() {
+		tenantId.remove();
+	}
+}
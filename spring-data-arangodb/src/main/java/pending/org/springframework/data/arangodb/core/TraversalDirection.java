@@ -0,0 +1,25 @@
+package pending.org.springframework.data.arangodb.core;
+
+/**
+ * グラフトラバーサルでエッジをたどる方向です。
+ *
+ * @author hs0x01
+ *
+ */
+public enum TraversalDirection {
+
+	/**
+	 * 始点 ({@code _from}) から終点 ({@code _to}) の方向にたどります。
+	 */
+	OUTBOUND,
+
+	/**
+	 * 終点 ({@code _to}) から始点 ({@code _from}) の方向にたどります。
+	 */
+	INBOUND,
+
+	/**
+	 * 両方向にたどります。
+	 */
+	ANY
+}
@@ -0,0 +1,35 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * グラフトラバーサルでたどったパスです。
+ *
+ * <p>
+ * {@code vertices} は始点の頂点を含み、 {@code edges} よりも1つ多くなります。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ * @param <V>
+ *            頂点のエンティティ
+ * @param <E>
+ *            エッジのエンティティ
+ */
+@Data
+@AllArgsConstructor
+public class TraversalPath<V, E> {
+
+	/**
+	 * パス上の頂点です。
+	 */
+	private List<V> vertices;
+
+	/**
+	 * パス上のエッジです。
+	 */
+	private List<E> edges;
+}
@@ -0,0 +1,379 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+
+/**
+ * グラフトラバーサル ({@code FOR v, e, p IN min..max OUTBOUND|INBOUND|ANY}) の条件です。
+ *
+ * <p>
+ * 方向、深さ、たどるグラフまたはエッジコレクション、フィルタ条件を指定し、
+ * {@link ArangoDBOperations#traverseVertices(String, TraversalSpec, Class)} などに渡します。<br>
+ * フィルタ条件では、頂点を {@code v} 、エッジを {@code e} 、パスを {@code p} で参照できます。
+ * </p>
+ *
+ * <p>
+ * {@link #whereAllVertices(String, Object)} 、 {@link #whereAllEdges(String, Object)} の条件は
+ * {@code p.vertices[*].attr ALL == value} の形式で生成され、オプティマイザによりトラバーサル中に評価されるため、
+ * 条件を満たさない枝はそれ以上たどられません。
+ * </p>
+ *
+ * <pre>
+ * TraversalSpec spec = TraversalSpec.outbound("follows").depth(1, 3).whereAllEdges("active", true);
+ * </pre>
+ *
+ * @author hs0x01
+ *
+ */
+public class TraversalSpec {
+
+	/**
+	 * 属性名として許可するパターンです。
+	 */
+	private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	/**
+	 * 始点の頂点のバインド変数名です。
+	 */
+	static final String START_VERTEX = "start";
+
+	/**
+	 * {@link #whereAllVertices(String, Object)} などが生成するバインド変数名の接頭辞です。
+	 * {@link #bindVar(String, Object)} では使用できません。
+	 */
+	static final String GENERATED_BIND_VAR_PREFIX = "traversalWhere";
+
+	/**
+	 * たどる方向です。
+	 */
+	private final TraversalDirection direction;
+
+	/**
+	 * 名前付きグラフの名前です。
+	 */
+	private final String graphName;
+
+	/**
+	 * たどるエッジコレクション名です。
+	 */
+	private final List<String> edgeCollections;
+
+	/**
+	 * 最小の深さです。
+	 */
+	private int minDepth = 1;
+
+	/**
+	 * 最大の深さです。
+	 */
+	private int maxDepth = 1;
+
+	/**
+	 * 幅優先探索を行うかどうかです。
+	 */
+	private boolean bfs;
+
+	/**
+	 * 頂点の一意性 ({@code none} 、 {@code path} 、 {@code global}) です。
+	 */
+	private String uniqueVertices;
+
+	/**
+	 * フィルタ条件です。
+	 */
+	private final List<String> filters = new ArrayList<>();
+
+	/**
+	 * フィルタ条件のバインド変数です。
+	 */
+	private final Map<String, Object> bindVars = new HashMap<>();
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param direction
+	 *            たどる方向
+	 * @param graphName
+	 *            名前付きグラフの名前
+	 * @param edgeCollections
+	 *            たどるエッジコレクション名
+	 */
+	private TraversalSpec(TraversalDirection direction, String graphName, List<String> edgeCollections) {
+		this.direction = direction;
+		this.graphName = graphName;
+		this.edgeCollections = edgeCollections;
+	}
+
+	/**
+	 * エッジコレクションを {@link TraversalDirection#OUTBOUND} の方向にたどる条件を生成します。
+	 *
+	 * @param edgeCollections
+	 *            たどるエッジコレクション名
+	 * @return {@link TraversalSpec}
+	 */
+	public static TraversalSpec outbound(String... edgeCollections) {
+		return edges(TraversalDirection.OUTBOUND, edgeCollections);
+	}
+
+	/**
+	 * エッジコレクションを {@link TraversalDirection#INBOUND} の方向にたどる条件を生成します。
+	 *
+	 * @param edgeCollections
+	 *            たどるエッジコレクション名
+	 * @return {@link TraversalSpec}
+	 */
+	public static TraversalSpec inbound(String... edgeCollections) {
+		return edges(TraversalDirection.INBOUND, edgeCollections);
+	}
+
+	/**
+	 * エッジコレクションを {@link TraversalDirection#ANY} の方向にたどる条件を生成します。
+	 *
+	 * @param edgeCollections
+	 *            たどるエッジコレクション名
+	 * @return {@link TraversalSpec}
+	 */
+	public static TraversalSpec any(String... edgeCollections) {
+		return edges(TraversalDirection.ANY, edgeCollections);
+	}
+
+	/**
+	 * エッジコレクションをたどる条件を生成します。
+	 *
+	 * @param direction
+	 *            たどる方向
+	 * @param edgeCollections
+	 *            たどるエッジコレクション名
+	 * @return {@link TraversalSpec}
+	 */
+	public static TraversalSpec edges(TraversalDirection direction, String... edgeCollections) {
+
+		Assert.notNull(direction, "direction must not be null!");
+		Assert.notEmpty(edgeCollections, "edgeCollections must not be empty!");
+
+		List<String> collections = new ArrayList<>(edgeCollections.length);
+		Collections.addAll(collections, edgeCollections);
+
+		return new TraversalSpec(direction, null, collections);
+	}
+
+	/**
+	 * 名前付きグラフをたどる条件を生成します。
+	 *
+	 * @param direction
+	 *            たどる方向
+	 * @param graphName
+	 *            名前付きグラフの名前
+	 * @return {@link TraversalSpec}
+	 */
+	public static TraversalSpec graph(TraversalDirection direction, String graphName) {
+
+		Assert.notNull(direction, "direction must not be null!");
+		Assert.hasText(graphName, "graphName must not be empty!");
+
+		return new TraversalSpec(direction, graphName, Collections.<String> emptyList());
+	}
+
+	/**
+	 * 深さを設定します。
+	 *
+	 * @param minDepth
+	 *            最小の深さ。 {@code 0} の場合は始点の頂点も結果に含まれます (エッジのトラバーサルでは、始点にエッジがないため含まれません)
+	 * @param maxDepth
+	 *            最大の深さ
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec depth(int minDepth, int maxDepth) {
+
+		Assert.isTrue(minDepth >= 0, "minDepth must not be negative!");
+		Assert.isTrue(minDepth <= maxDepth, "minDepth must not be greater than maxDepth!");
+
+		this.minDepth = minDepth;
+		this.maxDepth = maxDepth;
+		return this;
+	}
+
+	/**
+	 * 幅優先探索を行うかどうかを設定します。
+	 *
+	 * @param bfs
+	 *            幅優先探索を行う場合は {@code true}
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec bfs(boolean bfs) {
+		this.bfs = bfs;
+		return this;
+	}
+
+	/**
+	 * 頂点の一意性を設定します。
+	 *
+	 * @param uniqueVertices
+	 *            {@code none} 、 {@code path} 、 {@code global} のいずれか
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec uniqueVertices(String uniqueVertices) {
+
+		Assert.isTrue("none".equals(uniqueVertices) || "path".equals(uniqueVertices)
+				|| "global".equals(uniqueVertices), "uniqueVertices must be one of none, path or global!");
+
+		this.uniqueVertices = uniqueVertices;
+		return this;
+	}
+
+	/**
+	 * フィルタ条件を追加します。
+	 *
+	 * <p>
+	 * 条件は AQL の式で、 {@code v} 、 {@code e} 、 {@code p} と {@link #bindVar(String, Object)}
+	 * で設定したバインド変数を参照できます。
+	 * </p>
+	 *
+	 * @param condition
+	 *            フィルタ条件
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec filter(String condition) {
+
+		Assert.hasText(condition, "condition must not be empty!");
+
+		filters.add(condition);
+		return this;
+	}
+
+	/**
+	 * フィルタ条件のバインド変数を設定します。
+	 *
+	 * @param name
+	 *            バインド変数名。 {@code start} 、 {@code graph} 、 {@code @} と
+	 *            {@code traversalWhere} で始まる名前は予約されています
+	 * @param value
+	 *            値
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec bindVar(String name, Object value) {
+
+		Assert.hasText(name, "name must not be empty!");
+		Assert.isTrue(!START_VERTEX.equals(name) && !"graph".equals(name) && !name.startsWith("@")
+				&& !name.startsWith(GENERATED_BIND_VAR_PREFIX), "name is reserved: " + name);
+
+		bindVars.put(name, value);
+		return this;
+	}
+
+	/**
+	 * パス上の全ての頂点の属性が {@code value} と等しい条件を追加します。
+	 *
+	 * @param attribute
+	 *            属性名
+	 * @param value
+	 *            値
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec whereAllVertices(String attribute, Object value) {
+		return whereAll("vertices", attribute, value);
+	}
+
+	/**
+	 * パス上の全てのエッジの属性が {@code value} と等しい条件を追加します。
+	 *
+	 * @param attribute
+	 *            属性名
+	 * @param value
+	 *            値
+	 * @return {@link TraversalSpec}
+	 */
+	public TraversalSpec whereAllEdges(String attribute, Object value) {
+		return whereAll("edges", attribute, value);
+	}
+
+	/**
+	 * トラバーサルの AQL を生成します。
+	 *
+	 * @param startVertexId
+	 *            始点の頂点のドキュメントハンドル ({@code collection/key})
+	 * @param returnExpression
+	 *            {@code RETURN} する式
+	 * @param queryBindVars
+	 *            バインド変数を設定する {@link Map}
+	 * @return AQL
+	 */
+	String toAql(String startVertexId, String returnExpression, Map<String, Object> queryBindVars) {
+
+		Assert.hasText(startVertexId, "startVertexId must not be empty!");
+
+		queryBindVars.putAll(bindVars);
+		queryBindVars.put(START_VERTEX, startVertexId);
+
+		StringBuilder aql = new StringBuilder();
+		aql.append("FOR v, e, p IN ").append(minDepth).append("..").append(maxDepth).append(" ")
+				.append(direction.name()).append(" @").append(START_VERTEX).append(" ");
+
+		if (graphName != null) {
+			aql.append("GRAPH @graph");
+			queryBindVars.put("graph", graphName);
+		} else {
+			for (int i = 0; i < edgeCollections.size(); i++) {
+				if (i > 0) {
+					aql.append(", ");
+				}
+				aql.append("@@edge").append(i);
+				queryBindVars.put("@edge" + i, edgeCollections.get(i));
+			}
+		}
+
+		if (bfs || uniqueVertices != null) {
+			aql.append(" OPTIONS {");
+			if (bfs) {
+				aql.append("bfs: true");
+			}
+			if (uniqueVertices != null) {
+				aql.append(bfs ? ", " : "").append("uniqueVertices: \"").append(uniqueVertices).append("\"");
+			}
+			aql.append("}");
+		}
+
+		for (String filter : filters) {
+			aql.append(" FILTER ").append(filter);
+		}
+
+		if ("e".equals(returnExpression) && minDepth == 0) {
+			// 深さ 0 の始点の頂点にはエッジがないため除外します
+			aql.append(" FILTER e != null");
+		}
+
+		aql.append(" RETURN ").append(returnExpression);
+
+		return aql.toString();
+	}
+
+	/**
+	 * パス上の全ての頂点またはエッジの属性が {@code value} と等しい条件を追加します。
+	 *
+	 * @param target
+	 *            {@code vertices} または {@code edges}
+	 * @param attribute
+	 *            属性名
+	 * @param value
+	 *            値
+	 * @return {@link TraversalSpec}
+	 */
+	private TraversalSpec whereAll(String target, String attribute, Object value) {
+
+		Assert.isTrue(attribute != null && ATTRIBUTE_PATTERN.matcher(attribute).matches(),
+				"Invalid attribute name: " + attribute);
+
+		String name = GENERATED_BIND_VAR_PREFIX + filters.size();
+		Assert.state(!bindVars.containsKey(name), "Bind variable " + name + " is already defined!");
+
+		filters.add(String.format("p.%s[*].`%s` ALL == @%s", target, attribute, name));
+		bindVars.put(name, value);
+		return this;
+	}
+}
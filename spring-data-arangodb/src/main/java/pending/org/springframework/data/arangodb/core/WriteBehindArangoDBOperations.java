@@ -0,0 +1,851 @@
+package pending.org.springframework.data.arangodb.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.arangodb.entity.BaseDocument;
+
+/**
+ * 書き込みを非同期にまとめて実行する {@link ArangoDBOperations} のデコレータです。
+ *
+ * <p>
+ * {@code insert} 、 {@code update} は呼び出し時にドキュメントに変換されてコレクションごとのバッファにキューイングされ、
+ * 同じキーへの書き込みは種類にかかわらず最新のドキュメントにマージされます。
+ * 呼び出し後にエンティティを変更しても、書き込まれる内容は変わりません。<br>
+ * バッファは、書き込み数が {@code batchSize} に達したとき、または {@code flushIntervalMillis} ごとに、
+ * {@link ArangoDBOperations#insertDocuments(String, List)} 、 {@link ArangoDBOperations#updateDocuments(String, List)}
+ * により複数ドキュメント操作としてフラッシュされます。
+ * サーバが採番したキーやリビジョンは、エンティティに設定されません。<br>
+ * バッファ全体の書き込み数は {@code maxPendingWrites} に制限され、上限に達すると呼び出し元は空きができるまで待機します。<br>
+ * {@code delete} 、 {@code updateByAql} は、対象のバッファをフラッシュしてから同期的に実行されます。
+ * 読み込み操作はバッファを経由しないため、フラッシュ前の書き込みは読み込めません。<br>
+ * フラッシュの失敗は呼び出し元に通知されません。 {@link RetryPolicy} で再試行できる失敗は、
+ * 書き込みをバッファに戻して待機時間の後に再びフラッシュします。ただし、同期的なフラッシュと停止処理では、
+ * 後続の操作より先に書き込むため呼び出し元のスレッドで待機して再試行します。
+ * 最大試行回数に達するか再試行できない失敗は、書き込みを破棄してログと {@link #getStatistics()} の失敗数に記録します。
+ * バッファに戻した書き込みより新しい同じキーへの書き込みは、新しい書き込みが優先されます。<br>
+ * {@link #destroy()} で、以降の書き込みを拒否し、残りのバッファをフラッシュしてから停止します。
+ * </p>
+ *
+ * <p>
+ * フラッシュはバックグラウンドのスレッドで実行されます。 {@link TenantResolver} によりデータベースを切り替える
+ * {@link ArangoDBClient} と組み合わせる場合は、その {@link ThreadLocalTenantResolver} を指定してください。
+ * バッファはテナントごとに分けられ、書き込みをキューイングしたときのテナントでフラッシュされます。<br>
+ * {@link ThreadLocalTenantResolver} を指定しない場合は、データベースを切り替えない {@link ArangoDBClient} とだけ組み合わせられます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class WriteBehindArangoDBOperations extends DelegatingArangoDBOperations implements DisposableBean {
+
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(WriteBehindArangoDBOperations.class);
+
+	/**
+	 * コレクションごとのフラッシュする書き込み数です。
+	 */
+	private final int batchSize;
+
+	/**
+	 * バッファの空きを待機する最大時間 (ミリ秒) です。
+	 */
+	private final long offerTimeoutMillis;
+
+	/**
+	 * バッファ全体の空き容量です。
+	 */
+	private final Semaphore capacity;
+
+	/**
+	 * フラッシュの失敗を再試行する条件です。
+	 */
+	private final RetryPolicy retryPolicy;
+
+	/**
+	 * フラッシュのスレッドにテナントを設定する {@link ThreadLocalTenantResolver} です。テナントを切り替えない場合は {@code null} です。
+	 */
+	private final ThreadLocalTenantResolver tenantResolver;
+
+	/**
+	 * テナント ID とコレクション名の組と、バッファのマッピングです。
+	 */
+	private final Map<List<String>, CollectionBuffer> buffers = new ConcurrentHashMap<>();
+
+	/**
+	 * フラッシュを実行するスケジューラです。
+	 */
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * 停止済みかどうかです。
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * 停止と書き込みのキューイングを排他するロックです。
+	 * キューイングは読み込みロック、停止は書き込みロックを取得します。
+	 */
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+	/**
+	 * バッファされている書き込み数です。
+	 */
+	private final AtomicLong pendingWrites = new AtomicLong();
+
+	/**
+	 * フラッシュ回数です。
+	 */
+	private final AtomicLong flushes = new AtomicLong();
+
+	/**
+	 * フラッシュされた書き込み数です。
+	 */
+	private final AtomicLong flushedWrites = new AtomicLong();
+
+	/**
+	 * 同じキーへの書き込みにマージされた書き込み数です。
+	 */
+	private final AtomicLong mergedWrites = new AtomicLong();
+
+	/**
+	 * フラッシュに失敗し、破棄された書き込み数です。
+	 */
+	private final AtomicLong failedWrites = new AtomicLong();
+
+	/**
+	 * フラッシュに失敗し、再試行のためにバッファに戻された書き込み数です。
+	 */
+	private final AtomicLong retriedWrites = new AtomicLong();
+
+	/**
+	 * フラッシュの合計時間 (ナノ秒) です。
+	 */
+	private final AtomicLong totalFlushNanos = new AtomicLong();
+
+	/**
+	 * フラッシュの最大時間 (ナノ秒) です。
+	 */
+	private final AtomicLong maxFlushNanos = new AtomicLong();
+
+	/**
+	 * デフォルトの {@link RetryPolicy} でフラッシュを再試行し、テナントを切り替えないデコレータを生成して、定期的なフラッシュを開始します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 * @param batchSize
+	 *            コレクションごとのフラッシュする書き込み数
+	 * @param flushIntervalMillis
+	 *            定期的なフラッシュの間隔 (ミリ秒)
+	 * @param maxPendingWrites
+	 *            バッファ全体の最大書き込み数
+	 * @param offerTimeoutMillis
+	 *            バッファの空きを待機する最大時間 (ミリ秒)
+	 */
+	public WriteBehindArangoDBOperations(ArangoDBOperations delegate, int batchSize, long flushIntervalMillis,
+			int maxPendingWrites, long offerTimeoutMillis) {
+		this(delegate, batchSize, flushIntervalMillis, maxPendingWrites, offerTimeoutMillis, new RetryPolicy(), null);
+	}
+
+	/**
+	 * デコレータを生成し、定期的なフラッシュを開始します。
+	 *
+	 * @param delegate
+	 *            委譲先の {@link ArangoDBOperations} インスタンス
+	 * @param batchSize
+	 *            コレクションごとのフラッシュする書き込み数
+	 * @param flushIntervalMillis
+	 *            定期的なフラッシュの間隔 (ミリ秒)
+	 * @param maxPendingWrites
+	 *            バッファ全体の最大書き込み数
+	 * @param offerTimeoutMillis
+	 *            バッファの空きを待機する最大時間 (ミリ秒)
+	 * @param retryPolicy
+	 *            フラッシュの失敗を再試行する条件
+	 * @param tenantResolver
+	 *            委譲先の {@link ArangoDBClient} の {@link ThreadLocalTenantResolver} 。テナントを切り替えない場合は {@code null}
+	 */
+	public WriteBehindArangoDBOperations(ArangoDBOperations delegate, int batchSize, long flushIntervalMillis,
+			int maxPendingWrites, long offerTimeoutMillis, RetryPolicy retryPolicy,
+			ThreadLocalTenantResolver tenantResolver) {
+
+		super(delegate);
+
+		Assert.isTrue(batchSize > 0, "batchSize must be positive!");
+		Assert.isTrue(flushIntervalMillis > 0, "flushIntervalMillis must be positive!");
+		Assert.isTrue(maxPendingWrites >= batchSize, "maxPendingWrites must not be less than batchSize!");
+		Assert.notNull(retryPolicy);
+
+		this.batchSize = batchSize;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+		this.capacity = new Semaphore(maxPendingWrites);
+		this.retryPolicy = retryPolicy;
+		this.tenantResolver = tenantResolver;
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "arangodb-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 実行前に全てのバッファをフラッシュします。
+	 * </p>
+	 */
+	@Override
+	public long updateByAql(String aql, Map<String, Object> bindVars) {
+		flush();
+		return delegate.updateByAql(aql, bindVars);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 書き込みはバッファされ、非同期に実行されます。
+	 * </p>
+	 */
+	@Override
+	public void insert(Object entity) {
+		enqueue(WriteKind.INSERT, entity);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 書き込みはバッファされ、非同期に実行されます。
+	 * </p>
+	 */
+	@Override
+	public void update(Object entity) {
+		enqueue(WriteKind.UPDATE, entity);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 書き込みはバッファされ、非同期に実行されます。
+	 * </p>
+	 */
+	@Override
+	public void insertEntities(Collection<?> entities) {
+		for (Object entity : entities) {
+			enqueue(WriteKind.INSERT, entity);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 書き込みはバッファされ、非同期に実行されます。
+	 * </p>
+	 */
+	@Override
+	public void updateEntities(Collection<?> entities) {
+		for (Object entity : entities) {
+			enqueue(WriteKind.UPDATE, entity);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 実行前に全てのバッファをフラッシュします。
+	 * </p>
+	 */
+	@Override
+	public ImportResult importEntities(Iterator<?> entities, ImportOptions options) {
+		flush();
+		return delegate.importEntities(entities, options);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 実行前に全てのバッファをフラッシュします。
+	 * </p>
+	 */
+	@Override
+	public ImportResult importEntities(Stream<?> entities, ImportOptions options) {
+		flush();
+		return delegate.importEntities(entities, options);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 実行前に対象コレクションのバッファをフラッシュします。
+	 * </p>
+	 */
+	@Override
+	public void delete(Object entity) {
+		CollectionBuffer buffer = buffers.get(getBufferKey(delegate.getCollectionName(entity.getClass())));
+		if (buffer != null) {
+			flush(buffer, true);
+		}
+		delegate.delete(entity);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * 対象コレクションのバッファは破棄されます。
+	 * </p>
+	 */
+	@Override
+	public void truncate(String collectionName) {
+		CollectionBuffer buffer = buffers.get(getBufferKey(collectionName));
+		if (buffer != null) {
+			synchronized (buffer.flushLock) {
+				synchronized (buffer) {
+					release(buffer.drain().size());
+				}
+			}
+		}
+		delegate.truncate(collectionName);
+	}
+
+	/**
+	 * 全てのバッファを同期的にフラッシュします。
+	 */
+	public void flush() {
+		for (CollectionBuffer buffer : buffers.values()) {
+			flush(buffer, true);
+		}
+	}
+
+	/**
+	 * 統計情報のスナップショットを返します。
+	 *
+	 * @return 統計情報
+	 */
+	public WriteBehindStatistics getStatistics() {
+		long flushCount = flushes.get();
+		double averageMillis = flushCount == 0 ? 0 : totalFlushNanos.get() / (double) flushCount / 1000000;
+		return new WriteBehindStatistics(pendingWrites.get(), flushCount, flushedWrites.get(), mergedWrites.get(),
+				failedWrites.get(), retriedWrites.get(), averageMillis, maxFlushNanos.get() / 1000000d);
+	}
+
+	/**
+	 * 以降の書き込みを拒否し、定期的なフラッシュを停止して、残りのバッファをフラッシュします。
+	 */
+	@Override
+	public void destroy() throws InterruptedException {
+
+		// キューイング中の書き込みが終わるのを待ってから停止する
+		closeLock.writeLock().lock();
+		try {
+			closed = true;
+		} finally {
+			closeLock.writeLock().unlock();
+		}
+
+		scheduler.shutdown();
+		scheduler.awaitTermination(1, TimeUnit.MINUTES);
+		flush();
+	}
+
+	/**
+	 * 書き込みをバッファにキューイングします。
+	 *
+	 * @param kind
+	 *            書き込みの種類
+	 * @param entity
+	 *            エンティティ
+	 * @throws IllegalStateException
+	 *             停止済みの場合
+	 */
+	private void enqueue(WriteKind kind, Object entity) {
+
+		Assert.notNull(entity, "Entity must not be null!");
+
+		// フラッシュのスレッドがエンティティを参照しないように、呼び出し時の状態をドキュメントに変換する
+		BaseDocument document = new BaseDocument();
+		delegate.getConverter().write(entity, document);
+
+		String key = document.getKey();
+		if (kind == WriteKind.UPDATE && StringUtils.isEmpty(key)) {
+			throw new IllegalArgumentException("The key is null or empty.");
+		}
+
+		String collectionName = delegate.getCollectionName(entity.getClass());
+
+		closeLock.readLock().lock();
+		try {
+
+			if (closed) {
+				throw new IllegalStateException("The write-behind operations has been shut down.");
+			}
+
+			CollectionBuffer buffer = buffers.computeIfAbsent(getBufferKey(collectionName),
+					bufferKey -> new CollectionBuffer(bufferKey.get(0), bufferKey.get(1)));
+
+			acquire();
+
+			int size;
+			synchronized (buffer) {
+				if (!buffer.add(kind, key, new PendingWrite(kind, document))) {
+					mergedWrites.incrementAndGet();
+					capacity.release();
+				} else {
+					pendingWrites.incrementAndGet();
+				}
+				size = buffer.size();
+			}
+
+			if (size >= batchSize) {
+				scheduler.execute(() -> flushIfDue(buffer));
+			}
+
+		} finally {
+			closeLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * バッファをフラッシュします。
+	 *
+	 * @param buffer
+	 *            バッファ
+	 * @param inline
+	 *            再試行できる失敗を、バッファに戻さずにこのスレッドで再試行する場合は {@code true}
+	 */
+	private void flush(CollectionBuffer buffer, boolean inline) {
+
+		synchronized (buffer.flushLock) {
+
+			Drained drained;
+			synchronized (buffer) {
+				drained = buffer.drain();
+			}
+			buffer.retryAtNanos = System.nanoTime();
+
+			if (drained.size() == 0) {
+				return;
+			}
+
+			long start = System.nanoTime();
+			String previousTenantId = setTenantId(buffer.tenantId);
+			try {
+				write(buffer, drained.inserts, documents -> delegate.insertDocuments(buffer.collectionName, documents),
+						inline);
+				write(buffer, drained.updates, documents -> delegate.updateDocuments(buffer.collectionName, documents),
+						inline);
+			} finally {
+				setTenantId(previousTenantId);
+				long elapsed = System.nanoTime() - start;
+				flushes.incrementAndGet();
+				totalFlushNanos.addAndGet(elapsed);
+				maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+			}
+		}
+	}
+
+	/**
+	 * バッファから取り出した書き込みを実行します。
+	 *
+	 * <p>
+	 * 再試行できる失敗の場合は、書き込みをバッファに戻して待機時間の後にフラッシュします。
+	 * 後続の操作より先に書き込む必要がある同期的なフラッシュと停止処理では、このスレッドで待機して再試行します。
+	 * </p>
+	 *
+	 * @param buffer
+	 *            バッファ
+	 * @param writes
+	 *            バッファから取り出した書き込み
+	 * @param operation
+	 *            ドキュメントを書き込む操作
+	 * @param inline
+	 *            再試行できる失敗を、バッファに戻さずにこのスレッドで再試行する場合は {@code true}
+	 */
+	private void write(CollectionBuffer buffer, Map<Object, PendingWrite> writes,
+			Consumer<List<BaseDocument>> operation, boolean inline) {
+
+		if (writes.isEmpty()) {
+			return;
+		}
+
+		List<BaseDocument> documents = new ArrayList<>(writes.size());
+		int attempt = 1;
+		for (PendingWrite write : writes.values()) {
+			documents.add(write.document);
+			attempt = Math.max(attempt, write.failures + 1);
+		}
+
+		for (;; attempt++) {
+			try {
+				operation.accept(documents);
+				flushedWrites.addAndGet(writes.size());
+				release(writes.size());
+				return;
+			} catch (RuntimeException e) {
+
+				if (attempt >= retryPolicy.getMaxAttempts(e)) {
+					discard(buffer, writes, attempt, e);
+					return;
+				}
+
+				long backoff = retryPolicy.getBackoffMillis(attempt);
+				LOG.warn(String.format("Failed to flush %d buffered writes to %s, retrying in %d ms (attempt %d)",
+						writes.size(), buffer.collectionName, backoff, attempt), e);
+
+				if (!inline && !closed) {
+					requeue(buffer, writes, backoff);
+					return;
+				}
+
+				try {
+					TimeUnit.MILLISECONDS.sleep(backoff);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					discard(buffer, writes, attempt, e);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 失敗した書き込みをバッファに戻し、待機時間の後にフラッシュします。
+	 *
+	 * @param buffer
+	 *            バッファ
+	 * @param writes
+	 *            失敗した書き込み
+	 * @param backoff
+	 *            待機時間 (ミリ秒)
+	 */
+	private void requeue(CollectionBuffer buffer, Map<Object, PendingWrite> writes, long backoff) {
+
+		int superseded;
+		synchronized (buffer) {
+			superseded = buffer.requeue(writes);
+		}
+		buffer.retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+		retriedWrites.addAndGet(writes.size() - superseded);
+		mergedWrites.addAndGet(superseded);
+		release(superseded);
+
+		try {
+			scheduler.schedule(() -> flush(buffer, false), backoff, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException rejected) {
+			// 停止処理中は、 destroy() の最後のフラッシュでバッファに戻した書き込みを実行する
+		}
+	}
+
+	/**
+	 * 失敗した書き込みを破棄します。
+	 *
+	 * @param buffer
+	 *            バッファ
+	 * @param writes
+	 *            失敗した書き込み
+	 * @param attempts
+	 *            試行回数
+	 * @param failure
+	 *            最後の失敗
+	 */
+	private void discard(CollectionBuffer buffer, Map<Object, PendingWrite> writes, int attempts,
+			RuntimeException failure) {
+		failedWrites.addAndGet(writes.size());
+		release(writes.size());
+		LOG.error(String.format("Failed to flush %d buffered writes to %s after %d attempts", writes.size(),
+				buffer.collectionName, attempts), failure);
+	}
+
+	/**
+	 * 現在のスレッドのテナント ID を設定します。テナントを切り替えない場合は何もしません。
+	 *
+	 * @param tenantId
+	 *            テナント ID 。テナントが決まっていない場合は {@code null}
+	 * @return 設定前のテナント ID
+	 */
+	private String setTenantId(String tenantId) {
+
+		if (tenantResolver == null) {
+			return null;
+		}
+
+		String previous = tenantResolver.resolveTenantId();
+		if (tenantId == null) {
+			tenantResolver.clear();
+		} else {
+			tenantResolver.setTenantId(tenantId);
+		}
+		return previous;
+	}
+
+	/**
+	 * 現在のテナントのコレクションのバッファのキーを返します。
+	 *
+	 * @param collectionName
+	 *            コレクション名
+	 * @return テナント ID とコレクション名の組
+	 */
+	private List<String> getBufferKey(String collectionName) {
+		return Arrays.asList(tenantResolver == null ? null : tenantResolver.resolveTenantId(), collectionName);
+	}
+
+	/**
+	 * 例外をスローせずに、再試行の待機中でない全てのバッファをフラッシュします。スケジューラから呼び出されます。
+	 */
+	private void flushQuietly() {
+		try {
+			for (CollectionBuffer buffer : buffers.values()) {
+				flushIfDue(buffer);
+			}
+		} catch (RuntimeException e) {
+			LOG.error("Failed to flush buffered writes", e);
+		}
+	}
+
+	/**
+	 * 再試行の待機中でなければ、バッファをフラッシュします。
+	 *
+	 * @param buffer
+	 *            バッファ
+	 */
+	private void flushIfDue(CollectionBuffer buffer) {
+		if (System.nanoTime() - buffer.retryAtNanos >= 0) {
+			flush(buffer, false);
+		}
+	}
+
+	/**
+	 * バッファの空きを1つ取得します。
+	 *
+	 * @throws IllegalStateException
+	 *             待機時間内に空きができなかった場合
+	 */
+	private void acquire() {
+		try {
+			if (!capacity.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new IllegalStateException("The write-behind buffer is full.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the write-behind buffer.", e);
+		}
+	}
+
+	/**
+	 * バッファの空きを解放します。
+	 *
+	 * @param permits
+	 *            解放する数
+	 */
+	private void release(int permits) {
+		if (permits > 0) {
+			pendingWrites.addAndGet(-permits);
+			capacity.release(permits);
+		}
+	}
+
+	/**
+	 * 書き込みの種類です。
+	 */
+	private enum WriteKind {
+		INSERT, UPDATE
+	}
+
+	/**
+	 * コレクションごとのバッファです。
+	 */
+	private static class CollectionBuffer {
+
+		/**
+		 * 書き込みをキューイングしたテナント ID です。テナントが決まっていない場合は {@code null} です。
+		 */
+		private final String tenantId;
+
+		/**
+		 * コレクション名です。
+		 */
+		private final String collectionName;
+
+		/**
+		 * フラッシュを直列化するロックです。
+		 */
+		private final Object flushLock = new Object();
+
+		/**
+		 * 再試行の待機が終わる時刻 ({@link System#nanoTime()}) です。
+		 */
+		private volatile long retryAtNanos = System.nanoTime();
+
+		/**
+		 * キーと書き込みのマッピングです。キーのないドキュメントは識別用のオブジェクトをキーとします。
+		 */
+		private Map<Object, PendingWrite> writes = new LinkedHashMap<>();
+
+		/**
+		 * バッファを生成します。
+		 *
+		 * @param tenantId
+		 *            テナント ID 。テナントが決まっていない場合は {@code null}
+		 * @param collectionName
+		 *            コレクション名
+		 */
+		CollectionBuffer(String tenantId, String collectionName) {
+			this.tenantId = tenantId;
+			this.collectionName = collectionName;
+		}
+
+		/**
+		 * 書き込みを追加します。
+		 *
+		 * <p>
+		 * 同じキーの書き込みは最新のドキュメントで置き換えます。
+		 * 作成がフラッシュされる前の書き込みは、作成のままです。
+		 * </p>
+		 *
+		 * @return 新しい書き込みならば {@code true} 、既存の書き込みにマージされた場合 {@code false}
+		 */
+		boolean add(WriteKind kind, String key, PendingWrite write) {
+
+			if (key == null) {
+				writes.put(new Object(), write);
+				return true;
+			}
+
+			PendingWrite previous = writes.get(key);
+			if (previous == null) {
+				writes.put(key, write);
+				return true;
+			}
+
+			writes.put(key, new PendingWrite(previous.kind == WriteKind.INSERT ? WriteKind.INSERT : kind,
+					write.document));
+			return false;
+		}
+
+		/**
+		 * 失敗した書き込みを、失敗回数を加算してバッファに戻します。
+		 *
+		 * <p>
+		 * 取り出した後に同じキーへの書き込みがあった場合は、新しい書き込みを優先します。
+		 * 失敗した書き込みが作成の場合は、新しい書き込みも作成として扱います。
+		 * </p>
+		 *
+		 * @param failed
+		 *            失敗した書き込み
+		 * @return 新しい書き込みに置き換えられた書き込み数
+		 */
+		int requeue(Map<Object, PendingWrite> failed) {
+
+			Map<Object, PendingWrite> requeued = new LinkedHashMap<>();
+			int superseded = 0;
+
+			for (Map.Entry<Object, PendingWrite> entry : failed.entrySet()) {
+				PendingWrite write = entry.getValue();
+				PendingWrite newer = writes.remove(entry.getKey());
+				if (newer == null) {
+					requeued.put(entry.getKey(), new PendingWrite(write.kind, write.document, write.failures + 1));
+				} else {
+					requeued.put(entry.getKey(), new PendingWrite(
+							write.kind == WriteKind.INSERT ? WriteKind.INSERT : newer.kind, newer.document));
+					superseded++;
+				}
+			}
+
+			requeued.putAll(writes);
+			writes = requeued;
+			return superseded;
+		}
+
+		/**
+		 * 書き込み数を返します。
+		 */
+		int size() {
+			return writes.size();
+		}
+
+		/**
+		 * バッファの内容を取り出して空にします。
+		 */
+		Drained drain() {
+			Map<Object, PendingWrite> inserts = new LinkedHashMap<>();
+			Map<Object, PendingWrite> updates = new LinkedHashMap<>();
+			for (Map.Entry<Object, PendingWrite> write : writes.entrySet()) {
+				(write.getValue().kind == WriteKind.INSERT ? inserts : updates).put(write.getKey(), write.getValue());
+			}
+			writes = new LinkedHashMap<>();
+			return new Drained(inserts, updates);
+		}
+	}
+
+	/**
+	 * バッファされた書き込みです。
+	 */
+	private static class PendingWrite {
+
+		private final WriteKind kind;
+		private final BaseDocument document;
+		private final int failures;
+
+		PendingWrite(WriteKind kind, BaseDocument document) {
+			this(kind, document, 0);
+		}
+
+		PendingWrite(WriteKind kind, BaseDocument document, int failures) {
+			this.kind = kind;
+			this.document = document;
+			this.failures = failures;
+		}
+	}
+
+	/**
+	 * バッファから取り出された書き込みです。
+	 */
+	private static class Drained {
+
+		private final Map<Object, PendingWrite> inserts;
+		private final Map<Object, PendingWrite> updates;
+
+		Drained(Map<Object, PendingWrite> inserts, Map<Object, PendingWrite> updates) {
+			this.inserts = inserts;
+			this.updates = updates;
+		}
+
+		int size() {
+			return inserts.size() + updates.size();
+		}
+	}
+}
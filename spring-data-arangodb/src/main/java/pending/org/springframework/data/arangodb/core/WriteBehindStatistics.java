@@ -0,0 +1,55 @@
+package pending.org.springframework.data.arangodb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * {@link WriteBehindArangoDBOperations} の統計情報のスナップショットです。
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+@AllArgsConstructor
+public class WriteBehindStatistics {
+
+	/**
+	 * バッファされている書き込み数 (キューの深さ) です。
+	 */
+	private long pendingWrites;
+
+	/**
+	 * フラッシュ回数です。
+	 */
+	private long flushes;
+
+	/**
+	 * フラッシュされた書き込み数です。
+	 */
+	private long flushedWrites;
+
+	/**
+	 * 同じキーへの書き込みにマージされた書き込み数です。
+	 */
+	private long mergedWrites;
+
+	/**
+	 * フラッシュに失敗し、破棄された書き込み数です。
+	 */
+	private long failedWrites;
+
+	/**
+	 * フラッシュに失敗し、再試行のためにバッファに戻された書き込み数です。
+	 */
+	private long retriedWrites;
+
+	/**
+	 * フラッシュの平均レイテンシ (ミリ秒) です。
+	 */
+	private double averageFlushLatencyMillis;
+
+	/**
+	 * フラッシュの最大レイテンシ (ミリ秒) です。
+	 */
+	private double maxFlushLatencyMillis;
+}
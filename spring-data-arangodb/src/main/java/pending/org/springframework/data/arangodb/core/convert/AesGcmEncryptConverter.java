@@ -0,0 +1,243 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.util.Assert;
+
+import lombok.SneakyThrows;
+
+/**
+ * AES-GCM で暗号化 / 復号を行う {@link EncryptConverter} です。
+ * 
+ * <p>
+ * 暗号文は、12 バイトの IV 、暗号化された値、 16 バイトの認証タグを連結して Base64 で符号化した文字列です。<br>
+ * IV は通常は乱数ですが、決定的に暗号化する場合は、鍵から導出した HMAC-SHA256 鍵による値の MAC から生成します。
+ * そのため、同じ値は常に同じ暗号文になり、暗号化した値をバインド変数にして等価検索ができます。
+ * 復号はどちらの暗号文も同じ方法で行います。
+ * </p>
+ * 
+ * <p>
+ * {@link Cipher} 、 {@link Mac} 、 {@link SecureRandom} はスレッドごとに再利用します。<br>
+ * {@link #encryptAll(List, boolean)} 、 {@link #decryptAll(List)} は、値の数が
+ * {@link #setParallelThreshold(int)} 以上の場合に共通の {@link java.util.concurrent.ForkJoinPool} で並列に処理します。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public class AesGcmEncryptConverter implements EncryptConverter {
+
+	/**
+	 * 変換方式です。
+	 */
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+	/**
+	 * 決定的な IV の生成に使用する MAC のアルゴリズムです。
+	 */
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+
+	/**
+	 * IV のバイト数です。
+	 */
+	private static final int IV_LENGTH = 12;
+
+	/**
+	 * 認証タグのビット数です。
+	 */
+	private static final int TAG_BITS = 128;
+
+	/**
+	 * 暗号化鍵です。
+	 */
+	private final SecretKeySpec key;
+
+	/**
+	 * 決定的な IV の生成に使用する鍵です。
+	 */
+	private final SecretKeySpec ivKey;
+
+	/**
+	 * スレッドごとの暗号化の状態です。
+	 */
+	private final ThreadLocal<CipherState> states = ThreadLocal.withInitial(this::newState);
+
+	/**
+	 * 並列に処理する値の数の下限です。
+	 */
+	private int parallelThreshold = 64;
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param key
+	 *            16 、 24 または 32 バイトの AES 鍵
+	 */
+	@SneakyThrows
+	public AesGcmEncryptConverter(byte[] key) {
+
+		Assert.notNull(key, "key must not be null!");
+		Assert.isTrue(key.length == 16 || key.length == 24 || key.length == 32,
+				"key must be 16, 24 or 32 bytes long!");
+
+		this.key = new SecretKeySpec(key.clone(), "AES");
+
+		Mac mac = Mac.getInstance(MAC_ALGORITHM);
+		mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+		this.ivKey = new SecretKeySpec(mac.doFinal("deterministic-iv".getBytes(StandardCharsets.UTF_8)),
+				MAC_ALGORITHM);
+	}
+
+	/**
+	 * 並列に処理する値の数の下限を設定します。
+	 * 
+	 * @param parallelThreshold
+	 *            並列に処理する値の数の下限。 {@link Integer#MAX_VALUE} の場合は常に1スレッドで処理します
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		Assert.isTrue(parallelThreshold > 0, "parallelThreshold must be positive!");
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String encrypt(String str) {
+		return encrypt(str, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SneakyThrows
+	public String encrypt(String str, boolean deterministic) {
+
+		CipherState state = states.get();
+		byte[] plain = str.getBytes(StandardCharsets.UTF_8);
+
+		byte[] iv = new byte[IV_LENGTH];
+		if (deterministic) {
+			System.arraycopy(state.mac.doFinal(plain), 0, iv, 0, IV_LENGTH);
+		} else {
+			state.random.nextBytes(iv);
+		}
+
+		if (Arrays.equals(iv, state.lastIv)) {
+			// 同じ鍵と IV による暗号化の再初期化は拒否されるため、一度別の IV で初期化する
+			byte[] other = new byte[IV_LENGTH];
+			state.random.nextBytes(other);
+			state.cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, other));
+		}
+		state.cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+		state.lastIv = iv;
+
+		byte[] encrypted = new byte[IV_LENGTH + state.cipher.getOutputSize(plain.length)];
+		System.arraycopy(iv, 0, encrypted, 0, IV_LENGTH);
+		state.cipher.doFinal(plain, 0, plain.length, encrypted, IV_LENGTH);
+
+		return Base64.getEncoder().encodeToString(encrypted);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SneakyThrows
+	public String decrypt(String str) {
+
+		byte[] encrypted = Base64.getDecoder().decode(str);
+		if (encrypted.length < IV_LENGTH + TAG_BITS / 8) {
+			throw new IllegalArgumentException("Encrypted value is too short.");
+		}
+
+		CipherState state = states.get();
+		state.cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, encrypted, 0, IV_LENGTH));
+
+		return new String(state.cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH),
+				StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<String> encryptAll(List<String> strs, boolean deterministic) {
+		return processAll(strs, str -> encrypt(str, deterministic));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<String> decryptAll(List<String> strs) {
+		return processAll(strs, this::decrypt);
+	}
+
+	/**
+	 * 値のリストを処理します。
+	 * 
+	 * @param strs
+	 *            値のリスト
+	 * @param operation
+	 *            1件の値の処理
+	 * @return 処理された値のリスト。順序は {@code strs} と同じです
+	 */
+	private List<String> processAll(List<String> strs, UnaryOperator<String> operation) {
+
+		String[] results = new String[strs.size()];
+
+		IntStream indexes = IntStream.range(0, results.length);
+		if (results.length >= parallelThreshold) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(i -> results[i] = operation.apply(strs.get(i)));
+
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * スレッドの暗号化の状態を生成します。
+	 * 
+	 * @return {@link CipherState}
+	 */
+	@SneakyThrows
+	private CipherState newState() {
+		Mac mac = Mac.getInstance(MAC_ALGORITHM);
+		mac.init(ivKey);
+		return new CipherState(Cipher.getInstance(TRANSFORMATION), mac, new SecureRandom());
+	}
+
+	/**
+	 * スレッドごとに再利用する {@link Cipher} 、 {@link Mac} 、 {@link SecureRandom} です。
+	 */
+	private static final class CipherState {
+
+		private final Cipher cipher;
+		private final Mac mac;
+		private final SecureRandom random;
+
+		/**
+		 * 最後に暗号化に使用した IV です。
+		 */
+		private byte[] lastIv;
+
+		private CipherState(Cipher cipher, Mac mac, SecureRandom random) {
+			this.cipher = cipher;
+			this.mac = mac;
+			this.random = random;
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package pending.org.springframework.data.arangodb.core.convert;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.data.convert.EntityConverter;
 
 import com.arangodb.entity.BaseDocument;
@@ -15,4 +18,80 @@ import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistent
  */
 public interface ArangoDBConverter
 		extends EntityConverter<ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty, Object, BaseDocument> {
+
+	/**
+	 * 複数の {@link BaseDocument} をエンティティに変換します。
+	 * 
+	 * <p>
+	 * デフォルトの実装は {@link #read(Class, Object)} を1件ずつ呼び出します。
+	 * </p>
+	 * 
+	 * @param type
+	 *            エンティティの型
+	 * @param sources
+	 *            {@link BaseDocument} のリスト
+	 * @return エンティティのリスト。順序は {@code sources} と同じです
+	 */
+	default <R> List<R> readAll(Class<R> type, List<BaseDocument> sources) {
+		List<R> entities = new ArrayList<>(sources.size());
+		for (BaseDocument source : sources) {
+			entities.add(read(type, source));
+		}
+		return entities;
+	}
+
+	/**
+	 * 複数のエンティティを {@link BaseDocument} に変換します。
+	 * 
+	 * <p>
+	 * デフォルトの実装は {@link #write(Object, Object)} を1件ずつ呼び出します。
+	 * </p>
+	 * 
+	 * @param sources
+	 *            エンティティのリスト
+	 * @return {@link BaseDocument} のリスト。順序は {@code sources} と同じです
+	 */
+	default List<BaseDocument> writeAll(List<?> sources) {
+		List<BaseDocument> documents = new ArrayList<>(sources.size());
+		for (Object source : sources) {
+			BaseDocument document = new BaseDocument();
+			write(source, document);
+			documents.add(document);
+		}
+		return documents;
+	}
+
+	/**
+	 * クエリのバインド変数に使用する値を、ドキュメントに保存される形式に変換します。
+	 * 
+	 * <p>
+	 * デフォルトの実装は値をそのまま返します。
+	 * </p>
+	 * 
+	 * @param value
+	 *            値
+	 * @return 変換された値
+	 */
+	default Object convertToArangoDBType(Object value) {
+		return value;
+	}
+
+	/**
+	 * クエリのバインド変数に使用する値を、プロパティの値としてドキュメントに保存される形式に変換します。
+	 * 
+	 * <p>
+	 * デフォルトの実装は {@link #convertToArangoDBType(Object)} を呼び出します。
+	 * </p>
+	 * 
+	 * @param value
+	 *            値
+	 * @param property
+	 *            値を比較するプロパティ
+	 * @return 変換された値
+	 * @throws IllegalArgumentException
+	 *             プロパティの宣言により、保存される形式に変換できない場合
+	 */
+	default Object convertToArangoDBType(Object value, ArangoDBPersistentProperty property) {
+		return convertToArangoDBType(value);
+	}
 }
@@ -1,14 +1,18 @@
 package pending.org.springframework.data.arangodb.core.convert;
 
-import org.springframework.data.convert.TypeMapper;
+import java.util.Map;
 
-import com.arangodb.entity.BaseDocument;
+import org.springframework.data.convert.TypeMapper;
 
 /**
  * 型マッパーのマーカーインタフェースです。
  * 
+ * <p>
+ * ドキュメント、または入れ子のオブジェクトの属性の {@link Map} に型情報を読み書きします。
+ * </p>
+ * 
  * @author hs0x01
  *
  */
-public interface ArangoDBTypeMapper extends TypeMapper<BaseDocument> {
+public interface ArangoDBTypeMapper extends TypeMapper<Map<String, Object>> {
 }
@@ -0,0 +1,139 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link pending.org.springframework.data.arangodb.core.mapping.Compressed} のプロパティの値を、
+ * 参照されるまで展開せずに保持します。
+ * 
+ * <p>
+ * 値の型は {@link String} または {@code byte[]} です。<br>
+ * 展開する前の値を書き込む場合は、再圧縮せずに保存されていた値をそのまま書き込みます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ * @param <T>
+ *            値の型
+ */
+public final class CompressedValue<T> {
+
+	/**
+	 * 展開された値です。
+	 */
+	private volatile T value;
+
+	/**
+	 * ドキュメントに保存されていた圧縮された値です。展開した後は {@code null} です。
+	 */
+	private volatile String storedValue;
+
+	/**
+	 * 圧縮された値を展開する関数です。
+	 */
+	private final Function<String, T> decoder;
+
+	private CompressedValue(T value, String storedValue, Function<String, T> decoder) {
+		this.value = value;
+		this.storedValue = storedValue;
+		this.decoder = decoder;
+	}
+
+	/**
+	 * 値を保持するインスタンスを返します。
+	 * 
+	 * @param value
+	 *            値
+	 * @return {@link CompressedValue}
+	 */
+	public static <T> CompressedValue<T> of(T value) {
+		return new CompressedValue<>(value, null, null);
+	}
+
+	/**
+	 * ドキュメントに保存されていた圧縮された値を保持するインスタンスを返します。
+	 * 
+	 * @param storedValue
+	 *            圧縮された値
+	 * @param decoder
+	 *            圧縮された値を展開する関数
+	 * @return {@link CompressedValue}
+	 */
+	static <T> CompressedValue<T> ofStored(String storedValue, Function<String, T> decoder) {
+		return new CompressedValue<>(null, storedValue, decoder);
+	}
+
+	/**
+	 * 値を返します。展開されていない場合は展開します。
+	 * 
+	 * @return 値
+	 */
+	public T get() {
+		if (storedValue != null) {
+			synchronized (this) {
+				String stored = storedValue;
+				if (stored != null) {
+					value = decoder.apply(stored);
+					storedValue = null;
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * 値が展開されているかどうかを返します。
+	 * 
+	 * @return 展開されていれば {@code true} 、そうでなければ {@code false}
+	 */
+	public boolean isDecompressed() {
+		return storedValue == null;
+	}
+
+	/**
+	 * ドキュメントに保存されていた圧縮された値を返します。
+	 * 
+	 * @return 圧縮された値。展開されている場合は {@code null}
+	 */
+	String getStoredValue() {
+		return storedValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CompressedValue)) {
+			return false;
+		}
+		return Objects.deepEquals(get(), ((CompressedValue<?>) obj).get());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		T current = get();
+		return current instanceof byte[] ? Arrays.hashCode((byte[]) current) : Objects.hashCode(current);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		if (!isDecompressed()) {
+			return "CompressedValue[compressed]";
+		}
+		T current = value;
+		return current instanceof byte[] ? "CompressedValue[" + ((byte[]) current).length + " bytes]"
+				: "CompressedValue[" + current + "]";
+	}
+}
@@ -0,0 +1,223 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+import lombok.SneakyThrows;
+import pending.org.springframework.data.arangodb.core.mapping.Compressed;
+import pending.org.springframework.data.arangodb.core.mapping.CompressionCodec;
+
+/**
+ * {@link Compressed} のプロパティの値を圧縮 / 展開します。
+ * 
+ * <p>
+ * 圧縮された値は、 {@link #MARKER} 、圧縮方式を表す文字、圧縮されたバイト列の Base64 を連結した文字列として保存します。<br>
+ * {@link #MARKER} で始まる文字列は、長さによらず常に圧縮して保存するため、圧縮されていない値と区別できます。<br>
+ * {@link Deflater} と {@link Inflater} はスレッドごとに再利用します。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+final class Compression {
+
+	/**
+	 * 圧縮された値の先頭の文字です。
+	 */
+	static final char MARKER = '\u0001';
+
+	/**
+	 * DEFLATE 形式を表す文字です。
+	 */
+	private static final char DEFLATE = 'D';
+
+	/**
+	 * GZIP 形式を表す文字です。
+	 */
+	private static final char GZIP = 'G';
+
+	private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal
+			.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+	private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+	private Compression() {
+	}
+
+	/**
+	 * 値を圧縮します。
+	 * 
+	 * @param value
+	 *            {@link String} または {@code byte[]} の値
+	 * @param compressed
+	 *            {@link Compressed}
+	 * @return 圧縮された値。圧縮しない場合は {@code value}
+	 * @throws IllegalArgumentException
+	 *             値が {@link String} 、 {@code byte[]} のいずれでもない場合
+	 */
+	static Object compress(Object value, Compressed compressed) {
+
+		byte[] bytes;
+		boolean mustEncode = false;
+
+		if (value instanceof String) {
+			String str = (String) value;
+			mustEncode = !str.isEmpty() && str.charAt(0) == MARKER;
+			if (str.length() < compressed.threshold() && !mustEncode) {
+				return value;
+			}
+			bytes = str.getBytes(StandardCharsets.UTF_8);
+		} else if (value instanceof byte[]) {
+			bytes = (byte[]) value;
+			if (bytes.length < compressed.threshold()) {
+				return value;
+			}
+		} else {
+			throw new IllegalArgumentException(
+					"@Compressed supports only String, byte[] and CompressedValue: " + value.getClass().getName());
+		}
+
+		byte[] deflated = compressed.codec() == CompressionCodec.GZIP ? gzip(bytes) : deflate(bytes);
+
+		// Base64 による増加を含めて小さくならない場合は圧縮しない
+		if (!mustEncode && (deflated.length + 2) / 3 * 4 + 2 >= bytes.length) {
+			return value;
+		}
+
+		return new StringBuilder(deflated.length * 4 / 3 + 6).append(MARKER)
+				.append(compressed.codec() == CompressionCodec.GZIP ? GZIP : DEFLATE)
+				.append(Base64.getEncoder().encodeToString(deflated)).toString();
+	}
+
+	/**
+	 * 値が圧縮された値かどうかを返します。
+	 * 
+	 * @param value
+	 *            値
+	 * @return 圧縮された値ならば {@code true} 、そうでなければ {@code false}
+	 */
+	static boolean isCompressed(Object value) {
+		if (!(value instanceof String)) {
+			return false;
+		}
+		String str = (String) value;
+		return str.length() >= 2 && str.charAt(0) == MARKER && (str.charAt(1) == DEFLATE || str.charAt(1) == GZIP);
+	}
+
+	/**
+	 * 圧縮された値を展開します。
+	 * 
+	 * @param stored
+	 *            圧縮された値
+	 * @param type
+	 *            展開した値の型 ({@link String} または {@code byte[]})
+	 * @return 展開された値
+	 */
+	static Object decompress(String stored, Class<?> type) {
+
+		byte[] deflated = Base64.getDecoder().decode(stored.substring(2));
+		byte[] bytes = stored.charAt(1) == GZIP ? gunzip(deflated) : inflate(deflated);
+
+		return type == byte[].class ? bytes : new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * DEFLATE 形式で圧縮します。
+	 * 
+	 * @param bytes
+	 *            バイト列
+	 * @return 圧縮されたバイト列
+	 */
+	private static byte[] deflate(byte[] bytes) {
+
+		Deflater deflater = DEFLATERS.get();
+		deflater.reset();
+		deflater.setInput(bytes);
+		deflater.finish();
+
+		byte[] buffer = new byte[Math.max(64, bytes.length / 2)];
+		int length = 0;
+		while (!deflater.finished()) {
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			length += deflater.deflate(buffer, length, buffer.length - length);
+		}
+
+		return Arrays.copyOf(buffer, length);
+	}
+
+	/**
+	 * DEFLATE 形式のバイト列を展開します。
+	 * 
+	 * @param deflated
+	 *            圧縮されたバイト列
+	 * @return 展開されたバイト列
+	 */
+	@SneakyThrows(DataFormatException.class)
+	private static byte[] inflate(byte[] deflated) {
+
+		Inflater inflater = INFLATERS.get();
+		inflater.reset();
+		inflater.setInput(deflated);
+
+		byte[] buffer = new byte[Math.max(64, deflated.length * 4)];
+		int length = 0;
+		while (!inflater.finished()) {
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int inflated = inflater.inflate(buffer, length, buffer.length - length);
+			if (inflated == 0 && inflater.needsInput()) {
+				throw new IllegalArgumentException("Truncated compressed value.");
+			}
+			length += inflated;
+		}
+
+		return Arrays.copyOf(buffer, length);
+	}
+
+	/**
+	 * GZIP 形式で圧縮します。
+	 * 
+	 * @param bytes
+	 *            バイト列
+	 * @return 圧縮されたバイト列
+	 */
+	@SneakyThrows
+	private static byte[] gzip(byte[] bytes) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * GZIP 形式のバイト列を展開します。
+	 * 
+	 * @param deflated
+	 *            圧縮されたバイト列
+	 * @return 展開されたバイト列
+	 */
+	@SneakyThrows
+	private static byte[] gunzip(byte[] deflated) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, deflated.length * 4));
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(deflated))) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = gzip.read(buffer)) > 0) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+}
@@ -50,6 +50,7 @@ public class CustomConversions {
 	private final Set<GenericConverter.ConvertiblePair> writingPairs;
 	private final Set<Class<?>> customSimpleTypes;
 	private final ConcurrentMap<GenericConverter.ConvertiblePair, CacheValue> customReadTargetTypes;
+	private final ConcurrentMap<Class<?>, CacheValue> customWriteTargetTypes;
 
 	/**
 	 * コンバータなしでインスタンス生成します。
@@ -72,10 +73,13 @@ public class CustomConversions {
 		writingPairs = new LinkedHashSet<GenericConverter.ConvertiblePair>();
 		customSimpleTypes = new HashSet<Class<?>>();
 		customReadTargetTypes = new ConcurrentHashMap<GenericConverter.ConvertiblePair, CacheValue>();
+		customWriteTargetTypes = new ConcurrentHashMap<Class<?>, CacheValue>();
 
 		this.converters = new ArrayList<Object>();
 		this.converters.addAll(converters);
 		this.converters.addAll(DateConverters.getConvertersToRegister());
+		this.converters.addAll(JavaTimeConverters.getConvertersToRegister());
+		this.converters.addAll(GeoConverters.getConvertersToRegister());
 
 		for (Object converter : this.converters) {
 			registerConversion(converter);
@@ -194,7 +198,18 @@ public class CustomConversions {
 	 * @return コンバートするための型
 	 */
 	public Class<?> getCustomWriteTarget(Class<?> sourceType) {
-		return getCustomWriteTarget(sourceType, null);
+		Assert.notNull(sourceType);
+
+		CacheValue writeTargetTypeValue = customWriteTargetTypes.get(sourceType);
+
+		if (writeTargetTypeValue != null) {
+			return writeTargetTypeValue.getType();
+		}
+
+		writeTargetTypeValue = CacheValue.of(getCustomTarget(sourceType, null, writingPairs));
+		CacheValue cacheValue = customWriteTargetTypes.putIfAbsent(sourceType, writeTargetTypeValue);
+
+		return cacheValue != null ? cacheValue.getType() : writeTargetTypeValue.getType();
 	}
 
 	/**
@@ -213,6 +228,9 @@ public class CustomConversions {
 	 */
 	public Class<?> getCustomWriteTarget(Class<?> sourceType, Class<?> requestedTargetType) {
 		Assert.notNull(sourceType);
+		if (requestedTargetType == null) {
+			return getCustomWriteTarget(sourceType);
+		}
 		return getCustomTarget(sourceType, requestedTargetType, writingPairs);
 	}
 
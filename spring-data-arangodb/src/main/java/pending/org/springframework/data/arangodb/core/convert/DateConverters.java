@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.List;
 
 import org.springframework.core.convert.converter.Converter;
@@ -68,9 +69,7 @@ public final class DateConverters {
 				return null;
 			}
 
-			Date date = new Date();
-			date.setTime(source.longValue());
-			return date;
+			return new Date(source.longValue());
 		}
 	}
 
@@ -84,9 +83,7 @@ public final class DateConverters {
 				return null;
 			}
 
-			Calendar calendar = Calendar.getInstance();
-			calendar.setTimeInMillis(source.longValue() * 1000);
-			return calendar;
+			return toCalendar(source.longValue() * 1000);
 		}
 	}
 	
@@ -100,9 +97,7 @@ public final class DateConverters {
 				return null;
 			}
 
-			Date date = new Date();
-			date.setTime(Long.valueOf(source));
-			return date;
+			return new Date(Long.parseLong(source));
 		}
 	}
 
@@ -116,9 +111,24 @@ public final class DateConverters {
 				return null;
 			}
 
-			Calendar calendar = Calendar.getInstance();
-			calendar.setTimeInMillis(Long.valueOf(source) * 1000);
-			return calendar;
+			return toCalendar(Long.parseLong(source) * 1000);
 		}
 	}
+
+	/**
+	 * エポックからのミリ秒を {@link Calendar} に変換します。
+	 *
+	 * <p>
+	 * {@link Calendar#getInstance()} と異なり、ロケールからのカレンダーの種類の解決やタイムゾーンの複製を行いません。
+	 * </p>
+	 *
+	 * @param millis
+	 *            エポックからのミリ秒
+	 * @return デフォルトのタイムゾーンの {@link GregorianCalendar}
+	 */
+	private static Calendar toCalendar(long millis) {
+		Calendar calendar = new GregorianCalendar();
+		calendar.setTimeInMillis(millis);
+		return calendar;
+	}
 }
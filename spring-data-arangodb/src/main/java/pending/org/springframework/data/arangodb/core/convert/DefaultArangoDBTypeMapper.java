@@ -1,23 +1,51 @@
 package pending.org.springframework.data.arangodb.core.convert;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.data.convert.DefaultTypeMapper;
 import org.springframework.data.convert.TypeAliasAccessor;
+import org.springframework.data.convert.TypeInformationMapper;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.util.Assert;
 
-import com.arangodb.entity.BaseDocument;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBMappingContext;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
 
 /**
  * Arango DB の型マッパーです。
  * 
+ * <p>
+ * 型情報は {@link #TYPE_KEY} 属性に、 {@link org.springframework.data.annotation.TypeAlias}
+ * の値 (指定されていない場合はクラス名) として書き込みます。<br>
+ * 読み込み時のエイリアスの解決は、 {@link ArangoDBMappingContext} に登録されたエイリアスだけを使用し、クラスをロードしません。
+ * </p>
+ * 
  * @author hs0x01
  *
  */
-public class DefaultArangoDBTypeMapper extends DefaultTypeMapper<BaseDocument> implements ArangoDBTypeMapper {
+public class DefaultArangoDBTypeMapper extends DefaultTypeMapper<Map<String, Object>> implements ArangoDBTypeMapper {
+
+	/**
+	 * 型情報を書き込む属性名です。
+	 */
+	public static final String TYPE_KEY = "_t";
 
 	/**
 	 * 型マッパーを生成します。
+	 * 
+	 * @param mappingContext
+	 *            エイリアスを解決する {@link ArangoDBMappingContext}
 	 */
-	public DefaultArangoDBTypeMapper() {
-		super(new ArangoDBDocumentTypeAliasAccessor());
+	public DefaultArangoDBTypeMapper(
+			MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext) {
+		super(new ArangoDBDocumentTypeAliasAccessor(),
+				Collections.singletonList(new ArangoDBTypeInformationMapper(mappingContext)));
 	}
 
 	/**
@@ -26,21 +54,101 @@ public class DefaultArangoDBTypeMapper extends DefaultTypeMapper<BaseDocument> i
 	 * @author hs0x01
 	 *
 	 */
-	public static final class ArangoDBDocumentTypeAliasAccessor implements TypeAliasAccessor<BaseDocument> {
+	public static final class ArangoDBDocumentTypeAliasAccessor implements TypeAliasAccessor<Map<String, Object>> {
 
 		/**
 		 * {@inheritDoc}
 		 */
 		@Override
-		public Object readAliasFrom(final BaseDocument source) {
-			return null;
+		public Object readAliasFrom(final Map<String, Object> source) {
+			return source.get(TYPE_KEY);
 		}
 
 		/**
 		 * {@inheritDoc}
 		 */
 		@Override
-		public void writeTypeTo(final BaseDocument sink, final Object alias) {
+		public void writeTypeTo(final Map<String, Object> sink, final Object alias) {
+			sink.put(TYPE_KEY, alias);
+		}
+	}
+
+	/**
+	 * マッピングコンテキストに登録されたエイリアスで型を解決する {@link TypeInformationMapper} です。
+	 * 
+	 * @author hs0x01
+	 *
+	 */
+	static final class ArangoDBTypeInformationMapper implements TypeInformationMapper {
+
+		/**
+		 * {@link ArangoDBMappingContext} インスタンスです。
+		 */
+		private final MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext;
+
+		/**
+		 * クラスとエイリアスのマッピングです。
+		 */
+		private final Map<Class<?>, String> aliases = new ConcurrentHashMap<>();
+
+		ArangoDBTypeInformationMapper(
+				MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext) {
+			Assert.notNull(mappingContext, "mappingContext must not be null!");
+			this.mappingContext = mappingContext;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @throws MappingException
+		 *             エイリアスが登録されていない場合
+		 */
+		@Override
+		public TypeInformation<?> resolveTypeFrom(Object alias) {
+
+			Class<?> type = null;
+
+			if (mappingContext instanceof ArangoDBMappingContext) {
+				type = ((ArangoDBMappingContext) mappingContext).getTypeForAlias(alias.toString());
+			} else {
+				for (ArangoDBPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+					if (alias.equals(entity.getTypeAlias()) || alias.equals(entity.getType().getName())) {
+						type = entity.getType();
+						break;
+					}
+				}
+			}
+
+			if (type == null) {
+				throw new MappingException(String.format(
+						"Unknown type alias '%s'. Annotate the type with @TypeAlias and include it in the mapping base package.",
+						alias));
+			}
+
+			return ClassTypeInformation.from(type);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object createAliasFor(TypeInformation<?> type) {
+			return aliases.computeIfAbsent(type.getType(), this::getAlias);
+		}
+
+		/**
+		 * クラスのエイリアスを返します。
+		 * 
+		 * @param type
+		 *            クラス
+		 * @return エイリアス
+		 */
+		private String getAlias(Class<?> type) {
+			if (mappingContext instanceof ArangoDBMappingContext) {
+				return ((ArangoDBMappingContext) mappingContext).getTypeAlias(type);
+			}
+			ArangoDBPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+			return entity == null || entity.getTypeAlias() == null ? type.getName() : entity.getTypeAlias().toString();
 		}
 	}
 }
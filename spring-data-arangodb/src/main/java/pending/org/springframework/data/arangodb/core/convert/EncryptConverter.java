@@ -1,8 +1,17 @@
 package pending.org.springframework.data.arangodb.core.convert;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 暗号化 / 復号を行うコンバータです。
  * 
+ * <p>
+ * 複数のエンティティを読み書きする場合、 {@link #encryptAll(List, boolean)} 、 {@link #decryptAll(List)}
+ * により、それらの全ての暗号化するフィールドがまとめて渡されます。
+ * デフォルトの実装は1件ずつ処理するため、並列に処理できる実装はオーバーライドしてください。
+ * </p>
+ * 
  * @author hs0x01
  *
  */
@@ -25,4 +34,55 @@ public interface EncryptConverter {
 	 * @return 復号された文字列
 	 */
 	String decrypt(String str);
+	
+	/**
+	 * 文字列を暗号化して返します。
+	 * 
+	 * <p>
+	 * デフォルトの実装は {@link #encrypt(String)} を呼び出します。
+	 * {@link #encrypt(String)} が決定的でない実装は、 {@code deterministic} が {@code true}
+	 * の場合に同じ文字列を常に同じ暗号文にするようオーバーライドしてください。
+	 * </p>
+	 * 
+	 * @param str
+	 *            文字列
+	 * @param deterministic
+	 *            同じ文字列を常に同じ暗号文に暗号化する場合は {@code true}
+	 * @return 暗号化された文字列
+	 */
+	default String encrypt(String str, boolean deterministic) {
+		return encrypt(str);
+	}
+	
+	/**
+	 * 文字列のリストを暗号化して返します。
+	 * 
+	 * @param strs
+	 *            文字列のリスト
+	 * @param deterministic
+	 *            同じ文字列を常に同じ暗号文に暗号化する場合は {@code true}
+	 * @return 暗号化された文字列のリスト。順序は {@code strs} と同じです
+	 */
+	default List<String> encryptAll(List<String> strs, boolean deterministic) {
+		List<String> encrypted = new ArrayList<>(strs.size());
+		for (String str : strs) {
+			encrypted.add(encrypt(str, deterministic));
+		}
+		return encrypted;
+	}
+	
+	/**
+	 * 暗号化された文字列のリストを復号して返します。
+	 * 
+	 * @param strs
+	 *            暗号化された文字列のリスト
+	 * @return 復号された文字列のリスト。順序は {@code strs} と同じです
+	 */
+	default List<String> decryptAll(List<String> strs) {
+		List<String> decrypted = new ArrayList<>(strs.size());
+		for (String str : strs) {
+			decrypted.add(decrypt(str));
+		}
+		return decrypted;
+	}
 }
@@ -0,0 +1,176 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 複数のドキュメントの {@link pending.org.springframework.data.arangodb.core.mapping.Encrypt} のフィールドを、
+ * {@link EncryptConverter#encryptAll(List, boolean)} 、 {@link EncryptConverter#decryptAll(List)} でまとめて暗号化 / 復号します。
+ * 
+ * <p>
+ * 書き込みでは、 {@link ObjectMapper} が登録した平文を {@link #encrypt()} でまとめて暗号化し、ドキュメントの値を置き換えます。<br>
+ * 読み込みでは、事前に登録した暗号文を {@link #decrypt()} でまとめて復号し、 {@link ObjectMapper}
+ * がフィールドを読み込む際に {@link #getDecrypted(Map, String)} で参照します。
+ * 読み込んだドキュメントはクエリ結果キャッシュと共有されることがあるため、変更しません。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+class EncryptionBatch {
+
+	/**
+	 * {@link EncryptConverter} インスタンスです。
+	 */
+	private final EncryptConverter encryptConverter;
+
+	/**
+	 * ランダムに暗号化する値です。
+	 */
+	private final Values randomized = new Values();
+
+	/**
+	 * 決定的に暗号化する値です。
+	 */
+	private final Values deterministic = new Values();
+
+	/**
+	 * 復号する値です。
+	 */
+	private final Values encrypted = new Values();
+
+	/**
+	 * ドキュメントと、属性名と復号された値のマッピングです。
+	 */
+	private final Map<Map<String, Object>, Map<String, String>> decrypted = new IdentityHashMap<>();
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param encryptConverter
+	 *            {@link EncryptConverter}
+	 */
+	EncryptionBatch(EncryptConverter encryptConverter) {
+		this.encryptConverter = encryptConverter;
+	}
+
+	/**
+	 * 暗号化する値を登録します。
+	 * 
+	 * @param document
+	 *            値を書き込むドキュメント
+	 * @param name
+	 *            属性名
+	 * @param value
+	 *            暗号化する値
+	 * @param deterministic
+	 *            決定的に暗号化する場合は {@code true}
+	 */
+	void addEncryption(Map<String, Object> document, String name, String value, boolean deterministic) {
+		(deterministic ? this.deterministic : randomized).add(document, name, value);
+	}
+
+	/**
+	 * 登録された値をまとめて暗号化し、ドキュメントに書き込みます。
+	 * 
+	 * <p>
+	 * 登録後にドキュメントから取り除かれた属性は書き込みません。
+	 * </p>
+	 */
+	void encrypt() {
+		write(randomized, false);
+		write(deterministic, true);
+	}
+
+	/**
+	 * 復号する値を登録します。
+	 * 
+	 * @param document
+	 *            値を読み込んだドキュメント
+	 * @param name
+	 *            属性名
+	 * @param value
+	 *            暗号化された値
+	 */
+	void addDecryption(Map<String, Object> document, String name, String value) {
+		encrypted.add(document, name, value);
+	}
+
+	/**
+	 * 登録された値をまとめて復号します。
+	 */
+	void decrypt() {
+
+		if (encrypted.values.isEmpty()) {
+			return;
+		}
+
+		List<String> results = encryptConverter.decryptAll(encrypted.values);
+
+		for (int i = 0; i < results.size(); i++) {
+			Map<String, String> values = decrypted.get(encrypted.documents.get(i));
+			if (values == null) {
+				values = new HashMap<>();
+				decrypted.put(encrypted.documents.get(i), values);
+			}
+			values.put(encrypted.names.get(i), results.get(i));
+		}
+	}
+
+	/**
+	 * {@link #decrypt()} で復号された値を返します。
+	 * 
+	 * @param document
+	 *            値を読み込んだドキュメント
+	 * @param name
+	 *            属性名
+	 * @return 復号された値。登録されていない場合は {@code null}
+	 */
+	String getDecrypted(Map<String, Object> document, String name) {
+		Map<String, String> values = decrypted.get(document);
+		return values == null ? null : values.get(name);
+	}
+
+	/**
+	 * 値をまとめて暗号化し、ドキュメントに書き込みます。
+	 * 
+	 * @param values
+	 *            暗号化する値
+	 * @param deterministic
+	 *            決定的に暗号化する場合は {@code true}
+	 */
+	private void write(Values values, boolean deterministic) {
+
+		if (values.values.isEmpty()) {
+			return;
+		}
+
+		List<String> results = encryptConverter.encryptAll(values.values, deterministic);
+
+		for (int i = 0; i < results.size(); i++) {
+			Map<String, Object> document = values.documents.get(i);
+			if (document.containsKey(values.names.get(i))) {
+				document.put(values.names.get(i), results.get(i));
+			}
+		}
+	}
+
+	/**
+	 * ドキュメント、属性名、値の組のリストです。
+	 */
+	private static final class Values {
+
+		private final List<Map<String, Object>> documents = new ArrayList<>();
+		private final List<String> names = new ArrayList<>();
+		private final List<String> values = new ArrayList<>();
+
+		private void add(Map<String, Object> document, String name, String value) {
+			documents.add(document);
+			names.add(name);
+			values.add(value);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import pending.org.springframework.data.arangodb.core.geo.GeoPoint;
+
+/**
+ * {@link GeoPoint} のコンバージョンです。
+ *
+ * <p>
+ * {@link GeoPoint} は、 Arango DB の地理インデックスが1つの属性で扱う {@code [緯度, 経度]} の配列として保存します。
+ * </p>
+ *
+ * @author hs0x01
+ */
+public final class GeoConverters {
+
+	private GeoConverters() {
+	}
+
+	/**
+	 * このクラスで記述された全てのコンバータを返します。
+	 *
+	 * @return コンバータのリスト
+	 */
+	public static Collection<Converter<?, ?>> getConvertersToRegister() {
+		List<Converter<?, ?>> converters = new ArrayList<Converter<?, ?>>();
+
+		converters.add(GeoPointToDoubleArrayConverter.INSTANCE);
+		converters.add(ListToGeoPointConverter.INSTANCE);
+
+		return converters;
+	}
+
+	@WritingConverter
+	public enum GeoPointToDoubleArrayConverter implements Converter<GeoPoint, double[]> {
+		INSTANCE;
+
+		@Override
+		public double[] convert(GeoPoint source) {
+			return source == null ? null : new double[] { source.getLatitude(), source.getLongitude() };
+		}
+	}
+
+	@ReadingConverter
+	public enum ListToGeoPointConverter implements Converter<List<?>, GeoPoint> {
+		INSTANCE;
+
+		@Override
+		public GeoPoint convert(List<?> source) {
+			if (source == null) {
+				return null;
+			}
+			if (source.size() != 2) {
+				throw new IllegalArgumentException("GeoPoint must be an array of latitude and longitude: " + source);
+			}
+			return new GeoPoint(((Number) source.get(0)).doubleValue(), ((Number) source.get(1)).doubleValue());
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+/**
+ * {@code java.time} の日時型のコンバージョンです。
+ *
+ * <p>
+ * 日時はエポックからのミリ秒、 {@link LocalDate} はエポックからの日数として {@link Long} で保存します。<br>
+ * {@link LocalDateTime} は UTC の日時として扱います。
+ * {@link OffsetDateTime} と {@link ZonedDateTime} は時点だけを保存するため、読み込んだ値のオフセットは UTC になります。<br>
+ * ミリ秒未満の値は切り捨てられます。
+ * </p>
+ *
+ * @author hs0x01
+ */
+public final class JavaTimeConverters {
+
+	private JavaTimeConverters() {
+	}
+
+	/**
+	 * このクラスで記述された全てのコンバータを返します。
+	 *
+	 * @return コンバータのリスト
+	 */
+	public static Collection<Converter<?, ?>> getConvertersToRegister() {
+		List<Converter<?, ?>> converters = new ArrayList<Converter<?, ?>>();
+
+		converters.add(InstantToLongConverter.INSTANCE);
+		converters.add(LocalDateToLongConverter.INSTANCE);
+		converters.add(LocalDateTimeToLongConverter.INSTANCE);
+		converters.add(OffsetDateTimeToLongConverter.INSTANCE);
+		converters.add(ZonedDateTimeToLongConverter.INSTANCE);
+		converters.add(NumberToInstantConverter.INSTANCE);
+		converters.add(NumberToLocalDateConverter.INSTANCE);
+		converters.add(NumberToLocalDateTimeConverter.INSTANCE);
+		converters.add(NumberToOffsetDateTimeConverter.INSTANCE);
+		converters.add(NumberToZonedDateTimeConverter.INSTANCE);
+		converters.add(StringToInstantConverter.INSTANCE);
+		converters.add(StringToLocalDateConverter.INSTANCE);
+		converters.add(StringToLocalDateTimeConverter.INSTANCE);
+		converters.add(StringToOffsetDateTimeConverter.INSTANCE);
+		converters.add(StringToZonedDateTimeConverter.INSTANCE);
+
+		return converters;
+	}
+
+	@WritingConverter
+	public enum InstantToLongConverter implements Converter<Instant, Long> {
+		INSTANCE;
+
+		@Override
+		public Long convert(Instant source) {
+			return source == null ? null : source.toEpochMilli();
+		}
+	}
+
+	@WritingConverter
+	public enum LocalDateToLongConverter implements Converter<LocalDate, Long> {
+		INSTANCE;
+
+		@Override
+		public Long convert(LocalDate source) {
+			return source == null ? null : source.toEpochDay();
+		}
+	}
+
+	@WritingConverter
+	public enum LocalDateTimeToLongConverter implements Converter<LocalDateTime, Long> {
+		INSTANCE;
+
+		@Override
+		public Long convert(LocalDateTime source) {
+			return source == null ? null
+					: source.toEpochSecond(ZoneOffset.UTC) * 1000 + source.getNano() / 1000000;
+		}
+	}
+
+	@WritingConverter
+	public enum OffsetDateTimeToLongConverter implements Converter<OffsetDateTime, Long> {
+		INSTANCE;
+
+		@Override
+		public Long convert(OffsetDateTime source) {
+			return source == null ? null : source.toEpochSecond() * 1000 + source.getNano() / 1000000;
+		}
+	}
+
+	@WritingConverter
+	public enum ZonedDateTimeToLongConverter implements Converter<ZonedDateTime, Long> {
+		INSTANCE;
+
+		@Override
+		public Long convert(ZonedDateTime source) {
+			return source == null ? null : source.toEpochSecond() * 1000 + source.getNano() / 1000000;
+		}
+	}
+
+	@ReadingConverter
+	public enum NumberToInstantConverter implements Converter<Number, Instant> {
+		INSTANCE;
+
+		@Override
+		public Instant convert(Number source) {
+			return source == null ? null : Instant.ofEpochMilli(source.longValue());
+		}
+	}
+
+	@ReadingConverter
+	public enum NumberToLocalDateConverter implements Converter<Number, LocalDate> {
+		INSTANCE;
+
+		@Override
+		public LocalDate convert(Number source) {
+			return source == null ? null : LocalDate.ofEpochDay(source.longValue());
+		}
+	}
+
+	@ReadingConverter
+	public enum NumberToLocalDateTimeConverter implements Converter<Number, LocalDateTime> {
+		INSTANCE;
+
+		@Override
+		public LocalDateTime convert(Number source) {
+			return source == null ? null : toLocalDateTime(source.longValue());
+		}
+	}
+
+	@ReadingConverter
+	public enum NumberToOffsetDateTimeConverter implements Converter<Number, OffsetDateTime> {
+		INSTANCE;
+
+		@Override
+		public OffsetDateTime convert(Number source) {
+			return source == null ? null : OffsetDateTime.of(toLocalDateTime(source.longValue()), ZoneOffset.UTC);
+		}
+	}
+
+	@ReadingConverter
+	public enum NumberToZonedDateTimeConverter implements Converter<Number, ZonedDateTime> {
+		INSTANCE;
+
+		@Override
+		public ZonedDateTime convert(Number source) {
+			return source == null ? null : ZonedDateTime.of(toLocalDateTime(source.longValue()), ZoneOffset.UTC);
+		}
+	}
+
+	@ReadingConverter
+	public enum StringToInstantConverter implements Converter<String, Instant> {
+		INSTANCE;
+
+		@Override
+		public Instant convert(String source) {
+			return source == null ? null : Instant.ofEpochMilli(Long.parseLong(source));
+		}
+	}
+
+	@ReadingConverter
+	public enum StringToLocalDateConverter implements Converter<String, LocalDate> {
+		INSTANCE;
+
+		@Override
+		public LocalDate convert(String source) {
+			return source == null ? null : LocalDate.ofEpochDay(Long.parseLong(source));
+		}
+	}
+
+	@ReadingConverter
+	public enum StringToLocalDateTimeConverter implements Converter<String, LocalDateTime> {
+		INSTANCE;
+
+		@Override
+		public LocalDateTime convert(String source) {
+			return source == null ? null : toLocalDateTime(Long.parseLong(source));
+		}
+	}
+
+	@ReadingConverter
+	public enum StringToOffsetDateTimeConverter implements Converter<String, OffsetDateTime> {
+		INSTANCE;
+
+		@Override
+		public OffsetDateTime convert(String source) {
+			return source == null ? null : OffsetDateTime.of(toLocalDateTime(Long.parseLong(source)), ZoneOffset.UTC);
+		}
+	}
+
+	@ReadingConverter
+	public enum StringToZonedDateTimeConverter implements Converter<String, ZonedDateTime> {
+		INSTANCE;
+
+		@Override
+		public ZonedDateTime convert(String source) {
+			return source == null ? null : ZonedDateTime.of(toLocalDateTime(Long.parseLong(source)), ZoneOffset.UTC);
+		}
+	}
+
+	/**
+	 * エポックからのミリ秒を、 UTC の {@link LocalDateTime} に変換します。
+	 *
+	 * <p>
+	 * {@link Instant} を経由せずに変換します。
+	 * </p>
+	 *
+	 * @param epochMilli
+	 *            エポックからのミリ秒
+	 * @return UTC の {@link LocalDateTime}
+	 */
+	private static LocalDateTime toLocalDateTime(long epochMilli) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000),
+				(int) Math.floorMod(epochMilli, 1000) * 1000000, ZoneOffset.UTC);
+	}
+}
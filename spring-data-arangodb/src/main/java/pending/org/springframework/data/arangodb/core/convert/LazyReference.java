@@ -0,0 +1,35 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+/**
+ * 遅延して読み込まれる参照のプロキシが実装するインタフェースです。
+ * 
+ * <p>
+ * 読み込む前のプロキシを書き込む場合は、参照先を読み込まずに保存されていた値をそのまま書き込みます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public interface LazyReference {
+
+	/**
+	 * 参照先を読み込んだかどうかを返します。
+	 * 
+	 * @return 読み込んでいれば {@code true} 、そうでなければ {@code false}
+	 */
+	boolean isResolved();
+
+	/**
+	 * 参照先を読み込み、その値を返します。
+	 * 
+	 * @return 参照先のエンティティ、またはエンティティのコレクション
+	 */
+	Object getTarget();
+
+	/**
+	 * ドキュメントに保存されていた値を返します。
+	 * 
+	 * @return ドキュメントハンドル、またはドキュメントハンドルのリスト
+	 */
+	Object getStoredValue();
+}
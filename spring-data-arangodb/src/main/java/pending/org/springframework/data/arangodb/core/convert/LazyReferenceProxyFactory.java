@@ -0,0 +1,133 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.util.function.Supplier;
+
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.InvocationHandler;
+import org.springframework.cglib.proxy.LazyLoader;
+
+/**
+ * 最初のメソッド呼び出しで参照先を読み込むプロキシを生成します。
+ * 
+ * <p>
+ * プロキシは {@link LazyReference} を実装します。<br>
+ * 参照先はプロキシごとに1回だけ読み込まれ、以降のメソッド呼び出しは読み込んだオブジェクトに委譲されます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+class LazyReferenceProxyFactory {
+
+	/**
+	 * インスタンス化を禁止します。
+	 */
+	private LazyReferenceProxyFactory() {
+	}
+
+	/**
+	 * プロキシを生成します。
+	 * 
+	 * @param type
+	 *            プロキシの型。インタフェース、または引数なしのコンストラクタを持つクラス
+	 * @param storedValue
+	 *            ドキュメントに保存されていた値
+	 * @param loader
+	 *            参照先を読み込む関数
+	 * @return プロキシ
+	 */
+	static Object createProxy(Class<?> type, Object storedValue, Supplier<?> loader) {
+
+		Loader lazyLoader = new Loader(storedValue, loader);
+
+		Enhancer enhancer = new Enhancer();
+		enhancer.setClassLoader(type.getClassLoader());
+		if (type.isInterface()) {
+			enhancer.setInterfaces(new Class<?>[] { type, LazyReference.class });
+		} else {
+			enhancer.setSuperclass(type);
+			enhancer.setInterfaces(new Class<?>[] { LazyReference.class });
+		}
+		enhancer.setCallbackFilter(method -> method.getDeclaringClass() == LazyReference.class ? 1 : 0);
+		enhancer.setCallbacks(new Callback[] { lazyLoader,
+				(InvocationHandler) (proxy, method, args) -> method.invoke(lazyLoader, args) });
+
+		return enhancer.create();
+	}
+
+	/**
+	 * 参照先を1回だけ読み込む {@link LazyLoader} です。
+	 */
+	private static class Loader implements LazyLoader, LazyReference {
+
+		/**
+		 * ドキュメントに保存されていた値です。
+		 */
+		private final Object storedValue;
+
+		/**
+		 * 参照先を読み込む関数です。
+		 */
+		private final Supplier<?> loader;
+
+		/**
+		 * 読み込んだ参照先です。
+		 */
+		private volatile Object target;
+
+		/**
+		 * 参照先を読み込んだかどうかです。
+		 */
+		private volatile boolean resolved;
+
+		/**
+		 * インスタンスを生成します。
+		 * 
+		 * @param storedValue
+		 *            ドキュメントに保存されていた値
+		 * @param loader
+		 *            参照先を読み込む関数
+		 */
+		Loader(Object storedValue, Supplier<?> loader) {
+			this.storedValue = storedValue;
+			this.loader = loader;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public synchronized Object loadObject() {
+			if (!resolved) {
+				target = loader.get();
+				resolved = true;
+			}
+			return target;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isResolved() {
+			return resolved;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object getTarget() {
+			return loadObject();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object getStoredValue() {
+			return storedValue;
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package pending.org.springframework.data.arangodb.core.convert;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.BeansException;
@@ -22,6 +24,7 @@ import pending.org.springframework.data.arangodb.core.mapping.ArangoDBMappingCon
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
 import pending.org.springframework.data.arangodb.core.mapping.BasicArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.Encrypt;
 
 /**
  * Arango DB のマッピングコンバータです。
@@ -35,6 +38,16 @@ import pending.org.springframework.data.arangodb.core.mapping.BasicArangoDBPersi
  */
 public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationContextAware, InitializingBean {
 
+	/**
+	 * エッジの始点のドキュメントハンドルの属性名です。
+	 */
+	private static final String EDGE_FROM = "_from";
+
+	/**
+	 * エッジの終点のドキュメントハンドルの属性名です。
+	 */
+	private static final String EDGE_TO = "_to";
+
 	/**
 	 * {@link ApplicationContext} インスタンスです。
 	 */
@@ -60,6 +73,11 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 	 */
 	protected GenericConversionService conversionService;
 
+	/**
+	 * {@link ReferenceResolver} インスタンスです。
+	 */
+	protected ReferenceResolver referenceResolver;
+
 	/**
 	 * {@link MappingArangoDBConverter} を生成します。
 	 * 
@@ -70,10 +88,28 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 			final MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext) {
 
 		this.mappingContext = mappingContext;
-		this.typeMapper = new DefaultArangoDBTypeMapper();
+		this.typeMapper = new DefaultArangoDBTypeMapper(mappingContext);
 		this.conversionService = new GenericConversionService();
 	}
 
+	/**
+	 * {@code source} と設定を共有し、 {@link ReferenceResolver} だけが異なる {@link MappingArangoDBConverter} を生成します。
+	 * 
+	 * @param source
+	 *            設定のコピー元
+	 * @param referenceResolver
+	 *            {@link ReferenceResolver}
+	 */
+	protected MappingArangoDBConverter(MappingArangoDBConverter source, ReferenceResolver referenceResolver) {
+
+		this.applicationContext = source.applicationContext;
+		this.mappingContext = source.mappingContext;
+		this.typeMapper = source.typeMapper;
+		this.conversions = source.conversions;
+		this.conversionService = source.conversionService;
+		this.referenceResolver = referenceResolver;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -127,6 +163,111 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 		writeInternal(source, target, entity);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * {@link EncryptConverter} が設定されている場合は、全てのドキュメントの暗号化されたフィールドを
+	 * {@link EncryptConverter#decryptAll(List)} でまとめて復号してから変換します。
+	 * </p>
+	 */
+	@Override
+	@SneakyThrows
+	public <R> List<R> readAll(Class<R> type, List<BaseDocument> sources) {
+
+		EncryptConverter encryptConverter = conversions.getEncryptConverter();
+		if (encryptConverter == null || sources.size() < 2) {
+			return ArangoDBConverter.super.readAll(type, sources);
+		}
+
+		ArangoDBPersistentEntity<?> entityInformation = mappingContext.getPersistentEntity(type);
+		EncryptionBatch encryptionBatch = new EncryptionBatch(encryptConverter);
+		ObjectMapper objectMapper = newObjectMapper(encryptionBatch);
+
+		List<Map<String, Object>> propertiesList = new ArrayList<>(sources.size());
+		for (BaseDocument source : sources) {
+			Map<String, Object> properties = source == null ? null : getProperties(source, entityInformation);
+			if (properties != null) {
+				objectMapper.collectEncrypted(properties, type);
+			}
+			propertiesList.add(properties);
+		}
+
+		encryptionBatch.decrypt();
+
+		List<R> entities = new ArrayList<>(sources.size());
+		for (Map<String, Object> properties : propertiesList) {
+			R entity = null;
+			if (properties != null) {
+				entity = type.cast(objectMapper.getActualType(properties, type).newInstance());
+				objectMapper.mapToEntity(properties, entity);
+			}
+			entities.add(entity);
+		}
+
+		return entities;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * {@link EncryptConverter} が設定されている場合は、全てのエンティティの暗号化するフィールドを
+	 * {@link EncryptConverter#encryptAll(List, boolean)} でまとめて暗号化します。
+	 * </p>
+	 */
+	@Override
+	public List<BaseDocument> writeAll(List<?> sources) {
+
+		EncryptConverter encryptConverter = conversions.getEncryptConverter();
+		if (encryptConverter == null || sources.size() < 2) {
+			return ArangoDBConverter.super.writeAll(sources);
+		}
+
+		EncryptionBatch encryptionBatch = new EncryptionBatch(encryptConverter);
+		ObjectMapper objectMapper = newObjectMapper(encryptionBatch);
+
+		List<BaseDocument> documents = new ArrayList<>(sources.size());
+		for (Object source : sources) {
+			BaseDocument document = new BaseDocument();
+			if (source != null) {
+				writeInternal(source, document, mappingContext.getPersistentEntity(source.getClass()), objectMapper);
+			}
+			documents.add(document);
+		}
+
+		encryptionBatch.encrypt();
+
+		return documents;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * カスタムコンバータを適用し、エンティティは {@link Map} に、配列と {@link Iterable} は {@link List} に変換します。<br>
+	 * {@link pending.org.springframework.data.arangodb.core.mapping.Encrypt} 、
+	 * {@link pending.org.springframework.data.arangodb.core.mapping.Compressed} はプロパティの宣言によるため、適用されません。
+	 * </p>
+	 */
+	@Override
+	public Object convertToArangoDBType(Object value) {
+		return newObjectMapper(null).writeQueryValue(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * {@link Encrypt} のプロパティの値は、保存時と同じ {@link EncryptConverter} で暗号化します。<br>
+	 * 決定的でない {@link Encrypt} の値は、保存されている暗号文と比較できないため変換できません。
+	 * </p>
+	 */
+	@Override
+	public Object convertToArangoDBType(Object value, ArangoDBPersistentProperty property) {
+		return newObjectMapper(null).writeQueryValue(value, property.findAnnotation(Encrypt.class));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -150,17 +291,51 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 	protected <R> R readInternal(Class<R> type, BaseDocument source,
 			final ArangoDBPersistentEntity<?> entityInformation) {
 
-		R entity = type.newInstance();
+		Map<String, Object> properties = getProperties(source, entityInformation);
 
-		Map<String, Object> properties = source.getProperties();
+		ObjectMapper objectMapper = newObjectMapper(null);
 
-		ObjectMapper objectMapper = new ObjectMapper(conversions, conversionService);
+		R entity = type.cast(objectMapper.getActualType(properties, type).newInstance());
 		
 		objectMapper.mapToEntity(properties, entity);
 
 		return entity;
 	}
 
+	/**
+	 * {@link ObjectMapper} を生成します。
+	 * 
+	 * @param encryptionBatch
+	 *            暗号化 / 復号をまとめる {@link EncryptionBatch} 。1件ずつ処理する場合は {@code null}
+	 * @return {@link ObjectMapper}
+	 */
+	private ObjectMapper newObjectMapper(EncryptionBatch encryptionBatch) {
+		return new ObjectMapper(conversions, conversionService, mappingContext, referenceResolver, typeMapper,
+				encryptionBatch);
+	}
+
+	/**
+	 * {@link BaseDocument} の属性を、エンティティのプロパティに読み込む {@link Map} として返します。
+	 * 
+	 * @param source
+	 *            {@link BaseDocument}
+	 * @param entityInformation
+	 *            {@link BasicArangoDBPersistentEntity}
+	 * @return 属性の {@link Map} 。エッジの始点と終点はプロパティの属性名になります
+	 */
+	private Map<String, Object> getProperties(BaseDocument source, ArangoDBPersistentEntity<?> entityInformation) {
+
+		Map<String, Object> properties = source.getProperties();
+
+		if (entityInformation != null && entityInformation.isEdge()) {
+			properties = new HashMap<>(properties);
+			renameProperty(properties, EDGE_FROM, entityInformation.getFromProperty());
+			renameProperty(properties, EDGE_TO, entityInformation.getToProperty());
+		}
+
+		return properties;
+	}
+
 	/**
 	 * {@link BaseDocument} にエンティティの値を書き込みます。
 	 * 
@@ -172,9 +347,27 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 	 *            {@link BasicArangoDBPersistentEntity}
 	 * @return 値を書き込んだ {@link BasicArangoDBPersistentEntity}
 	 */
-	@SneakyThrows
 	protected void writeInternal(final Object entity, final BaseDocument target,
 			final ArangoDBPersistentEntity<?> entityInformation) {
+		writeInternal(entity, target, entityInformation,
+				newObjectMapper(null));
+	}
+
+	/**
+	 * {@link BaseDocument} にエンティティの値を書き込みます。
+	 * 
+	 * @param entity
+	 *            エンティティ
+	 * @param target
+	 *            {@link BaseDocument}
+	 * @param entityInformation
+	 *            {@link BasicArangoDBPersistentEntity}
+	 * @param objectMapper
+	 *            {@link ObjectMapper}
+	 */
+	@SneakyThrows
+	private void writeInternal(final Object entity, final BaseDocument target,
+			final ArangoDBPersistentEntity<?> entityInformation, ObjectMapper objectMapper) {
 
 		if (entity == null) {
 			return;
@@ -190,24 +383,64 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 
 		Map<String, Object> documentMap = new HashMap<>();
 
-		ObjectMapper objectMapper = new ObjectMapper(conversions, conversionService);
-		
 		objectMapper.entityToMap(entity, documentMap);
 
+		if (entityInformation.getTypeAlias() != null) {
+			typeMapper.writeType(entity.getClass(), documentMap);
+		}
+
 		if (idProperty != null) {
 			Object key = accessor.getProperty(idProperty);
-			target.setKey(key.toString());
-			documentMap.remove(idProperty.getName());
+			if (key != null) {
+				target.setKey(key.toString());
+			}
+			documentMap.remove(idProperty.getFieldName());
 		}
 		if (versionProperty != null) {
 			String version = accessor.getProperty(versionProperty, String.class);
 			target.setRevision(version);
-			documentMap.remove(versionProperty.getName());
+			documentMap.remove(versionProperty.getFieldName());
+		}
+		if (entityInformation.isEdge()) {
+			moveProperty(documentMap, entityInformation.getFromProperty(), EDGE_FROM);
+			moveProperty(documentMap, entityInformation.getToProperty(), EDGE_TO);
 		}
 
 		target.setProperties(documentMap);
 	}
 
+	/**
+	 * ドキュメントの属性 {@code attribute} をプロパティ名に置き換えます。
+	 * 
+	 * @param properties
+	 *            ドキュメントの属性
+	 * @param attribute
+	 *            属性名
+	 * @param property
+	 *            プロパティ。 {@code null} の場合は何もしません
+	 */
+	private void renameProperty(Map<String, Object> properties, String attribute, ArangoDBPersistentProperty property) {
+		if (property != null && properties.containsKey(attribute)) {
+			properties.put(property.getFieldName(), properties.remove(attribute));
+		}
+	}
+
+	/**
+	 * プロパティ名の値をドキュメントの属性 {@code attribute} に移動します。
+	 * 
+	 * @param documentMap
+	 *            ドキュメントの属性
+	 * @param property
+	 *            プロパティ。 {@code null} の場合は何もしません
+	 * @param attribute
+	 *            属性名
+	 */
+	private void moveProperty(Map<String, Object> documentMap, ArangoDBPersistentProperty property, String attribute) {
+		if (property != null) {
+			documentMap.put(attribute, documentMap.remove(property.getFieldName()));
+		}
+	}
+
 	/**
 	 * {@link ConvertingPropertyAccessor} を返します。
 	 * 
@@ -232,4 +465,40 @@ public class MappingArangoDBConverter implements ArangoDBConverter, ApplicationC
 	public void setConversions(CustomConversions conversions) {
 		this.conversions = conversions;
 	}
+
+	/**
+	 * {@link ReferenceResolver} を返します。
+	 * 
+	 * @return {@link ReferenceResolver} 。設定されていなければ {@code null}
+	 */
+	public ReferenceResolver getReferenceResolver() {
+		return referenceResolver;
+	}
+
+	/**
+	 * {@link ReferenceResolver} を設定します。
+	 * 
+	 * @param referenceResolver
+	 *            {@link ReferenceResolver}
+	 */
+	public void setReferenceResolver(ReferenceResolver referenceResolver) {
+		this.referenceResolver = referenceResolver;
+	}
+
+	/**
+	 * 設定を共有し、 {@link ReferenceResolver} だけが異なる {@link MappingArangoDBConverter} を返します。
+	 * 
+	 * <p>
+	 * 1つのコンバータを複数の {@link pending.org.springframework.data.arangodb.core.ArangoDBTemplate} で共有する場合に、
+	 * テンプレートごとの {@link ReferenceResolver} を使用するために使います。<br>
+	 * サブクラスで変換の振る舞いを変えている場合は、このメソッドをオーバーライドしてください。
+	 * </p>
+	 * 
+	 * @param referenceResolver
+	 *            {@link ReferenceResolver}
+	 * @return {@link MappingArangoDBConverter}
+	 */
+	public MappingArangoDBConverter withReferenceResolver(ReferenceResolver referenceResolver) {
+		return new MappingArangoDBConverter(this, referenceResolver);
+	}
 }
@@ -2,19 +2,44 @@ package pending.org.springframework.data.arangodb.core.convert;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.util.ClassUtils;
+
+import com.arangodb.entity.DocumentField;
 
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBMappingContext;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
+import pending.org.springframework.data.arangodb.core.mapping.Compressed;
 import pending.org.springframework.data.arangodb.core.mapping.Encrypt;
+import pending.org.springframework.data.arangodb.core.mapping.GeoDistance;
+import pending.org.springframework.data.arangodb.core.mapping.Ref;
 
 /**
  * エンティティと Arango DB オブジェクトを変換します。
@@ -35,6 +60,44 @@ public class ObjectMapper {
 	 */
 	private GenericConversionService conversionService;
 
+	/**
+	 * {@link ArangoDBMappingContext} インスタンスです。
+	 */
+	private MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext;
+
+	/**
+	 * {@link ReferenceResolver} インスタンスです。
+	 */
+	private ReferenceResolver referenceResolver;
+
+	/**
+	 * {@link ArangoDBTypeMapper} インスタンスです。 {@code null} の場合は型情報を読み書きしません。
+	 */
+	private ArangoDBTypeMapper typeMapper;
+
+	/**
+	 * 複数のドキュメントの暗号化 / 復号をまとめる {@link EncryptionBatch} です。1件ずつ処理する場合は {@code null} です。
+	 */
+	private EncryptionBatch encryptionBatch;
+
+	/**
+	 * 暗号化 / 復号を1件ずつ処理するインスタンスを生成します。
+	 * 
+	 * @param conversions
+	 *            {@link CustomConversions}
+	 * @param conversionService
+	 *            {@link GenericConversionService}
+	 * @param mappingContext
+	 *            {@link ArangoDBMappingContext}
+	 * @param referenceResolver
+	 *            {@link ReferenceResolver}
+	 */
+	public ObjectMapper(CustomConversions conversions, GenericConversionService conversionService,
+			MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext,
+			ReferenceResolver referenceResolver) {
+		this(conversions, conversionService, mappingContext, referenceResolver, null, null);
+	}
+
 	/**
 	 * エンティティの集合を {@link List} で返します。
 	 * 
@@ -42,22 +105,26 @@ public class ObjectMapper {
 	 *            エンティティの集合
 	 * @return {@link List}
 	 */
-	@SneakyThrows
 	protected List<Object> entitiesToList(Iterable<?> entities) {
+		return entitiesToList(entities, null);
+	}
 
-		List<Object> list = new ArrayList<>();
-
-		for (Object entity : entities) {
-
-			Map<String, Object> map = new HashMap<>();
+	/**
+	 * エンティティの集合を {@link List} で返します。
+	 * 
+	 * @param entities
+	 *            エンティティの集合
+	 * @param elementType
+	 *            宣言された要素の型。 {@code null} の場合は型情報を書き込みません
+	 * @return {@link List}
+	 */
+	private List<Object> entitiesToList(Iterable<?> entities, Type elementType) {
 
-			entityToMap(entity, map);
+		List<Object> list = entities instanceof Collection ? new ArrayList<>(((Collection<?>) entities).size())
+				: new ArrayList<>();
 
-			if (map.isEmpty()) {
-				list.add(entity);
-			} else {
-				list.add(map);
-			}
+		for (Object entity : entities) {
+			list.add(writeValue(convertForWriteIfNeeded(entity), elementType));
 		}
 
 		return list;
@@ -66,35 +133,222 @@ public class ObjectMapper {
 	/**
 	 * {@link Map} の集合をエンティティの {@link List} で返します。
 	 * 
-	 * @param maps
+	 * @param objects
 	 *            {@link Map} の集合
 	 * @param entityClass
 	 *            エンティティクラス
 	 * @return エンティティの {@link List}
 	 */
-	@SneakyThrows
-	@SuppressWarnings("unchecked")
 	protected List<Object> listToEntities(Iterable<Object> objects, Class<?> entityClass) {
 
-		List<Object> list = new ArrayList<>();
+		List<Object> list = objects instanceof Collection ? new ArrayList<>(((Collection<?>) objects).size())
+				: new ArrayList<>();
 
 		for (Object object : objects) {
+			list.add(readValue(object, entityClass, entityClass));
+		}
+
+		return list;
+	}
 
-			if (objects instanceof Map) {
+	/**
+	 * プロパティの値を、ドライバが直列化する値に変換します。
+	 * 
+	 * <p>
+	 * {@link Optional} は値を取り出し、エンティティの配列と {@link Iterable} は {@link List} に、 {@link Map}
+	 * は値を変換した {@link Map} に、エンティティは {@link Map} に変換します。<br>
+	 * プリミティブ型の配列と Simple 型の値はそのまま返します。<br>
+	 * エンティティの型が宣言された型と異なる場合は、型情報を書き込みます。
+	 * </p>
+	 * 
+	 * @param value
+	 *            カスタムコンバージョン適用後の値
+	 * @param declaredType
+	 *            宣言された型。 {@code null} の場合は型情報を書き込みません
+	 * @return 変換された値
+	 * @throws MappingException
+	 *             型情報を書き込むエンティティの型が、読み込み時に解決できない場合
+	 */
+	protected Object writeValue(Object value, Type declaredType) {
 
-				Object entity = entityClass.newInstance();
+		if (value instanceof Optional) {
+			value = ((Optional<?>) value).orElse(null);
+			value = value == null ? null : convertForWriteIfNeeded(value);
+			declaredType = declaredType == null ? null : getTypeArgument(declaredType, 0);
+		}
 
-				mapToEntity((Map<String, Object>) object, entity);
+		if (value == null) {
+			return null;
+		}
 
-				list.add(entity);
+		Class<?> type = value.getClass();
 
-			} else {
+		if (type.isArray()) {
+			if (type.getComponentType().isPrimitive()) {
+				return value;
+			}
+			Type componentType = declaredType instanceof GenericArrayType
+					? ((GenericArrayType) declaredType).getGenericComponentType()
+					: declaredType == null ? null : getRawType(declaredType).getComponentType();
+			Object[] array = (Object[]) value;
+			List<Object> list = new ArrayList<>(array.length);
+			for (Object element : array) {
+				list.add(writeValue(convertForWriteIfNeeded(element), componentType));
+			}
+			return list;
+		}
 
-				list.add(object);
+		if (value instanceof Map) {
+			Map<?, ?> source = (Map<?, ?>) value;
+			Type valueType = declaredType == null ? null : getTypeArgument(declaredType, 1);
+			Map<String, Object> map = new LinkedHashMap<>(capacity(source.size()));
+			for (Map.Entry<?, ?> entry : source.entrySet()) {
+				map.put(String.valueOf(entry.getKey()),
+						writeValue(convertForWriteIfNeeded(entry.getValue()), valueType));
 			}
+			return map;
 		}
 
-		return list;
+		if (value instanceof Iterable) {
+			return entitiesToList((Iterable<?>) value, declaredType == null ? null : getTypeArgument(declaredType, 0));
+		}
+
+		if (conversions.isSimpleType(type)) {
+			return value;
+		}
+
+		Map<String, Object> mapIfEntity = new HashMap<>();
+		entityToMap(value, mapIfEntity);
+		if (mapIfEntity.isEmpty()) {
+			return value;
+		}
+		if (typeMapper != null && declaredType != null && getRawType(declaredType) != type) {
+			checkTypeResolvable(type, declaredType);
+			typeMapper.writeType(type, mapIfEntity);
+		}
+		return mapIfEntity;
+	}
+
+	/**
+	 * クエリのバインド変数に使用する値を、カスタムコンバータを適用してドライバが直列化する値に変換します。
+	 * 
+	 * @param value
+	 *            値
+	 * @return 変換された値
+	 */
+	public Object writeQueryValue(Object value) {
+		return writeValue(convertForWriteIfNeeded(value), null);
+	}
+
+	/**
+	 * クエリのバインド変数に使用する値を、 {@link Encrypt} のプロパティに保存される暗号文に変換します。
+	 * 
+	 * @param value
+	 *            値
+	 * @param encrypt
+	 *            プロパティの {@link Encrypt} 。暗号化しないプロパティの場合は {@code null}
+	 * @return 変換された値
+	 * @throws IllegalArgumentException
+	 *             決定的でない {@link Encrypt} のプロパティの場合
+	 */
+	public Object writeQueryValue(Object value, Encrypt encrypt) {
+
+		if (value == null || encrypt == null || conversions.getEncryptConverter() == null) {
+			return writeQueryValue(value);
+		}
+		if (!encrypt.deterministic()) {
+			throw new IllegalArgumentException(
+					"Values of a non-deterministically encrypted property cannot be compared in a query!");
+		}
+
+		return conversions.getEncryptConverter().encrypt(convertForWriteIfNeeded(value).toString(), true);
+	}
+
+	/**
+	 * ドキュメントの値を、プロパティの型の値に変換します。
+	 * 
+	 * <p>
+	 * 配列、 {@link Collection} 、 {@link Map} は、元の値の要素数で生成し、要素をジェネリック型に従って変換します。<br>
+	 * 型情報が書き込まれたオブジェクトは、その型のエンティティに変換します。<br>
+	 * プリミティブ型の配列は、要素をボクシングせずに設定します。 {@code null} の要素はデフォルト値になります。
+	 * </p>
+	 * 
+	 * @param value
+	 *            ドキュメントの値
+	 * @param type
+	 *            プロパティの型
+	 * @param genericType
+	 *            プロパティのジェネリック型
+	 * @return 変換された値
+	 */
+	@SneakyThrows
+	@SuppressWarnings("unchecked")
+	protected Object readValue(Object value, Class<?> type, Type genericType) {
+
+		if (type == Optional.class) {
+			Type valueType = getTypeArgument(genericType, 0);
+			return Optional.ofNullable(value == null ? null : readValue(value, getRawType(valueType), valueType));
+		}
+
+		if (value == null) {
+			return null;
+		}
+
+		value = convertForReadIfNeeded(value, type);
+
+		if (type.isArray()) {
+			if (type.isInstance(value) || !(value instanceof Collection)) {
+				return value;
+			}
+			Collection<?> values = (Collection<?>) value;
+			Class<?> componentType = type.getComponentType();
+			if (componentType.isPrimitive()) {
+				return toPrimitiveArray(values, componentType);
+			}
+			Type genericComponentType = genericType instanceof GenericArrayType
+					? ((GenericArrayType) genericType).getGenericComponentType() : componentType;
+			Object array = Array.newInstance(componentType, values.size());
+			int i = 0;
+			for (Object element : values) {
+				Array.set(array, i++, readValue(element, componentType, genericComponentType));
+			}
+			return array;
+		}
+
+		if (value instanceof Map && Map.class.isAssignableFrom(type)) {
+			Map<String, Object> source = (Map<String, Object>) value;
+			Class<?> keyClass = getRawType(getTypeArgument(genericType, 0));
+			Type valueType = getTypeArgument(genericType, 1);
+			Class<?> valueClass = getRawType(valueType);
+			Map<Object, Object> map = CollectionFactory.createMap(type, keyClass, capacity(source.size()));
+			for (Map.Entry<String, Object> entry : source.entrySet()) {
+				map.put(readMapKey(entry.getKey(), keyClass), readValue(entry.getValue(), valueClass, valueType));
+			}
+			return map;
+		}
+
+		if (value instanceof Iterable && (Iterable.class == type || Collection.class.isAssignableFrom(type))) {
+			Type elementType = getTypeArgument(genericType, 0);
+			Class<?> elementClass = getRawType(elementType);
+			int size = value instanceof Collection ? ((Collection<?>) value).size() : 16;
+			Collection<Object> collection = type.isAssignableFrom(ArrayList.class) ? new ArrayList<>(size)
+					: CollectionFactory.createCollection(type, elementClass, size);
+			for (Object element : (Iterable<Object>) value) {
+				collection.add(readValue(element, elementClass, elementType));
+			}
+			return collection;
+		}
+
+		if (value instanceof Map) {
+			Class<?> actualType = getActualType((Map<String, Object>) value, type);
+			if (actualType != type || !type.isInstance(value) && !type.getName().startsWith("java.")) {
+				Object entity = actualType.newInstance();
+				mapToEntity((Map<String, Object>) value, entity);
+				return entity;
+			}
+		}
+
+		return value;
 	}
 
 	/**
@@ -110,6 +364,7 @@ public class ObjectMapper {
 
 		Class<?> originalEntityClass = entity.getClass();
 		Class<?> entityClass = entity.getClass();
+		ArangoDBPersistentEntity<?> persistentEntity = getPersistentEntity(originalEntityClass);
 
 		while (entityClass != null) {
 
@@ -124,24 +379,45 @@ public class ObjectMapper {
 					continue;
 				}
 
+				if (field.isAnnotationPresent(GeoDistance.class)) {
+					continue;
+				}
+
+				String fieldName = getFieldName(persistentEntity, field);
+
 				Method getter = propertyDescriptor.getReadMethod();
 
 				Object value = getter.invoke(entity);
 
+				Ref ref = field.getAnnotation(Ref.class);
+				if (ref != null) {
+					map.put(fieldName, value == null ? null : writeReference(value));
+					continue;
+				}
+
 				if (value != null) {
-					value = convertForWriteIfNeeded(value, field);
-					if (value instanceof Iterable) {
-						value = entitiesToList((Iterable<?>) value);
-					} else {
-						Map<String, Object> mapIfEntity = new HashMap<>();
-						entityToMap(value, mapIfEntity);
-						if (!mapIfEntity.isEmpty()) {
-							value = mapIfEntity;
+					value = convertForWriteIfNeeded(value);
+					Compressed compressed = field.getAnnotation(Compressed.class);
+					if (compressed != null) {
+						value = compress(value, compressed);
+						if (value == null) {
+							map.put(fieldName, null);
+							continue;
 						}
 					}
+					Encrypt encrypt = field.getAnnotation(Encrypt.class);
+					if (encrypt != null && conversions.getEncryptConverter() != null) {
+						encrypt(map, fieldName, value.toString(), encrypt.deterministic());
+						continue;
+					}
+					if (compressed != null) {
+						map.put(fieldName, value);
+						continue;
+					}
+					value = writeValue(value, getter.getGenericReturnType());
 				}
 
-				map.put(field.getName(), value);
+				map.put(fieldName, value);
 			}
 
 			entityClass = entityClass.getSuperclass();
@@ -162,6 +438,7 @@ public class ObjectMapper {
 
 		Class<?> originalEntityClass = entity.getClass();
 		Class<?> entityClass = entity.getClass();
+		ArangoDBPersistentEntity<?> persistentEntity = getPersistentEntity(originalEntityClass);
 
 		while (entityClass != null) {
 
@@ -178,43 +455,610 @@ public class ObjectMapper {
 
 				Method setter = propertyDescriptor.getWriteMethod();
 
-				if (!map.containsKey(field.getName())) {
+				String fieldName = getFieldName(persistentEntity, field);
+
+				if (!map.containsKey(fieldName)) {
 					continue;
 				}
 
-				Object value = map.get(field.getName());
+				Object value = map.get(fieldName);
+
+				Ref ref = field.getAnnotation(Ref.class);
+				if (ref != null) {
+					if (value != null) {
+						value = readReference(value, setter.getParameterTypes()[0],
+								setter.getGenericParameterTypes()[0], ref);
+					}
+					setter.invoke(entity, value);
+					continue;
+				}
 
 				if (value != null) {
-					value = convertForReadIfNeeded(value, setter.getParameterTypes()[0], field);
-					if (value instanceof Iterable) {
-						Class<?> arg0Class = (Class<?>) ((ParameterizedType) setter.getGenericParameterTypes()[0])
-								.getActualTypeArguments()[0];
-						value = listToEntities((Iterable<Object>) value, arg0Class);
-					} else if (value instanceof Map) {
-						Object arg0Object = setter.getParameterTypes()[0].newInstance();
-						mapToEntity((Map<String, Object>) value, arg0Object);
-						value = arg0Object;
+					if (value instanceof String && field.isAnnotationPresent(Encrypt.class)) {
+						value = decrypt(map, fieldName, (String) value);
+					}
+					if (field.isAnnotationPresent(Compressed.class)) {
+						setter.invoke(entity, decompress(value, setter.getParameterTypes()[0],
+								setter.getGenericParameterTypes()[0]));
+						continue;
 					}
 				}
 
-				setter.invoke(entity, value);
+				setter.invoke(entity, readValue(value, setter.getParameterTypes()[0],
+						setter.getGenericParameterTypes()[0]));
 			}
 
 			entityClass = entityClass.getSuperclass();
 		}
 	}
 
+	/**
+	 * {@link Map} から読み込まれる {@link Encrypt} のフィールドの値を、 {@link EncryptionBatch} に登録します。
+	 * 
+	 * <p>
+	 * {@link #mapToEntity(Map, Object)} と同じ順序で、入れ子のエンティティとエンティティのリストも辿ります。
+	 * </p>
+	 * 
+	 * @param map
+	 *            {@link Map}
+	 * @param entityClass
+	 *            エンティティクラス
+	 */
+	@SuppressWarnings("unchecked")
+	protected void collectEncrypted(Map<String, Object> map, Class<?> entityClass) {
+
+		if (encryptionBatch == null || entityClass.getName().startsWith("java.")) {
+			return;
+		}
+
+		Class<?> originalEntityClass = entityClass;
+		ArangoDBPersistentEntity<?> persistentEntity = getPersistentEntity(originalEntityClass);
+
+		while (entityClass != null) {
+
+			for (Field field : entityClass.getDeclaredFields()) {
+
+				PropertyDescriptor propertyDescriptor;
+				try {
+					propertyDescriptor = new PropertyDescriptor(field.getName(), originalEntityClass);
+				} catch (IntrospectionException e) {
+					continue;
+				}
+
+				String fieldName = getFieldName(persistentEntity, field);
+				Object value = map.get(fieldName);
+
+				if (value == null || field.isAnnotationPresent(Ref.class)) {
+					continue;
+				}
+
+				if (field.isAnnotationPresent(Encrypt.class)) {
+					if (value instanceof String) {
+						encryptionBatch.addDecryption(map, fieldName, (String) value);
+					}
+				} else if (value instanceof Map) {
+					collectEncrypted((Map<String, Object>) value, propertyDescriptor.getPropertyType());
+				} else if (value instanceof Iterable && propertyDescriptor.getWriteMethod() != null
+						&& propertyDescriptor.getWriteMethod().getGenericParameterTypes()[0] instanceof ParameterizedType) {
+					Type elementType = ((ParameterizedType) propertyDescriptor.getWriteMethod()
+							.getGenericParameterTypes()[0]).getActualTypeArguments()[0];
+					if (elementType instanceof Class) {
+						for (Object element : (Iterable<?>) value) {
+							if (element instanceof Map) {
+								collectEncrypted((Map<String, Object>) element, (Class<?>) elementType);
+							}
+						}
+					}
+				}
+			}
+
+			entityClass = entityClass.getSuperclass();
+		}
+	}
+
+	/**
+	 * {@link Compressed} のプロパティの値を圧縮します。
+	 * 
+	 * @param value
+	 *            {@link String} 、 {@code byte[]} 、または {@link CompressedValue} の値
+	 * @param compressed
+	 *            {@link Compressed}
+	 * @return 圧縮された値。圧縮しない場合は値そのもの
+	 */
+	private Object compress(Object value, Compressed compressed) {
+
+		if (value instanceof CompressedValue) {
+			CompressedValue<?> compressedValue = (CompressedValue<?>) value;
+			String storedValue = compressedValue.getStoredValue();
+			if (storedValue != null) {
+				return storedValue;
+			}
+			value = compressedValue.get();
+			if (value == null) {
+				return null;
+			}
+		}
+
+		return Compression.compress(value, compressed);
+	}
+
+	/**
+	 * {@link Compressed} のプロパティに保存された値を展開します。
+	 * 
+	 * <p>
+	 * プロパティの型が {@link CompressedValue} の場合は、展開せずに保持します。
+	 * </p>
+	 * 
+	 * @param value
+	 *            保存された値
+	 * @param type
+	 *            プロパティの型
+	 * @param genericType
+	 *            プロパティのジェネリック型
+	 * @return プロパティに設定する値
+	 */
+	private Object decompress(Object value, Class<?> type, Type genericType) {
+
+		if (type == CompressedValue.class) {
+
+			Type valueType = genericType instanceof ParameterizedType
+					? ((ParameterizedType) genericType).getActualTypeArguments()[0] : String.class;
+			Class<?> valueClass = valueType == byte[].class ? byte[].class : String.class;
+
+			if (Compression.isCompressed(value)) {
+				return CompressedValue.ofStored((String) value,
+						stored -> Compression.decompress(stored, valueClass));
+			}
+			return CompressedValue.of(convertForReadIfNeeded(value, valueClass));
+		}
+
+		if (Compression.isCompressed(value)) {
+			return Compression.decompress((String) value, type);
+		}
+
+		return convertForReadIfNeeded(value, type);
+	}
+
+	/**
+	 * 値を暗号化して {@link Map} に設定します。
+	 * 
+	 * <p>
+	 * {@link EncryptionBatch} がある場合は値を登録し、 {@link EncryptionBatch#encrypt()} で暗号化された値を設定します。
+	 * </p>
+	 * 
+	 * @param map
+	 *            {@link Map}
+	 * @param fieldName
+	 *            属性名
+	 * @param value
+	 *            暗号化する値
+	 * @param deterministic
+	 *            決定的に暗号化する場合は {@code true}
+	 */
+	private void encrypt(Map<String, Object> map, String fieldName, String value, boolean deterministic) {
+		if (encryptionBatch != null) {
+			encryptionBatch.addEncryption(map, fieldName, value, deterministic);
+			map.put(fieldName, null);
+		} else {
+			map.put(fieldName, conversions.getEncryptConverter().encrypt(value, deterministic));
+		}
+	}
+
+	/**
+	 * 暗号化された値を復号します。
+	 * 
+	 * @param map
+	 *            値を読み込んだ {@link Map}
+	 * @param fieldName
+	 *            属性名
+	 * @param value
+	 *            暗号化された値
+	 * @return 復号された値。 {@link EncryptConverter} が設定されていない場合は {@code value}
+	 */
+	private String decrypt(Map<String, Object> map, String fieldName, String value) {
+
+		EncryptConverter encryptConverter = conversions.getEncryptConverter();
+		if (encryptConverter == null) {
+			return value;
+		}
+
+		if (encryptionBatch != null) {
+			String decrypted = encryptionBatch.getDecrypted(map, fieldName);
+			if (decrypted != null) {
+				return decrypted;
+			}
+		}
+
+		return encryptConverter.decrypt(value);
+	}
+
+	/**
+	 * {@link Map} に書き込まれた型情報から、変換先の型を返します。
+	 * 
+	 * @param map
+	 *            {@link Map}
+	 * @param declaredType
+	 *            宣言された型
+	 * @return 型情報の型が宣言された型のサブタイプならばその型、そうでなければ {@code declaredType}
+	 */
+	protected Class<?> getActualType(Map<String, Object> map, Class<?> declaredType) {
+		if (typeMapper == null) {
+			return declaredType;
+		}
+		return typeMapper.readType(map, ClassTypeInformation.from(declaredType)).getType();
+	}
+
+	/**
+	 * 値のリストをプリミティブ型の配列に変換します。
+	 * 
+	 * @param values
+	 *            値のリスト
+	 * @param componentType
+	 *            配列の要素の型
+	 * @return プリミティブ型の配列
+	 */
+	private static Object toPrimitiveArray(Collection<?> values, Class<?> componentType) {
+
+		int i = 0;
+
+		if (componentType == int.class) {
+			int[] array = new int[values.size()];
+			for (Object value : values) {
+				array[i++] = value == null ? 0 : ((Number) value).intValue();
+			}
+			return array;
+		}
+		if (componentType == long.class) {
+			long[] array = new long[values.size()];
+			for (Object value : values) {
+				array[i++] = value == null ? 0 : ((Number) value).longValue();
+			}
+			return array;
+		}
+		if (componentType == double.class) {
+			double[] array = new double[values.size()];
+			for (Object value : values) {
+				array[i++] = value == null ? 0 : ((Number) value).doubleValue();
+			}
+			return array;
+		}
+		if (componentType == float.class) {
+			float[] array = new float[values.size()];
+			for (Object value : values) {
+				array[i++] = value == null ? 0 : ((Number) value).floatValue();
+			}
+			return array;
+		}
+		if (componentType == short.class) {
+			short[] array = new short[values.size()];
+			for (Object value : values) {
+				array[i++] = value == null ? 0 : ((Number) value).shortValue();
+			}
+			return array;
+		}
+		if (componentType == byte.class) {
+			byte[] array = new byte[values.size()];
+			for (Object value : values) {
+				array[i++] = value == null ? 0 : ((Number) value).byteValue();
+			}
+			return array;
+		}
+		if (componentType == boolean.class) {
+			boolean[] array = new boolean[values.size()];
+			for (Object value : values) {
+				array[i++] = value != null && (Boolean) value;
+			}
+			return array;
+		}
+
+		char[] array = new char[values.size()];
+		for (Object value : values) {
+			String str = value == null ? "" : value.toString();
+			array[i++] = str.isEmpty() ? '\0' : str.charAt(0);
+		}
+		return array;
+	}
+
+	/**
+	 * ジェネリック型の型引数を返します。
+	 * 
+	 * @param genericType
+	 *            ジェネリック型
+	 * @param index
+	 *            型引数の位置
+	 * @return 型引数。型引数がない場合は {@link Object}
+	 */
+	private static Type getTypeArgument(Type genericType, int index) {
+		if (genericType instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+			if (index < arguments.length) {
+				return arguments[index];
+			}
+		}
+		return Object.class;
+	}
+
+	/**
+	 * 型のクラスを返します。
+	 * 
+	 * @param type
+	 *            型
+	 * @return クラス。型変数とワイルドカードは上限のクラス
+	 */
+	private static Class<?> getRawType(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		}
+		if (type instanceof GenericArrayType) {
+			return Array.newInstance(getRawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		}
+		if (type instanceof WildcardType) {
+			return getRawType(((WildcardType) type).getUpperBounds()[0]);
+		}
+		if (type instanceof TypeVariable) {
+			return getRawType(((TypeVariable<?>) type).getBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	/**
+	 * 要素数から {@link HashMap} の初期容量を返します。
+	 * 
+	 * @param size
+	 *            要素数
+	 * @return 再ハッシュせずに要素を格納できる初期容量
+	 */
+	private static int capacity(int size) {
+		return size < 3 ? size + 1 : (int) (size / 0.75f + 1);
+	}
+
+	/**
+	 * クラスのマッピング情報を返します。
+	 * 
+	 * <p>
+	 * {@code java.} で始まるパッケージのクラスはマッピングの対象外として {@code null} を返します。
+	 * </p>
+	 * 
+	 * @param type
+	 *            クラス
+	 * @return {@link ArangoDBPersistentEntity} 。マッピングの対象外ならば {@code null}
+	 */
+	private ArangoDBPersistentEntity<?> getPersistentEntity(Class<?> type) {
+		if (type.getName().startsWith("java.")) {
+			return null;
+		}
+		return mappingContext.getPersistentEntity(type);
+	}
+
+	/**
+	 * フィールドの値を保存する属性名を返します。
+	 * 
+	 * @param persistentEntity
+	 *            フィールドを宣言したクラスのマッピング情報。 {@code null} の場合はフィールド名を返します
+	 * @param field
+	 *            フィールド
+	 * @return 属性名
+	 */
+	private String getFieldName(ArangoDBPersistentEntity<?> persistentEntity, Field field) {
+		ArangoDBPersistentProperty property = persistentEntity == null ? null
+				: persistentEntity.getPersistentProperty(field.getName());
+		return property == null ? field.getName() : property.getFieldName();
+	}
+
+	/**
+	 * {@link Ref} のプロパティの値を、ドキュメントハンドルまたはドキュメントハンドルのリストに変換します。
+	 * 
+	 * @param value
+	 *            参照先のエンティティ、またはエンティティの集合
+	 * @return ドキュメントハンドル、またはドキュメントハンドルのリスト
+	 */
+	private Object writeReference(Object value) {
+
+		if (value instanceof LazyReference) {
+			LazyReference lazyReference = (LazyReference) value;
+			if (!lazyReference.isResolved() || lazyReference.getTarget() == null) {
+				return lazyReference.getStoredValue();
+			}
+			value = lazyReference.getTarget();
+		}
+
+		if (value instanceof Iterable) {
+			List<String> handles = new ArrayList<>();
+			for (Object element : (Iterable<?>) value) {
+				handles.add(getDocumentHandle(element));
+			}
+			return handles;
+		}
+
+		return getDocumentHandle(value);
+	}
+
+	/**
+	 * {@link Ref} のプロパティに保存された値を、参照先のエンティティに変換します。
+	 * 
+	 * <p>
+	 * 遅延読み込みの場合はプロキシを返します。 {@code DOCUMENT()} により既に読み込まれたドキュメントはそのまま変換します。<br>
+	 * 参照先のドキュメントが存在しない場合、遅延読み込みしない単一の参照は {@code null} 、
+	 * 遅延読み込みする単一の参照はプロキシの初回呼び出しで {@link MappingException} 、コレクションはその要素を含みません。
+	 * </p>
+	 * 
+	 * @param value
+	 *            保存された値
+	 * @param type
+	 *            プロパティの型
+	 * @param genericType
+	 *            プロパティのジェネリック型
+	 * @param ref
+	 *            {@link Ref}
+	 * @return 参照先のエンティティ、エンティティのコレクション、またはそのプロキシ
+	 */
+	@SuppressWarnings("unchecked")
+	private Object readReference(Object value, Class<?> type, Type genericType, Ref ref) {
+
+		if (value instanceof Iterable) {
+
+			Class<?> elementType = (Class<?>) ((ParameterizedType) genericType).getActualTypeArguments()[0];
+			List<Object> values = new ArrayList<>();
+			boolean resolved = false;
+			for (Object element : (Iterable<Object>) value) {
+				values.add(element);
+				resolved |= element instanceof Map;
+			}
+
+			if (ref.lazy() && !resolved) {
+				ReferenceResolver resolver = getReferenceResolver().bind();
+				return LazyReferenceProxyFactory.createProxy(type, values,
+						() -> readReferences(values, type, elementType, resolver));
+			}
+
+			return readReferences(values, type, elementType, null);
+		}
+
+		if (value instanceof Map) {
+			return readDocument((Map<String, Object>) value, type);
+		}
+
+		String handle = value.toString();
+
+		if (ref.lazy()) {
+			ReferenceResolver resolver = getReferenceResolver().bind();
+			return LazyReferenceProxyFactory.createProxy(type, handle, () -> {
+				Object entity = resolver.resolve(Collections.singleton(handle), type).get(handle);
+				// プロキシは null を表せないため、参照先が削除されている場合は例外とする
+				if (entity == null) {
+					throw new MappingException(String.format("Referenced document '%s' does not exist!", handle));
+				}
+				return entity;
+			});
+		}
+
+		return getReferenceResolver().resolve(Collections.singleton(handle), type).get(handle);
+	}
+
+	/**
+	 * ドキュメントハンドルまたはドキュメントのリストを、1回の複数ドキュメント取得でエンティティのコレクションに変換します。
+	 * 
+	 * @param values
+	 *            ドキュメントハンドル、またはドキュメントのリスト
+	 * @param type
+	 *            コレクションの型
+	 * @param elementType
+	 *            要素の型
+	 * @param resolver
+	 *            ドキュメントハンドルを読み込む {@link ReferenceResolver} 。 {@code null} の場合は設定されたものを使用します
+	 * @return エンティティのコレクション。存在しないドキュメントは含まれません。
+	 */
+	@SuppressWarnings("unchecked")
+	private Collection<Object> readReferences(List<Object> values, Class<?> type, Class<?> elementType,
+			ReferenceResolver resolver) {
+
+		List<String> handles = new ArrayList<>();
+		for (Object value : values) {
+			if (value != null && !(value instanceof Map)) {
+				handles.add(value.toString());
+			}
+		}
+
+		Map<String, ?> resolved = handles.isEmpty() ? Collections.<String, Object> emptyMap()
+				: (resolver == null ? getReferenceResolver() : resolver).resolve(handles, elementType);
+
+		Collection<Object> entities = CollectionFactory.createCollection(type, elementType, values.size());
+		for (Object value : values) {
+			Object entity;
+			if (value instanceof Map) {
+				entity = readDocument((Map<String, Object>) value, elementType);
+			} else {
+				entity = value == null ? null : resolved.get(value.toString());
+			}
+			if (entity != null) {
+				entities.add(entity);
+			}
+		}
+
+		return entities;
+	}
+
+	/**
+	 * {@code DOCUMENT()} により読み込まれたドキュメントをエンティティに変換します。
+	 * 
+	 * @param document
+	 *            ドキュメント
+	 * @param type
+	 *            エンティティの型
+	 * @return エンティティ
+	 */
+	@SneakyThrows
+	private Object readDocument(Map<String, Object> document, Class<?> type) {
+
+		Object entity = getActualType(document, type).newInstance();
+
+		mapToEntity(document, entity);
+
+		ArangoDBPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entity.getClass());
+		ConvertingPropertyAccessor accessor = new ConvertingPropertyAccessor(
+				persistentEntity.getPropertyAccessor(entity), conversionService);
+
+		if (persistentEntity.getIdProperty() != null) {
+			accessor.setProperty(persistentEntity.getIdProperty(), document.get(DocumentField.Type.KEY.getSerializeName()));
+		}
+		if (persistentEntity.getVersionProperty() != null) {
+			accessor.setProperty(persistentEntity.getVersionProperty(),
+					document.get(DocumentField.Type.REV.getSerializeName()));
+		}
+
+		return entity;
+	}
+
+	/**
+	 * エンティティのドキュメントハンドル ({@code コレクション名/キー}) を返します。
+	 * 
+	 * @param entity
+	 *            エンティティ
+	 * @return ドキュメントハンドル
+	 * @throws IllegalArgumentException
+	 *             エンティティのキーが設定されていない場合
+	 */
+	private String getDocumentHandle(Object entity) {
+
+		ArangoDBPersistentEntity<?> persistentEntity = mappingContext
+				.getPersistentEntity(ClassUtils.getUserClass(entity));
+		ArangoDBPersistentProperty idProperty = persistentEntity.getIdProperty();
+
+		Object key = idProperty == null ? null : persistentEntity.getPropertyAccessor(entity).getProperty(idProperty);
+		if (key == null) {
+			throw new IllegalArgumentException(
+					"Cannot reference an entity without a key: " + persistentEntity.getType().getName());
+		}
+
+		return persistentEntity.getCollectionName() + "/" + key;
+	}
+
+	/**
+	 * {@link ReferenceResolver} を返します。
+	 * 
+	 * @return {@link ReferenceResolver}
+	 * @throws IllegalStateException
+	 *             {@link ReferenceResolver} が設定されていない場合
+	 */
+	private ReferenceResolver getReferenceResolver() {
+		if (referenceResolver == null) {
+			throw new IllegalStateException("No ReferenceResolver is configured to resolve @Ref properties.");
+		}
+		return referenceResolver;
+	}
+
 	/**
 	 * 実際に保存されるクラスに必要ならば値をコンバートします。<br>
 	 * 不要ならば値をそのまま返します。
 	 * 
 	 * @param value
 	 *            実際に保存されるクラスにコンバートされる値
-	 * @param field
-	 *            フィールド
 	 * @return コンバートされた値 (コンバート不要ならば同じ値)
 	 */
-	private Object convertForWriteIfNeeded(Object value, Field field) {
+	private Object convertForWriteIfNeeded(Object value) {
 		if (value == null) {
 			return null;
 		}
@@ -224,14 +1068,6 @@ public class ObjectMapper {
 			value = this.conversionService.convert(value, targetType);
 		}
 
-		Encrypt encrypt = field.getAnnotation(Encrypt.class);
-		
-		EncryptConverter encryptConverter = conversions.getEncryptConverter();
-		
-		if (encrypt != null && encryptConverter != null) {
-			value = encryptConverter.encrypt(value.toString());
-		}
-
 		return value;
 	}
 
@@ -243,29 +1079,77 @@ public class ObjectMapper {
 	 *            変換元の値
 	 * @param target
 	 *            変換先のクラス
-	 * @param targetField
-	 *            変換先フィールド
 	 * 
 	 * @return コンバートされた値 (コンバート不要ならば同じ値)
 	 */
-	private Object convertForReadIfNeeded(Object source, Class<?> target, Field targetField) {
+	private Object convertForReadIfNeeded(Object source, Class<?> target) {
 		if (source == null) {
 			return null;
 		}
 		Object value = source;
 		
-		Encrypt encrypt = targetField.getAnnotation(Encrypt.class);
-		
-		EncryptConverter encryptConverter = conversions.getEncryptConverter();
-		
-		if (encrypt != null && encryptConverter != null && value instanceof String) {
-			value = encryptConverter.decrypt((String) value);
-		}
-		
 		if (conversions.hasCustomReadTarget(value.getClass(), target)) {
 			value = conversionService.convert(value, target);
 		}
 		
 		return value;
 	}
+
+	/**
+	 * ドキュメントの属性名を {@link Map} のキーの型に変換します。
+	 * 
+	 * <p>
+	 * キーは {@link String#valueOf(Object)} で書き込まれるため、カスタムコンバータがない場合は
+	 * {@link DefaultConversionService} で文字列から変換します。
+	 * </p>
+	 * 
+	 * @param key
+	 *            属性名
+	 * @param keyType
+	 *            キーの型
+	 * @return 変換されたキー
+	 * @throws MappingException
+	 *             キーの型に変換できない場合
+	 */
+	private Object readMapKey(String key, Class<?> keyType) {
+
+		if (keyType.isInstance(key)) {
+			return key;
+		}
+
+		Object value = convertForReadIfNeeded(key, keyType);
+		if (keyType.isInstance(value)) {
+			return value;
+		}
+
+		ConversionService defaultConversionService = DefaultConversionService.getSharedInstance();
+		if (!defaultConversionService.canConvert(String.class, keyType)) {
+			throw new MappingException(String.format("Cannot convert map key '%s' to %s!", key, keyType.getName()));
+		}
+		return defaultConversionService.convert(key, keyType);
+	}
+
+	/**
+	 * 型情報を書き込むエンティティの型が、読み込み時に解決できることを確認します。
+	 * 
+	 * @param type
+	 *            エンティティの型
+	 * @param declaredType
+	 *            宣言された型
+	 * @throws MappingException
+	 *             読み込み時に解決できない場合
+	 */
+	private void checkTypeResolvable(Class<?> type, Type declaredType) {
+
+		boolean resolvable = mappingContext instanceof ArangoDBMappingContext
+				? ((ArangoDBMappingContext) mappingContext).isTypeResolvable(type)
+				: mappingContext.hasPersistentEntityFor(type);
+
+		if (!resolvable) {
+			throw new MappingException(String.format(
+					"Cannot write %s as %s, its type information could not be resolved on read. "
+							+ "Annotate the type with @TypeAlias or include it in the mapping base package.",
+					type.getName(), declaredType.getTypeName()));
+		}
+	}
 }
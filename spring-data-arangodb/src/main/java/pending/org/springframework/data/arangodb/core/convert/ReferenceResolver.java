@@ -0,0 +1,38 @@
+package pending.org.springframework.data.arangodb.core.convert;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link pending.org.springframework.data.arangodb.core.mapping.Ref} で参照されたドキュメントを読み込みます。
+ * 
+ * @author hs0x01
+ *
+ */
+public interface ReferenceResolver {
+
+	/**
+	 * 複数のドキュメントハンドルにより、ドキュメントを1回のリクエストで取得し、エンティティで返します。
+	 * 
+	 * @param documentHandles
+	 *            ドキュメントハンドル ({@code コレクション名/キー}) のコレクション
+	 * @param entityClass
+	 *            エンティティクラス
+	 * @return ドキュメントハンドルとエンティティのマッピング。存在しないドキュメントは含まれません。
+	 */
+	<R> Map<String, R> resolve(Collection<String> documentHandles, Class<R> entityClass);
+
+	/**
+	 * 現在の処理の状態 (テナントのデータベースなど) に束縛した {@link ReferenceResolver} を返します。
+	 * 
+	 * <p>
+	 * 遅延読み込みのプロキシは、生成時にこのメソッドで取得した {@link ReferenceResolver} で参照先を読み込みます。<br>
+	 * デフォルトの実装はこのインスタンスを返します。
+	 * </p>
+	 * 
+	 * @return 束縛した {@link ReferenceResolver}
+	 */
+	default ReferenceResolver bind() {
+		return this;
+	}
+}
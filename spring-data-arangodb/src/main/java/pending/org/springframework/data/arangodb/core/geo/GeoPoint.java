@@ -0,0 +1,48 @@
+package pending.org.springframework.data.arangodb.core.geo;
+
+import org.springframework.util.Assert;
+
+import lombok.Data;
+
+/**
+ * 緯度と経度で表される地点です。
+ *
+ * <p>
+ * ドキュメントには {@code [緯度, 経度]} の配列として保存されます。
+ * {@link pending.org.springframework.data.arangodb.core.mapping.GeoIndexed} をつけたプロパティは、
+ * Arango DB の地理インデックスで検索できます。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+@Data
+public class GeoPoint {
+
+	/**
+	 * 緯度 (度) です。
+	 */
+	private final double latitude;
+
+	/**
+	 * 経度 (度) です。
+	 */
+	private final double longitude;
+
+	/**
+	 * 地点を生成します。
+	 *
+	 * @param latitude
+	 *            緯度 (度) 。 {@code -90} 以上 {@code 90} 以下
+	 * @param longitude
+	 *            経度 (度) 。 {@code -180} 以上 {@code 180} 以下
+	 */
+	public GeoPoint(double latitude, double longitude) {
+
+		Assert.isTrue(latitude >= -90 && latitude <= 90, "latitude must be between -90 and 90!");
+		Assert.isTrue(longitude >= -180 && longitude <= 180, "longitude must be between -180 and 180!");
+
+		this.latitude = latitude;
+		this.longitude = longitude;
+	}
+}
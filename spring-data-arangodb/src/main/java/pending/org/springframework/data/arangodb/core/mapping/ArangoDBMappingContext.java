@@ -2,15 +2,25 @@ package pending.org.springframework.data.arangodb.core.mapping;
 
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.mapping.context.AbstractMappingContext;
 import org.springframework.data.mapping.model.FieldNamingStrategy;
+import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.util.TypeInformation;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * {@link BasicArangoDBPersistentEntity} 、 {@link ArangoDBPersistentProperty}
@@ -38,6 +48,26 @@ public class ArangoDBMappingContext
 	 */
 	private FieldNamingStrategy fieldNamingStrategy = DEFAULT_NAMING_STRATEGY;
 
+	/**
+	 * 型のエイリアスとクラスのマッピングです。
+	 * 
+	 * <p>
+	 * マッピング情報を追加するたびに、 {@link org.springframework.data.annotation.TypeAlias} の値とクラス名を登録します。
+	 * 初期エンティティは {@link #afterPropertiesSet()} で登録されるため、読み込み時にクラスをロードする必要はありません。
+	 * </p>
+	 */
+	private final Map<String, Class<?>> typesByAlias = new ConcurrentHashMap<>();
+
+	/**
+	 * 初期エンティティです。
+	 */
+	private Set<? extends Class<?>> initialEntitySet = Collections.emptySet();
+
+	/**
+	 * 初期エンティティのリフレクション情報を並列に読み込むかどうかです。
+	 */
+	private boolean parallelInitialization = true;
+
 	/**
 	 * フィールド名ストラテジのインスタンスを設定します。
 	 * 
@@ -47,6 +77,57 @@ public class ArangoDBMappingContext
 		this.fieldNamingStrategy = fieldNamingStrategy == null ? DEFAULT_NAMING_STRATEGY : fieldNamingStrategy;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setInitialEntitySet(Set<? extends Class<?>> initialEntitySet) {
+		super.setInitialEntitySet(initialEntitySet);
+		this.initialEntitySet = initialEntitySet == null ? Collections.<Class<?>> emptySet()
+				: new LinkedHashSet<Class<?>>(initialEntitySet);
+	}
+
+	/**
+	 * 初期エンティティのリフレクション情報を並列に読み込むかどうかを設定します。<br>
+	 * デフォルトは {@code true} です。
+	 * 
+	 * @param parallelInitialization 並列に読み込む場合は {@code true}
+	 */
+	public void setParallelInitialization(boolean parallelInitialization) {
+		this.parallelInitialization = parallelInitialization;
+	}
+
+	/**
+	 * 初期エンティティのマッピング情報を生成します。
+	 * 
+	 * <p>
+	 * マッピング情報の登録はロックの中で1つずつ行われるため、
+	 * 時間のかかるプロパティ記述子、フィールド、アノテーションの読み込みを先に並列で行い、キャッシュしておきます。
+	 * </p>
+	 */
+	@Override
+	public void initialize() {
+
+		if (parallelInitialization && initialEntitySet.size() > 1) {
+			initialEntitySet.parallelStream().forEach(ArangoDBMappingContext::introspect);
+		}
+
+		super.initialize();
+	}
+
+	/**
+	 * クラスのリフレクション情報を読み込み、 Spring のキャッシュに格納します。
+	 * 
+	 * @param type
+	 *            クラス
+	 */
+	private static void introspect(Class<?> type) {
+		type.getAnnotations();
+		BeanUtils.getPropertyDescriptors(type);
+		ReflectionUtils.doWithFields(type, field -> field.getAnnotations());
+		ReflectionUtils.doWithMethods(type, method -> method.getAnnotations());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -60,6 +141,81 @@ public class ArangoDBMappingContext
 		return entity;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected BasicArangoDBPersistentEntity<?> addPersistentEntity(TypeInformation<?> typeInformation) {
+
+		BasicArangoDBPersistentEntity<?> entity = super.addPersistentEntity(typeInformation);
+
+		if (entity != null) {
+			registerAlias(entity.getType().getName(), entity.getType());
+			if (entity.getTypeAlias() != null) {
+				registerAlias(entity.getTypeAlias().toString(), entity.getType());
+			}
+		}
+
+		return entity;
+	}
+
+	/**
+	 * 型のエイリアスに対応するクラスを返します。
+	 * 
+	 * @param alias
+	 *            {@link org.springframework.data.annotation.TypeAlias} の値、またはクラス名
+	 * @return クラス。登録されていない場合は {@code null}
+	 */
+	public Class<?> getTypeForAlias(String alias) {
+		return typesByAlias.get(alias);
+	}
+
+	/**
+	 * 型情報を書き込んだ値を、アプリケーションの再起動後も読み込めるクラスかどうかを返します。
+	 * 
+	 * <p>
+	 * 読み込み時のエイリアスの解決は登録済みのエイリアスだけを使用するため、
+	 * {@link org.springframework.data.annotation.TypeAlias} が付与されたクラスか、初期エンティティだけが対象です。
+	 * </p>
+	 * 
+	 * @param type
+	 *            クラス
+	 * @return 読み込めるクラスならば {@code true} 、そうでなければ {@code false}
+	 */
+	public boolean isTypeResolvable(Class<?> type) {
+		return initialEntitySet.contains(type) || AnnotationUtils.findAnnotation(type, TypeAlias.class) != null;
+	}
+
+	/**
+	 * クラスの型のエイリアスを返します。
+	 * 
+	 * @param type
+	 *            クラス
+	 * @return {@link org.springframework.data.annotation.TypeAlias} の値。指定されていない場合はクラス名
+	 */
+	public String getTypeAlias(Class<?> type) {
+		BasicArangoDBPersistentEntity<?> entity = getPersistentEntity(type);
+		return entity == null || entity.getTypeAlias() == null ? type.getName() : entity.getTypeAlias().toString();
+	}
+
+	/**
+	 * 型のエイリアスを登録します。
+	 * 
+	 * @param alias
+	 *            型のエイリアス
+	 * @param type
+	 *            クラス
+	 * @throws MappingException
+	 *             同じエイリアスが別のクラスに登録されている場合
+	 */
+	private void registerAlias(String alias, Class<?> type) {
+		Class<?> existing = typesByAlias.putIfAbsent(alias, type);
+		if (existing != null && existing != type) {
+			throw new MappingException(String.format("Type alias '%s' is used by both %s and %s.", alias,
+					existing.getName(), type.getName()));
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -2,6 +2,8 @@ package pending.org.springframework.data.arangodb.core.mapping;
 
 import org.springframework.data.mapping.PersistentEntity;
 
+import com.arangodb.model.CollectionCreateOptions;
+
 /**
  * 0以上のプロパティを含む永続化されるエンティティを表します。
  * 
@@ -10,4 +12,53 @@ import org.springframework.data.mapping.PersistentEntity;
  * @param <T> エンティティ
  */
 public interface ArangoDBPersistentEntity<T> extends PersistentEntity<T, ArangoDBPersistentProperty> {
+
+	/**
+	 * エンティティを永続化するコレクション名を返します。
+	 * 
+	 * @return {@link Edge} 、 {@link Entity} で指定されたコレクション名。指定がなければクラスの単純名
+	 */
+	String getCollectionName();
+
+	/**
+	 * エッジコレクションに永続化されるエンティティかどうかを返します。
+	 * 
+	 * @return {@link Edge} がつけられていれば {@code true} 、そうでなければ {@code false}
+	 */
+	boolean isEdge();
+
+	/**
+	 * エッジの始点 ({@code _from}) をマッピングするプロパティを返します。
+	 * 
+	 * @return {@link From} がつけられたプロパティ。存在しなければ {@code null}
+	 */
+	ArangoDBPersistentProperty getFromProperty();
+
+	/**
+	 * エッジの終点 ({@code _to}) をマッピングするプロパティを返します。
+	 * 
+	 * @return {@link To} がつけられたプロパティ。存在しなければ {@code null}
+	 */
+	ArangoDBPersistentProperty getToProperty();
+
+	/**
+	 * 地理インデックスを作成するプロパティを返します。
+	 * 
+	 * @return {@link GeoIndexed} がつけられたプロパティ。存在しなければ {@code null}
+	 */
+	ArangoDBPersistentProperty getGeoIndexedProperty();
+
+	/**
+	 * 地理検索で計算された距離を読み込むプロパティを返します。
+	 * 
+	 * @return {@link GeoDistance} がつけられたプロパティ。存在しなければ {@code null}
+	 */
+	ArangoDBPersistentProperty getGeoDistanceProperty();
+
+	/**
+	 * エンティティを永続化するコレクションを作成するときのオプションを返します。
+	 * 
+	 * @return {@link Entity} 、 {@link Edge} で宣言されたオプション。どちらもつけられていなければ {@code null}
+	 */
+	CollectionCreateOptions getCollectionCreateOptions();
 }
@@ -9,4 +9,52 @@ import org.springframework.data.mapping.PersistentProperty;
  *
  */
 public interface ArangoDBPersistentProperty extends PersistentProperty<ArangoDBPersistentProperty> {
+
+	/**
+	 * エッジの始点 ({@code _from}) をマッピングするプロパティかどうかを返します。
+	 * 
+	 * @return {@link From} がつけられていれば {@code true} 、そうでなければ {@code false}
+	 */
+	boolean isFromProperty();
+
+	/**
+	 * エッジの終点 ({@code _to}) をマッピングするプロパティかどうかを返します。
+	 * 
+	 * @return {@link To} がつけられていれば {@code true} 、そうでなければ {@code false}
+	 */
+	boolean isToProperty();
+
+	/**
+	 * 他のドキュメントへの参照としてマッピングするプロパティかどうかを返します。
+	 * 
+	 * @return {@link Ref} がつけられていれば {@code true} 、そうでなければ {@code false}
+	 */
+	boolean isReference();
+
+	/**
+	 * 参照先を親と同じクエリで読み込むプロパティかどうかを返します。
+	 * 
+	 * @return {@link Ref#lazy()} が {@code false} であれば {@code true} 、そうでなければ {@code false}
+	 */
+	boolean isEagerReference();
+
+	/**
+	 * ドキュメントに保存する属性名を返します。
+	 * 
+	 * @return {@link Field} で指定された属性名。指定されていなければ
+	 *         {@link org.springframework.data.mapping.model.FieldNamingStrategy} により決定された属性名
+	 */
+	String getFieldName();
+
+	/**
+	 * ルートのエンティティのプロパティとして、ドキュメントに保存される属性名を返します。
+	 * 
+	 * <p>
+	 * ID は {@code _key} 、バージョンは {@code _rev} 、エッジの始点と終点は {@code _from} 、 {@code _to} に保存されます。<br>
+	 * 入れ子のオブジェクトのプロパティの属性名は {@link #getFieldName()} です。
+	 * </p>
+	 * 
+	 * @return 属性名
+	 */
+	String getRootAttributeName();
 }
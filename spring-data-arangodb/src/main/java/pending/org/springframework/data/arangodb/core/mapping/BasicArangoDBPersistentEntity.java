@@ -1,9 +1,20 @@
 package pending.org.springframework.data.arangodb.core.mapping;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.data.mapping.model.BasicPersistentEntity;
+import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.util.TypeInformation;
+import org.springframework.util.StringUtils;
+
+import com.arangodb.entity.CollectionType;
+import com.arangodb.model.CollectionCreateOptions;
+
+import pending.org.springframework.data.arangodb.core.geo.GeoPoint;
 
 /**
  * エンティティを表します。
@@ -21,6 +32,36 @@ public class BasicArangoDBPersistentEntity<T> extends BasicPersistentEntity<T, A
 	 */
 	private Environment environment;
 
+	/**
+	 * コレクション名です。
+	 */
+	private final String collectionName;
+
+	/**
+	 * エッジの始点をマッピングするプロパティです。
+	 */
+	private ArangoDBPersistentProperty fromProperty;
+
+	/**
+	 * エッジの終点をマッピングするプロパティです。
+	 */
+	private ArangoDBPersistentProperty toProperty;
+
+	/**
+	 * 地理インデックスを作成するプロパティです。
+	 */
+	private ArangoDBPersistentProperty geoIndexedProperty;
+
+	/**
+	 * 地理検索で計算された距離を読み込むプロパティです。
+	 */
+	private ArangoDBPersistentProperty geoDistanceProperty;
+
+	/**
+	 * 属性名とプロパティのマッピングです。
+	 */
+	private final Map<String, ArangoDBPersistentProperty> propertiesByFieldName = new HashMap<>();
+
 	/**
 	 * インスタンスを生成します。
 	 * 
@@ -29,6 +70,18 @@ public class BasicArangoDBPersistentEntity<T> extends BasicPersistentEntity<T, A
 	 */
 	public BasicArangoDBPersistentEntity(final TypeInformation<T> typeInformation) {
 		super(typeInformation);
+
+		Class<T> type = typeInformation.getType();
+		String name = type.getSimpleName();
+		Entity entity = type.getAnnotation(Entity.class);
+		if (entity != null && StringUtils.hasLength(entity.collectionName())) {
+			name = entity.collectionName();
+		}
+		Edge edge = AnnotatedElementUtils.findMergedAnnotation(type, Edge.class);
+		if (edge != null && StringUtils.hasLength(edge.collectionName())) {
+			name = edge.collectionName();
+		}
+		this.collectionName = name;
 	}
 
 	/**
@@ -38,4 +91,148 @@ public class BasicArangoDBPersistentEntity<T> extends BasicPersistentEntity<T, A
 	public void setEnvironment(Environment environment) {
 		this.environment = environment;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addPersistentProperty(ArangoDBPersistentProperty property) {
+
+		ArangoDBPersistentProperty existing = propertiesByFieldName.get(property.getFieldName());
+		if (existing != null && !existing.getName().equals(property.getName())) {
+			throw new MappingException(String.format("Properties %s and %s of %s map to the same field name %s",
+					existing.getName(), property.getName(), getType().getName(), property.getFieldName()));
+		}
+		propertiesByFieldName.put(property.getFieldName(), property);
+
+		super.addPersistentProperty(property);
+
+		if (property.isFromProperty()) {
+			fromProperty = property;
+		}
+		if (property.isToProperty()) {
+			toProperty = property;
+		}
+		if (property.isAnnotationPresent(GeoIndexed.class)) {
+			if (property.getType() != GeoPoint.class) {
+				throw new MappingException(String.format("@GeoIndexed property %s of %s must be a GeoPoint",
+						property.getName(), getType().getName()));
+			}
+			if (geoIndexedProperty != null) {
+				throw new MappingException(String.format("%s has more than one @GeoIndexed property: %s and %s",
+						getType().getName(), geoIndexedProperty.getName(), property.getName()));
+			}
+			geoIndexedProperty = property;
+		}
+		if (property.isAnnotationPresent(GeoDistance.class)) {
+			if (property.getType() != double.class && property.getType() != Double.class) {
+				throw new MappingException(String.format("@GeoDistance property %s of %s must be a double",
+						property.getName(), getType().getName()));
+			}
+			geoDistanceProperty = property;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCollectionName() {
+		return collectionName;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEdge() {
+		return findAnnotation(Edge.class) != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBPersistentProperty getFromProperty() {
+		return fromProperty;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBPersistentProperty getToProperty() {
+		return toProperty;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBPersistentProperty getGeoIndexedProperty() {
+		return geoIndexedProperty;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBPersistentProperty getGeoDistanceProperty() {
+		return geoDistanceProperty;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CollectionCreateOptions getCollectionCreateOptions() {
+
+		Edge edge = AnnotatedElementUtils.findMergedAnnotation(getType(), Edge.class);
+		if (edge != null) {
+			return createCollectionCreateOptions(CollectionType.EDGES, edge.waitForSync(), edge.numberOfShards(),
+					edge.shardKeys(), edge.replicationFactor());
+		}
+
+		Entity entity = getType().getAnnotation(Entity.class);
+		if (entity != null) {
+			return createCollectionCreateOptions(CollectionType.DOCUMENT, entity.waitForSync(),
+					entity.numberOfShards(), entity.shardKeys(), entity.replicationFactor());
+		}
+
+		return null;
+	}
+
+	/**
+	 * コレクションを作成するときのオプションを生成します。
+	 * 
+	 * @param type
+	 *            コレクションの種類
+	 * @param waitForSync
+	 *            書き込みをディスクに同期するかどうか
+	 * @param numberOfShards
+	 *            シャード数。 {@code 0} の場合は指定しません
+	 * @param shardKeys
+	 *            シャードキー。空の場合は指定しません
+	 * @param replicationFactor
+	 *            レプリケーション数。 {@code 0} の場合は指定しません
+	 * @return {@link CollectionCreateOptions}
+	 */
+	private static CollectionCreateOptions createCollectionCreateOptions(CollectionType type, boolean waitForSync,
+			int numberOfShards, String[] shardKeys, int replicationFactor) {
+
+		CollectionCreateOptions options = new CollectionCreateOptions().type(type);
+		if (waitForSync) {
+			options.waitForSync(true);
+		}
+		if (numberOfShards > 0) {
+			options.numberOfShards(numberOfShards);
+		}
+		if (shardKeys.length > 0) {
+			options.shardKeys(shardKeys);
+		}
+		if (replicationFactor > 0) {
+			options.replicationFactor(replicationFactor);
+		}
+		return options;
+	}
 }
@@ -1,13 +1,13 @@
 package pending.org.springframework.data.arangodb.core.mapping;
 
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
 
 import org.springframework.data.mapping.Association;
 import org.springframework.data.mapping.model.AnnotationBasedPersistentProperty;
 import org.springframework.data.mapping.model.FieldNamingStrategy;
 import org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
+import org.springframework.util.StringUtils;
 
 /**
  * エンティティのプロパティを表します。
@@ -23,6 +23,11 @@ public class BasicArangoDBPersistentProperty extends AnnotationBasedPersistentPr
 	 */
 	private final FieldNamingStrategy fieldNamingStrategy;
 
+	/**
+	 * ドキュメントに保存する属性名です。
+	 */
+	private final String fieldName;
+
 	/**
 	 * インスタンスを生成します。
 	 * 
@@ -37,13 +42,82 @@ public class BasicArangoDBPersistentProperty extends AnnotationBasedPersistentPr
 	 * @param fieldNamingStrategy
 	 *            {@link FieldNamingStrategy}
 	 */
-	public BasicArangoDBPersistentProperty(final Field field, final PropertyDescriptor propertyDescriptor,
-			final ArangoDBPersistentEntity<?> owner, final SimpleTypeHolder simpleTypeHolder,
+	public BasicArangoDBPersistentProperty(final java.lang.reflect.Field field,
+			final PropertyDescriptor propertyDescriptor, final ArangoDBPersistentEntity<?> owner, final SimpleTypeHolder simpleTypeHolder,
 			final FieldNamingStrategy fieldNamingStrategy) {
 
 		super(field, propertyDescriptor, owner, simpleTypeHolder);
 		this.fieldNamingStrategy = fieldNamingStrategy == null ? PropertyNameFieldNamingStrategy.INSTANCE
 				: fieldNamingStrategy;
+
+		Field annotation = findAnnotation(Field.class);
+		this.fieldName = annotation != null && StringUtils.hasText(annotation.value()) ? annotation.value()
+				: this.fieldNamingStrategy.getFieldName(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getRootAttributeName() {
+
+		ArangoDBPersistentEntity<?> owner = (ArangoDBPersistentEntity<?>) getOwner();
+
+		if (isIdProperty()) {
+			return "_key";
+		}
+		if (isVersionProperty()) {
+			return "_rev";
+		}
+		if (owner.isEdge() && isFromProperty()) {
+			return "_from";
+		}
+		if (owner.isEdge() && isToProperty()) {
+			return "_to";
+		}
+
+		return fieldName;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isFromProperty() {
+		return isAnnotationPresent(From.class);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isToProperty() {
+		return isAnnotationPresent(To.class);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isReference() {
+		return isAnnotationPresent(Ref.class);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEagerReference() {
+		Ref ref = findAnnotation(Ref.class);
+		return ref != null && !ref.lazy();
 	}
 
 	/**
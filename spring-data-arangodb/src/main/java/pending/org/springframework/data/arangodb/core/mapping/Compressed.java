@@ -0,0 +1,47 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.annotation.Persistent;
+
+/**
+ * Arango DB に永続化するプロパティの値を圧縮します。
+ * 
+ * <p>
+ * {@link String} 、 {@code byte[]} 、
+ * {@link pending.org.springframework.data.arangodb.core.convert.CompressedValue} のプロパティに指定できます。<br>
+ * {@code CompressedValue} のプロパティは、値を参照するまで展開しません。<br>
+ * {@link Encrypt} と併用した場合は、圧縮してから暗号化します。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Persistent
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Compressed {
+
+	/**
+	 * 圧縮方式です。
+	 * 
+	 * @return {@link CompressionCodec}
+	 */
+	CompressionCodec codec() default CompressionCodec.DEFLATE;
+
+	/**
+	 * 圧縮する値の長さ ({@link String} は文字数、 {@code byte[]} はバイト数) の下限です。
+	 * 
+	 * <p>
+	 * これより短い値や、圧縮しても小さくならない値は、圧縮せずに保存します。
+	 * </p>
+	 * 
+	 * @return 圧縮する値の長さの下限
+	 */
+	int threshold() default 1024;
+}
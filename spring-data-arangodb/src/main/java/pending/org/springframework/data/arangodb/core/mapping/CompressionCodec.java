@@ -0,0 +1,20 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+/**
+ * {@link Compressed} のプロパティの圧縮方式です。
+ * 
+ * @author hs0x01
+ *
+ */
+public enum CompressionCodec {
+
+	/**
+	 * ヘッダのない DEFLATE 形式です。
+	 */
+	DEFLATE,
+
+	/**
+	 * GZIP 形式です。
+	 */
+	GZIP
+}
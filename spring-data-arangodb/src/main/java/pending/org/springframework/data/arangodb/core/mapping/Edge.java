@@ -0,0 +1,51 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.annotation.Persistent;
+
+/**
+ * Arango DB のエッジコレクションに永続化するオブジェクトを識別します。
+ * 
+ * <p>
+ * エッジの始点、終点のドキュメントハンドル ({@code _id}) は、 {@link From} 、 {@link To} をつけたプロパティにマッピングされます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Persistent
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Edge {
+	
+	/**
+	 * エッジコレクション名です。
+	 */
+	String collectionName() default "";
+
+	/**
+	 * コレクションを作成するときに、書き込みをディスクに同期するかどうかです。
+	 */
+	boolean waitForSync() default false;
+
+	/**
+	 * コレクションを作成するときのシャード数です。 {@code 0} の場合はサーバーのデフォルトです。
+	 */
+	int numberOfShards() default 0;
+
+	/**
+	 * コレクションを作成するときのシャードキーです。空の場合はサーバーのデフォルトです。
+	 */
+	String[] shardKeys() default {};
+
+	/**
+	 * コレクションを作成するときのレプリケーション数です。 {@code 0} の場合はサーバーのデフォルトです。
+	 */
+	int replicationFactor() default 0;
+}
@@ -19,4 +19,16 @@ import org.springframework.data.annotation.Persistent;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface Encrypt {
+
+	/**
+	 * 同じ値を常に同じ暗号文に暗号化するかどうかです。
+	 * 
+	 * <p>
+	 * {@code true} の場合は、暗号化した値による等価検索やハッシュインデックスが使用できます。
+	 * ただし、同じ値を持つドキュメントが暗号文から判別できるようになります。
+	 * </p>
+	 * 
+	 * @return 決定的に暗号化する場合は {@code true}
+	 */
+	boolean deterministic() default false;
 }
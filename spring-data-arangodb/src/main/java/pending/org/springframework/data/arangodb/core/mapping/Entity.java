@@ -24,4 +24,24 @@ public @interface Entity {
 	 * コレクション名です。
 	 */
 	String collectionName() default "";
+
+	/**
+	 * コレクションを作成するときに、書き込みをディスクに同期するかどうかです。
+	 */
+	boolean waitForSync() default false;
+
+	/**
+	 * コレクションを作成するときのシャード数です。 {@code 0} の場合はサーバーのデフォルトです。
+	 */
+	int numberOfShards() default 0;
+
+	/**
+	 * コレクションを作成するときのシャードキーです。空の場合はサーバーのデフォルトです。
+	 */
+	String[] shardKeys() default {};
+
+	/**
+	 * コレクションを作成するときのレプリケーション数です。 {@code 0} の場合はサーバーのデフォルトです。
+	 */
+	int replicationFactor() default 0;
 }
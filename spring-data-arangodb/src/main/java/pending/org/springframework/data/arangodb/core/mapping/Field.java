@@ -0,0 +1,28 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * プロパティをドキュメントに保存する属性名を指定します。
+ * 
+ * <p>
+ * 指定した属性名は {@link org.springframework.data.mapping.model.FieldNamingStrategy} より優先されます。
+ * 短い属性名を指定すると、ドキュメントのサイズを小さくできます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Field {
+
+	/**
+	 * ドキュメントの属性名です。空の場合は {@link org.springframework.data.mapping.model.FieldNamingStrategy}
+	 * により決定されます。
+	 */
+	String value() default "";
+}
@@ -0,0 +1,22 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * リポジトリの {@code Near} 、 {@code Within} のクエリメソッドで計算された、検索の中心からの距離 (メートル) を読み込むプロパティです。
+ * 
+ * <p>
+ * {@code double} 、 {@link Double} のプロパティにつけられます。
+ * このプロパティはドキュメントに書き込まれず、それ以外のクエリでは設定されません。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface GeoDistance {
+}
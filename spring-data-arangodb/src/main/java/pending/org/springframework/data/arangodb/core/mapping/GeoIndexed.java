@@ -0,0 +1,26 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link pending.org.springframework.data.arangodb.core.geo.GeoPoint} のプロパティに、地理インデックスを作成します。
+ * 
+ * <p>
+ * インデックスは、 {@code Near} 、 {@code Within} のクエリメソッドを最初に実行したときに、データベースごとに
+ * {@link pending.org.springframework.data.arangodb.core.ArangoDBOperations#ensureGeoIndex(Class)} で作成されます。
+ * {@link pending.org.springframework.data.arangodb.config.ArangoDBWarmup} を使用すると、デフォルトのデータベースには起動時に作成されます。<br>
+ * リポジトリの {@code Near} 、 {@code Within} のクエリメソッドは、 AQL の {@code NEAR()} 、 {@code WITHIN()} 、
+ * {@code WITHIN_RECTANGLE()} でこのインデックスを使用します。
+ * これらの関数はコレクションの地理インデックスを指定できないため、1つのエンティティにつけられるのは1つのプロパティだけです。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface GeoIndexed {
+}
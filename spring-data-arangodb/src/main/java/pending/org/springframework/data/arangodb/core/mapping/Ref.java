@@ -0,0 +1,36 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.annotation.Reference;
+
+/**
+ * 他のドキュメントへの参照としてマッピングするプロパティを識別します。
+ * 
+ * <p>
+ * 参照先のエンティティは埋め込まれず、ドキュメントハンドル ({@code コレクション名/キー}) だけが保存されます。<br>
+ * プロパティの型はエンティティ、またはエンティティの {@link java.util.Collection} です。
+ * コレクションの参照先は、1回の複数ドキュメント取得でまとめて読み込まれます。
+ * </p>
+ * 
+ * <p>
+ * {@link #lazy()} が {@code true} の場合、参照先はプロキシで返され、最初にアクセスされた時に読み込まれます。<br>
+ * {@code false} の場合、リポジトリの AQL に {@code DOCUMENT()} による参照先の取得が含まれ、親と同じクエリで読み込まれます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Reference
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Ref {
+
+	/**
+	 * 参照先を遅延して読み込むかどうかです。
+	 */
+	boolean lazy() default true;
+}
@@ -0,0 +1,26 @@
+package pending.org.springframework.data.arangodb.core.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.annotation.Persistent;
+
+/**
+ * {@link Edge} の終点のドキュメントハンドル ({@code _to}) をマッピングするプロパティを識別します。
+ * 
+ * <p>
+ * プロパティの型は {@link String} で、 {@code コレクション名/キー} の形式の値を保持します。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Persistent
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface To {
+}
@@ -1,10 +1,19 @@
 package pending.org.springframework.data.arangodb.repository;
 
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Example;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.QueryByExampleExecutor;
 
 import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+import pending.org.springframework.data.arangodb.core.ExportOptions;
+import pending.org.springframework.data.arangodb.core.ExportProgress;
+import pending.org.springframework.data.arangodb.core.TraversalPath;
+import pending.org.springframework.data.arangodb.core.TraversalSpec;
 
 /**
  * Arango DB の {@link org.springframework.data.repository.Repository} インタフェースです。
@@ -14,7 +23,7 @@ import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
  * @param <T> エンティティ
  * @param <ID> ID
  */
-public interface ArangoDBRepository<T, ID extends Serializable> extends CrudRepository<T, ID> {
+public interface ArangoDBRepository<T, ID extends Serializable> extends CrudRepository<T, ID>, QueryByExampleExecutor<T> {
 
 	/**
 	 * {@link ArangoDBOperations} の実装インスタンスを返します。
@@ -22,4 +31,99 @@ public interface ArangoDBRepository<T, ID extends Serializable> extends CrudRepo
 	 * @return {@link ArangoDBOperations} の実装インスタンス
 	 */
 	ArangoDBOperations getArangoDBOperations();
+
+	/**
+	 * コレクションの全てのドキュメントを、エンティティに変換せずに {@code out} に書き込みます。
+	 * 
+	 * <p>
+	 * {@link #findAll()} と異なり、結果はカーソルのバッチ単位で書き込まれ、全件をメモリに保持しません。
+	 * {@code out} は閉じられません。
+	 * </p>
+	 * 
+	 * @param out 出力先
+	 * @param options {@link ExportOptions}
+	 * @return 書き込みの結果
+	 */
+	ExportProgress export(OutputStream out, ExportOptions options);
+
+	/**
+	 * {@code id} のエンティティを始点としたグラフトラバーサルでたどった頂点を返します。
+	 * 
+	 * <p>
+	 * 結果はカーソルから順に読み込まれます。使用後は {@link Stream#close()} を呼び出してください。
+	 * </p>
+	 * 
+	 * @param id 始点のエンティティの ID
+	 * @param spec トラバーサルの条件
+	 * @return 頂点のエンティティの {@link Stream}
+	 */
+	Stream<T> traverse(ID id, TraversalSpec spec);
+
+	/**
+	 * {@code id} のエンティティを始点としたグラフトラバーサルでたどったエッジを返します。
+	 * 
+	 * @param id 始点のエンティティの ID
+	 * @param spec トラバーサルの条件
+	 * @param edgeClass エッジのエンティティクラス
+	 * @return エッジのエンティティの {@link Stream}
+	 */
+	<E> Stream<E> traverseEdges(ID id, TraversalSpec spec, Class<E> edgeClass);
+
+	/**
+	 * {@code id} のエンティティを始点としたグラフトラバーサルでたどったパスを返します。
+	 * 
+	 * @param id 始点のエンティティの ID
+	 * @param spec トラバーサルの条件
+	 * @param edgeClass エッジのエンティティクラス
+	 * @return {@link TraversalPath} の {@link Stream}
+	 */
+	<E> Stream<TraversalPath<T, E>> traversePaths(ID id, TraversalSpec spec, Class<E> edgeClass);
+
+	/**
+	 * {@code criteria} に一致する全てのドキュメントの {@code properties} を、 {@code patch} の値で更新します。
+	 * 
+	 * <p>
+	 * 1つの {@code FOR ... FILTER ... UPDATE} 文としてサーバーで実行され、ドキュメントはクライアントに転送されません。<br>
+	 * 更新されるのは {@code properties} に指定したプロパティだけで、値が {@code null} の場合も {@code null} で更新されます。
+	 * それ以外のプロパティは、プリミティブ型であっても更新されません。
+	 * 値は保存時と同じく、カスタムコンバータ、暗号化、圧縮を適用して書き込まれます。<br>
+	 * {@code criteria} は1つ以上の条件を含む必要があります。全てのドキュメントを更新することはできません。
+	 * </p>
+	 * 
+	 * @param criteria 更新するドキュメントの条件
+	 * @param patch 更新する値を設定したエンティティ
+	 * @param properties 更新するプロパティ名。ID とバージョンは指定できません
+	 * @return 更新されたドキュメントの件数。トランザクション内ではコミットまで実行されないため空
+	 * @throws IllegalArgumentException {@code criteria} に条件がない場合、 {@code properties} が空、
+	 *             または更新できないプロパティを含む場合
+	 */
+	<S extends T> OptionalLong updateAll(Example<S> criteria, S patch, String... properties);
+
+	/**
+	 * {@code criteria} に一致する全てのドキュメントを削除します。
+	 * 
+	 * <p>
+	 * 1つの {@code FOR ... FILTER ... REMOVE} 文としてサーバーで実行され、ドキュメントはクライアントに転送されません。<br>
+	 * {@code criteria} は1つ以上の条件を含む必要があります。全てのドキュメントを削除する場合は {@link #deleteAll()} を使用してください。
+	 * </p>
+	 * 
+	 * @param criteria 削除するドキュメントの条件
+	 * @return 削除されたドキュメントの件数。トランザクション内ではコミットまで実行されないため空
+	 * @throws IllegalArgumentException {@code criteria} に条件がない場合
+	 */
+	<S extends T> OptionalLong removeAll(Example<S> criteria);
+
+	/**
+	 * リポジトリの基本的な AQL のうち、結果が空または件数だけになるものを1回ずつ実行します。
+	 * 
+	 * <p>
+	 * アプリケーションの起動時に、サーバーのクエリ解析とインデックスの読み込みを済ませておくために使用します。<br>
+	 * {@link pending.org.springframework.data.arangodb.repository.support.SimpleArangoDBRepository} は、
+	 * 空のキーの集合での {@link #findAll(Iterable)} と {@link #count()} を、
+	 * ページング可能なリポジトリではさらに件数 {@code 0} でのソートなしの {@code findAll(Pageable)} を実行します。<br>
+	 * 全件を返す {@link #findAll()} 、呼び出されるまで決まらないソート条件や {@link Example} の AQL 、
+	 * クエリメソッドの AQL は、安全な引数が決まらないため実行しません。
+	 * </p>
+	 */
+	void warmUpQueries();
 }
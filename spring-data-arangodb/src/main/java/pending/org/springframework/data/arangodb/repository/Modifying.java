@@ -0,0 +1,27 @@
+package pending.org.springframework.data.arangodb.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link Query} の AQL が、 {@code UPDATE} 、 {@code REPLACE} 、 {@code REMOVE} などでドキュメントを書き込むことを示します。
+ * 
+ * <p>
+ * AQL は書き込み用クライアントで実行され、書き込まれたドキュメントの件数を返します。
+ * メソッドの戻り値の型は {@code void} 、 {@code int} 、 {@code long} (またはそのラッパー型) 、 {@link java.util.OptionalLong}
+ * である必要があります。<br>
+ * トランザクション内の書き込みはコミットまで実行されないため、件数はわかりません。
+ * {@link java.util.OptionalLong} は空になり、 {@code int} 、 {@code long} は {@link IllegalStateException} を送出します。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface Modifying {
+}
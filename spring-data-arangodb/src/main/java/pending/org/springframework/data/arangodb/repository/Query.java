@@ -0,0 +1,34 @@
+package pending.org.springframework.data.arangodb.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.annotation.QueryAnnotation;
+
+/**
+ * リポジトリのメソッドで実行する AQL を指定します。
+ * 
+ * <p>
+ * メソッドの引数は、位置のバインド変数 ({@code @0} 、 {@code @1} …) と、
+ * {@link org.springframework.data.repository.query.Param} で指定した名前のバインド変数で渡されます。<br>
+ * AQL が {@code @@col} を含む場合は、リポジトリのエンティティのコレクション名が渡されます。<br>
+ * 書き込む AQL には {@link Modifying} を指定してください。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+@Documented
+@QueryAnnotation
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface Query {
+
+	/**
+	 * AQL です。
+	 */
+	String value();
+}
@@ -7,6 +7,7 @@ import pending.org.springframework.data.arangodb.core.ArangoDBTemplate;
 import pending.org.springframework.data.arangodb.repository.support.ArangoDBRepositoryFactoryBean;
 
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.data.config.ParsingUtils;
 import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
 import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
@@ -49,6 +50,11 @@ public class ArangoDBRepositoryConfigurationExtension extends RepositoryConfigur
 	public void postProcess(final BeanDefinitionBuilder builder, final AnnotationRepositoryConfigurationSource config) {
 		builder.addDependsOn(BeanNames.ARANGO_DB_OPERATIONS_MAPPING);
 		builder.addPropertyReference("arangoDBOperationsMapping", BeanNames.ARANGO_DB_OPERATIONS_MAPPING);
+		
+		AnnotationAttributes attributes = config.getAttributes();
+		builder.addPropertyValue("queryPlanCheckMode", attributes.getEnum("queryPlanCheck"));
+		builder.addPropertyValue("largeCollectionThreshold", attributes.getNumber("largeCollectionThreshold"));
+		builder.addPropertyValue("bootstrapMode", attributes.getEnum("bootstrapMode"));
 	}
 	
 	/**
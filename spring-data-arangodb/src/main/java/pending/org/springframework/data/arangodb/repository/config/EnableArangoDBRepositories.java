@@ -5,6 +5,7 @@ import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.Import;
 import pending.org.springframework.data.arangodb.config.BeanNames;
 import pending.org.springframework.data.arangodb.core.ArangoDBTemplate;
+import pending.org.springframework.data.arangodb.repository.support.ArangoDBQueryPlanChecker;
 import pending.org.springframework.data.arangodb.repository.support.ArangoDBRepositoryFactoryBean;
 import org.springframework.data.repository.config.DefaultRepositoryBaseClass;
 
@@ -111,4 +112,30 @@ public @interface EnableArangoDBRepositories {
 	 * @return
 	 */
 	String arangoDBTemplateRef() default BeanNames.ARANGO_DB_TEMPLATE;
+
+	/**
+	 * リポジトリ生成時に、リポジトリが生成する AQL の実行計画をチェックするかどうかを設定します。
+	 * <p>
+	 * デフォルトは、 {@link QueryPlanCheckMode#NONE} です。<br>
+	 * 大きなコレクションに対するフルスキャン、メモリ上のソートを検出し、警告または例外をスローします。<br>
+	 * クエリメソッドの AQL は、代表的な引数で生成したものがリポジトリ生成時にチェックされます。<br>
+	 * ソート条件に依存する AQL は呼び出し時にバックグラウンドで一度だけチェックされ、警告ログのみ出力されます。
+	 * </p>
+	 */
+	QueryPlanCheckMode queryPlanCheck() default QueryPlanCheckMode.NONE;
+
+	/**
+	 * 実行計画チェックで大きなコレクションとみなす推定件数を設定します。
+	 */
+	long largeCollectionThreshold() default ArangoDBQueryPlanChecker.DEFAULT_LARGE_COLLECTION_THRESHOLD;
+
+	/**
+	 * リポジトリを生成するタイミングを設定します。
+	 * <p>
+	 * デフォルトは、 {@link RepositoryBootstrapMode#DEFAULT} です。<br>
+	 * {@link RepositoryBootstrapMode#LAZY} 、 {@link RepositoryBootstrapMode#DEFERRED} の場合、
+	 * {@link #queryPlanCheck()} による実行計画のチェックもリポジトリの生成時に行われます。
+	 * </p>
+	 */
+	RepositoryBootstrapMode bootstrapMode() default RepositoryBootstrapMode.DEFAULT;
 }
@@ -0,0 +1,26 @@
+package pending.org.springframework.data.arangodb.repository.config;
+
+/**
+ * リポジトリが生成する AQL の実行計画チェックのモードです。
+ *
+ * @author hs0x01
+ *
+ */
+public enum QueryPlanCheckMode {
+
+	/**
+	 * 実行計画をチェックしません。
+	 */
+	NONE,
+
+	/**
+	 * 問題のある実行計画を警告ログに出力します。
+	 */
+	WARN,
+
+	/**
+	 * 問題のある実行計画をリポジトリの生成時に検出した場合、例外をスローします。<br>
+	 * リポジトリの呼び出し時に検出した場合は、警告ログに出力します。
+	 */
+	FAIL
+}
@@ -0,0 +1,26 @@
+package pending.org.springframework.data.arangodb.repository.config;
+
+/**
+ * リポジトリを生成するタイミングのモードです。
+ *
+ * @author hs0x01
+ *
+ */
+public enum RepositoryBootstrapMode {
+
+	/**
+	 * アプリケーションコンテキストの起動時にリポジトリを生成します。
+	 */
+	DEFAULT,
+
+	/**
+	 * リポジトリのプロキシだけを注入し、最初のメソッド呼び出しでリポジトリを生成します。
+	 */
+	LAZY,
+
+	/**
+	 * {@link #LAZY} と同様にプロキシを注入し、アプリケーションコンテキストの起動が完了した後にバックグラウンドでリポジトリを生成します。<br>
+	 * 生成が終わる前にメソッドが呼び出された場合は、呼び出し元のスレッドで生成を待ちます。
+	 */
+	DEFERRED
+}
@@ -47,6 +47,60 @@ public class RepositoryOperationsMapping {
 		this.defaultOperations = defaultOperations;
 	}
 
+	/**
+	 * リポジトリインタフェースに {@link ArangoDBOperations} を割り当てます。
+	 * 
+	 * @param repositoryInterface
+	 *            リポジトリインタフェース
+	 * @param operations
+	 *            割り当てる {@link ArangoDBOperations}
+	 * @return このインスタンス
+	 */
+	public RepositoryOperationsMapping map(Class<?> repositoryInterface, ArangoDBOperations operations) {
+		Assert.notNull(repositoryInterface);
+		Assert.notNull(operations);
+		byRepository.put(repositoryInterface.getName(), operations);
+		return this;
+	}
+
+	/**
+	 * エンティティタイプに {@link ArangoDBOperations} を割り当てます。
+	 * 
+	 * @param entityClass
+	 *            エンティティタイプ
+	 * @param operations
+	 *            割り当てる {@link ArangoDBOperations}
+	 * @return このインスタンス
+	 */
+	public RepositoryOperationsMapping mapEntity(Class<?> entityClass, ArangoDBOperations operations) {
+		Assert.notNull(entityClass);
+		Assert.notNull(operations);
+		byEntity.put(entityClass.getName(), operations);
+		return this;
+	}
+
+	/**
+	 * デフォルトフォールバックに使用される {@link ArangoDBOperations} を返します。
+	 * 
+	 * @return デフォルトの {@link ArangoDBOperations}
+	 */
+	public ArangoDBOperations getDefault() {
+		return defaultOperations;
+	}
+
+	/**
+	 * デフォルトフォールバックに使用される {@link ArangoDBOperations} を設定します。
+	 * 
+	 * @param defaultOperations
+	 *            デフォルトの {@link ArangoDBOperations}
+	 * @return このインスタンス
+	 */
+	public RepositoryOperationsMapping setDefault(ArangoDBOperations defaultOperations) {
+		Assert.notNull(defaultOperations);
+		this.defaultOperations = defaultOperations;
+		return this;
+	}
+
 	/**
 	 * リポジトリで使用される {@link MappingContext} を返します。
 	 * <p>
@@ -0,0 +1,251 @@
+package pending.org.springframework.data.arangodb.repository.query;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.util.StreamUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+import pending.org.springframework.data.arangodb.core.FullCountResult;
+
+/**
+ * AQL を実行する {@link RepositoryQuery} の基底クラスです。
+ * 
+ * <p>
+ * 書き込むクエリは書き込み用クライアントで実行され、書き込まれたドキュメントの件数を返します。
+ * ドキュメントはクライアントに転送されません。
+ * トランザクション内では件数がわからないため、戻り値の型が {@code int} 、 {@code long} のメソッドは失敗します。<br>
+ * ページのクエリは、全体の件数をサーバーの {@code fullCount} オプションにより同じクエリで数えます。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public abstract class AbstractArangoDBQuery implements RepositoryQuery {
+
+	/**
+	 * {@link ArangoDBQueryMethod} インスタンスです。
+	 */
+	protected final ArangoDBQueryMethod method;
+
+	/**
+	 * {@link ArangoDBOperations} インスタンスです。
+	 */
+	protected final ArangoDBOperations arangoDBOperations;
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param method
+	 *            {@link ArangoDBQueryMethod} インスタンス
+	 * @param arangoDBOperations
+	 *            {@link ArangoDBOperations} インスタンス
+	 */
+	public AbstractArangoDBQuery(ArangoDBQueryMethod method, ArangoDBOperations arangoDBOperations) {
+
+		Assert.notNull(method, "method must not be null!");
+		Assert.notNull(arangoDBOperations, "arangoDBOperations must not be null!");
+
+		this.method = method;
+		this.arangoDBOperations = arangoDBOperations;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ArangoDBQueryMethod getQueryMethod() {
+		return method;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object execute(Object[] parameters) {
+
+		ParametersParameterAccessor accessor = new ParametersParameterAccessor(method.getParameters(), parameters);
+
+		Map<String, Object> bindVars = new HashMap<>();
+		String aql = createQuery(accessor, bindVars);
+
+		if (isModifyingQuery()) {
+			return toReturnType(arangoDBOperations.updateByAql(aql, bindVars));
+		}
+		if (isCountQuery()) {
+			return toReturnType(arangoDBOperations.countByAql(aql, bindVars));
+		}
+		if (isExistsQuery()) {
+			return arangoDBOperations.countByAql(aql, bindVars) > 0;
+		}
+
+		ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
+		Class<?> domainType = method.getEntityInformation().getJavaType();
+
+		if (method.isPageQuery()) {
+			Pageable pageable = accessor.getPageable();
+			FullCountResult<?> result = arangoDBOperations.readByAqlWithFullCount(aql, bindVars, domainType);
+			return processor.processResult(new PageImpl<>(result.getContent(), pageable, result.getFullCount()));
+		}
+		if (method.isStreamQuery()) {
+			return processor.processResult(
+					StreamUtils.createStreamFromIterator(arangoDBOperations.streamByAql(aql, bindVars, domainType)));
+		}
+
+		List<?> list = arangoDBOperations.readByAql(aql, bindVars, domainType);
+
+		if (method.isCollectionQuery()) {
+			return processor.processResult(list);
+		}
+
+		return processor.processResult(list.isEmpty() ? null : list.get(0));
+	}
+
+	/**
+	 * 実行計画のチェックに使用する AQL を、代表的な引数で生成します。
+	 * 
+	 * <p>
+	 * 引数には型ごとの代表的な値 ({@code ""} 、 {@code 0} 、列挙型の最初の定数、1要素の配列やコレクションなど) を使用し、
+	 * {@link Pageable} は最初のページ、その他の型は {@code null} とします。<br>
+	 * クエリは実行されません。
+	 * </p>
+	 * 
+	 * @param bindVars
+	 *            AQL のバインド変数が設定されるマップ
+	 * @return AQL
+	 * @throws RuntimeException
+	 *             代表的な引数で AQL を生成できない場合
+	 */
+	public String createSampleQuery(Map<String, Object> bindVars) {
+
+		Parameters<?, ?> parameters = method.getParameters();
+		Object[] values = new Object[parameters.getNumberOfParameters()];
+
+		for (Parameter parameter : parameters) {
+			values[parameter.getIndex()] = getSampleValue(parameter.getType());
+		}
+
+		return createQuery(new ParametersParameterAccessor(parameters, values), bindVars);
+	}
+
+	/**
+	 * 実行する AQL を生成します。
+	 * 
+	 * @param accessor
+	 *            メソッドの引数
+	 * @param bindVars
+	 *            AQL のバインド変数が設定されるマップ
+	 * @return AQL
+	 */
+	protected abstract String createQuery(ParameterAccessor accessor, Map<String, Object> bindVars);
+
+	/**
+	 * ドキュメントを書き込むクエリかどうかを返します。
+	 * 
+	 * @return 書き込むクエリの場合は {@code true}
+	 */
+	protected abstract boolean isModifyingQuery();
+
+	/**
+	 * 件数を返すクエリかどうかを返します。
+	 * 
+	 * @return 件数を返すクエリの場合は {@code true}
+	 */
+	protected abstract boolean isCountQuery();
+
+	/**
+	 * 存在を確認するクエリかどうかを返します。
+	 * 
+	 * @return 存在を確認するクエリの場合は {@code true}
+	 */
+	protected abstract boolean isExistsQuery();
+
+	/**
+	 * 実行計画のチェックに使用する、型の代表的な値を返します。
+	 * 
+	 * @param type
+	 *            引数の型
+	 * @return 代表的な値。代表的な値がない型の場合は {@code null}
+	 */
+	private static Object getSampleValue(Class<?> type) {
+
+		Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(type);
+
+		if (Pageable.class.isAssignableFrom(boxed)) {
+			return new PageRequest(0, 1);
+		}
+		if (CharSequence.class.isAssignableFrom(boxed)) {
+			return "";
+		}
+		if (boxed == Boolean.class) {
+			return false;
+		}
+		if (Number.class.isAssignableFrom(boxed) || boxed == Character.class) {
+			return DefaultConversionService.getSharedInstance().convert(0, boxed);
+		}
+		if (boxed.isEnum()) {
+			Object[] constants = boxed.getEnumConstants();
+			return constants.length == 0 ? null : constants[0];
+		}
+		if (boxed.isArray()) {
+			Object array = Array.newInstance(boxed.getComponentType(), 1);
+			Object element = getSampleValue(boxed.getComponentType());
+			if (element != null) {
+				Array.set(array, 0, element);
+			}
+			return array;
+		}
+		if (Collection.class.isAssignableFrom(boxed)) {
+			return Collections.singletonList("");
+		}
+
+		return null;
+	}
+
+	/**
+	 * 件数をメソッドの戻り値の型に変換します。
+	 * 
+	 * @param count
+	 *            件数。トランザクション内の書き込みで件数がわからない場合は負の値
+	 * @return 戻り値。戻り値の型が {@code void} の場合は {@code null}
+	 * @throws IllegalStateException
+	 *             件数がわからず、戻り値の型で表せない場合
+	 */
+	private Object toReturnType(long count) {
+
+		Class<?> returnType = ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType());
+
+		if (returnType == void.class || returnType == Void.class) {
+			return null;
+		}
+		if (returnType == OptionalLong.class) {
+			return count < 0 ? OptionalLong.empty() : OptionalLong.of(count);
+		}
+		if (count < 0) {
+			throw new IllegalStateException(String.format("Query method %s cannot return the number of written "
+					+ "documents inside a transaction, declare void or OptionalLong instead!", method.getName()));
+		}
+		if (returnType == Integer.class) {
+			return (int) count;
+		}
+
+		return count;
+	}
+}
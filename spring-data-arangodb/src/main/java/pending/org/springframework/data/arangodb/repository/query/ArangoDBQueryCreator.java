@@ -0,0 +1,674 @@
+package pending.org.springframework.data.arangodb.repository.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.context.PersistentPropertyPath;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.parser.AbstractQueryCreator;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.Part.IgnoreCaseType;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.CollectionUtils;
+
+import pending.org.springframework.data.arangodb.core.convert.ArangoDBConverter;
+import pending.org.springframework.data.arangodb.core.geo.GeoPoint;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
+import pending.org.springframework.data.arangodb.core.mapping.Compressed;
+import pending.org.springframework.data.arangodb.core.mapping.Encrypt;
+import pending.org.springframework.data.arangodb.core.mapping.GeoDistance;
+import pending.org.springframework.data.arangodb.core.mapping.GeoIndexed;
+
+/**
+ * クエリメソッドの名前から AQL を生成します。
+ *
+ * <p>
+ * 引数の値は {@link ArangoDBConverter#convertToArangoDBType(Object)} で変換し、バインド変数で渡します。
+ * バインド変数名は条件の順序で決まるため、同じメソッドは常に同じ AQL になります。<br>
+ * {@code deleteBy} は {@code REMOVE} を、 {@code countBy} は {@code COLLECT WITH COUNT} を、
+ * {@code existsBy} は {@code LIMIT 1} のサブクエリを生成し、ドキュメントをクライアントに転送しません。<br>
+ * {@code Near} 、 {@code Within} は {@link GeoIndexed} のプロパティの地理インデックスを使用する関数を {@code FOR} の対象にします。<br>
+ * 決定的な {@link Encrypt} のプロパティは、引数を保存時と同じく暗号化し、等価条件と {@code In} だけに使用できます。<br>
+ * 決定的でない {@link Encrypt} 、 {@link Compressed} のプロパティは条件に使用できません。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+class ArangoDBQueryCreator extends AbstractQueryCreator<String, String> {
+
+	/**
+	 * ドキュメントの変数名です。
+	 */
+	private static final String VARIABLE = "c";
+
+	/**
+	 * {@link Metrics} の赤道半径 (メートル) です。
+	 */
+	private static final double EARTH_RADIUS_METERS = 6378137;
+
+	/**
+	 * バインド変数名の接頭辞です。
+	 */
+	private static final String BIND_VAR_PREFIX = "p";
+
+	/**
+	 * {@link PartTree} インスタンスです。
+	 */
+	private final PartTree tree;
+
+	/**
+	 * エンティティクラスです。
+	 */
+	private final Class<?> domainType;
+
+	/**
+	 * メソッドの引数です。
+	 */
+	private final ParameterAccessor accessor;
+
+	/**
+	 * メソッドのバインド可能な引数の定義です。
+	 */
+	private final Parameters<?, ?> parameters;
+
+	/**
+	 * 次に読み込むバインド可能な引数の位置です。
+	 */
+	private int parameterIndex;
+
+	/**
+	 * 地理検索の関数の式です。地理検索でない場合は {@code null} です。
+	 */
+	private String geoSource;
+
+	/**
+	 * {@link MappingContext} インスタンスです。
+	 */
+	private final MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext;
+
+	/**
+	 * {@link ArangoDBConverter} インスタンスです。
+	 */
+	private final ArangoDBConverter converter;
+
+	/**
+	 * AQL のバインド変数です。
+	 */
+	private final Map<String, Object> bindVars;
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param tree
+	 *            {@link PartTree} インスタンス
+	 * @param domainType
+	 *            エンティティクラス
+	 * @param accessor
+	 *            メソッドの引数
+	 * @param parameters
+	 *            メソッドのバインド可能な引数の定義
+	 * @param converter
+	 *            {@link ArangoDBConverter} インスタンス
+	 * @param bindVars
+	 *            AQL のバインド変数が設定されるマップ
+	 */
+	ArangoDBQueryCreator(PartTree tree, Class<?> domainType, ParameterAccessor accessor, Parameters<?, ?> parameters,
+			ArangoDBConverter converter, Map<String, Object> bindVars) {
+
+		super(tree, accessor);
+
+		this.tree = tree;
+		this.domainType = domainType;
+		this.accessor = accessor;
+		this.parameters = parameters;
+		this.mappingContext = converter.getMappingContext();
+		this.converter = converter;
+		this.bindVars = bindVars;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String create(Part part, Iterator<Object> iterator) {
+
+		ArangoDBPersistentProperty leaf = getPersistentPropertyPath(part.getProperty()).getLeafProperty();
+		Encrypt encrypt = leaf.findAnnotation(Encrypt.class);
+
+		if (leaf.isAnnotationPresent(Compressed.class) || encrypt != null && !encrypt.deterministic()) {
+			throw new IllegalArgumentException(String.format(
+					"Non-deterministically encrypted or compressed property %s cannot be used in a derived query!",
+					leaf.getName()));
+		}
+		if (encrypt != null) {
+			return createEncrypted(part, leaf, iterator);
+		}
+
+		String attribute = getAttribute(part.getProperty());
+		boolean ignoreCase = isIgnoreCase(part, leaf);
+
+		switch (part.getType()) {
+		case SIMPLE_PROPERTY:
+			return ignoreCase ? "LOWER(" + attribute + ") == LOWER(" + bind(next(iterator)) + ")"
+					: attribute + " == " + bind(next(iterator));
+		case NEGATING_SIMPLE_PROPERTY:
+			return ignoreCase ? "LOWER(" + attribute + ") != LOWER(" + bind(next(iterator)) + ")"
+					: attribute + " != " + bind(next(iterator));
+		case GREATER_THAN:
+		case AFTER:
+			return attribute + " > " + bind(next(iterator));
+		case GREATER_THAN_EQUAL:
+			return attribute + " >= " + bind(next(iterator));
+		case LESS_THAN:
+		case BEFORE:
+			return attribute + " < " + bind(next(iterator));
+		case LESS_THAN_EQUAL:
+			return attribute + " <= " + bind(next(iterator));
+		case BETWEEN:
+			return "(" + attribute + " >= " + bind(next(iterator)) + " && " + attribute + " <= "
+					+ bind(next(iterator)) + ")";
+		case IS_NULL:
+			return attribute + " == null";
+		case IS_NOT_NULL:
+		case EXISTS:
+			return attribute + " != null";
+		case IN:
+			return attribute + " IN " + bind(next(iterator));
+		case NOT_IN:
+			return attribute + " NOT IN " + bind(next(iterator));
+		case LIKE:
+			return like(attribute, String.valueOf(next(iterator)), ignoreCase);
+		case NOT_LIKE:
+			return "!" + like(attribute, String.valueOf(next(iterator)), ignoreCase);
+		case STARTING_WITH:
+			return like(attribute, escapeLike(String.valueOf(next(iterator))) + "%", ignoreCase);
+		case ENDING_WITH:
+			return like(attribute, "%" + escapeLike(String.valueOf(next(iterator))), ignoreCase);
+		case CONTAINING:
+			return contains(attribute, leaf, next(iterator), ignoreCase);
+		case NOT_CONTAINING:
+			return "!(" + contains(attribute, leaf, next(iterator), ignoreCase) + ")";
+		case REGEX:
+			return "REGEX_TEST(" + attribute + ", " + bind(String.valueOf(next(iterator))) + ", " + ignoreCase
+					+ ")";
+		case TRUE:
+			return attribute + " == true";
+		case FALSE:
+			return attribute + " == false";
+		case NEAR:
+		case WITHIN:
+			geoSource = geo(part, leaf, iterator);
+			return null;
+		default:
+			throw new IllegalArgumentException(
+					String.format("Unsupported keyword %s in derived query!", part.getType()));
+		}
+	}
+
+	/**
+	 * 決定的な {@link Encrypt} のプロパティの条件を生成します。
+	 * 
+	 * <p>
+	 * 暗号文は大小の順序や部分文字列を保たないため、等価条件と {@code In} だけを生成します。
+	 * </p>
+	 *
+	 * @param part
+	 *            {@link Part}
+	 * @param property
+	 *            比較するプロパティ
+	 * @param iterator
+	 *            メソッドの引数
+	 * @return 条件
+	 */
+	private String createEncrypted(Part part, ArangoDBPersistentProperty property, Iterator<Object> iterator) {
+
+		if (part.shouldIgnoreCase() == IgnoreCaseType.ALWAYS) {
+			throw new IllegalArgumentException(
+					String.format("Unable to ignore case of encrypted property %s!", property.getName()));
+		}
+
+		String attribute = getAttribute(part.getProperty());
+
+		switch (part.getType()) {
+		case SIMPLE_PROPERTY:
+			return attribute + " == " + bind(next(iterator), property);
+		case NEGATING_SIMPLE_PROPERTY:
+			return attribute + " != " + bind(next(iterator), property);
+		case IS_NULL:
+			return attribute + " == null";
+		case IS_NOT_NULL:
+		case EXISTS:
+			return attribute + " != null";
+		case IN:
+			return attribute + " IN " + bindAll(next(iterator), property);
+		case NOT_IN:
+			return attribute + " NOT IN " + bindAll(next(iterator), property);
+		default:
+			throw new IllegalArgumentException(String.format(
+					"Encrypted property %s can only be compared for equality in a derived query, not with %s!",
+					property.getName(), part.getType().name()));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String and(Part part, String base, Iterator<Object> iterator) {
+		String criteria = create(part, iterator);
+		return base == null ? criteria : criteria == null ? base : base + " && " + criteria;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String or(String base, String criteria) {
+		return "(" + base + ") || (" + criteria + ")";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String complete(String criteria, Sort sort) {
+
+		StringBuilder aql = new StringBuilder();
+
+		if (tree.isExistsProjection()) {
+			aql.append("RETURN LENGTH(");
+		}
+
+		aql.append("FOR ").append(VARIABLE).append(" IN ").append(geoSource == null ? "@@col" : geoSource);
+
+		if (criteria != null) {
+			aql.append(" FILTER ").append(criteria);
+		}
+
+		if (tree.isDelete()) {
+			return aql.append(" REMOVE ").append(VARIABLE).append(" IN @@col").toString();
+		}
+		if (tree.isCountProjection()) {
+			return aql.append(" COLLECT WITH COUNT INTO length RETURN length").toString();
+		}
+		if (tree.isExistsProjection()) {
+			return aql.append(" LIMIT 1 RETURN 1)").toString();
+		}
+
+		if (sort != null) {
+			appendSort(aql, sort);
+		}
+
+		Pageable pageable = accessor.getPageable();
+		if (pageable != null) {
+			int count = pageable.getPageSize();
+			if (tree.isLimiting()) {
+				count = Math.min(count, Math.max(0, tree.getMaxResults() - pageable.getOffset()));
+			}
+			bindVars.put("offset", pageable.getOffset());
+			bindVars.put("count", count);
+			aql.append(" LIMIT @offset, @count");
+		} else if (tree.isLimiting()) {
+			bindVars.put("count", tree.getMaxResults());
+			aql.append(" LIMIT @count");
+		}
+
+		return aql.append(" RETURN ").append(VARIABLE).toString();
+	}
+
+	/**
+	 * {@code SORT} を追加します。
+	 *
+	 * @param aql
+	 *            AQL
+	 * @param sort
+	 *            {@link Sort}
+	 */
+	private void appendSort(StringBuilder aql, Sort sort) {
+
+		String separator = " SORT ";
+		for (Sort.Order order : sort) {
+			String attribute = getAttribute(PropertyPath.from(order.getProperty(), domainType));
+			aql.append(separator).append(order.isIgnoreCase() ? "LOWER(" + attribute + ")" : attribute)
+					.append(order.isAscending() ? " ASC" : " DESC");
+			separator = ", ";
+		}
+	}
+
+	/**
+	 * 地理インデックスを使用する関数の式を返します。
+	 *
+	 * <p>
+	 * {@link Circle} 、または地点と {@link Distance} の引数は {@code WITHIN()} に、 {@link Box} の引数は
+	 * {@code WITHIN_RECTANGLE()} に、 {@link Distance} のない地点は {@code NEAR()} になります。
+	 * {@code WITHIN_RECTANGLE()} 以外の結果は距離の近い順に並び、 {@link GeoDistance} のプロパティに距離が設定されます。<br>
+	 * {@code NEAR()} はコレクション全体を距離で並べないように、 {@link Pageable} の終端または {@code Top} 、 {@code First}
+	 * の件数までに制限します。件数を制限できない場合、他の条件や並べ替えと組み合わせた場合は {@link Distance} が必要です。<br>
+	 * {@link Point} の {@code x} は経度、 {@code y} は緯度です。
+	 * {@link Metrics#NEUTRAL} の {@link Distance} はメートルとして扱います。
+	 * </p>
+	 *
+	 * @param part
+	 *            {@link Part}
+	 * @param property
+	 *            比較するプロパティ
+	 * @param iterator
+	 *            メソッドの引数
+	 * @return 関数の式
+	 */
+	private String geo(Part part, ArangoDBPersistentProperty property, Iterator<Object> iterator) {
+
+		ArangoDBPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+
+		if (entity.getGeoIndexedProperty() != property) {
+			throw new IllegalArgumentException(
+					String.format("Property %s must be annotated with @GeoIndexed to use %s!", property.getName(),
+							part.getType()));
+		}
+		if (geoSource != null || count(tree) > 1) {
+			throw new IllegalArgumentException(
+					"Near or Within can only be used once and cannot be combined with Or!");
+		}
+		if (tree.isDelete()) {
+			throw new IllegalArgumentException("Near or Within cannot be used in delete query methods!");
+		}
+
+		Object value = next(iterator);
+
+		if (value instanceof Box) {
+			Box box = (Box) value;
+			GeoPoint first = toGeoPoint(box.getFirst());
+			GeoPoint second = toGeoPoint(box.getSecond());
+			return "WITHIN_RECTANGLE(@@col, " + bindVar(first.getLatitude()) + ", " + bindVar(first.getLongitude())
+					+ ", " + bindVar(second.getLatitude()) + ", " + bindVar(second.getLongitude()) + ")";
+		}
+
+		ArangoDBPersistentProperty distanceProperty = entity.getGeoDistanceProperty();
+		String distanceName = distanceProperty == null ? "" : ", " + bindVar(distanceProperty.getFieldName());
+
+		if (value instanceof Circle) {
+			Circle circle = (Circle) value;
+			return within(toGeoPoint(circle.getCenter()), circle.getRadius(), distanceName);
+		}
+
+		GeoPoint point = toGeoPoint(value);
+
+		if (parameterIndex < parameters.getNumberOfParameters()
+				&& Distance.class.isAssignableFrom(parameters.getParameter(parameterIndex).getType())) {
+			Distance distance = (Distance) next(iterator);
+			if (distance != null) {
+				return within(point, distance, distanceName);
+			}
+		}
+
+		if (part.getType() == Part.Type.WITHIN) {
+			throw new IllegalArgumentException("Within requires a Circle, a Box or a point and a Distance!");
+		}
+
+		// 他の条件や並べ替えがあると、NEAR() の件数では結果の件数を制限できない
+		Pageable pageable = accessor.getPageable();
+		if (count(tree.getParts()) > 1 || tree.getSort() != null || accessor.getSort() != null
+				|| pageable == null && !tree.isLimiting()) {
+			throw new IllegalArgumentException("Near without a Distance must be limited by a Pageable or Top/First "
+					+ "and cannot be combined with other criteria or sorting!");
+		}
+
+		int limit = pageable == null ? tree.getMaxResults() : pageable.getOffset() + pageable.getPageSize();
+		if (tree.isLimiting()) {
+			limit = Math.min(limit, tree.getMaxResults());
+		}
+
+		return "NEAR(@@col, " + bindVar(point.getLatitude()) + ", " + bindVar(point.getLongitude()) + ", "
+				+ bindVar(limit) + distanceName + ")";
+	}
+
+	/**
+	 * {@code WITHIN()} の式を返します。
+	 *
+	 * @param center
+	 *            中心
+	 * @param radius
+	 *            半径
+	 * @param distanceName
+	 *            距離を設定する属性名の引数
+	 * @return {@code WITHIN()} の式
+	 */
+	private String within(GeoPoint center, Distance radius, String distanceName) {
+		return "WITHIN(@@col, " + bindVar(center.getLatitude()) + ", " + bindVar(center.getLongitude()) + ", "
+				+ bindVar(toMeters(radius)) + distanceName + ")";
+	}
+
+	/**
+	 * 引数の地点を {@link GeoPoint} に変換します。
+	 *
+	 * @param value
+	 *            {@link GeoPoint} または {@link Point}
+	 * @return {@link GeoPoint}
+	 */
+	private static GeoPoint toGeoPoint(Object value) {
+
+		if (value instanceof GeoPoint) {
+			return (GeoPoint) value;
+		}
+		if (value instanceof Point) {
+			return new GeoPoint(((Point) value).getY(), ((Point) value).getX());
+		}
+
+		throw new IllegalArgumentException(String.format("Expected GeoPoint or Point but got %s!", value));
+	}
+
+	/**
+	 * 距離をメートルに変換します。
+	 *
+	 * @param distance
+	 *            距離
+	 * @return メートル
+	 */
+	private static double toMeters(Distance distance) {
+		return distance.getMetric() == Metrics.NEUTRAL ? distance.getValue()
+				: distance.getNormalizedValue() * EARTH_RADIUS_METERS;
+	}
+
+	/**
+	 * 要素の数を返します。
+	 *
+	 * @param iterable
+	 *            {@link Iterable}
+	 * @return 要素の数
+	 */
+	private static int count(Iterable<?> iterable) {
+		int count = 0;
+		for (Iterator<?> iterator = iterable.iterator(); iterator.hasNext(); iterator.next()) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 次の引数を返します。
+	 *
+	 * @param iterator
+	 *            メソッドの引数
+	 * @return 引数の値
+	 */
+	private Object next(Iterator<Object> iterator) {
+		parameterIndex++;
+		return iterator.next();
+	}
+
+	/**
+	 * 値を含む条件を返します。配列のプロパティは要素を、文字列のプロパティは部分文字列を比較します。
+	 *
+	 * @param attribute
+	 *            比較する AQL の式
+	 * @param property
+	 *            プロパティ
+	 * @param value
+	 *            値
+	 * @param ignoreCase
+	 *            大文字と小文字を区別しない場合は {@code true}
+	 * @return 条件
+	 */
+	private String contains(String attribute, ArangoDBPersistentProperty property, Object value,
+			boolean ignoreCase) {
+
+		if (property.isCollectionLike()) {
+			return bind(value) + " IN " + attribute;
+		}
+
+		return like(attribute, "%" + escapeLike(String.valueOf(value)) + "%", ignoreCase);
+	}
+
+	/**
+	 * {@code LIKE} の条件を返します。
+	 *
+	 * @param attribute
+	 *            比較する AQL の式
+	 * @param pattern
+	 *            {@code LIKE} のパターン
+	 * @param ignoreCase
+	 *            大文字と小文字を区別しない場合は {@code true}
+	 * @return {@code LIKE} の条件
+	 */
+	private String like(String attribute, String pattern, boolean ignoreCase) {
+		return "LIKE(" + attribute + ", " + bindVar(pattern) + ", " + ignoreCase + ")";
+	}
+
+	/**
+	 * {@code LIKE} のワイルドカードをエスケープします。
+	 *
+	 * @param value
+	 *            値
+	 * @return エスケープされた値
+	 */
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	/**
+	 * 引数の値を保存される形式に変換してバインド変数に設定し、参照する式を返します。
+	 *
+	 * @param value
+	 *            引数の値
+	 * @return バインド変数を参照する式
+	 */
+	private String bind(Object value) {
+		return bindVar(converter.convertToArangoDBType(value));
+	}
+
+	/**
+	 * 引数の値をプロパティに保存される形式に変換してバインド変数に設定し、参照する式を返します。
+	 *
+	 * @param value
+	 *            引数の値
+	 * @param property
+	 *            比較するプロパティ
+	 * @return バインド変数を参照する式
+	 */
+	private String bind(Object value, ArangoDBPersistentProperty property) {
+		return bindVar(converter.convertToArangoDBType(value, property));
+	}
+
+	/**
+	 * 配列または {@link Iterable} の引数の要素を、それぞれプロパティに保存される形式に変換してバインド変数に設定し、参照する式を返します。
+	 *
+	 * @param values
+	 *            配列または {@link Iterable} の引数の値
+	 * @param property
+	 *            比較するプロパティ
+	 * @return バインド変数を参照する式
+	 */
+	private String bindAll(Object values, ArangoDBPersistentProperty property) {
+
+		List<Object> converted = new ArrayList<>();
+		Iterable<?> elements = values instanceof Iterable ? (Iterable<?>) values
+				: values == null ? Collections.emptyList() : CollectionUtils.arrayToList(values);
+		for (Object element : elements) {
+			converted.add(converter.convertToArangoDBType(element, property));
+		}
+
+		return bindVar(converted);
+	}
+
+	/**
+	 * 値をバインド変数に設定し、参照する式を返します。
+	 *
+	 * @param value
+	 *            値
+	 * @return バインド変数を参照する式
+	 */
+	private String bindVar(Object value) {
+		String name = BIND_VAR_PREFIX + bindVars.size();
+		bindVars.put(name, value);
+		return "@" + name;
+	}
+
+	/**
+	 * 大文字と小文字を区別せずに比較するかどうかを返します。
+	 *
+	 * @param part
+	 *            {@link Part}
+	 * @param property
+	 *            比較するプロパティ
+	 * @return 区別しない場合は {@code true}
+	 */
+	private static boolean isIgnoreCase(Part part, ArangoDBPersistentProperty property) {
+
+		IgnoreCaseType ignoreCase = part.shouldIgnoreCase();
+
+		if (ignoreCase == IgnoreCaseType.ALWAYS && property.getType() != String.class) {
+			throw new IllegalArgumentException(
+					String.format("Unable to ignore case of %s property %s!", property.getType().getName(),
+							property.getName()));
+		}
+
+		return ignoreCase != IgnoreCaseType.NEVER && property.getType() == String.class;
+	}
+
+	/**
+	 * プロパティのパスに対応する AQL の式を返します。
+	 *
+	 * @param path
+	 *            プロパティのパス
+	 * @return {@code c.`attribute`.`nested`} 形式の式
+	 */
+	private String getAttribute(PropertyPath path) {
+
+		StringBuilder attribute = new StringBuilder(VARIABLE);
+
+		boolean root = true;
+		for (ArangoDBPersistentProperty property : getPersistentPropertyPath(path)) {
+			attribute.append(".`").append(root ? property.getRootAttributeName() : property.getFieldName())
+					.append("`");
+			root = false;
+		}
+
+		return attribute.toString();
+	}
+
+	/**
+	 * {@link PersistentPropertyPath} を返します。
+	 *
+	 * @param path
+	 *            プロパティのパス
+	 * @return {@link PersistentPropertyPath}
+	 */
+	private PersistentPropertyPath<ArangoDBPersistentProperty> getPersistentPropertyPath(PropertyPath path) {
+		return mappingContext.getPersistentPropertyPath(path);
+	}
+}
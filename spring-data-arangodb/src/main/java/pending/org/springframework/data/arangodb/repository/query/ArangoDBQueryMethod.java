@@ -0,0 +1,102 @@
+package pending.org.springframework.data.arangodb.repository.query;
+
+import java.lang.reflect.Method;
+import java.util.OptionalLong;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import pending.org.springframework.data.arangodb.repository.Modifying;
+import pending.org.springframework.data.arangodb.repository.Query;
+
+/**
+ * Arango DB のリポジトリのクエリメソッドです。
+ * 
+ * @author hs0x01
+ *
+ */
+public class ArangoDBQueryMethod extends QueryMethod {
+
+	/**
+	 * クエリメソッドです。
+	 */
+	private final Method method;
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param method
+	 *            クエリメソッド
+	 * @param metadata
+	 *            リポジトリのメタデータ
+	 * @param factory
+	 *            {@link ProjectionFactory}
+	 */
+	public ArangoDBQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
+
+		super(method, metadata, factory);
+
+		this.method = method;
+
+		if (isModifyingQuery() && !isWriteCountReturnType()) {
+			throw new IllegalStateException(
+					String.format("Modifying query method %s must return void, int, long or OptionalLong!", method));
+		}
+	}
+
+	/**
+	 * {@link Query} で指定された AQL を返します。
+	 * 
+	 * @return AQL 。指定されていない場合は {@code null}
+	 */
+	public String getAnnotatedQuery() {
+		Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+		return query == null || !StringUtils.hasText(query.value()) ? null : query.value();
+	}
+
+	/**
+	 * {@link Query} で AQL が指定されているかどうかを返します。
+	 * 
+	 * @return 指定されている場合は {@code true}
+	 */
+	public boolean hasAnnotatedQuery() {
+		return getAnnotatedQuery() != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * {@link Modifying} が指定されている場合は {@code true} です。
+	 * </p>
+	 */
+	@Override
+	public boolean isModifyingQuery() {
+		return AnnotatedElementUtils.hasAnnotation(method, Modifying.class);
+	}
+
+	/**
+	 * 戻り値の型が、書き込んだ件数を返す型 ({@code void} 、 {@code int} 、 {@code long} またはそのラッパー型、
+	 * {@link OptionalLong}) かどうかを返します。
+	 * 
+	 * @return 件数を返す型の場合は {@code true}
+	 */
+	boolean isWriteCountReturnType() {
+		Class<?> returnType = ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType());
+		return returnType == void.class || returnType == Void.class || returnType == Integer.class
+				|| returnType == Long.class || returnType == OptionalLong.class;
+	}
+
+	/**
+	 * クエリメソッドの戻り値の型を返します。
+	 * 
+	 * @return 戻り値の型
+	 */
+	Class<?> getReturnType() {
+		return method.getReturnType();
+	}
+}
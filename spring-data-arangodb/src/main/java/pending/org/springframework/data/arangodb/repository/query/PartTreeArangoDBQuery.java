@@ -0,0 +1,147 @@
+package pending.org.springframework.data.arangodb.repository.query;
+
+import java.util.Map;
+
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+
+/**
+ * クエリメソッドの名前から生成した AQL を実行する {@link org.springframework.data.repository.query.RepositoryQuery}
+ * です。
+ * 
+ * @author hs0x01
+ *
+ */
+public class PartTreeArangoDBQuery extends AbstractArangoDBQuery {
+
+	/**
+	 * {@link PartTree} インスタンスです。
+	 */
+	private final PartTree tree;
+
+	/**
+	 * 地理インデックスを使用するクエリかどうかです。
+	 */
+	private final boolean geoQuery;
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param method
+	 *            {@link ArangoDBQueryMethod} インスタンス
+	 * @param arangoDBOperations
+	 *            {@link ArangoDBOperations} インスタンス
+	 */
+	public PartTreeArangoDBQuery(ArangoDBQueryMethod method, ArangoDBOperations arangoDBOperations) {
+
+		super(method, arangoDBOperations);
+
+		this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
+		this.geoQuery = tree.getParts(Part.Type.NEAR).iterator().hasNext()
+				|| tree.getParts(Part.Type.WITHIN).iterator().hasNext();
+
+		if (tree.isDelete() && !method.isWriteCountReturnType()) {
+			throw new IllegalStateException(String.format(
+					"Delete query method %s must return void, int, long or OptionalLong!", method.getName()));
+		}
+
+		if (geoQuery && arangoDBOperations.getMappingContext()
+				.getPersistentEntity(method.getEntityInformation().getJavaType()).getGeoIndexedProperty() == null) {
+			throw new IllegalStateException(String.format(
+					"Query method %s uses Near or Within but the entity has no @GeoIndexed property!",
+					method.getName()));
+		}
+
+		validateNear();
+	}
+
+	/**
+	 * {@link Distance} のない {@code Near} の結果の件数を、 {@code NEAR()} で制限できることを検証します。
+	 * 
+	 * <p>
+	 * 制限できない場合はコレクション全体を距離で並べることになるため、起動時に失敗させます。
+	 * </p>
+	 * 
+	 * @throws IllegalStateException
+	 *             件数を制限できない場合
+	 */
+	private void validateNear() {
+
+		Parameters<?, ?> parameters = method.getParameters().getBindableParameters();
+		int index = 0;
+		int parts = 0;
+		boolean unboundedNear = false;
+
+		for (Part part : tree.getParts()) {
+			parts++;
+			if (part.getType() == Part.Type.NEAR && index < parameters.getNumberOfParameters()) {
+				Class<?> type = parameters.getParameter(index).getType();
+				boolean distance = index + 1 < parameters.getNumberOfParameters()
+						&& Distance.class.isAssignableFrom(parameters.getParameter(index + 1).getType());
+				unboundedNear = !distance && !Circle.class.isAssignableFrom(type)
+						&& !Box.class.isAssignableFrom(type);
+			}
+			index += part.getNumberOfArguments();
+		}
+
+		if (!unboundedNear) {
+			return;
+		}
+
+		if (parts > 1 || tree.getSort() != null || method.getParameters().hasSortParameter()
+				|| method.isPageQuery()
+				|| !tree.isLimiting() && !method.getParameters().hasPageableParameter()) {
+			throw new IllegalStateException(String.format("Query method %s uses Near without a Distance. "
+					+ "Add a Distance parameter, or limit it by a Pageable or Top/First without other criteria, "
+					+ "sorting or a Page result!", method.getName()));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String createQuery(ParameterAccessor accessor, Map<String, Object> bindVars) {
+
+		if (geoQuery) {
+			arangoDBOperations.ensureGeoIndex(method.getEntityInformation().getJavaType());
+		}
+
+		bindVars.put("@col", arangoDBOperations.getCollectionName(method.getEntityInformation().getJavaType()));
+
+		return new ArangoDBQueryCreator(tree, method.getEntityInformation().getJavaType(), accessor,
+				method.getParameters().getBindableParameters(), arangoDBOperations.getConverter(), bindVars)
+						.createQuery();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isModifyingQuery() {
+		return tree.isDelete();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isCountQuery() {
+		return tree.isCountProjection();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isExistsQuery() {
+		return tree.isExistsProjection();
+	}
+}
@@ -0,0 +1,137 @@
+package pending.org.springframework.data.arangodb.repository.query;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.ParameterAccessor;
+
+import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+import pending.org.springframework.data.arangodb.repository.Query;
+
+/**
+ * {@link Query} で指定された AQL を実行する {@link org.springframework.data.repository.query.RepositoryQuery} です。
+ * 
+ * <p>
+ * Arango DB は AQL で使用されないバインド変数をエラーにするため、 AQL に現れるバインド変数だけを渡します。<br>
+ * {@link Pageable} の引数は、 {@code @offset} 、 {@code @count} で渡されます。
+ * ページのクエリでは、これらを最後の {@code LIMIT} に使用してください。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+public class StringBasedArangoDBQuery extends AbstractArangoDBQuery {
+
+	/**
+	 * コレクション名のバインド変数名です。
+	 */
+	private static final String COLLECTION_BIND_VAR = "@col";
+
+	/**
+	 * バインド変数のパターンです。
+	 */
+	private static final Pattern BIND_VAR = Pattern.compile("@(@?\\w+)");
+
+	/**
+	 * AQL です。
+	 */
+	private final String aql;
+
+	/**
+	 * AQL に現れるバインド変数名です。
+	 */
+	private final Set<String> bindVarNames = new LinkedHashSet<>();
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param method
+	 *            {@link ArangoDBQueryMethod} インスタンス
+	 * @param arangoDBOperations
+	 *            {@link ArangoDBOperations} インスタンス
+	 */
+	public StringBasedArangoDBQuery(ArangoDBQueryMethod method, ArangoDBOperations arangoDBOperations) {
+
+		super(method, arangoDBOperations);
+
+		this.aql = method.getAnnotatedQuery();
+
+		Matcher matcher = BIND_VAR.matcher(aql);
+		while (matcher.find()) {
+			bindVarNames.add(matcher.group(1));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String createQuery(ParameterAccessor accessor, Map<String, Object> bindVars) {
+
+		int index = 0;
+		for (Parameter parameter : method.getParameters().getBindableParameters()) {
+			Object value = arangoDBOperations.getConverter().convertToArangoDBType(accessor.getBindableValue(index));
+			putIfUsed(bindVars, String.valueOf(index), value);
+			if (parameter.isNamedParameter()) {
+				putIfUsed(bindVars, parameter.getName(), value);
+			}
+			index++;
+		}
+
+		Pageable pageable = accessor.getPageable();
+		if (pageable != null) {
+			putIfUsed(bindVars, "offset", pageable.getOffset());
+			putIfUsed(bindVars, "count", pageable.getPageSize());
+		}
+
+		putIfUsed(bindVars, COLLECTION_BIND_VAR,
+				arangoDBOperations.getCollectionName(method.getEntityInformation().getJavaType()));
+
+		return aql;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isModifyingQuery() {
+		return method.isModifyingQuery();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isCountQuery() {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isExistsQuery() {
+		return false;
+	}
+
+	/**
+	 * AQL に現れるバインド変数ならば、値を設定します。
+	 * 
+	 * @param bindVars
+	 *            バインド変数
+	 * @param name
+	 *            バインド変数名
+	 * @param value
+	 *            値
+	 */
+	private void putIfUsed(Map<String, Object> bindVars, String name, Object value) {
+		if (bindVarNames.contains(name)) {
+			bindVars.put(name, value);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package pending.org.springframework.data.arangodb.repository.support;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.RepositoryQuery;
+
+import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+import pending.org.springframework.data.arangodb.repository.config.RepositoryOperationsMapping;
+import pending.org.springframework.data.arangodb.repository.query.AbstractArangoDBQuery;
+import pending.org.springframework.data.arangodb.repository.query.ArangoDBQueryMethod;
+import pending.org.springframework.data.arangodb.repository.query.PartTreeArangoDBQuery;
+import pending.org.springframework.data.arangodb.repository.query.StringBasedArangoDBQuery;
+
+/**
+ * リポジトリのクエリメソッドの {@link RepositoryQuery} を決定する {@link QueryLookupStrategy} です。
+ * 
+ * <p>
+ * {@link pending.org.springframework.data.arangodb.repository.Query} が指定されたメソッドは、その AQL を実行します。
+ * 指定されていないメソッドは、メソッドの名前から AQL を生成します。<br>
+ * 実行計画のチェックが有効な場合は、代表的な引数で生成した AQL の実行計画をクエリの決定時にチェックします。
+ * </p>
+ * 
+ * @author hs0x01
+ *
+ */
+class ArangoDBQueryLookupStrategy implements QueryLookupStrategy {
+
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(ArangoDBQueryLookupStrategy.class);
+
+	/**
+	 * {@link RepositoryOperationsMapping} インスタンスです。
+	 */
+	private final RepositoryOperationsMapping arangoDBOperationsMapping;
+
+	/**
+	 * クエリの決定方法です。
+	 */
+	private final Key key;
+
+	/**
+	 * {@link ArangoDBOperations} の {@link ArangoDBQueryPlanChecker} を返す関数です。チェックしない場合、関数は {@code null} を返します。
+	 */
+	private final Function<ArangoDBOperations, ArangoDBQueryPlanChecker> queryPlanCheckers;
+
+	/**
+	 * インスタンスを生成します。
+	 * 
+	 * @param arangoDBOperationsMapping
+	 *            {@link RepositoryOperationsMapping} インスタンス
+	 * @param key
+	 *            クエリの決定方法。 {@code null} の場合は {@link Key#CREATE_IF_NOT_FOUND}
+	 * @param queryPlanCheckers
+	 *            {@link ArangoDBOperations} の {@link ArangoDBQueryPlanChecker} を返す関数
+	 */
+	ArangoDBQueryLookupStrategy(RepositoryOperationsMapping arangoDBOperationsMapping, Key key,
+			Function<ArangoDBOperations, ArangoDBQueryPlanChecker> queryPlanCheckers) {
+		this.arangoDBOperationsMapping = arangoDBOperationsMapping;
+		this.key = key == null ? Key.CREATE_IF_NOT_FOUND : key;
+		this.queryPlanCheckers = queryPlanCheckers;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata, ProjectionFactory factory,
+			NamedQueries namedQueries) {
+
+		ArangoDBQueryMethod queryMethod = new ArangoDBQueryMethod(method, metadata, factory);
+		ArangoDBOperations arangoDBOperations = arangoDBOperationsMapping.resolve(metadata.getRepositoryInterface(),
+				metadata.getDomainType());
+
+		AbstractArangoDBQuery query;
+
+		if (key != Key.CREATE && queryMethod.hasAnnotatedQuery()) {
+			query = new StringBasedArangoDBQuery(queryMethod, arangoDBOperations);
+		} else if (key == Key.USE_DECLARED_QUERY) {
+			throw new IllegalStateException(String.format("No @Query annotation found on %s!", method));
+		} else {
+			query = new PartTreeArangoDBQuery(queryMethod, arangoDBOperations);
+		}
+
+		checkQueryPlan(method, query, queryPlanCheckers.apply(arangoDBOperations));
+
+		return query;
+	}
+
+	/**
+	 * クエリメソッドが生成する AQL の実行計画をチェックします。
+	 * 
+	 * <p>
+	 * 代表的な引数で AQL を生成できないメソッドはチェックしません。
+	 * </p>
+	 * 
+	 * @param method
+	 *            クエリメソッド
+	 * @param query
+	 *            クエリ
+	 * @param queryPlanChecker
+	 *            {@link ArangoDBQueryPlanChecker} インスタンス。チェックしない場合は {@code null}
+	 */
+	private void checkQueryPlan(Method method, AbstractArangoDBQuery query,
+			ArangoDBQueryPlanChecker queryPlanChecker) {
+
+		if (queryPlanChecker == null) {
+			return;
+		}
+
+		String queryName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+		Map<String, Object> bindVars = new HashMap<>();
+		String aql;
+		try {
+			aql = query.createSampleQuery(bindVars);
+		} catch (RuntimeException e) {
+			LOG.debug(String.format("Skipped checking the query plan of %s: %s", queryName, e.getMessage()));
+			return;
+		}
+
+		queryPlanChecker.check(queryName, aql, bindVars);
+	}
+}
@@ -0,0 +1,277 @@
+package pending.org.springframework.data.arangodb.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.entity.AqlExecutionExplainEntity;
+import com.arangodb.entity.AqlExecutionExplainEntity.ExecutionNode;
+import com.arangodb.entity.AqlExecutionExplainEntity.ExecutionPlan;
+
+import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+import pending.org.springframework.data.arangodb.repository.config.QueryPlanCheckMode;
+
+/**
+ * リポジトリが生成する AQL の実行計画をチェックします。
+ *
+ * <p>
+ * {@link ArangoDBOperations#explainByAql(String, Map)} で取得した実行計画から、
+ * 大きなコレクションに対するフルスキャン ({@code EnumerateCollectionNode}) 、
+ * インデックスを使わないメモリ上のソート ({@code SortNode}) を検出します。<br>
+ * フィルタもソートも伴わないフルスキャン ({@code findAll()} 、 {@code count()} など) は意図されたものとして扱います。<br>
+ * 同じ AQL は一度だけチェックされます。<br>
+ * リポジトリの呼び出し時のチェックは {@link #inspect(String, String, Map)} で行い、
+ * 実行計画の取得はバックグラウンドのスレッドで行われます。
+ * {@link QueryPlanCheckMode#FAIL} の場合も例外はスローせずに警告ログを出力します。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+public class ArangoDBQueryPlanChecker {
+
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(ArangoDBQueryPlanChecker.class);
+
+	/**
+	 * フルスキャンを表す実行ノードの種類です。
+	 */
+	private static final String ENUMERATE_COLLECTION_NODE = "EnumerateCollectionNode";
+
+	/**
+	 * ソートを表す実行ノードの種類です。
+	 */
+	private static final String SORT_NODE = "SortNode";
+
+	/**
+	 * フィルタを表す実行ノードの種類です。
+	 */
+	private static final String FILTER_NODE = "FilterNode";
+
+	/**
+	 * デフォルトの大きなコレクションとみなす件数です。
+	 */
+	public static final long DEFAULT_LARGE_COLLECTION_THRESHOLD = 10000;
+
+	/**
+	 * バックグラウンドのチェックで、待機できる AQL の最大数です。超えた AQL はチェックされません。
+	 */
+	private static final int MAX_PENDING_INSPECTIONS = 64;
+
+	/**
+	 * {@link ArangoDBOperations} インスタンスです。
+	 */
+	private final ArangoDBOperations arangoDBOperations;
+
+	/**
+	 * チェックのモードです。
+	 */
+	private final QueryPlanCheckMode mode;
+
+	/**
+	 * 大きなコレクションとみなす推定件数です。
+	 */
+	private final long largeCollectionThreshold;
+
+	/**
+	 * チェック済みの AQL です。
+	 */
+	private final Set<String> checkedAqls = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * リポジトリの呼び出し時のチェックを行う {@link ExecutorService} です。
+	 */
+	private final ExecutorService executor = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(MAX_PENDING_INSPECTIONS), r -> {
+				Thread thread = new Thread(r, "arangodb-query-plan-check");
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.DiscardPolicy());
+
+	/**
+	 * チェッカーを生成します。
+	 *
+	 * @param arangoDBOperations
+	 *            {@link ArangoDBOperations} インスタンス
+	 * @param mode
+	 *            チェックのモード
+	 * @param largeCollectionThreshold
+	 *            大きなコレクションとみなす推定件数
+	 */
+	public ArangoDBQueryPlanChecker(ArangoDBOperations arangoDBOperations, QueryPlanCheckMode mode,
+			long largeCollectionThreshold) {
+
+		Assert.notNull(arangoDBOperations);
+		Assert.notNull(mode);
+
+		this.arangoDBOperations = arangoDBOperations;
+		this.mode = mode;
+		this.largeCollectionThreshold = largeCollectionThreshold;
+	}
+
+	/**
+	 * AQL の実行計画をチェックします。
+	 * 
+	 * <p>
+	 * リポジトリの生成時など、起動時のチェックに使用します。
+	 * </p>
+	 *
+	 * @param queryName
+	 *            ログ、例外メッセージに使用するクエリの名称
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 * @throws IllegalStateException
+	 *             モードが {@link QueryPlanCheckMode#FAIL} で、問題のある実行計画を検出した場合
+	 */
+	public void check(String queryName, String aql, Map<String, Object> bindVars) {
+
+		String message = explain(queryName, aql, bindVars);
+
+		if (message == null) {
+			return;
+		}
+
+		if (mode == QueryPlanCheckMode.FAIL) {
+			throw new IllegalStateException(message);
+		}
+
+		LOG.warn(message);
+	}
+
+	/**
+	 * リポジトリの呼び出し時に AQL の実行計画をチェックします。
+	 * 
+	 * <p>
+	 * 呼び出し元を待たせないよう、実行計画の取得はバックグラウンドのスレッドで AQL ごとに一度だけ行われます。<br>
+	 * 呼び出しを失敗させないよう、モードにかかわらず問題のある実行計画は警告ログに出力します。<br>
+	 * バックグラウンドのスレッドではテナントが決まらないため、テナントが決まっていない場合のデータベースで実行計画を取得します。
+	 * </p>
+	 *
+	 * @param queryName
+	 *            ログに使用するクエリの名称
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 */
+	public void inspect(String queryName, String aql, Map<String, Object> bindVars) {
+
+		if (mode == QueryPlanCheckMode.NONE || checkedAqls.contains(aql)) {
+			return;
+		}
+
+		Map<String, Object> snapshot = new HashMap<>(bindVars);
+
+		executor.execute(() -> {
+			String message = explain(queryName, aql, snapshot);
+			if (message != null) {
+				LOG.warn(message);
+			}
+		});
+	}
+
+	/**
+	 * 未チェックの AQL の実行計画を取得し、問題を検出します。
+	 *
+	 * @param queryName
+	 *            ログ、例外メッセージに使用するクエリの名称
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 * @return 問題を検出した場合はそのメッセージ、問題がないかチェック済みの場合は {@code null}
+	 */
+	private String explain(String queryName, String aql, Map<String, Object> bindVars) {
+
+		if (mode == QueryPlanCheckMode.NONE || !checkedAqls.add(aql)) {
+			return null;
+		}
+
+		AqlExecutionExplainEntity explain;
+		try {
+			explain = arangoDBOperations.explainByAql(aql, bindVars);
+		} catch (ArangoDBException e) {
+			LOG.warn(String.format("Could not explain query %s [%s]: %s", queryName, aql, e.getMessage()));
+			return null;
+		}
+
+		List<String> violations = findViolations(explain.getPlan());
+
+		if (violations.isEmpty()) {
+			return null;
+		}
+
+		return String.format("Query %s [%s] has an inefficient execution plan: %s", queryName, aql, violations);
+	}
+
+	/**
+	 * 実行計画から問題のある実行ノードを検出します。
+	 *
+	 * @param plan
+	 *            実行計画
+	 * @return 検出された問題の説明のリスト
+	 */
+	protected List<String> findViolations(ExecutionPlan plan) {
+
+		List<String> violations = new ArrayList<>();
+
+		if (plan == null || plan.getNodes() == null) {
+			return violations;
+		}
+
+		Collection<ExecutionNode> nodes = plan.getNodes();
+
+		boolean filteredOrSorted = false;
+		for (ExecutionNode node : nodes) {
+			if (FILTER_NODE.equals(node.getType()) || SORT_NODE.equals(node.getType())) {
+				filteredOrSorted = true;
+				break;
+			}
+		}
+
+		for (ExecutionNode node : nodes) {
+
+			if (!isLarge(node)) {
+				continue;
+			}
+
+			if (ENUMERATE_COLLECTION_NODE.equals(node.getType()) && filteredOrSorted) {
+				violations.add(String.format("full collection scan on %s (~%d documents)", node.getCollection(),
+						node.getEstimatedNrItems()));
+			} else if (SORT_NODE.equals(node.getType())) {
+				violations.add(String.format("in-memory sort of ~%d documents", node.getEstimatedNrItems()));
+			}
+		}
+
+		return violations;
+	}
+
+	/**
+	 * 実行ノードの推定件数が大きなコレクションとみなす件数以上かどうかを返します。
+	 *
+	 * @param node
+	 *            実行ノード
+	 * @return 大きなコレクションとみなす件数以上ならば {@code true} 、そうでなければ {@code false}
+	 */
+	private boolean isLarge(ExecutionNode node) {
+		Integer estimatedNrItems = node.getEstimatedNrItems();
+		return estimatedNrItems != null && estimatedNrItems >= largeCollectionThreshold;
+	}
+}
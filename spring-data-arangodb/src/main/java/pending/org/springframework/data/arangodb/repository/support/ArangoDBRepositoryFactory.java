@@ -1,16 +1,22 @@
 package pending.org.springframework.data.arangodb.repository.support;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.repository.query.EvaluationContextProvider;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
 
 import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
+import pending.org.springframework.data.arangodb.repository.config.QueryPlanCheckMode;
 import pending.org.springframework.data.arangodb.repository.config.RepositoryOperationsMapping;
 import pending.org.springframework.data.arangodb.repository.query.ArangoDBEntityInformation;
 
@@ -32,6 +38,21 @@ public class ArangoDBRepositoryFactory extends RepositoryFactorySupport {
 	 */
 	private final MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext;
 
+	/**
+	 * リポジトリが生成する AQL の実行計画チェックのモードです。
+	 */
+	private QueryPlanCheckMode queryPlanCheckMode = QueryPlanCheckMode.NONE;
+
+	/**
+	 * 実行計画チェックで大きなコレクションとみなす推定件数です。
+	 */
+	private long largeCollectionThreshold = ArangoDBQueryPlanChecker.DEFAULT_LARGE_COLLECTION_THRESHOLD;
+
+	/**
+	 * {@link ArangoDBOperations} ごとの {@link ArangoDBQueryPlanChecker} インスタンスです。
+	 */
+	private final Map<ArangoDBOperations, ArangoDBQueryPlanChecker> queryPlanCheckers = new ConcurrentHashMap<>();
+
 	/**
 	 * ファクトリを生成します。
 	 * 
@@ -44,6 +65,26 @@ public class ArangoDBRepositoryFactory extends RepositoryFactorySupport {
 		mappingContext = arangoDBOperationsMapping.getMappingContext();
 	}
 
+	/**
+	 * リポジトリが生成する AQL の実行計画チェックのモードを設定します。
+	 * 
+	 * @param queryPlanCheckMode
+	 *            実行計画チェックのモード
+	 */
+	public void setQueryPlanCheckMode(QueryPlanCheckMode queryPlanCheckMode) {
+		this.queryPlanCheckMode = queryPlanCheckMode == null ? QueryPlanCheckMode.NONE : queryPlanCheckMode;
+	}
+
+	/**
+	 * 実行計画チェックで大きなコレクションとみなす推定件数を設定します。
+	 * 
+	 * @param largeCollectionThreshold
+	 *            大きなコレクションとみなす推定件数
+	 */
+	public void setLargeCollectionThreshold(long largeCollectionThreshold) {
+		this.largeCollectionThreshold = largeCollectionThreshold;
+	}
+
 	/**
 	 * ドメインクラスに基づくエンティティ情報を返します。
 	 *
@@ -89,9 +130,37 @@ public class ArangoDBRepositoryFactory extends RepositoryFactorySupport {
 		SimpleArangoDBRepository repo = getTargetRepositoryViaReflection(metadata, entityInformation,
 				arangoDBOperations);
 
+		repo.setQueryPlanChecker(getQueryPlanChecker(arangoDBOperations));
+
 		return repo;
 	}
 
+	/**
+	 * {@link ArangoDBOperations} の {@link ArangoDBQueryPlanChecker} を返します。
+	 * 
+	 * @param arangoDBOperations
+	 *            {@link ArangoDBOperations} インスタンス
+	 * @return {@link ArangoDBQueryPlanChecker} インスタンス。チェックしない場合は {@code null}
+	 */
+	ArangoDBQueryPlanChecker getQueryPlanChecker(ArangoDBOperations arangoDBOperations) {
+
+		if (queryPlanCheckMode == QueryPlanCheckMode.NONE) {
+			return null;
+		}
+
+		return queryPlanCheckers.computeIfAbsent(arangoDBOperations,
+				operations -> new ArangoDBQueryPlanChecker(operations, queryPlanCheckMode, largeCollectionThreshold));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected QueryLookupStrategy getQueryLookupStrategy(Key key,
+			EvaluationContextProvider evaluationContextProvider) {
+		return new ArangoDBQueryLookupStrategy(arangoDBOperationsMapping, key, this::getQueryPlanChecker);
+	}
+
 	/**
 	 * 生成するリポジトリの基底クラスを返します。
 	 * 
@@ -1,18 +1,32 @@
 package pending.org.springframework.data.arangodb.repository.support;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
 import org.springframework.util.Assert;
 
 import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
+import pending.org.springframework.data.arangodb.repository.config.QueryPlanCheckMode;
+import pending.org.springframework.data.arangodb.repository.config.RepositoryBootstrapMode;
 import pending.org.springframework.data.arangodb.repository.config.RepositoryOperationsMapping;
 
 /**
  * リポジトリを生成するファクトリビーンです。
  * 
+ * <p>
+ * {@link RepositoryBootstrapMode#LAZY} 、 {@link RepositoryBootstrapMode#DEFERRED} の場合、
+ * リポジトリインタフェースを実装するプロキシを返し、リポジトリの生成を遅らせます。
+ * </p>
+ * 
  * @author hs0x01
  *
  * @param <T> リポジトリ
@@ -20,13 +34,48 @@ import pending.org.springframework.data.arangodb.repository.config.RepositoryOpe
  * @param <ID> ID
  */
 public class ArangoDBRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable>
-		extends RepositoryFactoryBeanSupport<T, S, ID> {
+		extends RepositoryFactoryBeanSupport<T, S, ID> implements ApplicationListener<ContextRefreshedEvent> {
+
+	/**
+	 * ロガーです。
+	 */
+	private static final Log LOG = LogFactory.getLog(ArangoDBRepositoryFactoryBean.class);
 
 	/**
 	 * {@link RepositoryOperationsMapping} インスタンスです。
 	 */
 	private RepositoryOperationsMapping operationsMapping;
 
+	/**
+	 * リポジトリが生成する AQL の実行計画チェックのモードです。
+	 */
+	private QueryPlanCheckMode queryPlanCheckMode = QueryPlanCheckMode.NONE;
+
+	/**
+	 * 実行計画チェックで大きなコレクションとみなす推定件数です。
+	 */
+	private long largeCollectionThreshold = ArangoDBQueryPlanChecker.DEFAULT_LARGE_COLLECTION_THRESHOLD;
+
+	/**
+	 * リポジトリを生成するタイミングのモードです。
+	 */
+	private RepositoryBootstrapMode bootstrapMode = RepositoryBootstrapMode.DEFAULT;
+
+	/**
+	 * プロキシの生成に使用するクラスローダーです。
+	 */
+	private ClassLoader classLoader;
+
+	/**
+	 * リポジトリを遅延して生成する {@link RepositoryTargetSource} です。遅延しない場合は {@code null} です。
+	 */
+	private RepositoryTargetSource targetSource;
+
+	/**
+	 * リポジトリの生成を遅らせるプロキシです。遅延しない場合は {@code null} です。
+	 */
+	private T lazyRepository;
+
 	/**
 	 * 与えられたリポジトリインターフェースのためのファクトリビーンを生成します。
 	 * 
@@ -55,6 +104,42 @@ public class ArangoDBRepositoryFactoryBean<T extends Repository<S, ID>, S, ID ex
 		setMappingContext(operationsMapping.getMappingContext());
 	}
 
+	/**
+	 * リポジトリが生成する AQL の実行計画チェックのモードを設定します。
+	 * 
+	 * @param queryPlanCheckMode 実行計画チェックのモード
+	 */
+	public void setQueryPlanCheckMode(final QueryPlanCheckMode queryPlanCheckMode) {
+		this.queryPlanCheckMode = queryPlanCheckMode;
+	}
+
+	/**
+	 * 実行計画チェックで大きなコレクションとみなす推定件数を設定します。
+	 * 
+	 * @param largeCollectionThreshold 大きなコレクションとみなす推定件数
+	 */
+	public void setLargeCollectionThreshold(final long largeCollectionThreshold) {
+		this.largeCollectionThreshold = largeCollectionThreshold;
+	}
+
+	/**
+	 * リポジトリを生成するタイミングのモードを設定します。
+	 * 
+	 * @param bootstrapMode リポジトリを生成するタイミングのモード
+	 */
+	public void setBootstrapMode(final RepositoryBootstrapMode bootstrapMode) {
+		this.bootstrapMode = bootstrapMode == null ? RepositoryBootstrapMode.DEFAULT : bootstrapMode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setBeanClassLoader(final ClassLoader classLoader) {
+		super.setBeanClassLoader(classLoader);
+		this.classLoader = classLoader;
+	}
+
 	/**
 	 * リポジトリファクトリのインスタンスを生成します。
 	 * 
@@ -71,15 +156,93 @@ public class ArangoDBRepositoryFactoryBean<T extends Repository<S, ID>, S, ID ex
 	 * @return リポジトリファクトリのインスタンス
 	 */
 	protected ArangoDBRepositoryFactory getFactoryInstance(final RepositoryOperationsMapping operationsMapping) {
-		return new ArangoDBRepositoryFactory(operationsMapping);
+		ArangoDBRepositoryFactory factory = new ArangoDBRepositoryFactory(operationsMapping);
+		factory.setQueryPlanCheckMode(queryPlanCheckMode);
+		factory.setLargeCollectionThreshold(largeCollectionThreshold);
+		return factory;
 	}
 
 	/**
 	 * 依存関係が解決されていることを確実にします。
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public void afterPropertiesSet() {
+
+		if (bootstrapMode != RepositoryBootstrapMode.DEFAULT) {
+			setLazyInit(true);
+		}
+
 		super.afterPropertiesSet();
 		Assert.notNull(operationsMapping, "operationsMapping must not be null!");
+
+		if (bootstrapMode != RepositoryBootstrapMode.DEFAULT) {
+			targetSource = new RepositoryTargetSource();
+			ProxyFactory proxyFactory = new ProxyFactory();
+			proxyFactory.addInterface(getObjectType());
+			proxyFactory.setTargetSource(targetSource);
+			lazyRepository = (T) proxyFactory.getProxy(classLoader);
+		}
+	}
+
+	/**
+	 * リポジトリを返します。
+	 * 
+	 * <p>
+	 * リポジトリの生成を遅らせる場合は、最初のメソッド呼び出しでリポジトリを生成するプロキシを返します。
+	 * </p>
+	 * 
+	 * @return リポジトリ
+	 */
+	@Override
+	public T getObject() {
+		return lazyRepository != null ? lazyRepository : super.getObject();
+	}
+
+	/**
+	 * {@link RepositoryBootstrapMode#DEFERRED} の場合、アプリケーションコンテキストの起動が完了した後に、
+	 * バックグラウンドでリポジトリを生成します。
+	 * 
+	 * @param event {@link ContextRefreshedEvent}
+	 */
+	@Override
+	public void onApplicationEvent(final ContextRefreshedEvent event) {
+
+		if (bootstrapMode != RepositoryBootstrapMode.DEFERRED || targetSource == null
+				|| targetSource.isInitialized()) {
+			return;
+		}
+
+		CompletableFuture.runAsync(() -> {
+			try {
+				targetSource.getTarget();
+			} catch (Exception e) {
+				// 最初のメソッド呼び出しで再度生成を試みる
+				LOG.warn(String.format("Failed to bootstrap repository %s in background: %s",
+						getObjectType().getName(), e.getMessage()), e);
+			}
+		});
+	}
+
+	/**
+	 * 最初に要求されたときにリポジトリを生成する {@link org.springframework.aop.TargetSource} です。
+	 */
+	private class RepositoryTargetSource extends AbstractLazyCreationTargetSource {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Class<?> getTargetClass() {
+			return getObjectType();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected Object createObject() {
+			return ArangoDBRepositoryFactoryBean.super.getObject();
+		}
 	}
 }
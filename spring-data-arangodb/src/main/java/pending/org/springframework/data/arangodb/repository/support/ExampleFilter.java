@@ -0,0 +1,137 @@
+package pending.org.springframework.data.arangodb.repository.support;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.repository.core.support.ExampleMatcherAccessor;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * {@link ExampleFilterBuilder} で {@link Example} から変換した {@code FILTER} 条件です。
+ *
+ * <p>
+ * 条件の文字列には値が含まれないため、同じ形状の {@link Example} に再利用できます。<br>
+ * 比較する値は {@link #bind(Map, ExampleMatcherAccessor, Map)} で、プローブを書き込んだ属性から取り出します。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+@AllArgsConstructor
+class ExampleFilter {
+
+	/**
+	 * {@code FILTER} 条件です。条件がない場合は空文字列です。
+	 */
+	private final String condition;
+
+	/**
+	 * 条件が参照するバインド変数です。
+	 */
+	private final List<Binding> bindings;
+
+	/**
+	 * {@code FILTER} 条件を返します。
+	 *
+	 * @return {@code FILTER} 条件。条件がない場合は空文字列
+	 */
+	String getCondition() {
+		return condition;
+	}
+
+	/**
+	 * プローブを書き込んだ属性から比較する値を取り出し、バインド変数に設定します。
+	 *
+	 * <p>
+	 * {@link org.springframework.data.domain.ExampleMatcher.PropertyValueTransformer} が値により {@code null}
+	 * を返すなど、条件を生成したときと値の種類が異なる場合は、この条件を使用できないため何も設定しません。
+	 * </p>
+	 *
+	 * @param stored
+	 *            プローブを書き込んだ属性
+	 * @param accessor
+	 *            {@link ExampleMatcherAccessor}
+	 * @param bindVars
+	 *            バインド変数
+	 * @return 値を設定した場合は {@code true} 、この条件を使用できない場合は {@code false}
+	 */
+	boolean bind(Map<String, Object> stored, ExampleMatcherAccessor accessor, Map<String, Object> bindVars) {
+
+		Map<String, Object> values = new HashMap<>();
+
+		for (Binding binding : bindings) {
+			Object value = binding.getValue(stored, accessor);
+			if (value == null) {
+				return false;
+			}
+			values.put(binding.name, value);
+		}
+
+		bindVars.putAll(values);
+		return true;
+	}
+
+	/**
+	 * 条件が参照するバインド変数です。
+	 *
+	 * @author hs0x01
+	 *
+	 */
+	@AllArgsConstructor
+	static class Binding {
+
+		/**
+		 * バインド変数名です。
+		 */
+		private final String name;
+
+		/**
+		 * 値の、プローブを書き込んだ属性でのパスです。
+		 */
+		private final List<String> attributePath;
+
+		/**
+		 * 値のプロパティパスです。値を変換しない場合は {@code null} です。
+		 */
+		private final String propertyPath;
+
+		/**
+		 * 文字列の値を、バインド変数の値に変換する関数です。文字列以外の値を比較する場合は {@code null} です。
+		 */
+		private final UnaryOperator<String> format;
+
+		/**
+		 * バインド変数の値を返します。
+		 *
+		 * @param stored
+		 *            プローブを書き込んだ属性
+		 * @param accessor
+		 *            {@link ExampleMatcherAccessor}
+		 * @return バインド変数の値。条件を生成したときと値の種類が異なる場合は {@code null}
+		 */
+		@SuppressWarnings("unchecked")
+		private Object getValue(Map<String, Object> stored, ExampleMatcherAccessor accessor) {
+
+			Object value = stored;
+			for (String attributeName : attributePath) {
+				if (!(value instanceof Map)) {
+					return null;
+				}
+				value = ((Map<String, Object>) value).get(attributeName);
+			}
+
+			if (value != null && propertyPath != null) {
+				value = accessor.getValueTransformerForPath(propertyPath).convert(value);
+			}
+			if (value == null || (value instanceof String) != (format != null)) {
+				return null;
+			}
+
+			return format == null ? value : format.apply((String) value);
+		}
+	}
+}
@@ -0,0 +1,397 @@
+package pending.org.springframework.data.arangodb.repository.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher.NullHandler;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.SimpleAssociationHandler;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.repository.core.support.ExampleMatcherAccessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import com.arangodb.entity.BaseDocument;
+
+import pending.org.springframework.data.arangodb.core.convert.ArangoDBConverter;
+import pending.org.springframework.data.arangodb.core.convert.DefaultArangoDBTypeMapper;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
+import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
+import pending.org.springframework.data.arangodb.core.mapping.Compressed;
+import pending.org.springframework.data.arangodb.core.mapping.Encrypt;
+import pending.org.springframework.data.arangodb.repository.support.ExampleFilter.Binding;
+
+/**
+ * {@link Example} を AQL の {@code FILTER} 条件に変換します。
+ *
+ * <p>
+ * 比較する値は、プローブを {@link ArangoDBConverter} で書き込んだドキュメントから取り出し、バインド変数で渡します。
+ * そのため、カスタムコンバータ、フィールド名ストラテジ、決定的な {@link Encrypt} は保存されている値と同じ形式で比較されます。<br>
+ * {@link org.springframework.data.domain.ExampleMatcher.PropertyValueTransformer} は、書き込まれた値に適用されます。<br>
+ * {@link org.springframework.data.annotation.Version} のプロパティは条件に含まれません。
+ * </p>
+ *
+ * <p>
+ * 暗号化、圧縮されて保存される値は、完全一致だけで比較できます。非決定的な {@link Encrypt} の値は比較できません。
+ * </p>
+ *
+ * @author hs0x01
+ *
+ */
+class ExampleFilterBuilder {
+
+	/**
+	 * バインド変数名の接頭辞です。
+	 */
+	private static final String BIND_VAR_PREFIX = "e";
+
+	/**
+	 * {@link MappingContext} インスタンスです。
+	 */
+	private final MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext;
+
+	/**
+	 * {@link ArangoDBConverter} インスタンスです。
+	 */
+	private final ArangoDBConverter converter;
+
+	/**
+	 * インスタンスを生成します。
+	 *
+	 * @param mappingContext
+	 *            {@link MappingContext} インスタンス
+	 * @param converter
+	 *            {@link ArangoDBConverter} インスタンス
+	 */
+	ExampleFilterBuilder(MappingContext<? extends ArangoDBPersistentEntity<?>, ArangoDBPersistentProperty> mappingContext,
+			ArangoDBConverter converter) {
+		this.mappingContext = mappingContext;
+		this.converter = converter;
+	}
+
+	/**
+	 * プローブをドキュメントの属性に書き込みます。
+	 *
+	 * @param example
+	 *            {@link Example}
+	 * @return プローブを書き込んだ属性
+	 */
+	Map<String, Object> write(Example<?> example) {
+
+		BaseDocument document = new BaseDocument();
+		converter.write(example.getProbe(), document);
+
+		Map<String, Object> stored = new HashMap<>(document.getProperties());
+		if (document.getKey() != null) {
+			stored.put("_key", document.getKey());
+		}
+
+		return stored;
+	}
+
+	/**
+	 * {@link Example} の形状を返します。
+	 *
+	 * <p>
+	 * 形状は、プローブの型、 {@link org.springframework.data.domain.ExampleMatcher} 、
+	 * 値が {@code null} でない属性のパスと値が文字列かどうかからなり、形状が等しい {@link Example} は同じ条件になります。
+	 * </p>
+	 *
+	 * @param example
+	 *            {@link Example}
+	 * @param stored
+	 *            プローブを書き込んだ属性
+	 * @return 形状
+	 */
+	static Object getShape(Example<?> example, Map<String, Object> stored) {
+
+		Set<String> attributePaths = new HashSet<>();
+		addAttributePaths(stored, "", attributePaths);
+
+		return Arrays.asList(ClassUtils.getUserClass(example.getProbe()), example.getMatcher(), attributePaths);
+	}
+
+	/**
+	 * {@link Example} を {@code FILTER} 条件に変換します。
+	 *
+	 * <p>
+	 * 条件の文字列には値が含まれないため、同じ形状の {@link Example} は同じ条件になります。
+	 * </p>
+	 *
+	 * @param example
+	 *            {@link Example}
+	 * @param stored
+	 *            プローブを書き込んだ属性
+	 * @param domainType
+	 *            リポジトリのエンティティクラス。プローブの型が異なる場合は、型情報で絞り込みます
+	 * @param variable
+	 *            ドキュメントの変数名
+	 * @return {@code FILTER} 条件
+	 * @throws IllegalArgumentException
+	 *             暗号化、圧縮されて保存される値に、完全一致以外の比較が指定された場合
+	 */
+	ExampleFilter build(Example<?> example, Map<String, Object> stored, Class<?> domainType, String variable) {
+
+		Object probe = example.getProbe();
+		ArangoDBPersistentEntity<?> entity = mappingContext.getPersistentEntity(ClassUtils.getUserClass(probe));
+
+		ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+		List<String> filters = new ArrayList<>();
+		List<Binding> bindings = new ArrayList<>();
+
+		addFilters(entity, probe, stored, "", Collections.emptyList(), variable, true, accessor, filters, bindings);
+
+		String filter = StringUtils.collectionToDelimitedString(filters,
+				example.getMatcher().isAnyMatching() ? " || " : " && ");
+
+		Object typeAlias = stored.get(DefaultArangoDBTypeMapper.TYPE_KEY);
+		if (typeAlias != null && entity.getType() != domainType) {
+			String typeFilter = variable + ".`" + DefaultArangoDBTypeMapper.TYPE_KEY + "` == @"
+					+ bind(Collections.singletonList(DefaultArangoDBTypeMapper.TYPE_KEY), null,
+							typeAlias instanceof String ? UnaryOperator.identity() : null, bindings);
+			filter = filter.isEmpty() ? typeFilter : typeFilter + " && (" + filter + ")";
+		}
+
+		return new ExampleFilter(filter, bindings);
+	}
+
+	/**
+	 * エンティティのプロパティの条件を追加します。
+	 *
+	 * @param entity
+	 *            エンティティ
+	 * @param bean
+	 *            プローブ、またはネストしたプロパティの値
+	 * @param stored
+	 *            {@code bean} を書き込んだ属性
+	 * @param path
+	 *            {@code bean} のプロパティパス。ルートの場合は空文字列
+	 * @param attributePath
+	 *            {@code bean} の、プローブを書き込んだ属性でのパス
+	 * @param attribute
+	 *            {@code bean} に対応する AQL の式
+	 * @param root
+	 *            ルートのエンティティの場合は {@code true}
+	 * @param accessor
+	 *            {@link ExampleMatcherAccessor}
+	 * @param filters
+	 *            条件を追加するリスト
+	 * @param bindings
+	 *            バインド変数を追加するリスト
+	 */
+	private void addFilters(ArangoDBPersistentEntity<?> entity, Object bean, Map<String, Object> stored,
+			String path, List<String> attributePath, String attribute, boolean root, ExampleMatcherAccessor accessor,
+			List<String> filters, List<Binding> bindings) {
+
+		PersistentPropertyAccessor propertyAccessor = entity.getPropertyAccessor(bean);
+
+		entity.doWithProperties((PropertyHandler<ArangoDBPersistentProperty>) property -> addFilter(property,
+				propertyAccessor, stored, path, attributePath, attribute, root, accessor, filters, bindings));
+		entity.doWithAssociations((SimpleAssociationHandler) association -> addFilter(
+				(ArangoDBPersistentProperty) association.getInverse(), propertyAccessor, stored, path, attributePath,
+				attribute, root, accessor, filters, bindings));
+	}
+
+	/**
+	 * プロパティの条件を追加します。
+	 *
+	 * @param property
+	 *            プロパティ
+	 * @param propertyAccessor
+	 *            プロパティを持つオブジェクトの {@link PersistentPropertyAccessor}
+	 * @param stored
+	 *            プロパティを持つオブジェクトを書き込んだ属性
+	 * @param path
+	 *            プロパティを持つオブジェクトのプロパティパス
+	 * @param attributePath
+	 *            プロパティを持つオブジェクトの、プローブを書き込んだ属性でのパス
+	 * @param attribute
+	 *            プロパティを持つオブジェクトに対応する AQL の式
+	 * @param root
+	 *            ルートのエンティティの場合は {@code true}
+	 * @param accessor
+	 *            {@link ExampleMatcherAccessor}
+	 * @param filters
+	 *            条件を追加するリスト
+	 * @param bindings
+	 *            バインド変数を追加するリスト
+	 */
+	@SuppressWarnings("unchecked")
+	private void addFilter(ArangoDBPersistentProperty property, PersistentPropertyAccessor propertyAccessor,
+			Map<String, Object> stored, String path, List<String> attributePath, String attribute, boolean root,
+			ExampleMatcherAccessor accessor, List<String> filters, List<Binding> bindings) {
+
+		String propertyPath = path.isEmpty() ? property.getName() : path + "." + property.getName();
+
+		if (property.isVersionProperty() || accessor.isIgnoredPath(propertyPath)) {
+			return;
+		}
+
+		String attributeName = root ? property.getRootAttributeName() : property.getFieldName();
+		String propertyAttribute = attribute + ".`" + attributeName + "`";
+		List<String> propertyAttributePath = new ArrayList<>(attributePath);
+		propertyAttributePath.add(attributeName);
+
+		Object value = propertyAccessor.getProperty(property);
+		Object storedValue = stored.get(attributeName);
+
+		if (storedValue == null) {
+			if (accessor.getNullHandler() == NullHandler.INCLUDE && !property.isIdProperty()) {
+				filters.add(propertyAttribute + " == null");
+			}
+			return;
+		}
+
+		if (!property.isAssociation() && property.isEntity() && !property.isCollectionLike() && !property.isMap()
+				&& storedValue instanceof Map && value != null) {
+			addFilters(mappingContext.getPersistentEntity(ClassUtils.getUserClass(value)), value,
+					(Map<String, Object>) storedValue, propertyPath, propertyAttributePath, propertyAttribute, false,
+					accessor, filters, bindings);
+			return;
+		}
+
+		boolean transformed = (property.isAnnotationPresent(Encrypt.class)
+				|| property.isAnnotationPresent(Compressed.class)) && !storedValue.equals(value);
+
+		if (transformed && property.isAnnotationPresent(Encrypt.class)
+				&& !property.findAnnotation(Encrypt.class).deterministic()) {
+			throw new IllegalArgumentException(String.format(
+					"Property %s is encrypted non-deterministically and cannot be matched by example.",
+					propertyPath));
+		}
+
+		storedValue = accessor.getValueTransformerForPath(propertyPath).convert(storedValue);
+		if (storedValue == null) {
+			return;
+		}
+
+		if (!(storedValue instanceof String)) {
+			filters.add(propertyAttribute + " == @" + bind(propertyAttributePath, propertyPath, null, bindings));
+			return;
+		}
+
+		StringMatcher stringMatcher = accessor.getStringMatcherForPath(propertyPath);
+		boolean ignoreCase = accessor.isIgnoreCaseForPath(propertyPath);
+
+		if (transformed && (ignoreCase || stringMatcher != StringMatcher.DEFAULT
+				&& stringMatcher != StringMatcher.EXACT)) {
+			throw new IllegalArgumentException(String.format(
+					"Property %s is stored encrypted or compressed and can only be matched exactly.", propertyPath));
+		}
+
+		switch (stringMatcher) {
+		case STARTING:
+			filters.add(like(propertyAttribute, propertyAttributePath, propertyPath,
+					string -> escapeLike(string) + "%", ignoreCase, bindings));
+			break;
+		case ENDING:
+			filters.add(like(propertyAttribute, propertyAttributePath, propertyPath,
+					string -> "%" + escapeLike(string), ignoreCase, bindings));
+			break;
+		case CONTAINING:
+			filters.add(like(propertyAttribute, propertyAttributePath, propertyPath,
+					string -> "%" + escapeLike(string) + "%", ignoreCase, bindings));
+			break;
+		case REGEX:
+			filters.add("REGEX_TEST(" + propertyAttribute + ", @"
+					+ bind(propertyAttributePath, propertyPath, UnaryOperator.identity(), bindings) + ", "
+					+ ignoreCase + ")");
+			break;
+		default:
+			String name = bind(propertyAttributePath, propertyPath, UnaryOperator.identity(), bindings);
+			if (ignoreCase) {
+				filters.add("LOWER(" + propertyAttribute + ") == LOWER(@" + name + ")");
+			} else {
+				filters.add(propertyAttribute + " == @" + name);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * {@code LIKE} の条件を返します。
+	 *
+	 * @param attribute
+	 *            比較する AQL の式
+	 * @param attributePath
+	 *            値の、プローブを書き込んだ属性でのパス
+	 * @param propertyPath
+	 *            値のプロパティパス
+	 * @param pattern
+	 *            値を {@code LIKE} のパターンに変換する関数
+	 * @param ignoreCase
+	 *            大文字と小文字を区別しない場合は {@code true}
+	 * @param bindings
+	 *            バインド変数を追加するリスト
+	 * @return {@code LIKE} の条件
+	 */
+	private static String like(String attribute, List<String> attributePath, String propertyPath,
+			UnaryOperator<String> pattern, boolean ignoreCase, List<Binding> bindings) {
+		return "LIKE(" + attribute + ", @" + bind(attributePath, propertyPath, pattern, bindings) + ", " + ignoreCase
+				+ ")";
+	}
+
+	/**
+	 * {@code LIKE} のワイルドカードをエスケープします。
+	 *
+	 * @param value
+	 *            値
+	 * @return エスケープした値
+	 */
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	/**
+	 * バインド変数を追加します。
+	 *
+	 * @param attributePath
+	 *            値の、プローブを書き込んだ属性でのパス
+	 * @param propertyPath
+	 *            値のプロパティパス。値を変換しない場合は {@code null}
+	 * @param format
+	 *            文字列の値をバインド変数の値に変換する関数。文字列以外の値の場合は {@code null}
+	 * @param bindings
+	 *            バインド変数を追加するリスト
+	 * @return バインド変数名
+	 */
+	private static String bind(List<String> attributePath, String propertyPath, UnaryOperator<String> format,
+			List<Binding> bindings) {
+		String name = BIND_VAR_PREFIX + bindings.size();
+		bindings.add(new Binding(name, attributePath, propertyPath, format));
+		return name;
+	}
+
+	/**
+	 * 値が {@code null} でない属性のパスを、値が文字列かどうかとともに追加します。
+	 *
+	 * @param attributes
+	 *            属性
+	 * @param prefix
+	 *            属性のパスの接頭辞
+	 * @param attributePaths
+	 *            属性のパスを追加する集合
+	 */
+	@SuppressWarnings("unchecked")
+	private static void addAttributePaths(Map<String, Object> attributes, String prefix, Set<String> attributePaths) {
+		for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+			Object value = attribute.getValue();
+			String attributePath = prefix + attribute.getKey();
+			if (value instanceof Map) {
+				addAttributePaths((Map<String, Object>) value, attributePath + ".", attributePaths);
+			} else if (value != null) {
+				attributePaths.add(value instanceof String ? attributePath : attributePath + ":");
+			}
+		}
+	}
+}
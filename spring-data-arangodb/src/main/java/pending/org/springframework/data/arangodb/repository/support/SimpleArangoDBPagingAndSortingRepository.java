@@ -1,7 +1,7 @@
 package pending.org.springframework.data.arangodb.repository.support;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -47,14 +47,14 @@ public class SimpleArangoDBPagingAndSortingRepository<T, ID extends Serializable
 	@Override
 	public Iterable<T> findAll(Sort sort) {
 
-		String collectionName = getCollectionName();
+		Map<String, Object> bindVars = newBindVars();
 
-		Map<String, Object> bindVars = new HashMap<>();
+		String aql = getAqlTemplate(Arrays.asList("findAll(Sort)", sort),
+				() -> "FOR c IN @@col " + getAqlSort(sort, "c") + " RETURN " + getReturnExpression("c"));
 
-		String aqlSort = getAqlSort(sort, "c");
+		inspectQueryPlan("findAll(Sort)", aql, bindVars);
 
-		return arangoDBOperations.readByAql("FOR c IN " + collectionName + " " + aqlSort + " RETURN c", bindVars,
-				entityInformation.getJavaType());
+		return arangoDBOperations.readByAql(aql, bindVars, entityInformation.getJavaType());
 	}
 
 	/**
@@ -63,25 +63,19 @@ public class SimpleArangoDBPagingAndSortingRepository<T, ID extends Serializable
 	@Override
 	public Page<T> findAll(Pageable pageable) {
 		
-		String aqlSort = "";
-		if (pageable.getSort() != null) {
-			aqlSort = getAqlSort(pageable.getSort(), "c");
-		}
+		Sort sort = pageable.getSort();
 
-		String collectionName = getCollectionName();
+		Map<String, Object> bindVars = newBindVars();
+		bindVars.put("offset", pageable.getOffset());
+		bindVars.put("count", pageable.getPageSize());
 
-		Map<String, Object> bindVars = new HashMap<>();
+		String aql = getFindAllPageAql(sort);
 
-		StringBuilder aql = new StringBuilder();
-		
-		aql.append("FOR c IN ");
-		aql.append(collectionName).append(" ");
-		aql.append(aqlSort).append(" ");
-		aql.append("LIMIT ").append(pageable.getOffset()).append(", ").append(pageable.getPageSize()).append(" ");
-		aql.append("RETURN c");
+		if (sort != null) {
+			inspectQueryPlan("findAll(Pageable)", aql, bindVars);
+		}
 		
-		List<T> list = arangoDBOperations.readByAql(aql.toString(), bindVars,
-				entityInformation.getJavaType());
+		List<T> list = arangoDBOperations.readByAql(aql, bindVars, entityInformation.getJavaType());
 		
 		long total = count();
 		
@@ -89,35 +83,34 @@ public class SimpleArangoDBPagingAndSortingRepository<T, ID extends Serializable
 	}
 
 	/**
-	 * AQL のソート条件文字列を返します。
+	 * {@inheritDoc}
 	 * 
-	 * @param sort
-	 *            {@link Sort}
-	 * @param collectionAlias
-	 *            コレクションのエイリアス
-	 * @return AQL のソート条件文字列
+	 * <p>
+	 * ソート条件のないページの AQL も、件数 {@code 0} で実行します。
+	 * </p>
 	 */
-	protected String getAqlSort(Sort sort, String collectionAlias) {
-
-		StringBuilder aqlSort = new StringBuilder();
-
-		aqlSort.append("SORT");
-
-		for (Sort.Order order : sort) {
+	@Override
+	public void warmUpQueries() {
 
-			String orderProperty = order.getProperty();
+		super.warmUpQueries();
 
-			if (order.isAscending()) {
-				aqlSort.append(" ").append(collectionAlias).append(".").append(orderProperty).append(" ASC")
-						.append(",");
-			} else {
-				aqlSort.append(" ").append(collectionAlias).append(".").append(orderProperty).append(" DESC")
-						.append(",");
-			}
-		}
+		Map<String, Object> bindVars = newBindVars();
+		bindVars.put("offset", 0);
+		bindVars.put("count", 0);
 
-		aqlSort.delete(aqlSort.length() - 1, aqlSort.length());
+		arangoDBOperations.readByAql(getFindAllPageAql(null), bindVars, entityInformation.getJavaType());
+	}
 
-		return aqlSort.toString();
+	/**
+	 * ページを取得する AQL を返します。
+	 * 
+	 * @param sort
+	 *            ソート条件。ソートしない場合は {@code null}
+	 * @return AQL
+	 */
+	private String getFindAllPageAql(Sort sort) {
+		return getAqlTemplate(Arrays.asList("findAll(Pageable)", sort),
+				() -> "FOR c IN @@col " + (sort == null ? "" : getAqlSort(sort, "c") + " ")
+						+ "LIMIT @offset, @count RETURN " + getReturnExpression("c"));
 	}
 }
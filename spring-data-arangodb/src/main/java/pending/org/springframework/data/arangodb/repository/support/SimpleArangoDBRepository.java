@@ -1,23 +1,49 @@
 package pending.org.springframework.data.arangodb.repository.support;
 
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.mapping.SimpleAssociationHandler;
 import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.context.PersistentPropertyPath;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.repository.core.support.ExampleMatcherAccessor;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.data.util.StreamUtils;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.entity.BaseDocument;
 
 import lombok.SneakyThrows;
 import pending.org.springframework.data.arangodb.core.ArangoDBOperations;
 import pending.org.springframework.data.arangodb.core.ArangoDBTemplate;
+import pending.org.springframework.data.arangodb.core.ExportOptions;
+import pending.org.springframework.data.arangodb.core.ExportProgress;
+import pending.org.springframework.data.arangodb.core.FullCountResult;
+import pending.org.springframework.data.arangodb.core.TraversalPath;
+import pending.org.springframework.data.arangodb.core.TraversalSpec;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentEntity;
 import pending.org.springframework.data.arangodb.core.mapping.ArangoDBPersistentProperty;
-import pending.org.springframework.data.arangodb.core.mapping.Entity;
 import pending.org.springframework.data.arangodb.repository.ArangoDBRepository;
 import pending.org.springframework.data.arangodb.repository.query.ArangoDBEntityInformation;
 
@@ -33,6 +59,16 @@ import pending.org.springframework.data.arangodb.repository.query.ArangoDBEntity
  */
 public class SimpleArangoDBRepository<T, ID extends Serializable> implements ArangoDBRepository<T, ID> {
 
+	/**
+	 * コレクション名のバインド変数名です。
+	 */
+	protected static final String COLLECTION_BIND_VAR = "@col";
+
+	/**
+	 * キャッシュする AQL テンプレートの最大数です。
+	 */
+	private static final int MAX_AQL_TEMPLATES = 256;
+
 	/**
 	 * {@link ArangoDBTemplate} インスタンスです。
 	 */
@@ -43,6 +79,26 @@ public class SimpleArangoDBRepository<T, ID extends Serializable> implements Ara
 	 */
 	protected final ArangoDBEntityInformation<T, ID> entityInformation;
 
+	/**
+	 * {@link ArangoDBQueryPlanChecker} インスタンスです。チェックしない場合は {@code null} です。
+	 */
+	protected ArangoDBQueryPlanChecker queryPlanChecker;
+
+	/**
+	 * {@code RETURN} する式の、変数名より後の部分です。
+	 */
+	private volatile String returnExpressionSuffix;
+
+	/**
+	 * クエリの形状と AQL テンプレートのマッピングです。
+	 */
+	private final Map<Object, String> aqlTemplates = new ConcurrentHashMap<>();
+
+	/**
+	 * {@link Example} の形状と {@code FILTER} 条件のマッピングです。
+	 */
+	private final Map<Object, ExampleFilter> exampleFilters = new ConcurrentHashMap<>();
+
 	/**
 	 * リポジトリを生成します。
 	 * 
@@ -125,14 +181,9 @@ public class SimpleArangoDBRepository<T, ID extends Serializable> implements Ara
 	@Override
 	public Iterable<T> findAll() {
 		
-		String collectionName = getCollectionName();
-		
-		Map<String, Object> bindVars = new HashMap<>();
+		String aql = getAqlTemplate("findAll", () -> "FOR c IN @@col RETURN " + getReturnExpression("c"));
 		
-		return arangoDBOperations.readByAql(
-				"FOR c IN " + collectionName + " RETURN c",
-				bindVars,
-				entityInformation.getJavaType());
+		return arangoDBOperations.readByAql(aql, newBindVars(), entityInformation.getJavaType());
 	}
 
 	/**
@@ -145,32 +196,11 @@ public class SimpleArangoDBRepository<T, ID extends Serializable> implements Ara
 			throw new IllegalArgumentException("The ids is null or empty.");
 		}
 		
-		String collectionName = getCollectionName();
-		Map<String, Object> bindVars = new HashMap<>();
+		Map<String, Object> bindVars = newBindVars();
 		
-		StringBuilder query = new StringBuilder();
-		query.append("FOR c IN ");
-		query.append(collectionName);
-		query.append(" FILTER ");
+		String query = getFindAllByIdsAql(ids, bindVars);
 		
-		int i = 0;
-		Iterator<ID> idsItr = ids.iterator();
-		while (idsItr.hasNext()) {
-			ID id = idsItr.next();
-			bindVars.put("_key" + i, id);
-			query.append(" c._key == @_key").append(i);
-			query.append(" ||");
-			i++;
-		}
-		
-		query.delete(query.length() - 2, query.length());
-		
-		query.append(" RETURN c");
-		
-		return arangoDBOperations.readByAql(
-				query.toString(),
-				bindVars,
-				entityInformation.getJavaType());
+		return arangoDBOperations.readByAql(query, bindVars, entityInformation.getJavaType());
 	}
 
 	/**
@@ -179,13 +209,9 @@ public class SimpleArangoDBRepository<T, ID extends Serializable> implements Ara
 	@Override
 	public long count() {
 		
-		String collectionName = getCollectionName();
-		
-		Map<String, Object> bindVars = new HashMap<>();
+		String aql = getAqlTemplate("count", () -> "FOR c IN @@col COLLECT WITH COUNT INTO length RETURN length");
 		
-		return arangoDBOperations.countByAql(
-				"FOR c IN " + collectionName + " COLLECT WITH COUNT INTO length RETURN length",
-				bindVars);
+		return arangoDBOperations.countByAql(aql, newBindVars());
 	}
 
 	/**
@@ -256,22 +282,531 @@ public class SimpleArangoDBRepository<T, ID extends Serializable> implements Ara
 	public ArangoDBOperations getArangoDBOperations() {
 		return arangoDBOperations;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ExportProgress export(OutputStream out, ExportOptions options) {
+		
+		Assert.notNull(out, "out must not be null!");
+		
+		return arangoDBOperations.exportCollection(getCollectionName(), Channels.newChannel(out), options);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Stream<T> traverse(ID id, TraversalSpec spec) {
+		
+		CloseableIterator<T> vertices = arangoDBOperations.traverseVertices(getDocumentHandle(id), spec,
+				entityInformation.getJavaType());
+		
+		return StreamUtils.createStreamFromIterator(vertices);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <E> Stream<E> traverseEdges(ID id, TraversalSpec spec, Class<E> edgeClass) {
+		
+		CloseableIterator<E> edges = arangoDBOperations.traverseEdges(getDocumentHandle(id), spec, edgeClass);
+		
+		return StreamUtils.createStreamFromIterator(edges);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <E> Stream<TraversalPath<T, E>> traversePaths(ID id, TraversalSpec spec, Class<E> edgeClass) {
+		
+		CloseableIterator<TraversalPath<T, E>> paths = arangoDBOperations.traversePaths(getDocumentHandle(id), spec,
+				entityInformation.getJavaType(), edgeClass);
+		
+		return StreamUtils.createStreamFromIterator(paths);
+	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <S extends T> S findOne(Example<S> example) {
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getExampleFilter(example, bindVars);
+		
+		String aql = getAqlTemplate(Arrays.asList("findOne(Example)", filter),
+				() -> "FOR c IN @@col " + toAqlFilter(filter) + "LIMIT 1 RETURN " + getReturnExpression("c"));
+		
+		List<S> list = arangoDBOperations.readByAql(aql, bindVars, example.getProbeType());
+		
+		return list.isEmpty() ? null : list.get(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <S extends T> Iterable<S> findAll(Example<S> example) {
+		return findAll(example, (Sort) null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <S extends T> Iterable<S> findAll(Example<S> example, Sort sort) {
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getExampleFilter(example, bindVars);
+		
+		String aql = getAqlTemplate(Arrays.asList("findAll(Example, Sort)", filter, sort),
+				() -> "FOR c IN @@col " + toAqlFilter(filter) + (sort == null ? "" : getAqlSort(sort, "c") + " ")
+						+ "RETURN " + getReturnExpression("c"));
+		
+		return arangoDBOperations.readByAql(aql, bindVars, example.getProbeType());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * 全体の件数は、サーバーの {@code fullCount} オプションにより同じクエリで数えます。
+	 * </p>
+	 */
+	@Override
+	public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+		
+		Sort sort = pageable.getSort();
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getExampleFilter(example, bindVars);
+		bindVars.put("offset", pageable.getOffset());
+		bindVars.put("count", pageable.getPageSize());
+		
+		String aql = getAqlTemplate(Arrays.asList("findAll(Example, Pageable)", filter, sort),
+				() -> "FOR c IN @@col " + toAqlFilter(filter) + (sort == null ? "" : getAqlSort(sort, "c") + " ")
+						+ "LIMIT @offset, @count RETURN " + getReturnExpression("c"));
+		
+		FullCountResult<S> result = arangoDBOperations.readByAqlWithFullCount(aql, bindVars,
+				example.getProbeType());
+		
+		return new PageImpl<>(result.getContent(), pageable, result.getFullCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <S extends T> long count(Example<S> example) {
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getExampleFilter(example, bindVars);
+		
+		String aql = getAqlTemplate(Arrays.asList("count(Example)", filter),
+				() -> "FOR c IN @@col " + toAqlFilter(filter) + "COLLECT WITH COUNT INTO length RETURN length");
+		
+		return arangoDBOperations.countByAql(aql, bindVars);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * 最初に一致したドキュメントで検索を終了します。
+	 * </p>
+	 */
+	@Override
+	public <S extends T> boolean exists(Example<S> example) {
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getExampleFilter(example, bindVars);
+		
+		String aql = getAqlTemplate(Arrays.asList("exists(Example)", filter),
+				() -> "RETURN LENGTH(FOR c IN @@col " + toAqlFilter(filter) + "LIMIT 1 RETURN 1)");
+		
+		return arangoDBOperations.countByAql(aql, bindVars) > 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <S extends T> OptionalLong updateAll(Example<S> criteria, S patch, String... properties) {
+		
+		Assert.notNull(patch, "Patch must not be null!");
+		Assert.notEmpty(properties, "At least one property to update must be given!");
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getRequiredExampleFilter(criteria, bindVars);
+		bindVars.put("patch", getPatch(patch, properties));
+		
+		String aql = getAqlTemplate(Arrays.asList("updateAll(Example)", filter),
+				() -> "FOR c IN @@col " + toAqlFilter(filter) + "UPDATE c WITH @patch IN @@col");
+		
+		return toWriteCount(arangoDBOperations.updateByAql(aql, bindVars));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <S extends T> OptionalLong removeAll(Example<S> criteria) {
+		
+		Map<String, Object> bindVars = newBindVars();
+		String filter = getRequiredExampleFilter(criteria, bindVars);
+		
+		String aql = getAqlTemplate(Arrays.asList("removeAll(Example)", filter),
+				() -> "FOR c IN @@col " + toAqlFilter(filter) + "REMOVE c IN @@col");
+		
+		return toWriteCount(arangoDBOperations.updateByAql(aql, bindVars));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void warmUpQueries() {
+		
+		Map<String, Object> bindVars = newBindVars();
+		
+		String query = getFindAllByIdsAql(Collections.singletonList(""), bindVars);
+		
+		arangoDBOperations.readByAql(query, bindVars, entityInformation.getJavaType());
+		
+		count();
+	}
+	
+	/**
+	 * {@link ArangoDBQueryPlanChecker} を設定します。
+	 * 
+	 * @param queryPlanChecker
+	 *            {@link ArangoDBQueryPlanChecker} インスタンス。チェックしない場合は {@code null}
+	 */
+	public void setQueryPlanChecker(ArangoDBQueryPlanChecker queryPlanChecker) {
+		this.queryPlanChecker = queryPlanChecker;
+	}
+
+	/**
+	 * リポジトリの呼び出し時に AQL の実行計画をチェックします。
+	 * 
+	 * <p>
+	 * 実行計画は呼び出し元を待たせずにバックグラウンドで取得され、問題のある実行計画は警告ログに出力するだけです。
+	 * </p>
+	 * 
+	 * @param queryName
+	 *            クエリの名称
+	 * @param aql
+	 *            AQL
+	 * @param bindVars
+	 *            バインド変数
+	 */
+	protected void inspectQueryPlan(String queryName, String aql, Map<String, Object> bindVars) {
+		if (queryPlanChecker != null) {
+			queryPlanChecker.inspect(entityInformation.getJavaType().getSimpleName() + "." + queryName, aql,
+					bindVars);
+		}
+	}
+
+	/**
+	 * キーの集合に一致するドキュメントを取得する AQL を返します。
+	 * 
+	 * <p>
+	 * キーの数によらず同じ AQL になるよう、キーは配列のバインド変数 {@code @keys} で渡します。
+	 * </p>
+	 * 
+	 * @param ids
+	 *            キーの集合
+	 * @param bindVars
+	 *            キーが設定されるバインド変数
+	 * @return AQL
+	 */
+	private String getFindAllByIdsAql(Iterable<?> ids, Map<String, Object> bindVars) {
+		
+		List<Object> keys = new ArrayList<>();
+		Iterator<?> idsItr = ids.iterator();
+		while (idsItr.hasNext()) {
+			keys.add(idsItr.next().toString());
+		}
+		bindVars.put("keys", keys);
+		
+		return getAqlTemplate("findAllByIds",
+				() -> "FOR c IN @@col FILTER c._key IN @keys RETURN " + getReturnExpression("c"));
+	}
+
+	/**
+	 * AQL のソート条件文字列を返します。
+	 * 
+	 * <p>
+	 * ソートするプロパティは、エンティティのマッピングに存在するプロパティ (ネストしたプロパティは {@code .} 区切り)
+	 * である必要があります。
+	 * </p>
+	 * 
+	 * @param sort
+	 *            {@link Sort}
+	 * @param collectionAlias
+	 *            コレクションのエイリアス
+	 * @return AQL のソート条件文字列
+	 * @throws PropertyReferenceException
+	 *             マッピングに存在しないプロパティが指定された場合
+	 */
+	protected String getAqlSort(Sort sort, String collectionAlias) {
+
+		StringBuilder aqlSort = new StringBuilder();
+
+		aqlSort.append("SORT");
+
+		for (Sort.Order order : sort) {
+
+			PersistentPropertyPath<ArangoDBPersistentProperty> path = arangoDBOperations.getMappingContext()
+					.getPersistentPropertyPath(PropertyPath.from(order.getProperty(), entityInformation.getJavaType()));
+
+			StringBuilder attribute = new StringBuilder(collectionAlias);
+			for (ArangoDBPersistentProperty property : path) {
+				attribute.append(".`").append(property.getRootAttributeName()).append("`");
+			}
+
+			aqlSort.append(" ");
+			if (order.isIgnoreCase()) {
+				aqlSort.append("LOWER(").append(attribute).append(")");
+			} else {
+				aqlSort.append(attribute);
+			}
+			aqlSort.append(order.isAscending() ? " ASC" : " DESC").append(",");
+		}
+
+		aqlSort.delete(aqlSort.length() - 1, aqlSort.length());
+
+		return aqlSort.toString();
+	}
+
+	/**
+	 * {@link Example} を {@code FILTER} 条件に変換します。
+	 * 
+	 * <p>
+	 * 条件は {@link Example} の形状ごとにキャッシュされ、同じ形状の {@link Example} は比較する値だけを取り出します。
+	 * </p>
+	 * 
+	 * @param example
+	 *            {@link Example}
+	 * @param bindVars
+	 *            比較する値が設定されるバインド変数
+	 * @return {@code FILTER} 条件。条件がない場合は空文字列
+	 */
+	protected String getExampleFilter(Example<?> example, Map<String, Object> bindVars) {
+		
+		Assert.notNull(example, "Example must not be null!");
+		
+		ExampleFilterBuilder builder = new ExampleFilterBuilder(arangoDBOperations.getMappingContext(),
+				arangoDBOperations.getConverter());
+		ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+		
+		Map<String, Object> stored = builder.write(example);
+		Object shape = ExampleFilterBuilder.getShape(example, stored);
+		
+		ExampleFilter filter = exampleFilters.get(shape);
+		if (filter != null && filter.bind(stored, accessor, bindVars)) {
+			return filter.getCondition();
+		}
+		
+		filter = builder.build(example, stored, entityInformation.getJavaType(), "c");
+		filter.bind(stored, accessor, bindVars);
+		if (exampleFilters.size() < MAX_AQL_TEMPLATES) {
+			exampleFilters.putIfAbsent(shape, filter);
+		}
+		
+		return filter.getCondition();
+	}
+
+	/**
+	 * 全てのドキュメントを対象にしないように、条件のある {@code FILTER} 条件を返します。
+	 * 
+	 * @param example
+	 *            {@link Example}
+	 * @param bindVars
+	 *            比較する値が設定されるバインド変数
+	 * @return {@code FILTER} 条件
+	 * @throws IllegalArgumentException
+	 *             条件がない場合
+	 */
+	private String getRequiredExampleFilter(Example<?> example, Map<String, Object> bindVars) {
+		
+		String filter = getExampleFilter(example, bindVars);
+		
+		if (filter.isEmpty()) {
+			throw new IllegalArgumentException(
+					"Criteria must contain at least one condition, use deleteAll() to remove all documents!");
+		}
+		
+		return filter;
+	}
+
+	/**
+	 * エンティティの指定したプロパティを、 {@code UPDATE} で更新する属性に変換します。
+	 * 
+	 * <p>
+	 * 値は {@link pending.org.springframework.data.arangodb.core.convert.ArangoDBConverter} で書き込まれるため、
+	 * 保存されている値と同じ形式になります。指定したプロパティは、値が {@code null} の場合も含まれます。
+	 * </p>
+	 * 
+	 * @param patch
+	 *            更新する値を設定したエンティティ
+	 * @param properties
+	 *            更新するプロパティ名
+	 * @return 更新する属性
+	 * @throws IllegalArgumentException
+	 *             存在しない、または更新できないプロパティが指定された場合
+	 */
+	private Map<String, Object> getPatch(Object patch, String[] properties) {
+		
+		BaseDocument document = new BaseDocument();
+		arangoDBOperations.getConverter().write(patch, document);
+		
+		ArangoDBPersistentEntity<?> persistentEntity = arangoDBOperations.getMappingContext()
+				.getPersistentEntity(entityInformation.getJavaType());
+		
+		Map<String, Object> attributes = new HashMap<>();
+		for (String name : properties) {
+			ArangoDBPersistentProperty property = persistentEntity.getPersistentProperty(name);
+			if (property == null) {
+				throw new IllegalArgumentException(
+						String.format("No property %s found on %s!", name, persistentEntity.getName()));
+			}
+			if (property.isIdProperty() || property.isVersionProperty()) {
+				throw new IllegalArgumentException(String.format("Property %s cannot be updated!", name));
+			}
+			String attributeName = property.getRootAttributeName();
+			attributes.put(attributeName, document.getAttribute(attributeName));
+		}
+		
+		return attributes;
+	}
+
+	/**
+	 * {@link pending.org.springframework.data.arangodb.core.ArangoDBOperations#updateByAql(String, Map)}
+	 * の戻り値を、書き込まれたドキュメントの件数に変換します。
+	 * 
+	 * @param count
+	 *            {@code updateByAql} の戻り値
+	 * @return 件数。トランザクション内で件数がわからない場合は空
+	 */
+	private static OptionalLong toWriteCount(long count) {
+		return count < 0 ? OptionalLong.empty() : OptionalLong.of(count);
+	}
+
+	/**
+	 * {@code FILTER} 文を返します。
+	 * 
+	 * @param filter
+	 *            {@code FILTER} 条件
+	 * @return 末尾に空白をつけた {@code FILTER} 文。条件がない場合は空文字列
+	 */
+	private static String toAqlFilter(String filter) {
+		return filter.isEmpty() ? "" : "FILTER " + filter + " ";
+	}
+
+	/**
+	 * クエリの形状に対応する AQL テンプレートを返します。
+	 * 
+	 * <p>
+	 * テンプレートはリポジトリごとにキャッシュされます。コレクション名や件数などの値はテンプレートに埋め込まず、
+	 * バインド変数で渡すため、同じ形状のクエリは常に同じ AQL になり、サーバーの実行計画のキャッシュが有効になります。
+	 * </p>
+	 * 
+	 * @param shape
+	 *            クエリの形状を表すキー。 {@code equals} と {@code hashCode} を実装している必要があります
+	 * @param builder
+	 *            テンプレートを生成する関数
+	 * @return AQL テンプレート
+	 */
+	protected String getAqlTemplate(Object shape, Supplier<String> builder) {
+		
+		String aql = aqlTemplates.get(shape);
+		if (aql == null) {
+			aql = builder.get();
+			if (aqlTemplates.size() < MAX_AQL_TEMPLATES) {
+				aqlTemplates.putIfAbsent(shape, aql);
+			}
+		}
+		
+		return aql;
+	}
+
+	/**
+	 * コレクション名 ({@code @@col}) を設定したバインド変数を返します。
+	 * 
+	 * @return バインド変数
+	 */
+	protected Map<String, Object> newBindVars() {
+		Map<String, Object> bindVars = new HashMap<>();
+		bindVars.put(COLLECTION_BIND_VAR, getCollectionName());
+		return bindVars;
+	}
+
+	/**
+	 * 変数 {@code variable} のドキュメントを返す {@code RETURN} の式を返します。
+	 * 
+	 * <p>
+	 * エンティティに {@code @Ref(lazy = false)} のプロパティがある場合は、参照先を {@code DOCUMENT()} で読み込み、
+	 * ドキュメントハンドルと置き換えた式を返します。
+	 * </p>
+	 * 
+	 * @param variable
+	 *            変数名
+	 * @return {@code RETURN} する式
+	 */
+	protected String getReturnExpression(String variable) {
+		
+		String suffix = returnExpressionSuffix;
+		if (suffix == null) {
+			
+			StringBuilder merge = new StringBuilder();
+			
+			ArangoDBPersistentEntity<?> persistentEntity = arangoDBOperations.getMappingContext()
+					.getPersistentEntity(entityInformation.getJavaType());
+			persistentEntity.doWithAssociations((SimpleAssociationHandler) association -> {
+				ArangoDBPersistentProperty property = (ArangoDBPersistentProperty) association.getInverse();
+				if (property.isEagerReference()) {
+					String attribute = "`" + property.getFieldName() + "`";
+					merge.append(merge.length() == 0 ? "" : ", ").append(attribute).append(": ")
+							.append("%1$s.").append(attribute).append(" == null ? null : DOCUMENT(%1$s.")
+							.append(attribute).append(")");
+				}
+			});
+			
+			suffix = merge.toString();
+			returnExpressionSuffix = suffix;
+		}
+		
+		if (suffix.isEmpty()) {
+			return variable;
+		}
+		
+		return "MERGE(" + variable + ", {" + String.format(suffix, variable) + "})";
+	}
+
 	/**
 	 * コレクション名を返します。
 	 * 
 	 * @return コレクション名
 	 */
 	protected String getCollectionName() {
+		return arangoDBOperations.getCollectionName(entityInformation.getJavaType());
+	}
+
+	/**
+	 * {@code id} のエンティティのドキュメントハンドル ({@code collection/key}) を返します。
+	 * 
+	 * @param id ID
+	 * @return ドキュメントハンドル
+	 */
+	private String getDocumentHandle(ID id) {
 		
-		Class<T> entityClass = entityInformation.getJavaType();
-		
-		String collectionName = entityClass.getSimpleName();
-		Entity entity = entityClass.getAnnotation(Entity.class);
-		if (entity != null && !StringUtils.isEmpty(entity.collectionName())) {
-			collectionName = entity.collectionName();
-		}
+		Assert.notNull(id, "The given id must not be null!");
 		
-		return collectionName;
+		return getCollectionName() + "/" + id;
 	}
 }